@@ -3999,6 +3999,10 @@ public abstract class BaseNDArray implements INDArray, Iterable {
 
 
         if (shape != null && numSpecifiedIndex > 0) {
+            Nd4j.getCompressor().autoDecompress(this);
+            if (SpecifiedIndexGather.canGather(this, indexes, shape))
+                return SpecifiedIndexGather.gather(this, indexes, shape);
+
             Generator<List<List<Integer>>> gen = SpecifiedIndex.iterate(indexes);
             INDArray ret = Nd4j.create(shape, 'c');
             int count = 0;
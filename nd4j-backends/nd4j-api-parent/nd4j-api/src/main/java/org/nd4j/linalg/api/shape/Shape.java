@@ -144,7 +144,9 @@ public class Shape {
             char outOrder = (anyOrder ? arr.ordering() : order);
             if (outOrder == 'a')
                 outOrder = Nd4j.order();
-            INDArray z = Nd4j.createUninitialized(arr.shape(), outOrder);
+            // HALF arrays are kept HALF, even if default data type is different
+            INDArray z = arr.data().dataType() == DataBuffer.Type.HALF && Nd4j.dataType() != DataBuffer.Type.HALF
+                            ? Nd4j.createHalf(arr.shape(), outOrder) : Nd4j.createUninitialized(arr.shape(), outOrder);
             z.assign(arr);
             return z;
         }
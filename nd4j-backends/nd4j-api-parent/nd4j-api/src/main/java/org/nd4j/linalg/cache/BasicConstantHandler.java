@@ -5,9 +5,14 @@ import org.nd4j.linalg.api.buffer.DataBuffer;
 /**
  * Basic No-Op abstraction for ConstantHandler
  *
+ * Java-originated constants are served from bounded {@link ConstantBufferPool},
+ * backends with dedicated constant memory are free to override this behavior.
+ *
  * @author raver119@gmail.com
  */
 public abstract class BasicConstantHandler implements ConstantHandler {
+    private volatile ConstantBufferPool constantPool;
+
     @Override
     public long moveToConstantSpace(DataBuffer dataBuffer) {
         // no-op
@@ -18,4 +23,53 @@ public abstract class BasicConstantHandler implements ConstantHandler {
     public DataBuffer relocateConstantSpace(DataBuffer dataBuffer) {
         return dataBuffer;
     }
+
+    @Override
+    public DataBuffer getConstantBuffer(int[] array) {
+        return getConstantPool().getConstantBuffer(array);
+    }
+
+    @Override
+    public DataBuffer getConstantBuffer(float[] array) {
+        return getConstantPool().getConstantBuffer(array);
+    }
+
+    @Override
+    public DataBuffer getConstantBuffer(double[] array) {
+        return getConstantPool().getConstantBuffer(array);
+    }
+
+    /**
+     * This method removes all cached constants
+     */
+    @Override
+    public void purgeConstants() {
+        if (constantPool != null)
+            constantPool.purge();
+    }
+
+    /**
+     * This method returns constant pool used by this handler, i.e. to check its hit ratio and memory footprint
+     *
+     * @return
+     */
+    public ConstantBufferPool getConstantPool() {
+        if (constantPool == null) {
+            synchronized (this) {
+                if (constantPool == null)
+                    constantPool = createConstantPool();
+            }
+        }
+
+        return constantPool;
+    }
+
+    /**
+     * This method builds constant pool instance, backends can override it to provide own buffers allocation
+     *
+     * @return
+     */
+    protected ConstantBufferPool createConstantPool() {
+        return new ConstantBufferPool();
+    }
 }
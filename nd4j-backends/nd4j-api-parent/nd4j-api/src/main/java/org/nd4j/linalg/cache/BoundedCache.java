@@ -0,0 +1,271 @@
+package org.nd4j.linalg.cache;
+
+import lombok.NonNull;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This is concurrent, size- and byte-bounded LRU cache, used for shapes, TADs and constants.
+ *
+ * Entries are spread over a fixed number of segments, and each segment is access-ordered LinkedHashMap
+ * guarded by its own monitor. So lookups for different keys rarely contend, and value for the same key
+ * is computed exactly once.
+ *
+ * PLEASE NOTE: Evicted values are NOT released explicitly, they are just dropped from cache and
+ * will be collected once nobody references them anymore. Optional RemovalListener is notified about every eviction.
+ *
+ * @author raver119@gmail.com
+ */
+public class BoundedCache<K, V> {
+
+    /**
+     * This interface describes function used to build cache value for specific key
+     */
+    public interface Loader<K, V> {
+        V load(K key);
+    }
+
+    /**
+     * This interface describes function used to estimate memory footprint of cached value, in bytes
+     */
+    public interface Weigher<K, V> {
+        long weigh(K key, V value);
+    }
+
+    /**
+     * This interface describes callback invoked for every evicted entry.
+     * PLEASE NOTE: it's called while segment lock is held, so it should be cheap, and shouldn't access this cache.
+     */
+    public interface RemovalListener<K, V> {
+        void onRemoval(K key, V value);
+    }
+
+    private static final int DEFAULT_SEGMENTS = 16;
+
+    private final Segment<K, V>[] segments;
+    private final int segmentMask;
+    private final Weigher<K, V> weigher;
+    private final RemovalListener<K, V> listener;
+
+    private final AtomicLong hits = new AtomicLong(0);
+    private final AtomicLong misses = new AtomicLong(0);
+    private final AtomicLong evictions = new AtomicLong(0);
+    private final AtomicLong bytes = new AtomicLong(0);
+
+    /**
+     * @param maxEntries maximum number of entries, 0 or negative value means no limit
+     */
+    public BoundedCache(int maxEntries) {
+        this(maxEntries, 0L, null);
+    }
+
+    /**
+     * @param maxEntries maximum number of entries, 0 or negative value means no limit
+     * @param maxBytes maximum total weight of entries in bytes, 0 or negative value means no limit
+     * @param weigher function used to estimate entry size in bytes, can be null if maxBytes isn't set
+     */
+    public BoundedCache(int maxEntries, long maxBytes, Weigher<K, V> weigher) {
+        this(maxEntries, maxBytes, weigher, null);
+    }
+
+    /**
+     * @param maxEntries maximum number of entries, 0 or negative value means no limit
+     * @param maxBytes maximum total weight of entries in bytes, 0 or negative value means no limit
+     * @param weigher function used to estimate entry size in bytes, can be null if maxBytes isn't set
+     * @param listener callback notified about evicted entries, can be null
+     */
+    @SuppressWarnings("unchecked")
+    public BoundedCache(int maxEntries, long maxBytes, Weigher<K, V> weigher, RemovalListener<K, V> listener) {
+        if (maxBytes > 0 && weigher == null)
+            throw new IllegalArgumentException("Weigher should be provided for byte-bounded cache");
+
+        // we don't want segments to be smaller then a few entries, otherwise LRU order degrades badly
+        int numSegments = DEFAULT_SEGMENTS;
+        while (maxEntries > 0 && numSegments > 1 && maxEntries / numSegments < 4)
+            numSegments >>= 1;
+
+        this.segments = new Segment[numSegments];
+        this.segmentMask = numSegments - 1;
+        this.weigher = weigher;
+        this.listener = listener;
+
+        int segmentEntries = maxEntries > 0 ? Math.max(1, maxEntries / numSegments) : 0;
+        long segmentBytes = maxBytes > 0 ? Math.max(1L, maxBytes / numSegments) : 0L;
+
+        for (int e = 0; e < numSegments; e++)
+            segments[e] = new Segment<>(segmentEntries, segmentBytes);
+    }
+
+    /**
+     * This method returns cached value for the given key,
+     * or builds it with the given loader and stores it in cache.
+     *
+     * Loader is called at most once per key at any given time.
+     *
+     * @param key
+     * @param loader
+     * @return
+     */
+    public V computeIfAbsent(@NonNull K key, @NonNull Loader<K, V> loader) {
+        Segment<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            V value = segment.map.get(key);
+            if (value != null) {
+                hits.incrementAndGet();
+                return value;
+            }
+
+            misses.incrementAndGet();
+            value = loader.load(key);
+            if (value == null)
+                return null;
+
+            long weight = weigher == null ? 0L : weigher.weigh(key, value);
+            segment.map.put(key, value);
+            segment.bytes += weight;
+            bytes.addAndGet(weight);
+
+            evict(segment, key);
+            return value;
+        }
+    }
+
+    /**
+     * This method returns cached value for given key, or null if there's no such value
+     *
+     * @param key
+     * @return
+     */
+    public V getIfPresent(@NonNull K key) {
+        Segment<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            V value = segment.map.get(key);
+            if (value != null)
+                hits.incrementAndGet();
+            else
+                misses.incrementAndGet();
+
+            return value;
+        }
+    }
+
+    /**
+     * This method checks if there's value for given key. Hit/miss counters and LRU order aren't affected.
+     *
+     * @param key
+     * @return
+     */
+    public boolean containsKey(@NonNull K key) {
+        Segment<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            return segment.map.containsKey(key);
+        }
+    }
+
+    /**
+     * This method removes all cached entries. Counters are left intact, RemovalListener isn't notified.
+     */
+    public void clear() {
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                segment.map.clear();
+                bytes.addAndGet(-segment.bytes);
+                segment.bytes = 0;
+            }
+        }
+    }
+
+    /**
+     * This method returns number of entries currently stored in cache
+     */
+    public int size() {
+        int size = 0;
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                size += segment.map.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * This method returns estimated memory footprint of cached entries, in bytes
+     */
+    public long getBytes() {
+        return bytes.get();
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    /**
+     * This method returns hit ratio of this cache, in range [0..1]
+     */
+    public double getHitRatio() {
+        long h = hits.get();
+        long total = h + misses.get();
+        return total == 0 ? 0.0 : (double) h / total;
+    }
+
+    @Override
+    public String toString() {
+        return "BoundedCache{entries=" + size() + ", bytes=" + getBytes() + ", hits=" + getHits() + ", misses="
+                        + getMisses() + ", evictions=" + getEvictions() + "}";
+    }
+
+    private Segment<K, V> segmentFor(Object key) {
+        int h = key.hashCode();
+        h ^= (h >>> 16);
+        return segments[h & segmentMask];
+    }
+
+    /**
+     * Drops least recently used entries until segment fits its limits again.
+     * Entry that was just inserted is never evicted.
+     */
+    private void evict(Segment<K, V> segment, K justAdded) {
+        Iterator<Map.Entry<K, V>> iterator = segment.map.entrySet().iterator();
+        while (segment.isOverflown() && iterator.hasNext()) {
+            Map.Entry<K, V> entry = iterator.next();
+            if (entry.getKey().equals(justAdded))
+                break;
+
+            long weight = weigher == null ? 0L : weigher.weigh(entry.getKey(), entry.getValue());
+            iterator.remove();
+            segment.bytes -= weight;
+            bytes.addAndGet(-weight);
+            evictions.incrementAndGet();
+
+            if (listener != null)
+                listener.onRemoval(entry.getKey(), entry.getValue());
+        }
+    }
+
+    private static class Segment<K, V> {
+        private final LinkedHashMap<K, V> map = new LinkedHashMap<>(16, 0.75f, true);
+        private final int maxEntries;
+        private final long maxBytes;
+        private long bytes;
+
+        private Segment(int maxEntries, long maxBytes) {
+            this.maxEntries = maxEntries;
+            this.maxBytes = maxBytes;
+        }
+
+        private boolean isOverflown() {
+            return (maxEntries > 0 && map.size() > maxEntries) || (maxBytes > 0 && bytes > maxBytes);
+        }
+    }
+}
@@ -0,0 +1,350 @@
+package org.nd4j.linalg.cache;
+
+import lombok.NonNull;
+import org.nd4j.context.Nd4jContext;
+import org.nd4j.linalg.api.buffer.DataBuffer;
+import org.nd4j.linalg.factory.Nd4j;
+
+import java.util.Arrays;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This class implements content-addressed pool of constant DataBuffers, built from java arrays.
+ *
+ * Idea: dimensions, shapes and other small constants are passed to native side over and over again,
+ * so we keep one detached DataBuffer per unique array content, and reuse it across threads.
+ *
+ * Lookups hash java arrays directly, so no descriptor objects are allocated on cache hit.
+ * Pool is bounded by number of entries and by total buffers size, least recently used entries are evicted first.
+ * Each segment keeps its entries in access order, so eviction takes constant time.
+ *
+ * Limits can be configured via Nd4jContext/system properties:
+ * {@link Nd4j#CONSTANT_CACHE_MAX_ENTRIES} and {@link Nd4j#CONSTANT_CACHE_MAX_BYTES}
+ *
+ * PLEASE NOTE: Buffers returned by this pool are shared, so they should never be modified.
+ *
+ * @author raver119@gmail.com
+ */
+public class ConstantBufferPool {
+    public static final int DEFAULT_MAX_ENTRIES = 10000;
+    public static final long DEFAULT_MAX_BYTES = 32L * 1024L * 1024L;
+
+    private static final int NUM_SEGMENTS = 16;
+
+    private static final byte TYPE_INT = 0;
+    private static final byte TYPE_FLOAT = 1;
+    private static final byte TYPE_DOUBLE = 2;
+
+    private final Segment[] segments;
+
+    private final AtomicLong hits = new AtomicLong(0);
+    private final AtomicLong misses = new AtomicLong(0);
+    private final AtomicLong evictions = new AtomicLong(0);
+    private final AtomicLong bytes = new AtomicLong(0);
+
+    /**
+     * This constructor builds pool with limits taken from Nd4jContext/system properties
+     */
+    public ConstantBufferPool() {
+        this(getConfiguredMaxEntries(), getConfiguredMaxBytes());
+    }
+
+    /**
+     * @param maxEntries maximum number of pooled buffers, 0 or negative means no limit
+     * @param maxBytes maximum total size of pooled buffers in bytes, 0 or negative means no limit
+     */
+    public ConstantBufferPool(int maxEntries, long maxBytes) {
+        int segmentEntries = maxEntries > 0 ? Math.max(1, maxEntries / NUM_SEGMENTS) : 0;
+        long segmentBytes = maxBytes > 0 ? Math.max(1L, maxBytes / NUM_SEGMENTS) : 0L;
+
+        segments = new Segment[NUM_SEGMENTS];
+        for (int e = 0; e < NUM_SEGMENTS; e++)
+            segments[e] = new Segment(segmentEntries, segmentBytes);
+    }
+
+    public DataBuffer getConstantBuffer(@NonNull int[] array) {
+        int hash = mix(Arrays.hashCode(array), TYPE_INT);
+        Segment segment = segmentFor(hash);
+        synchronized (segment) {
+            for (Entry entry = segment.bucket(hash); entry != null; entry = entry.next) {
+                if (entry.hash == hash && entry.type == TYPE_INT && Arrays.equals((int[]) entry.key, array))
+                    return hit(segment, entry);
+            }
+
+            return miss(segment, hash, TYPE_INT, Arrays.copyOf(array, array.length), createBuffer(array));
+        }
+    }
+
+    public DataBuffer getConstantBuffer(@NonNull float[] array) {
+        int hash = mix(Arrays.hashCode(array), TYPE_FLOAT);
+        Segment segment = segmentFor(hash);
+        synchronized (segment) {
+            for (Entry entry = segment.bucket(hash); entry != null; entry = entry.next) {
+                if (entry.hash == hash && entry.type == TYPE_FLOAT && Arrays.equals((float[]) entry.key, array))
+                    return hit(segment, entry);
+            }
+
+            return miss(segment, hash, TYPE_FLOAT, Arrays.copyOf(array, array.length), createBuffer(array));
+        }
+    }
+
+    public DataBuffer getConstantBuffer(@NonNull double[] array) {
+        int hash = mix(Arrays.hashCode(array), TYPE_DOUBLE);
+        Segment segment = segmentFor(hash);
+        synchronized (segment) {
+            for (Entry entry = segment.bucket(hash); entry != null; entry = entry.next) {
+                if (entry.hash == hash && entry.type == TYPE_DOUBLE && Arrays.equals((double[]) entry.key, array))
+                    return hit(segment, entry);
+            }
+
+            return miss(segment, hash, TYPE_DOUBLE, Arrays.copyOf(array, array.length), createBuffer(array));
+        }
+    }
+
+    /**
+     * This method removes all pooled buffers. Counters are left intact.
+     */
+    public void purge() {
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                bytes.addAndGet(-segment.bytes);
+                segment.clear();
+            }
+        }
+    }
+
+    /**
+     * This method returns number of buffers currently pooled
+     */
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * This method returns total size of pooled buffers, in bytes
+     */
+    public long getBytes() {
+        return bytes.get();
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    /**
+     * This method returns hit ratio of this pool, in range [0..1]
+     */
+    public double getHitRatio() {
+        long h = hits.get();
+        long total = h + misses.get();
+        return total == 0 ? 0.0 : (double) h / total;
+    }
+
+    protected DataBuffer createBuffer(int[] array) {
+        return Nd4j.createBuffer(array);
+    }
+
+    protected DataBuffer createBuffer(float[] array) {
+        return Nd4j.createBufferDetached(array);
+    }
+
+    protected DataBuffer createBuffer(double[] array) {
+        return Nd4j.createBufferDetached(array);
+    }
+
+    private DataBuffer hit(Segment segment, Entry entry) {
+        segment.touch(entry);
+        hits.incrementAndGet();
+        return entry.buffer;
+    }
+
+    private DataBuffer miss(Segment segment, int hash, byte type, Object key, DataBuffer buffer) {
+        misses.incrementAndGet();
+
+        Entry entry = new Entry(hash, type, key, buffer, buffer.length() * (long) buffer.getElementSize());
+        segment.add(entry);
+        bytes.addAndGet(entry.bytes);
+
+        while (segment.isOverflown()) {
+            Entry eldest = segment.eldest(entry);
+            if (eldest == null)
+                break;
+
+            segment.remove(eldest);
+            bytes.addAndGet(-eldest.bytes);
+            evictions.incrementAndGet();
+        }
+
+        return buffer;
+    }
+
+    private Segment segmentFor(int hash) {
+        return segments[(hash >>> 16) & (NUM_SEGMENTS - 1)];
+    }
+
+    private static int mix(int hash, byte type) {
+        int h = hash * 31 + type;
+        return h ^ (h >>> 16);
+    }
+
+    protected static int getConfiguredMaxEntries() {
+        Properties props = Nd4jContext.getInstance().getConf();
+        return Integer.parseInt(System.getProperty(Nd4j.CONSTANT_CACHE_MAX_ENTRIES,
+                        props.getProperty(Nd4j.CONSTANT_CACHE_MAX_ENTRIES, String.valueOf(DEFAULT_MAX_ENTRIES))));
+    }
+
+    protected static long getConfiguredMaxBytes() {
+        Properties props = Nd4jContext.getInstance().getConf();
+        return Long.parseLong(System.getProperty(Nd4j.CONSTANT_CACHE_MAX_BYTES,
+                        props.getProperty(Nd4j.CONSTANT_CACHE_MAX_BYTES, String.valueOf(DEFAULT_MAX_BYTES))));
+    }
+
+    private static class Entry {
+        private final int hash;
+        private final byte type;
+        private final Object key;
+        private final DataBuffer buffer;
+        private final long bytes;
+        // hash chain
+        private Entry next;
+        // access order list, most recently used entries go last
+        private Entry before;
+        private Entry after;
+
+        private Entry(int hash, byte type, Object key, DataBuffer buffer, long bytes) {
+            this.hash = hash;
+            this.type = type;
+            this.key = key;
+            this.buffer = buffer;
+            this.bytes = bytes;
+        }
+    }
+
+    /**
+     * Simple chained hash table, with entries also linked in access order. All access is guarded by segment monitor.
+     */
+    private static class Segment {
+        private final int maxEntries;
+        private final long maxBytes;
+
+        // sentinel of circular access order list
+        private final Entry lru = new Entry(0, (byte) -1, null, null, 0);
+
+        private Entry[] table = new Entry[16];
+        private int size;
+        private long bytes;
+
+        private Segment(int maxEntries, long maxBytes) {
+            this.maxEntries = maxEntries;
+            this.maxBytes = maxBytes;
+            lru.before = lru;
+            lru.after = lru;
+        }
+
+        private Entry bucket(int hash) {
+            return table[hash & (table.length - 1)];
+        }
+
+        private void add(Entry entry) {
+            if (size + 1 > table.length * 3 / 4)
+                resize();
+
+            int idx = entry.hash & (table.length - 1);
+            entry.next = table[idx];
+            table[idx] = entry;
+            size++;
+            bytes += entry.bytes;
+            linkLast(entry);
+        }
+
+        /**
+         * Marks entry as most recently used one
+         */
+        private void touch(Entry entry) {
+            unlink(entry);
+            linkLast(entry);
+        }
+
+        private void linkLast(Entry entry) {
+            entry.after = lru;
+            entry.before = lru.before;
+            lru.before.after = entry;
+            lru.before = entry;
+        }
+
+        private void unlink(Entry entry) {
+            entry.before.after = entry.after;
+            entry.after.before = entry.before;
+            entry.before = null;
+            entry.after = null;
+        }
+
+        private void remove(Entry entry) {
+            int idx = entry.hash & (table.length - 1);
+            Entry prev = null;
+            for (Entry e = table[idx]; e != null; prev = e, e = e.next) {
+                if (e == entry) {
+                    if (prev == null)
+                        table[idx] = e.next;
+                    else
+                        prev.next = e.next;
+
+                    size--;
+                    bytes -= e.bytes;
+                    unlink(e);
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Returns least recently used entry, excluding the given one
+         */
+        private Entry eldest(Entry exclude) {
+            Entry eldest = lru.after;
+            return eldest == lru || eldest == exclude ? null : eldest;
+        }
+
+        private boolean isOverflown() {
+            return (maxEntries > 0 && size > maxEntries) || (maxBytes > 0 && bytes > maxBytes);
+        }
+
+        private void resize() {
+            Entry[] old = table;
+            table = new Entry[old.length * 2];
+            for (Entry head : old) {
+                Entry e = head;
+                while (e != null) {
+                    Entry next = e.next;
+                    int idx = e.hash & (table.length - 1);
+                    e.next = table[idx];
+                    table[idx] = e;
+                    e = next;
+                }
+            }
+        }
+
+        private void clear() {
+            table = new Entry[16];
+            size = 0;
+            bytes = 0;
+            lru.before = lru;
+            lru.after = lru;
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package org.nd4j.linalg.cache;
+
+import lombok.NonNull;
+import org.nd4j.context.Nd4jContext;
+import org.nd4j.linalg.api.buffer.DataBuffer;
+import org.nd4j.linalg.api.shape.ShapeDescriptor;
+import org.nd4j.linalg.factory.Nd4j;
+
+import java.util.Properties;
+
+/**
+ * This class provides bounded, evicting storage for shapeInfo buffers, shared by all backends.
+ *
+ * Equal ShapeDescriptors are always resolved to the same DataBuffer instance while it stays in cache,
+ * so shapeInfo buffers are effectively interned, and off-heap churn for create/reshape/permute is avoided.
+ *
+ * Limits can be configured via Nd4jContext/system properties:
+ * {@link Nd4j#SHAPE_CACHE_MAX_ENTRIES} and {@link Nd4j#SHAPE_CACHE_MAX_BYTES}
+ *
+ * @author raver119@gmail.com
+ */
+public class ShapeInfoStore {
+    public static final int DEFAULT_MAX_ENTRIES = 10000;
+    public static final long DEFAULT_MAX_BYTES = 64L * 1024L * 1024L;
+
+    private final BoundedCache<ShapeDescriptor, DataBuffer> cache;
+
+    /**
+     * This constructor builds store with limits taken from Nd4jContext/system properties
+     */
+    public ShapeInfoStore() {
+        this(getConfiguredMaxEntries(), getConfiguredMaxBytes());
+    }
+
+    /**
+     * @param maxEntries maximum number of shapeInfo buffers, 0 or negative means no limit
+     * @param maxBytes maximum memory footprint of stored buffers, 0 or negative means no limit
+     */
+    public ShapeInfoStore(int maxEntries, long maxBytes) {
+        this(maxEntries, maxBytes, null);
+    }
+
+    /**
+     * This constructor builds store with limits taken from Nd4jContext/system properties
+     *
+     * @param listener callback notified about evicted buffers, can be null
+     */
+    public ShapeInfoStore(BoundedCache.RemovalListener<ShapeDescriptor, DataBuffer> listener) {
+        this(getConfiguredMaxEntries(), getConfiguredMaxBytes(), listener);
+    }
+
+    /**
+     * @param maxEntries maximum number of shapeInfo buffers, 0 or negative means no limit
+     * @param maxBytes maximum memory footprint of stored buffers, 0 or negative means no limit
+     * @param listener callback notified about evicted buffers, can be null
+     */
+    public ShapeInfoStore(int maxEntries, long maxBytes,
+                    BoundedCache.RemovalListener<ShapeDescriptor, DataBuffer> listener) {
+        cache = new BoundedCache<>(maxEntries, maxBytes, new BoundedCache.Weigher<ShapeDescriptor, DataBuffer>() {
+            @Override
+            public long weigh(ShapeDescriptor key, DataBuffer value) {
+                return value.length() * (long) value.getElementSize();
+            }
+        }, listener);
+    }
+
+    /**
+     * This method returns shapeInfo buffer for given descriptor,
+     * or creates one with given loader, if there's no such buffer in store yet.
+     *
+     * @param descriptor
+     * @param loader
+     * @return
+     */
+    public DataBuffer getOrCreate(@NonNull ShapeDescriptor descriptor,
+                    @NonNull BoundedCache.Loader<ShapeDescriptor, DataBuffer> loader) {
+        return cache.computeIfAbsent(descriptor, loader);
+    }
+
+    /**
+     * This method returns stored shapeInfo buffer for given descriptor, or null if there's no such buffer
+     *
+     * @param descriptor
+     * @return
+     */
+    public DataBuffer get(@NonNull ShapeDescriptor descriptor) {
+        return cache.getIfPresent(descriptor);
+    }
+
+    /**
+     * This method checks if there's stored shapeInfo buffer for given descriptor. Hit/miss stats aren't affected.
+     *
+     * @param descriptor
+     * @return
+     */
+    public boolean contains(@NonNull ShapeDescriptor descriptor) {
+        return cache.containsKey(descriptor);
+    }
+
+    /**
+     * This method removes all stored buffers
+     */
+    public void purge() {
+        cache.clear();
+    }
+
+    /**
+     * This method returns number of buffers currently stored
+     */
+    public int size() {
+        return cache.size();
+    }
+
+    /**
+     * This method returns memory footprint of stored buffers, in bytes
+     */
+    public long getMemoryFootprint() {
+        return cache.getBytes();
+    }
+
+    /**
+     * This method returns hit ratio of this store, in range [0..1]
+     */
+    public double getHitRatio() {
+        return cache.getHitRatio();
+    }
+
+    public long getHits() {
+        return cache.getHits();
+    }
+
+    public long getMisses() {
+        return cache.getMisses();
+    }
+
+    public long getEvictions() {
+        return cache.getEvictions();
+    }
+
+    @Override
+    public String toString() {
+        return "ShapeInfoStore" + cache.toString().substring("BoundedCache".length());
+    }
+
+    protected static int getConfiguredMaxEntries() {
+        Properties props = Nd4jContext.getInstance().getConf();
+        return Integer.parseInt(System.getProperty(Nd4j.SHAPE_CACHE_MAX_ENTRIES,
+                        props.getProperty(Nd4j.SHAPE_CACHE_MAX_ENTRIES, String.valueOf(DEFAULT_MAX_ENTRIES))));
+    }
+
+    protected static long getConfiguredMaxBytes() {
+        Properties props = Nd4jContext.getInstance().getConf();
+        return Long.parseLong(System.getProperty(Nd4j.SHAPE_CACHE_MAX_BYTES,
+                        props.getProperty(Nd4j.SHAPE_CACHE_MAX_BYTES, String.valueOf(DEFAULT_MAX_BYTES))));
+    }
+}
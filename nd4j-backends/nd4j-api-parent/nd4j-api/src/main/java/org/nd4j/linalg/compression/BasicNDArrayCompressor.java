@@ -189,6 +189,78 @@ public class BasicNDArrayCompressor {
         codecs.get(algorithm).compressi(array);
     }
 
+    /**
+     * Returns compressor registered for the given algorithm
+     * @param algorithm the algorithm name
+     * @return the compressor for this algorithm
+     */
+    public NDArrayCompressor getCompressor(@NonNull String algorithm) {
+        algorithm = algorithm.toUpperCase();
+        if (!codecs.containsKey(algorithm))
+            throw new RuntimeException("Non-existent compression algorithm requested: [" + algorithm + "]");
+
+        return codecs.get(algorithm);
+    }
+
+    /**
+     * Returns true if the given algorithm produces sparse encodings,
+     * see {@link SparseNDArrayCompressor}
+     * @param algorithm the algorithm name
+     * @return
+     */
+    public boolean isSparse(@NonNull String algorithm) {
+        return codecs.get(algorithm.toUpperCase()) instanceof SparseNDArrayCompressor;
+    }
+
+    /**
+     * Returns true if the given array is compressed with sparse encoding,
+     * see {@link SparseNDArrayCompressor}
+     * @param array
+     * @return
+     */
+    public boolean isSparse(INDArray array) {
+        if (!array.isCompressed() || array.data().dataType() != DataBuffer.Type.COMPRESSED)
+            return false;
+
+        CompressionDescriptor descriptor = ((CompressedDataBuffer) array.data()).getCompressionDescriptor();
+        return isSparse(descriptor.getCompressionAlgorithm());
+    }
+
+    /**
+     * Compress update with the given sparse algorithm,
+     * accumulating elements that weren't encoded in residual.
+     * See {@link SparseNDArrayCompressor#compress(INDArray, INDArray)}
+     * @param update the update to compress
+     * @param residual the residual, modified in place
+     * @param algorithm the sparse algorithm to use
+     * @return compressed array
+     */
+    public INDArray compress(INDArray update, INDArray residual, String algorithm) {
+        NDArrayCompressor compressor = getCompressor(algorithm);
+        if (!(compressor instanceof SparseNDArrayCompressor))
+            throw new IllegalStateException("Compression algorithm [" + algorithm + "] isn't sparse");
+
+        return ((SparseNDArrayCompressor) compressor).compress(update, residual);
+    }
+
+    /**
+     * Adds the given array to target.
+     * Sparse encoded arrays are applied without decompression,
+     * other compressed arrays are decompressed first.
+     * @param array the array to add, compressed or not
+     * @param target the array to be updated in place
+     */
+    public void decompressAdd(INDArray array, INDArray target) {
+        if (isSparse(array)) {
+            CompressionDescriptor descriptor = ((CompressedDataBuffer) array.data()).getCompressionDescriptor();
+            ((SparseNDArrayCompressor) codecs.get(descriptor.getCompressionAlgorithm())).decompressAdd(array,
+                            target);
+        } else if (array.isCompressed())
+            target.addi(decompress(array));
+        else
+            target.addi(array);
+    }
+
     /**
      * Decompress the given databuffer
      * @param buffer the databuffer to compress
@@ -17,6 +17,7 @@ import org.slf4j.LoggerFactory;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 
 /**
  * @author raver119@gmail.com
@@ -59,9 +60,12 @@ public class CompressedDataBuffer extends BaseDataBuffer {
         out.writeLong(compressionDescriptor.getOriginalLength());
         out.writeLong(compressionDescriptor.getNumberOfElements());
         //        out.write(((BytePointer) pointer).getStringBytes());
-        for (int x = 0; x < pointer.capacity() * pointer.sizeof(); x++) {
-            byte b = pointer.asByteBuffer().get(x);
-            out.writeByte(b);
+        ByteBuffer buffer = pointer.asByteBuffer();
+        byte[] block = new byte[Math.min(SERIALIZATION_BLOCK_SIZE, buffer.remaining())];
+        while (buffer.hasRemaining()) {
+            int n = Math.min(block.length, buffer.remaining());
+            buffer.get(block, 0, n);
+            out.write(block, 0, n);
         }
     }
 
@@ -91,9 +95,7 @@ public class CompressedDataBuffer extends BaseDataBuffer {
                 long numberOfElements = s.readLong();
 
                 byte[] temp = new byte[(int) compressedLength];
-                for (int i = 0; i < compressedLength; i++) {
-                    temp[i] = s.readByte();
-                }
+                s.readFully(temp);
 
                 try (Pointer pointer = new BytePointer(temp)) {
                     CompressionDescriptor descriptor = new CompressionDescriptor();
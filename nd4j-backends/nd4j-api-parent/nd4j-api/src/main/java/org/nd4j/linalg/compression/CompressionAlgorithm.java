@@ -6,7 +6,7 @@ package org.nd4j.linalg.compression;
  * @author Adam Gibson
  */
 public enum CompressionAlgorithm {
-    FLOAT8, FLOAT16, GZIP, INT8, INT16, NOOP, UNIT8, CUSTOM;
+    FLOAT8, FLOAT16, GZIP, INT8, INT16, NOOP, UNIT8, CUSTOM, THRESHOLD;
 
     /**
      * Return the appropriate compression algorithm
@@ -37,6 +37,8 @@ public enum CompressionAlgorithm {
                 return UNIT8;
             case "CUSTOM":
                 return CUSTOM;
+            case "THRESHOLD":
+                return THRESHOLD;
             default:
                 throw new IllegalArgumentException("Wrong algorithm " + algorithm);
         }
@@ -0,0 +1,37 @@
+package org.nd4j.linalg.compression;
+
+import org.nd4j.linalg.api.ndarray.INDArray;
+
+/**
+ * NDArray compressor producing sparse encodings,
+ * i.e. only elements above some threshold are kept.
+ *
+ * Elements that weren't encoded can be accumulated
+ * in a residual array on the sender side, so they're sent later
+ * instead of being lost, and encoded arrays can be applied to
+ * the target array directly, without decompression to dense form.
+ *
+ * @author raver119@gmail.com
+ */
+public interface SparseNDArrayCompressor extends NDArrayCompressor {
+
+    /**
+     * This method adds update to residual, and returns compressed array built from residual.
+     * Encoded elements are removed from residual, everything else stays there for next calls.
+     *
+     * PLEASE NOTE: residual is modified in place, and should have the same shape as update
+     *
+     * @param update
+     * @param residual
+     * @return
+     */
+    INDArray compress(INDArray update, INDArray residual);
+
+    /**
+     * This method adds values of sparse-encoded array to the target array, without decompressing it to dense form
+     *
+     * @param compressed array compressed with this compressor
+     * @param target array to be updated in place
+     */
+    void decompressAdd(INDArray compressed, INDArray target);
+}
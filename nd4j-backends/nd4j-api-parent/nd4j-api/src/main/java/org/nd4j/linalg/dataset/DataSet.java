@@ -20,7 +20,6 @@
 package org.nd4j.linalg.dataset;
 
 import com.google.common.base.Function;
-import com.google.common.collect.Lists;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.math3.util.Pair;
 import org.nd4j.linalg.api.ndarray.INDArray;
@@ -32,6 +31,7 @@ import org.nd4j.linalg.factory.Nd4j;
 import org.nd4j.linalg.indexing.BooleanIndexing;
 import org.nd4j.linalg.indexing.INDArrayIndex;
 import org.nd4j.linalg.indexing.NDArrayIndex;
+import org.nd4j.linalg.indexing.SpecifiedIndex;
 import org.nd4j.linalg.indexing.conditions.Condition;
 import org.nd4j.linalg.util.ArrayUtil;
 import org.nd4j.linalg.util.FeatureUtil;
@@ -72,6 +72,9 @@ public class DataSet implements org.nd4j.linalg.dataset.api.DataSet {
 
     private transient boolean preProcessed = false;
 
+    //set on the views returned by getRange, so merging adjacent ranges back needs no copy
+    private transient RangeView rangeView;
+
     public DataSet() {
         this(null, null);
     }
@@ -215,15 +218,159 @@ public class DataSet implements org.nd4j.linalg.dataset.api.DataSet {
         return dataset;
     }
 
+    /**
+     * Merge the list of datasets in to one dataset, like {@link #merge(List)}, but without copying
+     * when every dataset is an unmodified range of the same dataset (see {@link #getRange(int, int)})
+     * and the ranges are adjacent and in order. In that case the result is a view:
+     * in place changes to it are visible in the original dataset. Otherwise the data is copied.
+     *
+     * @param data the data to merge
+     * @return a single dataset
+     */
+    public static DataSet mergeView(List<DataSet> data) {
+        if (data.isEmpty())
+            throw new IllegalArgumentException("Unable to merge empty dataset");
+
+        DataSet view = mergeRanges(data);
+        return view != null ? view : merge(data);
+    }
+
+    /**
+     * Returns the examples in [from, to) as views of this data set, no data is copied.
+     * Merging adjacent ranges of the same data set back together with {@link #mergeView(List)}
+     * returns a view as well, rather than a copy.
+     *
+     * @param from the first example, inclusive
+     * @param to the last example, exclusive
+     * @return the examples in the given range
+     */
     @Override
     public org.nd4j.linalg.dataset.api.DataSet getRange(int from, int to) {
+        DataSet ret;
         if (hasMaskArrays()) {
             INDArray featureMaskHere = featuresMask != null ? featuresMask.get(interval(from, to)) : null;
             INDArray labelMaskHere = labelsMask != null ? labelsMask.get(interval(from, to)) : null;
-            return new DataSet(features.get(interval(from, to)), labels.get(interval(from, to)), featureMaskHere,
+            ret = new DataSet(features.get(interval(from, to)), labels.get(interval(from, to)), featureMaskHere,
                             labelMaskHere);
+        } else {
+            ret = new DataSet(features.get(interval(from, to)), labels.get(interval(from, to)));
+        }
+
+        if (exampleMetaData != null && exampleMetaData.size() == numExamples())
+            ret.setExampleMetaData(new ArrayList<>(exampleMetaData.subList(from, to)));
+
+        ret.rangeView = new RangeView(this, from, to, ret);
+        return ret;
+    }
+
+    /**
+     * Returns a copy of the given examples, in the given order.
+     * When the indexes are a contiguous increasing range the range is duplicated,
+     * otherwise the examples are gathered in to new arrays.
+     *
+     * @param indexes the indexes of the examples to return
+     * @return the examples at the given indexes
+     */
+    public DataSet getExamples(int[] indexes) {
+        if (indexes == null || indexes.length == 0)
+            throw new IllegalArgumentException("Indexes shouldn't be empty");
+
+        boolean contiguous = true;
+        for (int i = 1; i < indexes.length && contiguous; i++)
+            contiguous = indexes[i] == indexes[i - 1] + 1;
+        if (contiguous)
+            return detach((DataSet) getRange(indexes[0], indexes[0] + indexes.length));
+
+        INDArray featuresHere = examples(features, indexes);
+        INDArray labelsHere = labels == features ? featuresHere : examples(labels, indexes);
+        DataSet ret = new DataSet(featuresHere, labelsHere, examples(featuresMask, indexes),
+                        examples(labelsMask, indexes));
+
+        if (exampleMetaData != null && exampleMetaData.size() == numExamples()) {
+            List<Serializable> meta = new ArrayList<>(indexes.length);
+            for (int i : indexes)
+                meta.add(exampleMetaData.get(i));
+            ret.setExampleMetaData(meta);
+        }
+        return ret;
+    }
+
+    /**
+     * Duplicates the arrays of the given range, so it no longer shares data with the dataset it came from
+     */
+    private static DataSet detach(DataSet range) {
+        DataSet ret = new DataSet(range.features.dup(), range.labels.dup(),
+                        range.featuresMask != null ? range.featuresMask.dup() : null,
+                        range.labelsMask != null ? range.labelsMask.dup() : null);
+        ret.setExampleMetaData(range.exampleMetaData);
+        return ret;
+    }
+
+    private static INDArray examples(INDArray array, int[] indexes) {
+        if (array == null)
+            return null;
+
+        //specified indexes along every dimension go through the gather engine
+        INDArrayIndex[] index = new INDArrayIndex[array.rank()];
+        index[0] = new SpecifiedIndex(indexes);
+        for (int i = 1; i < index.length; i++)
+            index[i] = new SpecifiedIndex(ArrayUtil.range(0, array.size(i)));
+        return array.get(index);
+    }
+
+    /**
+     * Returns a view over the merged examples if every data set is an unmodified range of the same data set,
+     * and the ranges are adjacent and in order, null otherwise
+     */
+    private static DataSet mergeRanges(List<DataSet> data) {
+        RangeView first = data.get(0).rangeView;
+        if (first == null)
+            return null;
+
+        int to = first.from;
+        for (DataSet ds : data) {
+            RangeView view = ds.rangeView;
+            if (view == null || view.parent != first.parent || view.from != to || !view.isIntact(ds))
+                return null;
+            to = view.to;
+        }
+
+        return (DataSet) first.parent.getRange(first.from, to);
+    }
+
+    /**
+     * Where a data set returned by {@link #getRange(int, int)} came from,
+     * along with the arrays of both, to tell whether either was modified since
+     */
+    private static class RangeView {
+        private final DataSet parent;
+        private final int from;
+        private final int to;
+        private final INDArray[] parentArrays;
+        private final INDArray[] arrays;
+
+        private RangeView(DataSet parent, int from, int to, DataSet range) {
+            this.parent = parent;
+            this.from = from;
+            this.to = to;
+            this.parentArrays = arraysOf(parent);
+            this.arrays = arraysOf(range);
+        }
+
+        private boolean isIntact(DataSet range) {
+            return sameInstances(parentArrays, arraysOf(parent)) && sameInstances(arrays, arraysOf(range));
+        }
+
+        private static boolean sameInstances(INDArray[] a, INDArray[] b) {
+            for (int i = 0; i < a.length; i++)
+                if (a[i] != b[i])
+                    return false;
+            return true;
+        }
+
+        private static INDArray[] arraysOf(DataSet ds) {
+            return new INDArray[] {ds.features, ds.labels, ds.featuresMask, ds.labelsMask};
         }
-        return new DataSet(features.get(interval(from, to)), labels.get(interval(from, to)));
     }
 
 
@@ -649,9 +796,33 @@ public class DataSet implements org.nd4j.linalg.dataset.api.DataSet {
      */
     @Override
     public List<DataSet> batchBy(int num) {
-        List<DataSet> batched = Lists.newArrayList();
-        for (List<DataSet> splitBatch : Lists.partition(asList(), num)) {
-            batched.add(DataSet.merge(splitBatch));
+        return rangesOf(num, false);
+    }
+
+    /**
+     * Partitions a dataset in to mini batches like {@link #batchBy(int)}, but without copying:
+     * each mini batch is a view (see {@link #getRange(int, int)}), so in place changes to it
+     * are visible in this dataset.
+     *
+     * @param num the number to split by
+     * @return the partitioned datasets
+     */
+    public List<DataSet> batchByView(int num) {
+        return rangesOf(num, true);
+    }
+
+    /**
+     * Splits this data set in to num consecutive examples each, the last one possibly smaller
+     */
+    private List<DataSet> rangesOf(int num, boolean views) {
+        if (num < 1)
+            throw new IllegalArgumentException("Number of examples per batch must be positive");
+
+        int numExamples = numExamples();
+        List<DataSet> batched = new ArrayList<>((numExamples + num - 1) / num);
+        for (int from = 0; from < numExamples; from += num) {
+            DataSet range = (DataSet) getRange(from, Math.min(from + num, numExamples));
+            batched.add(views ? range : detach(range));
         }
         return batched;
     }
@@ -732,12 +903,7 @@ public class DataSet implements org.nd4j.linalg.dataset.api.DataSet {
      */
     @Override
     public List<DataSet> dataSetBatches(int num) {
-        List<List<DataSet>> list = Lists.partition(asList(), num);
-        List<DataSet> ret = new ArrayList<>();
-        for (List<DataSet> l : list)
-            ret.add(DataSet.merge(l));
-        return ret;
-
+        return rangesOf(num, false);
     }
 
     /**
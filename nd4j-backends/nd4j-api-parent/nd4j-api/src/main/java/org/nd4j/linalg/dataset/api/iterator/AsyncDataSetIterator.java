@@ -0,0 +1,409 @@
+package org.nd4j.linalg.dataset.api.iterator;
+
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.nd4j.linalg.api.memory.MemoryWorkspace;
+import org.nd4j.linalg.api.memory.conf.WorkspaceConfiguration;
+import org.nd4j.linalg.api.memory.enums.AllocationPolicy;
+import org.nd4j.linalg.api.memory.enums.LearningPolicy;
+import org.nd4j.linalg.api.memory.enums.ResetPolicy;
+import org.nd4j.linalg.api.memory.enums.SpillPolicy;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.dataset.DataSet;
+import org.nd4j.linalg.dataset.api.DataSetPreProcessor;
+import org.nd4j.linalg.exception.ND4JIllegalStateException;
+import org.nd4j.linalg.factory.Nd4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This DataSetIterator implementation prefetches DataSets from backing iterator in separate thread.
+ *
+ * Idea is simple: producer thread keeps up to queueSize DataSets ready per consumer, and all of them are stored in
+ * dedicated cyclic MemoryWorkspace. Workspace is sized to hold all DataSets that can be alive at the same time,
+ * so after first few batches prefetching doesn't allocate any new memory: buffers are recycled as workspace loops over.
+ *
+ * Batches are distributed round-robin between consumers. Consumer can be bound to its own queue via attachThread(),
+ * so each trainer thread gets its own subset of batches via nextFor(). If there's only one consumer - order of backing iterator is preserved.
+ *
+ * DataSets returned by backing iterator are never modified: if they live outside of workspace, they are copied into it,
+ * and preprocessor is applied to that copy.
+ *
+ * PLEASE NOTE: DataSet returned by this iterator stays valid only until consumer takes next queueSize batches,
+ * or until reset()/shutdown() is called, since workspace is released there.
+ * Call DataSet.detach() if you need to keep it for longer.
+ *
+ * @author raver119@gmail.com
+ */
+@Slf4j
+public class AsyncDataSetIterator implements ParallelDataSetIterator {
+    // this instance is used as end-of-data marker within queues
+    private static final DataSet TERMINATOR = new DataSet();
+
+    protected final DataSetIterator backedIterator;
+    protected final int queueSize;
+    protected final int numConsumers;
+    protected final Integer deviceId;
+
+    protected transient List<BlockingQueue<DataSet>> queues;
+    protected transient DataSet[] peeked;
+    protected transient ThreadLocal<Integer> affinity = new ThreadLocal<>();
+    protected transient AtomicLong served = new AtomicLong(0);
+
+    protected transient WorkspaceConfiguration configuration;
+    protected final String workspaceId = "ASYNC_ITERATOR_" + UUID.randomUUID().toString();
+
+    protected transient PrefetchThread thread;
+    protected transient volatile RuntimeException throwable;
+
+    protected DataSetPreProcessor preProcessor;
+
+    public AsyncDataSetIterator(@NonNull DataSetIterator iterator) {
+        this(iterator, 8);
+    }
+
+    public AsyncDataSetIterator(@NonNull DataSetIterator iterator, int queueSize) {
+        this(iterator, queueSize, 1);
+    }
+
+    /**
+     * @param iterator backing iterator
+     * @param queueSize number of DataSets prefetched per consumer
+     * @param numConsumers number of consumers, see attachThread()
+     */
+    public AsyncDataSetIterator(@NonNull DataSetIterator iterator, int queueSize, int numConsumers) {
+        if (queueSize < 1)
+            throw new ND4JIllegalStateException("Queue size should be positive value");
+
+        if (numConsumers < 1)
+            throw new ND4JIllegalStateException("Number of consumers should be positive value");
+
+        this.backedIterator = iterator;
+        this.queueSize = queueSize;
+        this.numConsumers = numConsumers;
+        this.deviceId = Nd4j.getAffinityManager().getDeviceForCurrentThread();
+
+        this.queues = new ArrayList<>();
+        for (int e = 0; e < numConsumers; e++)
+            this.queues.add(new ArrayBlockingQueue<DataSet>(queueSize));
+
+        this.peeked = new DataSet[numConsumers];
+
+        /*
+            All DataSets that can be alive at the same time should fit into workspace:
+            queued ones, ones currently used by consumers, and the one being produced right now.
+         */
+        int alive = numConsumers * (queueSize + 1) + 1;
+        this.configuration = WorkspaceConfiguration.builder()
+                        .overallocationLimit(alive)
+                        .policyReset(ResetPolicy.ENDOFBUFFER_REACHED)
+                        .policyLearning(LearningPolicy.FIRST_LOOP)
+                        .policyAllocation(AllocationPolicy.OVERALLOCATE)
+                        .policySpill(SpillPolicy.REALLOCATE)
+                        .build();
+
+        if (backedIterator.resetSupported())
+            backedIterator.reset();
+
+        startThread();
+    }
+
+    protected void startThread() {
+        throwable = null;
+        thread = new PrefetchThread();
+        Nd4j.getAffinityManager().attachThreadToDevice(thread, deviceId);
+        thread.start();
+    }
+
+    protected void stopThread() {
+        if (thread != null) {
+            boolean stopped = true;
+            if (thread.isAlive()) {
+                thread.interrupt();
+                try {
+                    thread.join();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    stopped = false;
+                }
+            }
+
+            // each prefetch thread has its own workspace, so it has to be released together with the thread
+            if (stopped && thread.workspace != null)
+                thread.workspace.destroyWorkspace();
+
+            thread = null;
+        }
+
+        for (int e = 0; e < numConsumers; e++) {
+            queues.get(e).clear();
+            peeked[e] = null;
+        }
+    }
+
+    /**
+     * This method sets consumer affinity to specific queue
+     *
+     * @param producer
+     */
+    @Override
+    public void attachThread(int producer) {
+        if (producer < 0 || producer >= numConsumers)
+            throw new ND4JIllegalStateException("Consumer index should be in range [0.." + (numConsumers - 1) + "]");
+
+        affinity.set(producer);
+    }
+
+    @Override
+    public boolean hasNextFor() {
+        return hasNextFor(attachedConsumer());
+    }
+
+    @Override
+    public boolean hasNextFor(int consumer) {
+        DataSet ds = peek(consumer);
+        if (ds == TERMINATOR) {
+            if (throwable != null)
+                throw throwable;
+
+            return false;
+        }
+
+        return true;
+    }
+
+    @Override
+    public DataSet nextFor(int consumer) {
+        if (!hasNextFor(consumer))
+            throw new NoSuchElementException();
+
+        DataSet ds = peeked[consumer];
+        peeked[consumer] = null;
+        served.incrementAndGet();
+
+        return ds;
+    }
+
+    @Override
+    public DataSet nextFor() {
+        return nextFor(attachedConsumer());
+    }
+
+    @Override
+    public boolean hasNext() {
+        return hasNextFor(currentConsumer());
+    }
+
+    @Override
+    public DataSet next() {
+        return nextFor(currentConsumer());
+    }
+
+    protected int attachedConsumer() {
+        Integer consumer = affinity.get();
+        if (consumer == null)
+            throw new ND4JIllegalStateException("Current thread isn't attached to any consumer queue");
+
+        return consumer;
+    }
+
+    /**
+     * Attached consumers always read their own queue, non-attached ones follow producer round-robin order
+     */
+    protected int currentConsumer() {
+        Integer consumer = affinity.get();
+        if (consumer != null)
+            return consumer;
+
+        return (int) (served.get() % numConsumers);
+    }
+
+    protected DataSet peek(int consumer) {
+        if (peeked[consumer] == null) {
+            try {
+                peeked[consumer] = queues.get(consumer).take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException(e);
+            }
+        }
+
+        // terminator is kept in place, so subsequent calls return false as well
+        return peeked[consumer];
+    }
+
+    @Override
+    public DataSet next(int num) {
+        throw new UnsupportedOperationException("Can't do variable-size batches with async prefetching");
+    }
+
+    @Override
+    public int totalExamples() {
+        return backedIterator.totalExamples();
+    }
+
+    @Override
+    public int inputColumns() {
+        return backedIterator.inputColumns();
+    }
+
+    @Override
+    public int totalOutcomes() {
+        return backedIterator.totalOutcomes();
+    }
+
+    @Override
+    public boolean resetSupported() {
+        return backedIterator.resetSupported();
+    }
+
+    /**
+     * This iterator already does prefetching, so there's no sense to wrap it once again
+     *
+     * @return
+     */
+    @Override
+    public boolean asyncSupported() {
+        return false;
+    }
+
+    @Override
+    public void reset() {
+        if (!resetSupported())
+            throw new UnsupportedOperationException("Backing iterator doesn't support reset");
+
+        stopThread();
+        served.set(0);
+
+        backedIterator.reset();
+        startThread();
+    }
+
+    /**
+     * This method stops prefetching thread and releases workspace memory,
+     * so DataSets obtained from this iterator shouldn't be used after this call.
+     */
+    public void shutdown() {
+        stopThread();
+    }
+
+    @Override
+    public int batch() {
+        return backedIterator.batch();
+    }
+
+    @Override
+    public int cursor() {
+        return backedIterator.cursor();
+    }
+
+    @Override
+    public int numExamples() {
+        return backedIterator.numExamples();
+    }
+
+    /**
+     * PLEASE NOTE: Preprocessor is applied in prefetching thread, so it'll affect only DataSets prefetched after this call
+     *
+     * @param preProcessor a pre processor to set
+     */
+    @Override
+    public void setPreProcessor(DataSetPreProcessor preProcessor) {
+        this.preProcessor = preProcessor;
+    }
+
+    @Override
+    public DataSetPreProcessor getPreProcessor() {
+        return preProcessor;
+    }
+
+    @Override
+    public List<String> getLabels() {
+        return backedIterator.getLabels();
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException();
+    }
+
+    protected static boolean isAttachedTo(INDArray array, MemoryWorkspace workspace) {
+        return array == null || (array.isAttached() && array.data().getParentWorkspace() == workspace);
+    }
+
+    protected static INDArray migrate(INDArray array) {
+        return array == null ? null : array.migrate();
+    }
+
+    /**
+     * This method copies given DataSet into current workspace, leaving original DataSet intact
+     */
+    protected static DataSet migrateCopy(DataSet ds) {
+        INDArray features = migrate(ds.getFeatures());
+        INDArray labels = ds.getLabels() == ds.getFeatures() ? features : migrate(ds.getLabels());
+
+        DataSet copy = new DataSet(features, labels, migrate(ds.getFeaturesMaskArray()),
+                        migrate(ds.getLabelsMaskArray()));
+        copy.setExampleMetaData(ds.getExampleMetaData());
+        copy.setLabelNames(ds.getLabelNamesList());
+        return copy;
+    }
+
+    protected class PrefetchThread extends Thread implements Runnable {
+        // accessed from stopThread() only after this thread is joined
+        protected volatile MemoryWorkspace workspace;
+
+        protected PrefetchThread() {
+            this.setDaemon(true);
+            this.setName("AsyncDataSetIterator prefetch thread");
+        }
+
+        @Override
+        public void run() {
+            long cnt = 0;
+            try {
+                while (!isInterrupted() && backedIterator.hasNext()) {
+                    DataSet ds;
+                    try (MemoryWorkspace ws = Nd4j.getWorkspaceManager().getAndActivateWorkspace(configuration, workspaceId)) {
+                        workspace = ws;
+                        ds = backedIterator.next();
+
+                        /*
+                            if backing iterator allocated arrays elsewhere - copy them into recycled workspace memory.
+                            DataSet itself might be cached by backing iterator, so it's never migrated in place
+                         */
+                        if (!isAttachedTo(ds.getFeatures(), ws) || !isAttachedTo(ds.getLabels(), ws)
+                                        || !isAttachedTo(ds.getFeaturesMaskArray(), ws)
+                                        || !isAttachedTo(ds.getLabelsMaskArray(), ws))
+                            ds = migrateCopy(ds);
+
+                        if (preProcessor != null)
+                            preProcessor.preProcess(ds);
+                    }
+
+                    queues.get((int) (cnt++ % numConsumers)).put(ds);
+                }
+            } catch (InterruptedException e) {
+                // reset() or shutdown() was called, consumers aren't waiting for anything
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Prefetching failed", e);
+                throwable = e;
+            }
+
+            try {
+                for (BlockingQueue<DataSet> queue : queues)
+                    queue.put(TERMINATOR);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
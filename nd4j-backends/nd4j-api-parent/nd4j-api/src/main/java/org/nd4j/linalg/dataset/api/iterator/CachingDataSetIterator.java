@@ -3,6 +3,9 @@ package org.nd4j.linalg.dataset.api.iterator;
 import org.nd4j.linalg.dataset.DataSet;
 import org.nd4j.linalg.dataset.api.DataSetPreProcessor;
 import org.nd4j.linalg.dataset.api.iterator.cache.DataSetCache;
+import org.nd4j.linalg.dataset.api.iterator.cache.DataSetCacheStats;
+import org.nd4j.linalg.dataset.api.iterator.cache.InFileAndMemoryDataSetCache;
+import org.nd4j.linalg.dataset.api.iterator.cache.InMemoryDataSetCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -143,6 +146,20 @@ public class CachingDataSetIterator implements DataSetIterator {
         return ds;
     }
 
+    /**
+     * Returns the hit, miss and eviction statistics
+     * of the underlying cache, if it keeps any
+     *
+     * @return the cache statistics, or null if the cache doesn't keep statistics
+     */
+    public DataSetCacheStats getCacheStats() {
+        if (cache instanceof InMemoryDataSetCache)
+            return ((InMemoryDataSetCache) cache).getStats();
+        if (cache instanceof InFileAndMemoryDataSetCache)
+            return ((InFileAndMemoryDataSetCache) cache).getStats();
+        return null;
+    }
+
     @Override
     public void remove() {
         throw new UnsupportedOperationException();
@@ -2,18 +2,23 @@ package org.nd4j.linalg.dataset.api.iterator;
 
 import org.nd4j.linalg.dataset.DataSet;
 import org.nd4j.linalg.dataset.api.DataSetPreProcessor;
+import org.nd4j.linalg.util.ArrayUtil;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Random;
 
 /**
  * Splits a dataset into k folds.
- * DataSet is duplicated in memory once
+ * Folds are lists of example indexes in to the dataset, which is neither duplicated nor modified:
+ * each fold is copied out of it when requested, so transforming a fold in place leaves the dataset intact.
  * call .next() to get the k-1 folds to train on and call .testfold() to get the corresponding kth fold for testing
  * @author Susan Eraly
  */
 public class KFoldIterator implements DataSetIterator {
     private DataSet singleFold;
+    //example order, shuffled on reset
+    private int[] order;
     private int k;
     private int batch;
     private int lastBatch;
@@ -35,9 +40,10 @@ public class KFoldIterator implements DataSetIterator {
 
     public KFoldIterator(int k, DataSet singleFold) {
         this.k = k;
-        this.singleFold = singleFold.copy();
+        this.singleFold = singleFold;
         if (k <= 1)
             throw new IllegalArgumentException();
+        this.order = ArrayUtil.range(0, singleFold.numExamples());
         if (singleFold.numExamples() % k != 0) {
             if (k != 2) {
                 this.batch = singleFold.numExamples() / (k - 1);
@@ -95,7 +101,13 @@ public class KFoldIterator implements DataSetIterator {
     @Override
     public void reset() {
         //shuffle and return new k folds
-        singleFold.shuffle();
+        Random random = new Random(System.currentTimeMillis());
+        for (int i = order.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = order[i];
+            order[i] = order[j];
+            order[j] = tmp;
+        }
         kCursor = 0;
     }
 
@@ -180,17 +192,12 @@ public class KFoldIterator implements DataSetIterator {
             right = left + batch;
         }
 
-        List<DataSet> kMinusOneFoldList = new ArrayList<DataSet>();
-        if (right < totalExamples()) {
-            if (left > 0) {
-                kMinusOneFoldList.add((DataSet) singleFold.getRange(0, left));
-            }
-            kMinusOneFoldList.add((DataSet) singleFold.getRange(right, totalExamples()));
-            train = DataSet.merge(kMinusOneFoldList);
-        } else {
-            train = (DataSet) singleFold.getRange(0, left);
-        }
-        test = (DataSet) singleFold.getRange(left, right);
+        int[] trainIndexes = new int[totalExamples() - (right - left)];
+        System.arraycopy(order, 0, trainIndexes, 0, left);
+        System.arraycopy(order, right, trainIndexes, left, totalExamples() - right);
+
+        train = singleFold.getExamples(trainIndexes);
+        test = singleFold.getExamples(Arrays.copyOfRange(order, left, right));
 
         kCursor++;
 
@@ -0,0 +1,43 @@
+package org.nd4j.linalg.dataset.api.iterator.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Point in time statistics of an {@link InMemoryDataSetCache}
+ *
+ * @author raver119@gmail.com
+ */
+@Data
+@AllArgsConstructor
+public class DataSetCacheStats {
+    /**
+     * Number of gets served from memory
+     */
+    private long hits;
+    /**
+     * Number of gets not served from memory,
+     * including the ones loaded back from the eviction tier
+     */
+    private long misses;
+    /**
+     * Number of entries evicted to stay within the byte budget
+     */
+    private long evictions;
+    /**
+     * Number of entries currently held in memory
+     */
+    private int entries;
+    /**
+     * Bytes currently held in memory
+     */
+    private long bytes;
+
+    /**
+     * @return the fraction of gets served from memory
+     */
+    public double getHitRate() {
+        long total = hits + misses;
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+}
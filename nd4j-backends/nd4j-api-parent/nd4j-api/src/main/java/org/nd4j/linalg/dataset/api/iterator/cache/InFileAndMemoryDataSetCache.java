@@ -6,6 +6,10 @@ import java.io.File;
 import java.nio.file.Path;
 
 /**
+ * Writes every data set through to files, keeping the recently used ones in memory as well.
+ * The memory tier can be bounded to a number of bytes, in which case
+ * the least recently used data sets are only kept in files.
+ *
  * Created by anton on 7/20/16.
  */
 public class InFileAndMemoryDataSetCache implements DataSetCache {
@@ -14,8 +18,26 @@ public class InFileAndMemoryDataSetCache implements DataSetCache {
     private InMemoryDataSetCache memoryCache;
 
     public InFileAndMemoryDataSetCache(File cacheDirectory) {
+        this(cacheDirectory, Long.MAX_VALUE);
+    }
+
+    /**
+     * @param cacheDirectory the directory to write data sets to
+     * @param maxMemoryBytes the max number of bytes to keep in memory
+     */
+    public InFileAndMemoryDataSetCache(File cacheDirectory, long maxMemoryBytes) {
+        this(cacheDirectory, maxMemoryBytes, null);
+    }
+
+    /**
+     * @param cacheDirectory the directory to write data sets to
+     * @param maxMemoryBytes the max number of bytes to keep in memory
+     * @param compression the compression algorithm for in memory data sets, e.g. FLOAT16, or null to keep them uncompressed
+     */
+    public InFileAndMemoryDataSetCache(File cacheDirectory, long maxMemoryBytes, String compression) {
         this.fileCache = new InFileDataSetCache(cacheDirectory);
-        this.memoryCache = new InMemoryDataSetCache();
+        //every data set is in files already, so evicted ones are just dropped from memory
+        this.memoryCache = new InMemoryDataSetCache(maxMemoryBytes, null, compression);
     }
 
     public InFileAndMemoryDataSetCache(Path cacheDirectory) {
@@ -66,4 +88,11 @@ public class InFileAndMemoryDataSetCache implements DataSetCache {
     public boolean contains(String key) {
         return memoryCache.contains(key) || fileCache.contains(key);
     }
+
+    /**
+     * @return the statistics of the memory tier
+     */
+    public DataSetCacheStats getStats() {
+        return memoryCache.getStats();
+    }
 }
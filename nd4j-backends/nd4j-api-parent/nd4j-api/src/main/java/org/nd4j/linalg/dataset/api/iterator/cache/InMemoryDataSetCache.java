@@ -1,25 +1,90 @@
 package org.nd4j.linalg.dataset.api.iterator.cache;
 
+import org.nd4j.linalg.api.buffer.DataBuffer;
+import org.nd4j.linalg.api.memory.MemoryWorkspace;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.compression.CompressedDataBuffer;
 import org.nd4j.linalg.dataset.DataSet;
+import org.nd4j.linalg.factory.Nd4j;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Map;
-import java.util.Set;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
+ * Thread safe in memory cache of data sets.
+ *
+ * Entries are kept as off heap copies of the data set arrays
+ * (optionally compressed, e.g. with FLOAT16 or INT8), so gets are a plain copy
+ * instead of parsing the stream format of {@link DataSet#save(java.io.OutputStream)}.
+ * Copies are made outside of any workspace, and every get returns a fresh copy,
+ * so callers are free to modify what they get.
+ *
+ * When a byte budget is given, least recently used entries are evicted once it's exceeded,
+ * and written to the eviction cache (e.g. an {@link InFileDataSetCache}) if there is one,
+ * from which they are loaded back in to memory on the next get.
+ * Entries loaded back from the eviction cache are already there, so evicting them again doesn't rewrite them.
+ *
  * Created by anton on 7/16/16.
  */
 public class InMemoryDataSetCache implements DataSetCache {
 
     private static final Logger log = LoggerFactory.getLogger(DataSetCache.class);
 
-    private Map<String, byte[]> cache = new HashMap<>();
-    private Set<String> completeNamespaces = new HashSet<>();
+    private final long maxBytes;
+    private final DataSetCache evictionCache;
+    private final String compression;
+
+    //access ordered, so iteration starts at the least recently used entry
+    private final LinkedHashMap<String, Entry> cache = new LinkedHashMap<>(16, 0.75f, true);
+    //entries evicted from memory, but not yet written to the eviction cache
+    private final Map<String, Entry> evicting = new ConcurrentHashMap<>();
+    private final Set<String> completeNamespaces = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+
+    private long bytes;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * Unbounded cache
+     */
+    public InMemoryDataSetCache() {
+        this(Long.MAX_VALUE);
+    }
+
+    /**
+     * Bounded cache, evicted entries are dropped
+     * @param maxBytes the max number of bytes to keep in memory
+     */
+    public InMemoryDataSetCache(long maxBytes) {
+        this(maxBytes, null);
+    }
+
+    /**
+     * Bounded cache
+     * @param maxBytes the max number of bytes to keep in memory
+     * @param evictionCache the cache evicted entries are written to, may be null
+     */
+    public InMemoryDataSetCache(long maxBytes, DataSetCache evictionCache) {
+        this(maxBytes, evictionCache, null);
+    }
+
+    /**
+     * Bounded cache
+     * @param maxBytes the max number of bytes to keep in memory
+     * @param evictionCache the cache evicted entries are written to, may be null
+     * @param compression the compression algorithm for entries, e.g. FLOAT16 or INT8, or null to keep them uncompressed
+     */
+    public InMemoryDataSetCache(long maxBytes, DataSetCache evictionCache, String compression) {
+        if (maxBytes <= 0)
+            throw new IllegalArgumentException("Max bytes must be positive");
+        this.maxBytes = maxBytes;
+        this.evictionCache = evictionCache;
+        this.compression = compression;
+    }
 
     @Override
     public boolean isComplete(String namespace) {
@@ -37,38 +102,157 @@ public class InMemoryDataSetCache implements DataSetCache {
 
     @Override
     public DataSet get(String key) {
-
-        if (!cache.containsKey(key)) {
-            return null;
+        Entry entry;
+        synchronized (cache) {
+            entry = cache.get(key);
         }
 
-        byte[] data = cache.get(key);
+        //entries being written to the eviction cache are still in memory
+        if (entry == null)
+            entry = evicting.get(key);
 
-        ByteArrayInputStream is = new ByteArrayInputStream(data);
+        if (entry != null) {
+            hits.incrementAndGet();
+            return entry.toDataSet();
+        }
 
-        DataSet ds = new DataSet();
+        misses.incrementAndGet();
 
-        ds.load(is);
+        if (evictionCache == null || !evictionCache.contains(key))
+            return null;
 
+        DataSet ds = evictionCache.get(key);
+        if (ds != null)
+            put(key, ds, true);
         return ds;
     }
 
     @Override
     public void put(String key, DataSet dataSet) {
-        if (cache.containsKey(key)) {
-            log.debug("evicting key %s from data set cache", key);
-            cache.remove(key);
-        }
+        put(key, dataSet, false);
+    }
+
+    /**
+     * @param persisted whether the data set is already in the eviction cache, so it doesn't have to be written on eviction
+     */
+    private void put(String key, DataSet dataSet, boolean persisted) {
+        Entry entry = new Entry(dataSet, compression, persisted);
 
-        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        List<Map.Entry<String, Entry>> evicted = new ArrayList<>();
+        synchronized (cache) {
+            Entry previous = cache.put(key, entry);
+            if (previous != null) {
+                log.debug("replacing key {} in data set cache", key);
+                bytes -= previous.bytes;
+            }
+            bytes += entry.bytes;
 
-        dataSet.save(os);
+            //always keep the newest entry, even when it alone is over budget
+            Iterator<Map.Entry<String, Entry>> iterator = cache.entrySet().iterator();
+            while (bytes > maxBytes && cache.size() > 1) {
+                Map.Entry<String, Entry> eldest = iterator.next();
+                if (eldest.getKey().equals(key))
+                    continue;
+                iterator.remove();
+                bytes -= eldest.getValue().bytes;
+                evicted.add(eldest);
+                if (evictionCache != null && !eldest.getValue().persisted)
+                    evicting.put(eldest.getKey(), eldest.getValue());
+            }
+        }
 
-        cache.put(key, os.toByteArray());
+        for (Map.Entry<String, Entry> e : evicted) {
+            evictions.incrementAndGet();
+            log.debug("evicting key {} from data set cache", e.getKey());
+            if (evictionCache != null && !e.getValue().persisted) {
+                try {
+                    evictionCache.put(e.getKey(), e.getValue().toDataSet());
+                } finally {
+                    evicting.remove(e.getKey());
+                }
+            }
+        }
     }
 
     @Override
     public boolean contains(String key) {
-        return cache.containsKey(key);
+        synchronized (cache) {
+            if (cache.containsKey(key))
+                return true;
+        }
+        return evicting.containsKey(key) || (evictionCache != null && evictionCache.contains(key));
+    }
+
+    /**
+     * @return the hit, miss and eviction counts, and the current size of this cache
+     */
+    public DataSetCacheStats getStats() {
+        synchronized (cache) {
+            return new DataSetCacheStats(hits.get(), misses.get(), evictions.get(), cache.size(), bytes);
+        }
+    }
+
+    /**
+     * @return the max number of bytes kept in memory
+     */
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    /**
+     * Copies of the arrays of a data set, kept outside of any workspace
+     */
+    private static class Entry {
+        private final INDArray features;
+        private final INDArray labels;
+        private final INDArray featuresMask;
+        private final INDArray labelsMask;
+        private final boolean labelsSameAsFeatures;
+        //loaded from the eviction cache, and not modified since
+        private final boolean persisted;
+        private final long bytes;
+
+        private Entry(DataSet dataSet, String compression, boolean persisted) {
+            this.persisted = persisted;
+            labelsSameAsFeatures = dataSet.getLabels() != null && dataSet.getLabels() == dataSet.getFeatures();
+            try (MemoryWorkspace workspace = Nd4j.getMemoryManager().scopeOutOfWorkspaces()) {
+                features = store(dataSet.getFeatures(), compression);
+                labels = labelsSameAsFeatures ? null : store(dataSet.getLabels(), compression);
+                featuresMask = store(dataSet.getFeaturesMaskArray(), compression);
+                labelsMask = store(dataSet.getLabelsMaskArray(), compression);
+            }
+            bytes = bytesOf(features) + bytesOf(labels) + bytesOf(featuresMask) + bytesOf(labelsMask);
+        }
+
+        private DataSet toDataSet() {
+            INDArray f = restore(features);
+            INDArray l = labelsSameAsFeatures ? f : restore(labels);
+            return new DataSet(f, l, restore(featuresMask), restore(labelsMask));
+        }
+
+        private static INDArray store(INDArray array, String compression) {
+            if (array == null)
+                return null;
+            if (compression != null && !array.isCompressed())
+                return Nd4j.getCompressor().compress(array, compression);
+            return array.dup(array.ordering());
+        }
+
+        private static INDArray restore(INDArray array) {
+            if (array == null)
+                return null;
+            if (array.isCompressed())
+                return Nd4j.getCompressor().decompress(array);
+            return array.dup(array.ordering());
+        }
+
+        private static long bytesOf(INDArray array) {
+            if (array == null)
+                return 0;
+            DataBuffer buffer = array.data();
+            if (buffer instanceof CompressedDataBuffer)
+                return ((CompressedDataBuffer) buffer).getCompressionDescriptor().getCompressedLength();
+            return array.lengthLong() * buffer.getElementSize();
+        }
     }
 }
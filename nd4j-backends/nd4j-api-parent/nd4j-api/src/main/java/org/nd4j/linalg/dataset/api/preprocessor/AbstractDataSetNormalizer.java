@@ -9,11 +9,21 @@ import org.nd4j.linalg.dataset.api.DataSet;
 import org.nd4j.linalg.dataset.api.iterator.DataSetIterator;
 import org.nd4j.linalg.dataset.api.preprocessor.stats.NormalizerStats;
 
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
  * Abstract base class for normalizers
  * that act upon {@link DataSet} instances
  * or iterators
  *
+ * Statistics can be fit on a number of worker threads at once,
+ * each gathering partial statistics that are merged at the end,
+ * and refit incrementally as new data arrives with the partialFit methods.
+ *
  * @author Ede Meijer
  */
 @EqualsAndHashCode(callSuper = false)
@@ -25,6 +35,9 @@ public abstract class AbstractDataSetNormalizer<S extends NormalizerStats> exten
     @Setter(AccessLevel.PROTECTED)
     private S labelStats;
     private boolean fitLabels = false;
+    //running statistics, kept for incremental fitting
+    private transient NormalizerStats.Builder featureStatsBuilder;
+    private transient NormalizerStats.Builder labelStatsBuilder;
 
     protected AbstractDataSetNormalizer(NormalizerStrategy<S> strategy) {
         this.strategy = strategy;
@@ -58,10 +71,9 @@ public abstract class AbstractDataSetNormalizer<S extends NormalizerStats> exten
      */
     @Override
     public void fit(DataSet dataSet) {
-        featureStats = (S) newBuilder().addFeatures(dataSet).build();
-        if (isFitLabel()) {
-            labelStats = (S) newBuilder().addLabels(dataSet).build();
-        }
+        featureStatsBuilder = newBuilder();
+        labelStatsBuilder = newBuilder();
+        partialFit(dataSet);
     }
 
     protected S getFeatureStats() {
@@ -86,22 +98,186 @@ public abstract class AbstractDataSetNormalizer<S extends NormalizerStats> exten
      */
     @Override
     public void fit(DataSetIterator iterator) {
-        S.Builder featureNormBuilder = newBuilder();
-        S.Builder labelNormBuilder = newBuilder();
+        fit(iterator, 1);
+    }
+
+    /**
+     * Fit the given model, computing partial statistics on the given number of worker threads.
+     * Batches are still read from the iterator one at a time, starting from the beginning.
+     *
+     * @param iterator for the data to iterate over
+     * @param numWorkers the number of threads to compute statistics on
+     */
+    public void fit(DataSetIterator iterator, int numWorkers) {
+        featureStatsBuilder = newBuilder();
+        labelStatsBuilder = newBuilder();
+        if (iterator.resetSupported()) {
+            iterator.reset();
+        }
+        partialFit(iterator, numWorkers);
+    }
+
+    /**
+     * Fit the given model on data sets saved to files with {@link org.nd4j.linalg.dataset.DataSet#save(File)},
+     * loading and computing partial statistics on the given number of worker threads
+     *
+     * @param files the data set files
+     * @param numWorkers the number of threads to load files and compute statistics on
+     */
+    public void fit(List<File> files, int numWorkers) {
+        featureStatsBuilder = newBuilder();
+        labelStatsBuilder = newBuilder();
+        partialFit(files, numWorkers);
+    }
 
+    /**
+     * Update the statistics with more data,
+     * as if it had been part of the data fit before.
+     * Only the statistics fit by this instance can be updated: running statistics are not saved,
+     * so a normalizer that was deserialized or given its statistics directly has to be fit again.
+     *
+     * @param dataSet the additional data
+     */
+    public void partialFit(DataSet dataSet) {
+        initBuilders();
+        featureStatsBuilder.addFeatures(dataSet);
+        if (isFitLabel()) {
+            labelStatsBuilder.addLabels(dataSet);
+        }
+        buildStats();
+    }
+
+    /**
+     * Update the statistics with more data,
+     * as if it had been part of the data fit before
+     *
+     * @param iterator the additional data
+     * @param numWorkers the number of threads to compute statistics on
+     */
+    public void partialFit(final DataSetIterator iterator, int numWorkers) {
+        fitParallel(new BatchSource() {
+            @Override
+            public DataSet next() {
+                synchronized (iterator) {
+                    if (!iterator.hasNext())
+                        return null;
+                    DataSet next = iterator.next();
+                    //batches are processed on other threads, so they can't stay in workspaces of the iterator
+                    next.detach();
+                    return next;
+                }
+            }
+        }, numWorkers);
         iterator.reset();
-        while (iterator.hasNext()) {
-            DataSet next = iterator.next();
-            featureNormBuilder.addFeatures(next);
+    }
+
+    /**
+     * Update the statistics with more data,
+     * as if it had been part of the data fit before
+     *
+     * @param files the additional data set files
+     * @param numWorkers the number of threads to load files and compute statistics on
+     */
+    public void partialFit(final List<File> files, int numWorkers) {
+        final AtomicInteger position = new AtomicInteger(0);
+        fitParallel(new BatchSource() {
+            @Override
+            public DataSet next() {
+                int index = position.getAndIncrement();
+                if (index >= files.size())
+                    return null;
+                org.nd4j.linalg.dataset.DataSet dataSet = new org.nd4j.linalg.dataset.DataSet();
+                dataSet.load(files.get(index));
+                return dataSet;
+            }
+        }, numWorkers);
+    }
+
+    private void fitParallel(final BatchSource source, int numWorkers) {
+        if (numWorkers < 1)
+            throw new IllegalArgumentException("Number of workers must be positive");
+
+        initBuilders();
+
+        if (numWorkers == 1) {
+            fitBatches(source, featureStatsBuilder, labelStatsBuilder);
+            buildStats();
+            return;
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(numWorkers, new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread t = new Thread(r, "normalizer-fit");
+                t.setDaemon(true);
+                return t;
+            }
+        });
+        try {
+            List<Future<NormalizerStats.Builder[]>> futures = new ArrayList<>();
+            for (int i = 0; i < numWorkers; i++) {
+                futures.add(executor.submit(new Callable<NormalizerStats.Builder[]>() {
+                    @Override
+                    public NormalizerStats.Builder[] call() throws Exception {
+                        NormalizerStats.Builder features = newBuilder();
+                        NormalizerStats.Builder labels = newBuilder();
+                        fitBatches(source, features, labels);
+                        return new NormalizerStats.Builder[] {features, labels};
+                    }
+                }));
+            }
+
+            for (Future<NormalizerStats.Builder[]> future : futures) {
+                NormalizerStats.Builder[] partial = future.get();
+                featureStatsBuilder.merge(partial[0]);
+                labelStatsBuilder.merge(partial[1]);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException(e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        buildStats();
+    }
+
+    private void fitBatches(BatchSource source, NormalizerStats.Builder features, NormalizerStats.Builder labels) {
+        DataSet next;
+        while ((next = source.next()) != null) {
+            features.addFeatures(next);
             if (fitLabels) {
-                labelNormBuilder.addLabels(next);
+                labels.addLabels(next);
+            }
+        }
+    }
+
+    private void initBuilders() {
+        if (featureStatsBuilder == null) {
+            if (isFit()) {
+                //mean and std alone can't be combined with new data, the number of rows they were computed on is unknown
+                throw new IllegalStateException(
+                                "API_USE_ERROR: Statistics of this normalizer were not fit by this instance, so they can't be updated with partialFit. Use .fit() instead");
             }
+            featureStatsBuilder = newBuilder();
+            labelStatsBuilder = newBuilder();
         }
-        featureStats = (S) featureNormBuilder.build();
+    }
+
+    private void buildStats() {
+        featureStats = (S) featureStatsBuilder.build();
         if (fitLabels) {
-            labelStats = (S) labelNormBuilder.build();
+            labelStats = (S) labelStatsBuilder.build();
         }
-        iterator.reset();
+    }
+
+    /**
+     * Thread safe source of batches to fit, returning null once exhausted
+     */
+    private interface BatchSource {
+        DataSet next();
     }
 
     protected abstract S.Builder newBuilder();
@@ -3,7 +3,6 @@ package org.nd4j.linalg.dataset.api.preprocessor;
 import lombok.EqualsAndHashCode;
 import org.nd4j.linalg.api.ndarray.INDArray;
 import org.nd4j.linalg.api.ops.impl.broadcast.BroadcastAddOp;
-import org.nd4j.linalg.api.ops.impl.broadcast.BroadcastDivOp;
 import org.nd4j.linalg.api.ops.impl.broadcast.BroadcastMulOp;
 import org.nd4j.linalg.api.ops.impl.broadcast.BroadcastSubOp;
 import org.nd4j.linalg.dataset.api.DataSetUtil;
@@ -22,7 +21,9 @@ import org.nd4j.linalg.indexing.conditions.Conditions;
 @EqualsAndHashCode
 public class StandardizeStrategy implements NormalizerStrategy<DistributionStats> {
     /**
-     * Normalize a data array
+     * Normalize a data array in place.
+     * The reciprocal of the standard deviations is cached by the statistics,
+     * so each batch takes a broadcast subtraction and a broadcast multiplication.
      *
      * @param array the data to normalize
      * @param stats statistics of the data population
@@ -31,14 +32,14 @@ public class StandardizeStrategy implements NormalizerStrategy<DistributionStats
     public void preProcess(INDArray array, INDArray maskArray, DistributionStats stats) {
         if (array.rank() <= 2) {
             array.subiRowVector(stats.getMean());
-            array.diviRowVector(filteredStd(stats));
+            array.muliRowVector(stats.getStdReciprocal());
         }
         // if array Rank is 3 (time series) samplesxfeaturesxtimesteps
         // if array Rank is 4 (images) samplesxchannelsxrowsxcols
         // both cases operations should be carried out in dimension 1
         else {
             Nd4j.getExecutioner().execAndReturn(new BroadcastSubOp(array, stats.getMean(), array, 1));
-            Nd4j.getExecutioner().execAndReturn(new BroadcastDivOp(array, filteredStd(stats), array, 1));
+            Nd4j.getExecutioner().execAndReturn(new BroadcastMulOp(array, stats.getStdReciprocal(), array, 1));
         }
 
         if (maskArray != null) {
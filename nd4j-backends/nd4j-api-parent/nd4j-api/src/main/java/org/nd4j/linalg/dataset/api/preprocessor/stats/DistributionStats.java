@@ -7,6 +7,8 @@ import org.nd4j.linalg.api.ndarray.INDArray;
 import org.nd4j.linalg.dataset.api.DataSetUtil;
 import org.nd4j.linalg.dataset.api.preprocessor.NormalizerStandardize;
 import org.nd4j.linalg.factory.Nd4j;
+import org.nd4j.linalg.indexing.BooleanIndexing;
+import org.nd4j.linalg.indexing.conditions.Conditions;
 import org.nd4j.linalg.ops.transforms.Transforms;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -28,6 +30,7 @@ public class DistributionStats implements NormalizerStats {
 
     private final INDArray mean;
     private final INDArray std;
+    private transient INDArray stdReciprocal;
 
     /**
      * @param mean row vector of means
@@ -64,12 +67,30 @@ public class DistributionStats implements NormalizerStats {
         Nd4j.saveBinary(getStd(), stdFile);
     }
 
+    /**
+     * Reciprocal of the standard deviations, zeros replaced by one,
+     * so that standardizing needs a multiplication rather than a division.
+     * Note that this is a lazy getter. It is only computed when needed.
+     *
+     * @return row vector of reciprocal standard deviations
+     */
+    public INDArray getStdReciprocal() {
+        if (stdReciprocal == null) {
+            INDArray filtered = std.dup();
+            BooleanIndexing.replaceWhere(filtered, 1.0, Conditions.equals(0));
+            stdReciprocal = Transforms.pow(filtered, -1, false);
+        }
+        return stdReciprocal;
+    }
+
     /**
      * Builder class that can incrementally update a running mean and variance in order to create statistics for a
-     * large set of data
+     * large set of data.
+     * Builders fed with different parts of the data (e.g. on different threads)
+     * can be combined with {@link #merge(NormalizerStats.Builder)}.
      */
     public static class Builder implements NormalizerStats.Builder<DistributionStats> {
-        private int runningCount = 0;
+        private long runningCount = 0;
         private INDArray runningMean;
         private INDArray runningVariance;
 
@@ -96,48 +117,71 @@ public class DistributionStats implements NormalizerStats {
         public Builder add(@NonNull INDArray data, INDArray mask) {
             data = DataSetUtil.tailor2d(data, mask);
 
-            // Using https://en.wikipedia.org/wiki/Algorithms_for_calculating_variance#Parallel_algorithm
             if (data == null) {
                 // Nothing to add. Either data is empty or completely masked. Just skip it, otherwise we will get
                 // null pointer exceptions.
                 return this;
             }
-            INDArray mean = data.mean(0);
-            INDArray variance = data.var(false, 0);
-            int count = data.size(0);
 
+            //reduction ops may return the same array for a single row, which must not be modified in place later
+            INDArray mean = data.mean(0).dup();
+            INDArray variance = data.var(false, 0).dup();
+            return add(mean, variance, data.size(0));
+        }
+
+        /**
+         * Combine the statistics of another builder with the ones of this builder
+         *
+         * @param other the builder to merge in to this one, left unmodified
+         */
+        @Override
+        public Builder merge(@NonNull NormalizerStats.Builder<DistributionStats> other) {
+            if (!(other instanceof Builder))
+                throw new IllegalArgumentException("Unable to merge " + other.getClass().getSimpleName());
+
+            Builder builder = (Builder) other;
+            if (builder.runningMean == null)
+                return this;
+            return add(builder.runningMean.dup(), builder.runningVariance.dup(), builder.runningCount);
+        }
+
+        /**
+         * Combine the mean and (population) variance of count rows with the running ones
+         */
+        private Builder add(INDArray mean, INDArray variance, long count) {
             if (runningMean == null) {
                 // First batch
                 runningMean = mean;
                 runningVariance = variance;
                 runningCount = count;
-
-                if(data.size(0) == 1){
-                    //Handle edge case: currently, reduction ops may return the same array
-                    //But we don't want to modify this array in-place later
-                    runningMean = runningMean.dup();
-                    runningVariance = runningVariance.dup();
-                }
-            } else {
-                // Update running variance
-                INDArray deltaSquared = Transforms.pow(mean.subRowVector(runningMean), 2);
-                INDArray mB = variance.muli(count);
-                runningVariance.muli(runningCount).addiRowVector(mB)
-                                .addiRowVector(deltaSquared
-                                                .muli((float) (runningCount * count) / (runningCount + count)))
-                                .divi(runningCount + count);
-
-                // Update running count
-                runningCount += count;
-
-                // Update running mean
-                INDArray xMinusMean = data.subRowVector(runningMean);
-                runningMean.addi(xMinusMean.sum(0).divi(runningCount));
+                return this;
             }
 
+            // Using https://en.wikipedia.org/wiki/Algorithms_for_calculating_variance#Parallel_algorithm
+            long total = runningCount + count;
+            INDArray delta = mean.subRowVector(runningMean);
+            INDArray deltaSquared = Transforms.pow(delta, 2, true);
+
+            // Update running variance
+            runningVariance.muli((double) runningCount / total).addiRowVector(variance.muli((double) count / total))
+                            .addiRowVector(deltaSquared.muli((double) runningCount / total * count / total));
+
+            // Update running mean
+            runningMean.addiRowVector(delta.muli((double) count / total));
+
+            // Update running count
+            runningCount = total;
+
             return this;
         }
 
+        /**
+         * @return the number of rows added so far
+         */
+        public long getCount() {
+            return runningCount;
+        }
+
         /**
          * Create a DistributionStats object from the data ingested so far. Can be used multiple times when updating
          * online.
@@ -121,6 +121,30 @@ public class MinMaxStats implements NormalizerStats {
             return this;
         }
 
+        /**
+         * Combine the bounds of another builder with the ones of this builder
+         *
+         * @param other the builder to merge in to this one, left unmodified
+         */
+        @Override
+        public MinMaxStats.Builder merge(@NonNull NormalizerStats.Builder<MinMaxStats> other) {
+            if (!(other instanceof MinMaxStats.Builder))
+                throw new IllegalArgumentException("Unable to merge " + other.getClass().getSimpleName());
+
+            MinMaxStats.Builder builder = (MinMaxStats.Builder) other;
+            if (builder.runningLower == null)
+                return this;
+
+            if (runningLower == null) {
+                runningLower = builder.runningLower.dup();
+                runningUpper = builder.runningUpper.dup();
+            } else {
+                Transforms.min(runningLower, builder.runningLower, false);
+                Transforms.max(runningUpper, builder.runningUpper, false);
+            }
+            return this;
+        }
+
         /**
          * Create a DistributionStats object from the data ingested so far. Can be used multiple times when updating
          * online.
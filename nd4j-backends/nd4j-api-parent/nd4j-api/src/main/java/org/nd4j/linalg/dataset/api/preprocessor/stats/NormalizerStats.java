@@ -28,6 +28,14 @@ public interface NormalizerStats extends Serializable {
          */
         Builder<S> add(INDArray data, INDArray mask);
 
+        /**
+         * Combine the statistics gathered by another builder of the same type with the ones of this builder,
+         * as if all of its data was added to this builder
+         *
+         * @param other the builder to merge in to this one, left unmodified
+         */
+        Builder<S> merge(Builder<S> other);
+
         /**
          * Builder pattern
          * @return
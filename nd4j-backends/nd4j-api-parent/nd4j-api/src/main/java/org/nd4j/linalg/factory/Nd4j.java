@@ -35,6 +35,7 @@ import org.bytedeco.javacpp.indexer.FloatRawIndexer;
 import org.bytedeco.javacpp.indexer.Indexer;
 import org.bytedeco.javacpp.indexer.IntRawIndexer;
 import org.nd4j.context.Nd4jContext;
+import org.nd4j.linalg.api.buffer.BaseDataBuffer;
 import org.nd4j.linalg.api.buffer.DataBuffer;
 import org.nd4j.linalg.api.buffer.factory.DataBufferFactory;
 import org.nd4j.linalg.api.buffer.factory.DefaultDataBufferFactory;
@@ -47,6 +48,7 @@ import org.nd4j.linalg.api.concurrency.AffinityManager;
 import org.nd4j.linalg.api.concurrency.BasicAffinityManager;
 import org.nd4j.linalg.api.instrumentation.InMemoryInstrumentation;
 import org.nd4j.linalg.api.instrumentation.Instrumentation;
+import org.nd4j.linalg.api.memory.MemoryWorkspace;
 import org.nd4j.linalg.api.memory.MemoryWorkspaceManager;
 import org.nd4j.linalg.api.ndarray.BaseShapeInfoProvider;
 import org.nd4j.linalg.api.ndarray.INDArray;
@@ -82,13 +84,18 @@ import org.nd4j.linalg.memory.provider.BasicWorkspaceManager;
 import org.nd4j.linalg.memory.stash.BasicStashManager;
 import org.nd4j.linalg.memory.stash.StashManager;
 import org.nd4j.linalg.string.NDArrayStrings;
+import org.nd4j.linalg.util.MappedNDArrayUtil;
 import org.nd4j.linalg.util.ArrayUtil;
+import org.nd4j.linalg.util.NDArraySort;
 
 import java.io.*;
 import java.lang.ref.ReferenceQueue;
 import java.lang.reflect.Constructor;
 import java.math.BigDecimal;
 import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
 import java.text.DecimalFormat;
 import java.text.NumberFormat;
 import java.text.ParseException;
@@ -127,6 +134,12 @@ public class Nd4j {
     public final static String MEMORY_MANAGER = "memorymanager";
     public final static String WORKSPACE_MANAGER = "workspacemanager";
     public final static String RANDOM_PROVIDER = "random";
+    public final static String TAD_CACHE_MAX_ENTRIES = "tadcache.maxentries";
+    public final static String TAD_CACHE_MAX_BYTES = "tadcache.maxbytes";
+    public final static String SHAPE_CACHE_MAX_ENTRIES = "shapecache.maxentries";
+    public final static String SHAPE_CACHE_MAX_BYTES = "shapecache.maxbytes";
+    public final static String CONSTANT_CACHE_MAX_ENTRIES = "constantcache.maxentries";
+    public final static String CONSTANT_CACHE_MAX_BYTES = "constantcache.maxbytes";
     //execution mode for element wise operations
     public static OpExecutioner.ExecutionMode executionMode = OpExecutioner.ExecutionMode.JAVA;
 
@@ -1567,57 +1580,7 @@ public class Nd4j {
      * @return the indices and the sorted ndarray
      */
     public static INDArray[] sortWithIndices(INDArray ndarray, int dimension, boolean ascending) {
-        INDArray indices = Nd4j.create(ndarray.shape());
-        INDArray[] ret = new INDArray[2];
-
-        for (int i = 0; i < ndarray.vectorsAlongDimension(dimension); i++) {
-            INDArray vec = ndarray.vectorAlongDimension(i, dimension);
-            INDArray indexVector = indices.vectorAlongDimension(i, dimension);
-            final Double[] data = new Double[vec.length()];
-            final Double[] index = new Double[vec.length()];
-
-            for (int j = 0; j < vec.length(); j++) {
-                data[j] = vec.getDouble(j);
-                index[j] = (double) j;
-            }
-
-            /**
-             * Inject a comparator that sorts indices relative to
-             * the actual values in the data.
-             * This allows us to retain the indices
-             * and how they were rearranged.
-             */
-
-            Arrays.sort(index, new Comparator<Double>() {
-                @Override
-                public int compare(Double o1, Double o2) {
-                    int o = (int) o1.doubleValue();
-                    int oo2 = (int) o2.doubleValue();
-                    return Double.compare(data[o], data[oo2]);
-                }
-            });
-
-            if (ascending)
-                for (int j = 0; j < vec.length(); j++) {
-                    vec.putScalar(j, data[(int) index[j].doubleValue()]);
-                    indexVector.putScalar(j, index[j]);
-                }
-            else {
-                int count = data.length - 1;
-                for (int j = 0; j < vec.length(); j++) {
-                    int currCount2 = count;
-                    count--;
-                    vec.putScalar(j, data[(int) index[currCount2].doubleValue()]);
-                    indexVector.putScalar(j, index[currCount2]);
-                }
-            }
-
-        }
-
-        ret[0] = indices;
-        ret[1] = ndarray;
-
-        return ret;
+        return NDArraySort.sortWithIndices(ndarray, dimension, ascending);
     }
 
     /**
@@ -1669,28 +1632,21 @@ public class Nd4j {
      * @return the sorted ndarray
      */
     public static INDArray sort(INDArray ndarray, int dimension, boolean ascending) {
-        for (int i = 0; i < ndarray.vectorsAlongDimension(dimension); i++) {
-            INDArray vec = ndarray.vectorAlongDimension(i, dimension);
-            double[] data = new double[vec.length()];
-            for (int j = 0; j < vec.length(); j++) {
-                data[j] = vec.getDouble(j);
-            }
-
-            Arrays.sort(data);
-
-            if (ascending)
-                for (int j = 0; j < vec.length(); j++)
-                    vec.putScalar(j, data[j]);
-            else {
-                int count = data.length - 1;
-                for (int j = 0; j < vec.length(); j++) {
-                    vec.putScalar(j, data[count--]);
-                }
-            }
-
-        }
+        return NDArraySort.sort(ndarray, dimension, ascending);
+    }
 
-        return ndarray;
+    /**
+     * The k largest (or smallest) elements of an ndarray along a particular dimension,
+     * without sorting the whole ndarray. The ndarray itself is left unmodified.
+     *
+     * @param ndarray   the ndarray to select from
+     * @param k         the number of elements to select from each vector along the dimension
+     * @param dimension the dimension to select along
+     * @param largest   true to select the largest elements, false for the smallest
+     * @return the selected values, best first, and their indices along the dimension
+     */
+    public static INDArray[] topK(INDArray ndarray, int k, int dimension, boolean largest) {
+        return NDArraySort.topK(ndarray, k, dimension, largest);
     }
 
     /**Sort (shuffle) the rows of a 2d array according to the value at a specified column.
@@ -1715,24 +1671,8 @@ public class Nd4j {
         if (colIdx < 0 || colIdx >= in.columns())
             throw new IllegalArgumentException("Cannot sort on values in column " + colIdx + ", nCols=" + in.columns());
 
-        INDArray out = Nd4j.create(in.shape());
-        int nRows = in.rows();
-        ArrayList<Integer> list = new ArrayList<>(nRows);
-        for (int i = 0; i < nRows; i++)
-            list.add(i);
-        Collections.sort(list, new Comparator<Integer>() {
-            @Override
-            public int compare(Integer o1, Integer o2) {
-                if (ascending)
-                    return Double.compare(in.getDouble(o1, colIdx), in.getDouble(o2, colIdx));
-                else
-                    return -Double.compare(in.getDouble(o1, colIdx), in.getDouble(o2, colIdx));
-            }
-        });
-        for (int i = 0; i < nRows; i++) {
-            out.putRow(i, in.getRow(list.get(i)));
-        }
-        return out;
+        int[] order = NDArraySort.argSort(sortKeys(in.getColumn(colIdx), ascending));
+        return Nd4j.pullRows(in, 1, order);
     }
 
     /**Sort (shuffle) the columns of a 2d array according to the value at a specified row.
@@ -1758,25 +1698,25 @@ public class Nd4j {
             throw new IllegalArgumentException("Cannot sort on values in row " + rowIdx + ", nRows=" + in.rows());
 
         INDArray out = Nd4j.create(in.shape());
-        int nCols = in.columns();
-        ArrayList<Integer> list = new ArrayList<>(nCols);
-        for (int i = 0; i < nCols; i++)
-            list.add(i);
-        Collections.sort(list, new Comparator<Integer>() {
-            @Override
-            public int compare(Integer o1, Integer o2) {
-                if (ascending)
-                    return Double.compare(in.getDouble(rowIdx, o1), in.getDouble(rowIdx, o2));
-                else
-                    return -Double.compare(in.getDouble(rowIdx, o1), in.getDouble(rowIdx, o2));
-            }
-        });
-        for (int i = 0; i < nCols; i++) {
-            out.putColumn(i, in.getColumn(list.get(i)));
+        int[] order = NDArraySort.argSort(sortKeys(in.getRow(rowIdx), ascending));
+        for (int i = 0; i < order.length; i++) {
+            out.putColumn(i, in.getColumn(order[i]));
         }
         return out;
     }
 
+    /**
+     * Values of a vector to argsort by, negated when sorting in descending order
+     * so that the stable argsort keeps ties in their original order either way
+     */
+    private static double[] sortKeys(INDArray vector, boolean ascending) {
+        double[] keys = vector.dup().data().asDouble();
+        if (!ascending)
+            for (int i = 0; i < keys.length; i++)
+                keys[i] = -keys[i];
+        return keys;
+    }
+
     /**
      * Create an n x (shape)
      * ndarray where the ndarray is repeated num times
@@ -2397,6 +2337,80 @@ public class Nd4j {
         return result;
     }
 
+    /**
+     * This method creates HALF array of given shape, filled with zeros.
+     *
+     * PLEASE NOTE: On CPU backend HALF is storage type: ops convert HALF operands to float scratch memory, compute, and write results back.
+     * So HALF arrays take half of memory and bandwidth, but their precision is limited to ~3 significant decimal digits.
+     *
+     * @param shape
+     * @param order
+     * @return
+     */
+    public static INDArray createHalf(int[] shape, char order) {
+        if (shape.length == 1)
+            shape = new int[] {1, shape[0]};
+
+        checkShapeValues(shape);
+
+        MemoryWorkspace workspace = getMemoryManager().getCurrentWorkspace();
+        long length = ArrayUtil.prodLong(shape);
+        DataBuffer buffer = workspace == null ? DATA_BUFFER_FACTORY_INSTANCE.createHalf(length, true)
+                        : DATA_BUFFER_FACTORY_INSTANCE.createHalf(length, true, workspace);
+
+        return create(buffer, shape, getStrides(shape, order), 0, order);
+    }
+
+    /**
+     * This method returns HALF copy of given array
+     *
+     * @param source FLOAT or DOUBLE array
+     * @return
+     */
+    public static INDArray toHalf(@NonNull INDArray source) {
+        return convertArray(source, DataBuffer.Type.HALF);
+    }
+
+    /**
+     * This method returns copy of given HALF array, using default data type, see {@link #dataType()}
+     *
+     * @param source HALF array
+     * @return
+     */
+    public static INDArray fromHalf(@NonNull INDArray source) {
+        return convertArray(source, dataType());
+    }
+
+    private static INDArray convertArray(INDArray source, DataBuffer.Type targetType) {
+        if (source.isCompressed())
+            getCompressor().autoDecompress(source);
+
+        // conversion works on linear buffers, so views are copied first
+        if (source.isView())
+            source = source.dup(source.ordering());
+
+        INDArray target = targetType == DataBuffer.Type.HALF ? createHalf(source.shape(), source.ordering())
+                        : createUninitialized(source.shape(), source.ordering());
+
+        getNDArrayFactory().convertDataEx(typeExOf(source.data().dataType()), source.data().addressPointer(),
+                        typeExOf(targetType), target.data().addressPointer(), source.lengthLong());
+
+        return target;
+    }
+
+    private static DataBuffer.TypeEx typeExOf(DataBuffer.Type type) {
+        switch (type) {
+            case HALF:
+                return DataBuffer.TypeEx.FLOAT16;
+            case FLOAT:
+                return DataBuffer.TypeEx.FLOAT;
+            case DOUBLE:
+                return DataBuffer.TypeEx.DOUBLE;
+            default:
+                throw new ND4JIllegalStateException("Unsupported data type for conversion: " + type);
+        }
+    }
+
 
     /**
      * Read in an ndarray from a data input stream
@@ -2432,6 +2446,32 @@ public class Nd4j {
         arr.data().write(dataOutputStream);
     }
 
+    /**
+     * Write an ndarray to the specified channel, using the same format as {@link #write(INDArray, DataOutputStream)}.
+     * Array data is copied from off-heap memory in large blocks.
+     *
+     * @param arr     the array to write
+     * @param channel the channel to write to
+     * @throws IOException
+     */
+    public static void write(INDArray arr, WritableByteChannel channel) throws IOException {
+        if (arr.isView())
+            arr = arr.dup();
+
+        writeBuffer(arr.shapeInfoDataBuffer(), channel);
+        writeBuffer(arr.data(), channel);
+    }
+
+    private static void writeBuffer(DataBuffer buffer, WritableByteChannel channel) throws IOException {
+        if (buffer instanceof BaseDataBuffer) {
+            ((BaseDataBuffer) buffer).write(channel);
+        } else {
+            DataOutputStream dos = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)));
+            buffer.write(dos);
+            dos.flush();
+        }
+    }
+
     /**
      * Save an ndarray to the given file
      * @param arr the array to save
@@ -2439,14 +2479,47 @@ public class Nd4j {
      * @throws IOException
      */
     public static void saveBinary(INDArray arr, File saveTo) throws IOException {
-        BufferedOutputStream bos = new BufferedOutputStream(new FileOutputStream(saveTo));
-        DataOutputStream dos = new DataOutputStream(bos);
-        Nd4j.write(arr, dos);
-        dos.flush();
-        dos.close();
-        bos.close();
+        try (FileOutputStream fos = new FileOutputStream(saveTo); FileChannel channel = fos.getChannel()) {
+            Nd4j.write(arr, channel);
+        }
+    }
+
+
+    /**
+     * Save an ndarray to the given file, using raw layout suitable for memory mapping
+     *
+     * @param arr the array to save
+     * @param saveTo the file to save to
+     * @throws IOException
+     */
+    public static void saveMapped(INDArray arr, File saveTo) throws IOException {
+        MappedNDArrayUtil.saveMapped(arr, saveTo);
     }
 
+    /**
+     * Open an ndarray saved with {@link #saveMapped(INDArray, File)}, the file is never modified.
+     * Returned array is backed by copy-on-write file mapping, so it can be modified in place as any other array.
+     *
+     * @param file the file to map
+     * @return the mapped ndarray
+     * @throws IOException
+     */
+    public static INDArray createFromMappedFile(File file) throws IOException {
+        return MappedNDArrayUtil.createFromMappedFile(file, FileChannel.MapMode.READ_ONLY);
+    }
+
+    /**
+     * Open an ndarray saved with {@link #saveMapped(INDArray, File)}, using the specified mapping mode.
+     * Use {@link FileChannel.MapMode#PRIVATE} for copy-on-write arrays.
+     *
+     * @param file the file to map
+     * @param mode mapping mode
+     * @return the mapped ndarray
+     * @throws IOException
+     */
+    public static INDArray createFromMappedFile(File file, FileChannel.MapMode mode) throws IOException {
+        return MappedNDArrayUtil.createFromMappedFile(file, mode);
+    }
 
     /**
      * Read a binary ndarray from the given file
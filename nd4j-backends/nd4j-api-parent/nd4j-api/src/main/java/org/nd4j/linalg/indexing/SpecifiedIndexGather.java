@@ -0,0 +1,245 @@
+package org.nd4j.linalg.indexing;
+
+import org.bytedeco.javacpp.BytePointer;
+import org.bytedeco.javacpp.Pointer;
+import org.nd4j.linalg.api.buffer.DataBuffer;
+import org.nd4j.linalg.api.concurrency.AffinityManager;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.executors.ExecutorServiceProvider;
+import org.nd4j.linalg.factory.Nd4j;
+import org.nd4j.linalg.util.ArrayUtil;
+
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Gather engine for {@link INDArray#get(INDArrayIndex...)}
+ * when every dimension is resolved to a {@link SpecifiedIndex}.
+ *
+ * Instead of walking the cross product of the indexes one boxed
+ * coordinate list at a time, the element offsets of every index are precomputed
+ * per dimension, and the output is filled in 'c' order:
+ * the innermost dimension is split in to runs of consecutive indexes,
+ * each of which becomes a single block copy when that dimension is contiguous.
+ * Large outputs are filled in parallel over the outer dimensions.
+ *
+ * @author Adam Gibson
+ */
+public class SpecifiedIndexGather {
+    /**
+     * Min number of output elements to fill in parallel
+     */
+    public static final int PARALLEL_THRESHOLD = 65536;
+
+    private static volatile boolean enabled = true;
+
+    private SpecifiedIndexGather() {}
+
+    /**
+     * Enable or disable the gather engine,
+     * falling back to element wise iteration when disabled
+     * @param enabled whether to use the gather engine
+     */
+    public static void setEnabled(boolean enabled) {
+        SpecifiedIndexGather.enabled = enabled;
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns true if the given resolved indexes
+     * can be gathered by this engine: one in range {@link SpecifiedIndex}
+     * per dimension, producing the given shape
+     * @param source the array to gather from
+     * @param indexes the resolved indexes
+     * @param shape the shape of the result
+     * @return true if {@link #gather(INDArray, INDArrayIndex[], int[])} can be used
+     */
+    public static boolean canGather(INDArray source, INDArrayIndex[] indexes, int[] shape) {
+        if (!enabled || shape == null || indexes.length != source.rank() || source.isCompressed())
+            return false;
+
+        DataBuffer.Type type = source.data().dataType();
+        if (type == DataBuffer.Type.COMPRESSED || type != Nd4j.dataType())
+            return false;
+
+        long length = 1;
+        for (int i = 0; i < indexes.length; i++) {
+            if (!(indexes[i] instanceof SpecifiedIndex))
+                return false;
+
+            int[] idx = ((SpecifiedIndex) indexes[i]).getIndexes();
+            int size = source.size(i);
+            for (int j = 0; j < idx.length; j++)
+                if (idx[j] < 0 || idx[j] >= size)
+                    return false;
+
+            length *= idx.length;
+        }
+
+        return length > 0 && length == ArrayUtil.prodLong(shape);
+    }
+
+    /**
+     * Gather the cross product of the given indexes
+     * in to a new 'c' ordered array of the given shape
+     * @param source the array to gather from
+     * @param indexes the resolved indexes, see {@link #canGather(INDArray, INDArrayIndex[], int[])}
+     * @param shape the shape of the result
+     * @return the gathered array
+     */
+    public static INDArray gather(INDArray source, INDArrayIndex[] indexes, int[] shape) {
+        int rank = indexes.length;
+        int[] stride = source.stride();
+
+        //element offsets of every index, per dimension
+        long[][] offsets = new long[rank][];
+        for (int i = 0; i < rank; i++) {
+            int[] idx = ((SpecifiedIndex) indexes[i]).getIndexes();
+            offsets[i] = new long[idx.length];
+            for (int j = 0; j < idx.length; j++)
+                offsets[i][j] = (long) idx[j] * stride[i];
+        }
+
+        //runs of consecutive indexes along the innermost dimension
+        int[] inner = ((SpecifiedIndex) indexes[rank - 1]).getIndexes();
+        int numRuns = 1;
+        for (int j = 1; j < inner.length; j++)
+            if (inner[j] != inner[j - 1] + 1)
+                numRuns++;
+
+        int[] runStarts = new int[numRuns];
+        int[] runLengths = new int[numRuns];
+        int run = 0;
+        runStarts[0] = 0;
+        for (int j = 1; j < inner.length; j++) {
+            if (inner[j] != inner[j - 1] + 1) {
+                runLengths[run] = j - runStarts[run];
+                runStarts[++run] = j;
+            }
+        }
+        runLengths[run] = inner.length - runStarts[run];
+
+        Nd4j.getAffinityManager().ensureLocation(source, AffinityManager.Location.HOST);
+
+        INDArray ret = Nd4j.create(shape, 'c');
+        Gather gather = new Gather(source.data(), ret.data(), offsets, runStarts, runLengths,
+                        stride[rank - 1] == 1);
+
+        long outer = ret.lengthLong() / inner.length;
+        if (ret.lengthLong() >= PARALLEL_THRESHOLD && outer > 1)
+            ExecutorServiceProvider.getForkJoinPool().invoke(new GatherAction(gather, 0, outer,
+                            Math.max(1, PARALLEL_THRESHOLD / inner.length)));
+        else
+            gather.fill(0, outer);
+
+        Nd4j.getAffinityManager().tagLocation(ret, AffinityManager.Location.HOST);
+        return ret;
+    }
+
+    private static class Gather {
+        private final DataBuffer source;
+        private final DataBuffer target;
+        private final long[][] offsets;
+        private final int[] runStarts;
+        private final int[] runLengths;
+        private final boolean contiguous;
+        private final int elementSize;
+        private final int innerLength;
+        private final Pointer sourcePointer;
+        private final Pointer targetPointer;
+
+        private Gather(DataBuffer source, DataBuffer target, long[][] offsets, int[] runStarts, int[] runLengths,
+                        boolean contiguous) {
+            this.source = source;
+            this.target = target;
+            this.offsets = offsets;
+            this.runStarts = runStarts;
+            this.runLengths = runLengths;
+            this.contiguous = contiguous;
+            this.elementSize = source.getElementSize();
+            this.innerLength = offsets[offsets.length - 1].length;
+            this.sourcePointer = source.addressPointer();
+            this.targetPointer = target.addressPointer();
+        }
+
+        /**
+         * Fill the output for the outer
+         * coordinates in the given range
+         * @param from the first outer coordinate, inclusive
+         * @param to the last outer coordinate, exclusive
+         */
+        private void fill(long from, long to) {
+            int outerRank = offsets.length - 1;
+            long[] inner = offsets[outerRank];
+
+            //decompose the first outer coordinate
+            int[] coords = new int[outerRank];
+            long rem = from;
+            for (int i = outerRank - 1; i >= 0; i--) {
+                coords[i] = (int) (rem % offsets[i].length);
+                rem /= offsets[i].length;
+            }
+
+            BytePointer src = new BytePointer(sourcePointer);
+            BytePointer dst = new BytePointer(targetPointer);
+            boolean isDouble = source.dataType() == DataBuffer.Type.DOUBLE;
+
+            for (long o = from; o < to; o++) {
+                long base = 0;
+                for (int i = 0; i < outerRank; i++)
+                    base += offsets[i][coords[i]];
+
+                long position = o * innerLength;
+                for (int r = 0; r < runStarts.length; r++) {
+                    int start = runStarts[r];
+                    int length = runLengths[r];
+                    if (contiguous && length > 1) {
+                        src.position((base + inner[start]) * elementSize);
+                        dst.position((position + start) * elementSize);
+                        Pointer.memcpy(dst, src, (long) length * elementSize);
+                    } else if (isDouble) {
+                        for (int j = start; j < start + length; j++)
+                            target.put(position + j, source.getDouble(base + inner[j]));
+                    } else {
+                        for (int j = start; j < start + length; j++)
+                            target.put(position + j, source.getFloat(base + inner[j]));
+                    }
+                }
+
+                //next outer coordinate, last dimension moving fastest
+                for (int i = outerRank - 1; i >= 0; i--) {
+                    if (++coords[i] < offsets[i].length)
+                        break;
+                    coords[i] = 0;
+                }
+            }
+        }
+    }
+
+    private static class GatherAction extends RecursiveAction {
+        private final Gather gather;
+        private final long from;
+        private final long to;
+        private final long grain;
+
+        private GatherAction(Gather gather, long from, long to, long grain) {
+            this.gather = gather;
+            this.from = from;
+            this.to = to;
+            this.grain = grain;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= grain) {
+                gather.fill(from, to);
+                return;
+            }
+
+            long middle = from + (to - from) / 2;
+            invokeAll(new GatherAction(gather, from, middle, grain), new GatherAction(gather, middle, to, grain));
+        }
+    }
+}
@@ -16,16 +16,20 @@ import org.nd4j.linalg.api.memory.MemoryWorkspace;
 import org.nd4j.linalg.api.memory.conf.WorkspaceConfiguration;
 import org.nd4j.linalg.api.memory.pointers.PagedPointer;
 import org.nd4j.linalg.api.memory.pointers.PointersPair;
+import org.nd4j.linalg.api.memory.stats.WorkspaceListener;
+import org.nd4j.linalg.api.memory.stats.WorkspaceStats;
 
 import java.lang.ref.ReferenceQueue;
 import java.lang.ref.WeakReference;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Queue;
 import java.util.concurrent.LinkedTransferQueue;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
 
 /**
  * Basic implementation for MemoryWorkspace interface, further extended in corresponding backends
@@ -92,6 +96,14 @@ public abstract class Nd4jWorkspace implements MemoryWorkspace {
 
     protected AtomicLong initialBlockSize = new AtomicLong(0);
 
+    // telemetry counters, these are never reset
+    protected AtomicLong spilledAllocationsCount = new AtomicLong(0);
+    protected AtomicLong spilledAllocationsTotal = new AtomicLong(0);
+    protected AtomicLong reallocationsCount = new AtomicLong(0);
+    protected AtomicLongArray cycleHistogram = new AtomicLongArray(WorkspaceStats.HISTOGRAM_BUCKETS);
+
+    protected List<WorkspaceListener> listeners = Collections.emptyList();
+
     protected String guid;
 
     // this memory manager implementation will be used to allocate real memory for this workspace
@@ -225,6 +237,109 @@ public abstract class Nd4jWorkspace implements MemoryWorkspace {
     }
 
     public PagedPointer alloc(long requiredMemory, MemoryKind kind, DataBuffer.Type type, boolean initialize) {
+        /*
+            Workspaces are thread-bound: offsets and cycle counters are written by owner thread only,
+            so owner allocates with plain ordered stores, without locks or CAS operations.
+            Other threads never touch offsets: their allocations are served from external memory under workspace monitor.
+         */
+        if (isOwnerThread())
+            return allocInternal(requiredMemory, kind, type, initialize);
+
+        synchronized (this) {
+            return allocForeign(requiredMemory, kind, type, initialize);
+        }
+    }
+
+    /**
+     * This method returns TRUE if current thread is the owner of this workspace, so it's the only writer of offsets & cycle counters
+     *
+     * @return
+     */
+    protected boolean isOwnerThread() {
+        return Thread.currentThread().getId() == threadId.longValue();
+    }
+
+    /**
+     * This method reserves requiredMemory bytes at given offset, if they fit into current workspace size.
+     * PLEASE NOTE: Owner thread only
+     *
+     * @param offset
+     * @param requiredMemory
+     * @return previous offset value, or -1 if there's not enough space left
+     */
+    protected long reserveOffset(AtomicLong offset, long requiredMemory) {
+        long prevOffset = offset.get();
+        if (prevOffset + requiredMemory > currentSize.get())
+            return -1;
+
+        offset.lazySet(prevOffset + requiredMemory);
+        return prevOffset;
+    }
+
+    /**
+     * This method accounts given number of bytes as allocated within current cycle.
+     * PLEASE NOTE: Owner thread only
+     *
+     * @param requiredMemory
+     */
+    protected void accountCycleAllocation(long requiredMemory) {
+        cycleAllocations.lazySet(cycleAllocations.get() + requiredMemory);
+    }
+
+    /**
+     * This method serves allocation coming from thread other then owner.
+     * Memory is allocated outside of workspace, and released together with other external allocations,
+     * so it has the same lifespan as workspace memory, but never overlaps with owner allocations.
+     * Called under this workspace monitor.
+     *
+     * @param requiredMemory
+     * @param kind
+     * @param type
+     * @param initialize
+     * @return
+     */
+    protected PagedPointer allocForeign(long requiredMemory, MemoryKind kind, DataBuffer.Type type, boolean initialize) {
+        long div = requiredMemory % 8;
+        if (div!= 0)
+            requiredMemory += div;
+
+        long numElements = requiredMemory / Nd4j.sizeOfDataType(type);
+
+        externalCount.incrementAndGet();
+        PagedPointer pointer = new PagedPointer(memoryManager.allocate(requiredMemory, kind, initialize), numElements);
+
+        if (kind == MemoryKind.DEVICE)
+            addExternalAllocation(new PointersPair(null, pointer));
+        else
+            addExternalAllocation(new PointersPair(pointer, null));
+
+        if (isDebug.get())
+            log.info("Workspace [{}]: foreign thread {} allocated {} bytes outside of workspace", id, Thread.currentThread().getId(), requiredMemory);
+
+        return pointer;
+    }
+
+    /**
+     * This method registers pointers allocated outside of workspace, so they'll be released on workspace reset/destroy
+     *
+     * @param pair
+     */
+    protected void addExternalAllocation(PointersPair pair) {
+        synchronized (this) {
+            externalAllocations.add(pair);
+        }
+    }
+
+    /**
+     * This method does actual allocation. Called from owner thread only
+     *
+     * @param requiredMemory
+     * @param kind
+     * @param type
+     * @param initialize
+     * @return
+     */
+    protected PagedPointer allocInternal(long requiredMemory, MemoryKind kind, DataBuffer.Type type, boolean initialize) {
         /*
             just two options here:
             1) reqMem + hostOffset < totalSize, we just return pointer + offset
@@ -244,7 +359,7 @@ public abstract class Nd4jWorkspace implements MemoryWorkspace {
 
             PagedPointer pointer = new PagedPointer(memoryManager.allocate(requiredMemory, MemoryKind.HOST, initialize), numElements);
 
-            externalAllocations.add(new PointersPair(pointer, null));
+            addExternalAllocation(new PointersPair(pointer, null));
 
             return pointer;
         }
@@ -262,12 +377,10 @@ public abstract class Nd4jWorkspace implements MemoryWorkspace {
         }
 
         // if size is enough - allocate from workspace
-        if (hostOffset.get() + requiredMemory <= currentSize.get() && !trimmer) {
-            // just alignment to 8 bytes
-
-            cycleAllocations.addAndGet(requiredMemory);
-            long prevOffset = hostOffset.getAndAdd(requiredMemory);
-            deviceOffset.set(hostOffset.get());
+        long prevOffset = trimmer ? -1 : reserveOffset(hostOffset, requiredMemory);
+        if (prevOffset >= 0) {
+            accountCycleAllocation(requiredMemory);
+            deviceOffset.lazySet(prevOffset + requiredMemory);
 
             PagedPointer ptr = workspace.getHostPointer().withOffset(prevOffset, numElements);
 
@@ -285,12 +398,12 @@ public abstract class Nd4jWorkspace implements MemoryWorkspace {
             if (workspaceConfiguration.getPolicyReset() == ResetPolicy.ENDOFBUFFER_REACHED && currentSize.get() > 0 && !trimmer) {
                 reset();
                 resetPlanned.set(true);
-                return alloc(requiredMemory, kind, type, initialize);
+                return allocInternal(requiredMemory, kind, type, initialize);
             }
 
             // updating respective counters
             if (!trimmer)
-                spilledAllocationsSize.addAndGet(requiredMemory);
+                accountSpill(requiredMemory);
             else
                 pinnedAllocationsSize.addAndGet(requiredMemory);
 
@@ -300,13 +413,13 @@ public abstract class Nd4jWorkspace implements MemoryWorkspace {
             switch (workspaceConfiguration.getPolicySpill()) {
                 case REALLOCATE:
                 case EXTERNAL:
-                    cycleAllocations.addAndGet(requiredMemory);
+                    accountCycleAllocation(requiredMemory);
                     if (!trimmer) {
                         externalCount.incrementAndGet();
 
                         PagedPointer pointer = new PagedPointer(memoryManager.allocate(requiredMemory, MemoryKind.HOST, initialize), numElements);
 
-                        externalAllocations.add(new PointersPair(pointer, null));
+                        addExternalAllocation(new PointersPair(pointer, null));
 
                         return pointer;
                     } else {
@@ -383,6 +496,13 @@ public abstract class Nd4jWorkspace implements MemoryWorkspace {
 
                 // calling for implementation-specific workspace initialization. basically allocation happens there
                 init();
+
+                reallocationsCount.incrementAndGet();
+                if (!listeners.isEmpty()) {
+                    WorkspaceStats stats = getStats();
+                    for (WorkspaceListener listener : listeners)
+                        listener.workspaceReallocated(stats);
+                }
             }
     }
 
@@ -541,6 +661,9 @@ public abstract class Nd4jWorkspace implements MemoryWorkspace {
 
         lastCycleAllocations.set(cycleAllocations.get());
 
+        int bucket = WorkspaceStats.bucketFor(cycleAllocations.get());
+        cycleHistogram.lazySet(bucket, cycleHistogram.get(bucket) + 1);
+
         disabledCounter.set(0);
 
 
@@ -563,6 +686,64 @@ public abstract class Nd4jWorkspace implements MemoryWorkspace {
         }
 
         cycleAllocations.set(0);
+
+        if (!listeners.isEmpty()) {
+            WorkspaceStats stats = getStats();
+            for (WorkspaceListener listener : listeners)
+                listener.cycleFinished(stats);
+        }
+    }
+
+    /**
+     * This method updates spill counters for given number of bytes
+     *
+     * @param requiredMemory
+     */
+    protected void accountSpill(long requiredMemory) {
+        spilledAllocationsSize.addAndGet(requiredMemory);
+        spilledAllocationsCount.incrementAndGet();
+        spilledAllocationsTotal.addAndGet(requiredMemory);
+    }
+
+    /**
+     * This method returns snapshot of memory usage for this workspace.
+     *
+     * PLEASE NOTE: It's safe to call this method from any thread, but values are not guaranteed to be consistent with each other.
+     *
+     * @return
+     */
+    public WorkspaceStats getStats() {
+        long[] histogram = new long[cycleHistogram.length()];
+        for (int e = 0; e < histogram.length; e++)
+            histogram[e] = cycleHistogram.get(e);
+
+        return WorkspaceStats.builder()
+                .id(id)
+                .threadId(threadId)
+                .deviceId(deviceId)
+                .configuration(workspaceConfiguration)
+                .currentSize(currentSize.get())
+                .maxCycleAllocations(maxCycle.get())
+                .lastCycleAllocations(lastCycleAllocations.get())
+                .cyclesCount(cyclesCount.get())
+                .spilledCount(spilledAllocationsCount.get())
+                .spilledBytes(spilledAllocationsTotal.get())
+                .currentSpilledBytes(spilledAllocationsSize.get())
+                .pinnedCount(pinnedCount.get())
+                .pinnedBytes(pinnedAllocationsSize.get())
+                .reallocationsCount(reallocationsCount.get())
+                .cycleHistogram(histogram)
+                .build();
+    }
+
+    /**
+     * This method sets listeners, that will be notified about cycles & reallocations of this workspace.
+     * Usually that's list shared by MemoryWorkspaceManager.
+     *
+     * @param listeners
+     */
+    public void setListeners(@NonNull List<WorkspaceListener> listeners) {
+        this.listeners = listeners;
     }
 
     protected abstract void clearPinnedAllocations(boolean extended);
@@ -8,6 +8,8 @@ import org.nd4j.linalg.api.memory.conf.WorkspaceConfiguration;
 import org.nd4j.linalg.api.memory.enums.*;
 import org.nd4j.linalg.api.memory.pointers.PagedPointer;
 import org.nd4j.linalg.api.memory.pointers.PointersPair;
+import org.nd4j.linalg.api.memory.stats.WorkspaceListener;
+import org.nd4j.linalg.api.memory.stats.WorkspaceStats;
 import org.nd4j.linalg.factory.Nd4j;
 import org.nd4j.linalg.memory.abstracts.DummyWorkspace;
 import org.nd4j.linalg.memory.abstracts.Nd4jWorkspace;
@@ -18,6 +20,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Workspace manager implementation. Please note, this class is supposed to be used via Nd4j.getWorkspaceManager(), to provide consistency between different threads within given JVM process
@@ -31,6 +34,7 @@ public abstract class BasicWorkspaceManager implements MemoryWorkspaceManager {
     private ReferenceQueue<MemoryWorkspace> queue;
     private WorkspaceDeallocatorThread thread;
     private Map<String, Nd4jWorkspace.GarbageWorkspaceReference> referenceMap = new ConcurrentHashMap<>();
+    protected List<WorkspaceListener> listeners = new CopyOnWriteArrayList<>();
 
     public BasicWorkspaceManager() {
         this(WorkspaceConfiguration.builder().initialSize(0).maxSize(0).overallocationLimit(0.3).policyAllocation(AllocationPolicy.OVERALLOCATE).policyLearning(LearningPolicy.FIRST_LOOP).policyMirroring(MirroringPolicy.FULL).policySpill(SpillPolicy.EXTERNAL).build());
@@ -85,6 +89,9 @@ public abstract class BasicWorkspaceManager implements MemoryWorkspaceManager {
     protected void pickReference(MemoryWorkspace workspace) {
         Nd4jWorkspace.GarbageWorkspaceReference reference = new Nd4jWorkspace.GarbageWorkspaceReference(workspace, queue);
         referenceMap.put(reference.getId()+ "_" + reference.getThreadId(), reference);
+
+        if (workspace instanceof Nd4jWorkspace)
+            ((Nd4jWorkspace) workspace).setListeners(listeners);
     }
 
     @Override
@@ -273,6 +280,51 @@ public abstract class BasicWorkspaceManager implements MemoryWorkspaceManager {
         }
     }
 
+    /**
+     * This method returns memory usage snapshots for all workspaces of current Thread
+     *
+     * @return
+     */
+    @Override
+    public List<WorkspaceStats> getWorkspaceStatsForCurrentThread() {
+        ensureThreadExistense();
+
+        List<WorkspaceStats> stats = new ArrayList<>();
+        for (MemoryWorkspace workspace : backingMap.get().values()) {
+            if (workspace instanceof Nd4jWorkspace)
+                stats.add(((Nd4jWorkspace) workspace).getStats());
+        }
+
+        return stats;
+    }
+
+    /**
+     * This method returns memory usage snapshots for all alive workspaces, across all Threads
+     *
+     * @return
+     */
+    @Override
+    public List<WorkspaceStats> getWorkspaceStats() {
+        List<WorkspaceStats> stats = new ArrayList<>();
+        for (Nd4jWorkspace.GarbageWorkspaceReference reference : referenceMap.values()) {
+            MemoryWorkspace workspace = reference.get();
+            if (workspace instanceof Nd4jWorkspace)
+                stats.add(((Nd4jWorkspace) workspace).getStats());
+        }
+
+        return stats;
+    }
+
+    @Override
+    public void addWorkspaceListener(@NonNull WorkspaceListener listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void removeWorkspaceListener(@NonNull WorkspaceListener listener) {
+        listeners.remove(listener);
+    }
+
     /**
      * This method prints out basic statistics for workspaces allocated in current thread
      */
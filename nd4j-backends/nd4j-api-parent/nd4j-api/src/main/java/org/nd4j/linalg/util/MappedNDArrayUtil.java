@@ -0,0 +1,208 @@
+package org.nd4j.linalg.util;
+
+import lombok.NonNull;
+import org.nd4j.linalg.api.buffer.DataBuffer;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.api.shape.Shape;
+import org.nd4j.linalg.factory.Nd4j;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+
+/**
+ * Utility class for memory-mapped INDArray files.
+ *
+ * File layout (header is always big-endian):
+ *  4 bytes: magic
+ *  4 bytes: format version
+ *  4 bytes: byte order of data section, 0 for big-endian, 1 for little-endian
+ *  4 bytes: data type ordinal
+ *  4 bytes: rank
+ *  8 bytes: number of elements
+ *  shapeInfo ints
+ *  padding up to {@link #DATA_ALIGNMENT}
+ *  raw data, in byte order specified above
+ *
+ * If data byte order matches native one, array is backed directly by mapped file memory,
+ * so it opens instantly and is shared with other processes via OS page cache.
+ * Otherwise data is copied into a regular buffer.
+ *
+ * PLEASE NOTE: single mapping is limited to 2GB by java NIO, so arrays larger then that aren't supported here.
+ *
+ * @author raver119@gmail.com
+ */
+public class MappedNDArrayUtil {
+    public static final int MAGIC = 0x4E44344D;
+    public static final int VERSION = 1;
+    public static final int DATA_ALIGNMENT = 64;
+
+    private MappedNDArrayUtil() {}
+
+    /**
+     * This method saves given array into file, suitable for {@link #createFromMappedFile(File, FileChannel.MapMode)}
+     *
+     * @param arr array to save
+     * @param file target file, will be overwritten
+     * @throws IOException
+     */
+    public static void saveMapped(@NonNull INDArray arr, @NonNull File file) throws IOException {
+        if (arr.isCompressed())
+            throw new UnsupportedOperationException("Compressed arrays can't be saved as mapped files");
+
+        if (arr.isView())
+            arr = arr.dup();
+
+        DataBuffer.Type type = arr.data().dataType();
+        if (type != DataBuffer.Type.FLOAT && type != DataBuffer.Type.DOUBLE && type != DataBuffer.Type.INT
+                        && type != DataBuffer.Type.HALF)
+            throw new UnsupportedOperationException("Unsupported data type: " + type);
+
+        int rank = arr.rank();
+        int shapeInfoLength = Shape.shapeInfoLength(rank);
+        long dataBytes = arr.length() * (long) arr.data().getElementSize();
+        if (dataBytes >= Integer.MAX_VALUE)
+            throw new UnsupportedOperationException("Arrays larger then 2GB can't be mapped");
+
+        int dataOffset = dataOffset(rank);
+
+        ByteBuffer header = ByteBuffer.allocate(dataOffset).order(ByteOrder.BIG_ENDIAN);
+        header.putInt(MAGIC);
+        header.putInt(VERSION);
+        header.putInt(ByteOrder.nativeOrder() == ByteOrder.BIG_ENDIAN ? 0 : 1);
+        header.putInt(type.ordinal());
+        header.putInt(rank);
+        header.putLong(arr.length());
+        DataBuffer shapeInfo = arr.shapeInfoDataBuffer();
+        for (int e = 0; e < shapeInfoLength; e++)
+            header.putInt(shapeInfo.getInt(e));
+        header.position(0);
+
+        ByteBuffer data = arr.data().pointer().asByteBuffer().order(ByteOrder.nativeOrder());
+        data.position(0);
+        data.limit((int) dataBytes);
+
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw"); FileChannel channel = raf.getChannel()) {
+            channel.truncate(0);
+            while (header.hasRemaining())
+                channel.write(header);
+
+            while (data.hasRemaining())
+                channel.write(data);
+
+            channel.force(false);
+        }
+    }
+
+    /**
+     * This method opens array saved with {@link #saveMapped(INDArray, File)}.
+     *
+     * Supported modes are:
+     *  READ_ONLY - file is never modified. Array itself is still writable, so it's mapped as PRIVATE,
+     *              or copied into regular memory if file isn't writable for current user
+     *  PRIVATE - copy-on-write, modifications aren't visible to other processes, and aren't written back to file
+     *  READ_WRITE - modifications are written back to file
+     *
+     * @param file source file
+     * @param mode mapping mode
+     * @return
+     * @throws IOException
+     */
+    public static INDArray createFromMappedFile(@NonNull File file, @NonNull FileChannel.MapMode mode)
+                    throws IOException {
+        /*
+            Any in-place op over array backed by READ_ONLY mapping would crash JVM, so we never expose such mapping.
+            PRIVATE mapping requires file opened for writing, if that's not possible - data is copied.
+         */
+        boolean copy = false;
+        if (mode == FileChannel.MapMode.READ_ONLY) {
+            if (file.canWrite())
+                mode = FileChannel.MapMode.PRIVATE;
+            else
+                copy = true;
+        }
+
+        String rafMode = mode == FileChannel.MapMode.READ_ONLY ? "r" : "rw";
+        MappedByteBuffer mapped;
+        try (RandomAccessFile raf = new RandomAccessFile(file, rafMode); FileChannel channel = raf.getChannel()) {
+            if (channel.size() >= Integer.MAX_VALUE)
+                throw new UnsupportedOperationException("Files larger then 2GB can't be mapped");
+
+            // mapping stays valid after channel is closed
+            mapped = channel.map(mode, 0, channel.size());
+        }
+
+        ByteBuffer header = mapped.duplicate().order(ByteOrder.BIG_ENDIAN);
+        if (header.getInt() != MAGIC)
+            throw new IllegalStateException("File [" + file + "] isn't mapped INDArray file");
+
+        int version = header.getInt();
+        if (version != VERSION)
+            throw new IllegalStateException("Unsupported mapped file version: " + version);
+
+        ByteOrder dataOrder = header.getInt() == 0 ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN;
+        DataBuffer.Type type = DataBuffer.Type.values()[header.getInt()];
+        int rank = header.getInt();
+        long length = header.getLong();
+
+        int shapeInfoLength = Shape.shapeInfoLength(rank);
+        int[] shapeInfo = new int[shapeInfoLength];
+        for (int e = 0; e < shapeInfoLength; e++)
+            shapeInfo[e] = header.getInt();
+
+        int elementSize = type == DataBuffer.Type.DOUBLE ? 8 : type == DataBuffer.Type.HALF ? 2 : 4;
+        int dataOffset = dataOffset(rank);
+
+        mapped.position(dataOffset);
+        ByteBuffer data = mapped.slice();
+        data.limit((int) (length * elementSize));
+        data.order(dataOrder);
+
+        DataBuffer buffer;
+        if (dataOrder == ByteOrder.nativeOrder() && !copy) {
+            buffer = Nd4j.createBuffer(data, type, (int) length);
+        } else {
+            // byte order mismatch or read-only mapping, we can't use file memory directly
+            buffer = Nd4j.createBuffer(copyToNativeOrder(data, type), type, (int) length);
+        }
+
+        // shapeInfo layout: rank, shape, stride, offset, elementWiseStride, order
+        int[] shape = Arrays.copyOfRange(shapeInfo, 1, 1 + rank);
+        int[] stride = Arrays.copyOfRange(shapeInfo, 1 + rank, 1 + 2 * rank);
+        int ews = shapeInfo[shapeInfoLength - 2];
+        char order = (char) shapeInfo[shapeInfoLength - 1];
+
+        DataBuffer shapeBuffer = Nd4j.getShapeInfoProvider().createShapeInformation(shape, stride, 0, ews, order);
+
+        return Nd4j.createArrayFromShapeBuffer(buffer, shapeBuffer);
+    }
+
+    private static ByteBuffer copyToNativeOrder(ByteBuffer source, DataBuffer.Type type) {
+        ByteBuffer target = ByteBuffer.allocateDirect(source.remaining()).order(ByteOrder.nativeOrder());
+        switch (type) {
+            case DOUBLE:
+                target.asDoubleBuffer().put(source.asDoubleBuffer());
+                break;
+            case INT:
+                target.asIntBuffer().put(source.asIntBuffer());
+                break;
+            case HALF:
+                target.asShortBuffer().put(source.asShortBuffer());
+                break;
+            default:
+                target.asFloatBuffer().put(source.asFloatBuffer());
+                break;
+        }
+        return target;
+    }
+
+    private static int dataOffset(int rank) {
+        int headerLength = 5 * 4 + 8 + Shape.shapeInfoLength(rank) * 4;
+        return ((headerLength + DATA_ALIGNMENT - 1) / DATA_ALIGNMENT) * DATA_ALIGNMENT;
+    }
+}
@@ -0,0 +1,426 @@
+package org.nd4j.linalg.util;
+
+import org.nd4j.linalg.api.buffer.DataBuffer;
+import org.nd4j.linalg.api.concurrency.AffinityManager;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.executors.ExecutorServiceProvider;
+import org.nd4j.linalg.factory.Nd4j;
+
+import java.util.Arrays;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Sort engine backing {@link Nd4j#sort(INDArray, int, boolean)},
+ * {@link Nd4j#sortWithIndices(INDArray, int, boolean)} and {@link Nd4j#topK(INDArray, int, int, boolean)}.
+ *
+ * Every vector along the sorted dimension is read in to a primitive array straight from
+ * the data buffer, sorted (or argsorted) there and written back the same way,
+ * with no boxing and no per element view access.
+ * Vectors are independent of each other, so large arrays are sorted
+ * in parallel, each task reusing its scratch arrays for all of its vectors.
+ *
+ * Argsort is a stable merge sort of an index array,
+ * so equal values keep their original relative order.
+ * Top k selection keeps a bounded heap of k indexes instead of sorting the whole vector.
+ *
+ * @author Adam Gibson
+ */
+public class NDArraySort {
+    /**
+     * Min number of elements to sort in parallel
+     */
+    public static final int PARALLEL_THRESHOLD = 65536;
+
+    private static final int INSERTION_SORT_THRESHOLD = 32;
+
+    private NDArraySort() {}
+
+    /**
+     * Stable ascending argsort
+     * @param keys the values to sort by
+     * @return the indexes of the keys in ascending order
+     */
+    public static int[] argSort(double[] keys) {
+        int[] indexes = new int[keys.length];
+        argSort(keys, keys.length, indexes, new int[keys.length]);
+        return indexes;
+    }
+
+    /**
+     * Stable ascending argsort
+     * @param keys the values to sort by
+     * @return the indexes of the keys in ascending order
+     */
+    public static int[] argSort(float[] keys) {
+        return argSort(ArrayUtil.toDoubles(keys));
+    }
+
+    /**
+     * Stable ascending argsort
+     * @param keys the values to sort by
+     * @return the indexes of the keys in ascending order
+     */
+    public static int[] argSort(int[] keys) {
+        return argSort(ArrayUtil.toDoubles(keys));
+    }
+
+    /**
+     * Indexes of the k largest (or smallest) keys,
+     * best first. Equal keys are ordered by index.
+     * @param keys the values to select from
+     * @param k the number of indexes to return
+     * @param largest true to select the largest keys, false for the smallest
+     * @return the indexes of the top k keys
+     */
+    public static int[] topK(double[] keys, int k, boolean largest) {
+        if (k < 1 || k > keys.length)
+            throw new IllegalArgumentException("k must be between 1 and " + keys.length + ", got " + k);
+        int[] ret = new int[k];
+        topK(keys, keys.length, k, largest, ret);
+        return ret;
+    }
+
+    /**
+     * Sort the given array in place along a dimension
+     * @param array the array to sort
+     * @param dimension the dimension to sort along
+     * @param ascending true for smallest to largest, false for largest to smallest
+     * @return the sorted array
+     */
+    public static INDArray sort(INDArray array, int dimension, boolean ascending) {
+        Vectors vectors = new Vectors(array, dimension);
+        execute(new SortJob(vectors, ascending), vectors);
+        Nd4j.getAffinityManager().tagLocation(array, AffinityManager.Location.HOST);
+        return array;
+    }
+
+    /**
+     * Sort the given array in place along a dimension,
+     * keeping track of where every element came from
+     * @param array the array to sort
+     * @param dimension the dimension to sort along
+     * @param ascending true for smallest to largest, false for largest to smallest
+     * @return the indexes, along the dimension, of the sorted elements, and the sorted array
+     */
+    public static INDArray[] sortWithIndices(INDArray array, int dimension, boolean ascending) {
+        INDArray indices = Nd4j.create(array.shape());
+        Vectors vectors = new Vectors(array, dimension);
+        Vectors indexVectors = new Vectors(indices, dimension);
+        execute(new ArgSortJob(vectors, indexVectors, ascending), vectors);
+        Nd4j.getAffinityManager().tagLocation(array, AffinityManager.Location.HOST);
+        Nd4j.getAffinityManager().tagLocation(indices, AffinityManager.Location.HOST);
+        return new INDArray[] {indices, array};
+    }
+
+    /**
+     * The k largest (or smallest) elements along a dimension, best first
+     * @param array the array to select from, left unmodified
+     * @param k the number of elements to select from each vector
+     * @param dimension the dimension to select along
+     * @param largest true to select the largest elements, false for the smallest
+     * @return the selected values and their indexes along the dimension,
+     * both shaped as the array with k elements along the dimension
+     */
+    public static INDArray[] topK(INDArray array, int k, int dimension, boolean largest) {
+        Vectors vectors = new Vectors(array, dimension);
+        if (k < 1 || k > vectors.length)
+            throw new IllegalArgumentException("k must be between 1 and " + vectors.length + ", got " + k);
+
+        if (array.size(dimension) != vectors.length)
+            throw new IllegalArgumentException("Unable to select along dimension " + dimension + " of array with shape "
+                            + Arrays.toString(array.shape()));
+
+        int[] shape = array.shape().clone();
+        shape[dimension] = k;
+
+        INDArray values = Nd4j.create(shape);
+        INDArray indices = Nd4j.create(shape);
+        Vectors valueVectors = new Vectors(values, dimension);
+        Vectors indexVectors = new Vectors(indices, dimension);
+        execute(new TopKJob(vectors, valueVectors, indexVectors, k, largest), vectors);
+        Nd4j.getAffinityManager().tagLocation(values, AffinityManager.Location.HOST);
+        Nd4j.getAffinityManager().tagLocation(indices, AffinityManager.Location.HOST);
+        return new INDArray[] {values, indices};
+    }
+
+    /**
+     * Stable ascending argsort of the first length keys
+     * @param keys the values to sort by
+     * @param length the number of keys to sort
+     * @param indexes the output, at least length long
+     * @param scratch scratch space, at least length long
+     */
+    static void argSort(double[] keys, int length, int[] indexes, int[] scratch) {
+        for (int i = 0; i < length; i++) {
+            indexes[i] = i;
+            scratch[i] = i;
+        }
+        mergeSort(keys, scratch, indexes, 0, length);
+    }
+
+    /**
+     * Merge sort of the indexes in [low, high) by key.
+     * src and dest have to hold the same indexes on entry, the result ends up in dest.
+     */
+    private static void mergeSort(double[] keys, int[] src, int[] dest, int low, int high) {
+        int length = high - low;
+        if (length < INSERTION_SORT_THRESHOLD) {
+            for (int i = low + 1; i < high; i++) {
+                int index = dest[i];
+                double key = keys[index];
+                int j = i - 1;
+                while (j >= low && Double.compare(keys[dest[j]], key) > 0) {
+                    dest[j + 1] = dest[j];
+                    j--;
+                }
+                dest[j + 1] = index;
+            }
+            return;
+        }
+
+        int middle = (low + high) >>> 1;
+        mergeSort(keys, dest, src, low, middle);
+        mergeSort(keys, dest, src, middle, high);
+
+        //halves already in order
+        if (Double.compare(keys[src[middle - 1]], keys[src[middle]]) <= 0) {
+            System.arraycopy(src, low, dest, low, length);
+            return;
+        }
+
+        for (int i = low, p = low, q = middle; i < high; i++) {
+            if (q >= high || p < middle && Double.compare(keys[src[p]], keys[src[q]]) <= 0)
+                dest[i] = src[p++];
+            else
+                dest[i] = src[q++];
+        }
+    }
+
+    /**
+     * Select the top k of the first length keys in to result, best first
+     */
+    private static void topK(double[] keys, int length, int k, boolean largest, int[] result) {
+        //heap of the best k indexes seen so far, the worst of them at the root
+        int size = 0;
+        for (int i = 0; i < length; i++) {
+            if (size < k) {
+                int child = size++;
+                while (child > 0) {
+                    int parent = (child - 1) >>> 1;
+                    if (!better(keys, result[parent], i, largest))
+                        break;
+                    result[child] = result[parent];
+                    child = parent;
+                }
+                result[child] = i;
+            } else if (better(keys, i, result[0], largest)) {
+                siftDown(keys, result, i, size, largest);
+            }
+        }
+
+        //pop the worst to the back until the heap is empty
+        for (int last = size - 1; last > 0; last--) {
+            int worst = result[0];
+            siftDown(keys, result, result[last], last, largest);
+            result[last] = worst;
+        }
+    }
+
+    private static void siftDown(double[] keys, int[] heap, int index, int size, boolean largest) {
+        int parent = 0;
+        while (true) {
+            int child = 2 * parent + 1;
+            if (child >= size)
+                break;
+            if (child + 1 < size && better(keys, heap[child], heap[child + 1], largest))
+                child++;
+            if (!better(keys, index, heap[child], largest))
+                break;
+            heap[parent] = heap[child];
+            parent = child;
+        }
+        heap[parent] = index;
+    }
+
+    /**
+     * Returns true if a ranks before b
+     */
+    private static boolean better(double[] keys, int a, int b, boolean largest) {
+        int cmp = Double.compare(keys[a], keys[b]);
+        if (cmp == 0)
+            return a < b;
+        return largest ? cmp > 0 : cmp < 0;
+    }
+
+    private static void execute(VectorJob job, Vectors vectors) {
+        long total = (long) vectors.count * vectors.length;
+        if (total >= PARALLEL_THRESHOLD && vectors.count > 1)
+            ExecutorServiceProvider.getForkJoinPool().invoke(new VectorAction(job, 0, vectors.count,
+                            Math.max(1, PARALLEL_THRESHOLD / vectors.length)));
+        else
+            job.process(0, vectors.count);
+    }
+
+    /**
+     * Buffers and strides of every vector along a dimension,
+     * resolved once up front so workers only touch the data buffers
+     */
+    private static class Vectors {
+        private final DataBuffer[] buffers;
+        private final int[] strides;
+        private final int count;
+        private final int length;
+
+        private Vectors(INDArray array, int dimension) {
+            Nd4j.getCompressor().autoDecompress(array);
+            Nd4j.getAffinityManager().ensureLocation(array, AffinityManager.Location.HOST);
+
+            count = array.vectorsAlongDimension(dimension);
+            buffers = new DataBuffer[count];
+            strides = new int[count];
+            int length = 0;
+            for (int i = 0; i < count; i++) {
+                INDArray vector = array.vectorAlongDimension(i, dimension);
+                buffers[i] = vector.data();
+                strides[i] = strideOf(vector);
+                length = vector.length();
+            }
+            this.length = length;
+        }
+
+        private void read(int vector, double[] target) {
+            DataBuffer buffer = buffers[vector];
+            int stride = strides[vector];
+            for (int j = 0; j < length; j++)
+                target[j] = buffer.getDouble((long) j * stride);
+        }
+
+        private void write(int vector, int j, double value) {
+            buffers[vector].put((long) j * strides[vector], value);
+        }
+
+        private static int strideOf(INDArray vector) {
+            for (int i = 0; i < vector.rank(); i++)
+                if (vector.size(i) > 1)
+                    return vector.stride(i);
+            return 1;
+        }
+    }
+
+    private static abstract class VectorJob {
+        protected final Vectors vectors;
+
+        protected VectorJob(Vectors vectors) {
+            this.vectors = vectors;
+        }
+
+        /**
+         * Process the vectors in [from, to)
+         */
+        protected abstract void process(int from, int to);
+    }
+
+    private static class SortJob extends VectorJob {
+        private final boolean ascending;
+
+        private SortJob(Vectors vectors, boolean ascending) {
+            super(vectors);
+            this.ascending = ascending;
+        }
+
+        @Override
+        protected void process(int from, int to) {
+            int length = vectors.length;
+            double[] data = new double[length];
+            for (int v = from; v < to; v++) {
+                vectors.read(v, data);
+                Arrays.sort(data);
+                for (int j = 0; j < length; j++)
+                    vectors.write(v, j, ascending ? data[j] : data[length - j - 1]);
+            }
+        }
+    }
+
+    private static class ArgSortJob extends VectorJob {
+        private final Vectors indexVectors;
+        private final boolean ascending;
+
+        private ArgSortJob(Vectors vectors, Vectors indexVectors, boolean ascending) {
+            super(vectors);
+            this.indexVectors = indexVectors;
+            this.ascending = ascending;
+        }
+
+        @Override
+        protected void process(int from, int to) {
+            int length = vectors.length;
+            double[] data = new double[length];
+            int[] indexes = new int[length];
+            int[] scratch = new int[length];
+            for (int v = from; v < to; v++) {
+                vectors.read(v, data);
+                argSort(data, length, indexes, scratch);
+                for (int j = 0; j < length; j++) {
+                    //descending is the reverse of the stable ascending order
+                    int index = ascending ? indexes[j] : indexes[length - j - 1];
+                    vectors.write(v, j, data[index]);
+                    indexVectors.write(v, j, index);
+                }
+            }
+        }
+    }
+
+    private static class TopKJob extends VectorJob {
+        private final Vectors valueVectors;
+        private final Vectors indexVectors;
+        private final int k;
+        private final boolean largest;
+
+        private TopKJob(Vectors vectors, Vectors valueVectors, Vectors indexVectors, int k, boolean largest) {
+            super(vectors);
+            this.valueVectors = valueVectors;
+            this.indexVectors = indexVectors;
+            this.k = k;
+            this.largest = largest;
+        }
+
+        @Override
+        protected void process(int from, int to) {
+            double[] data = new double[vectors.length];
+            int[] result = new int[k];
+            for (int v = from; v < to; v++) {
+                vectors.read(v, data);
+                topK(data, vectors.length, k, largest, result);
+                for (int j = 0; j < k; j++) {
+                    valueVectors.write(v, j, data[result[j]]);
+                    indexVectors.write(v, j, result[j]);
+                }
+            }
+        }
+    }
+
+    private static class VectorAction extends RecursiveAction {
+        private final VectorJob job;
+        private final int from;
+        private final int to;
+        private final int grain;
+
+        private VectorAction(VectorJob job, int from, int to, int grain) {
+            this.job = job;
+            this.from = from;
+            this.to = to;
+            this.grain = grain;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= grain) {
+                job.process(from, to);
+                return;
+            }
+
+            int middle = from + (to - from) / 2;
+            invokeAll(new VectorAction(job, from, middle, grain), new VectorAction(job, middle, to, grain));
+        }
+    }
+}
@@ -0,0 +1,306 @@
+package org.nd4j.compression.impl;
+
+import org.bytedeco.javacpp.BytePointer;
+import org.bytedeco.javacpp.DoublePointer;
+import org.bytedeco.javacpp.FloatPointer;
+import org.bytedeco.javacpp.Pointer;
+import org.nd4j.linalg.api.buffer.DataBuffer;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.compression.CompressedDataBuffer;
+import org.nd4j.linalg.compression.CompressionDescriptor;
+import org.nd4j.linalg.compression.CompressionType;
+import org.nd4j.linalg.compression.SparseNDArrayCompressor;
+import org.nd4j.linalg.factory.Nd4j;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * Sparse compressor implementation, suited for gradients/updates:
+ * only elements with absolute value >= threshold are kept,
+ * optionally limited to top-k elements by magnitude.
+ *
+ * Encoded data is stored either as indices + values, or as bitmap + values, whichever is smaller:
+ *      int encoding, int count, then count indices or (length + 31) / 32 bitmap words, then count float values
+ *
+ * PLEASE NOTE: Elements below threshold are dropped, unless residual is used,
+ * see {@link #compress(INDArray, INDArray)}
+ *
+ * @author raver119@gmail.com
+ */
+public class Threshold extends AbstractCompressor implements SparseNDArrayCompressor {
+    public static final int ENCODING_INDICES = 0;
+    public static final int ENCODING_BITMAP = 1;
+    protected static final int HEADER_LENGTH = 8;
+
+    protected volatile double threshold = 1e-3;
+    protected volatile int limit = 0;
+
+    public Threshold() {
+        //
+    }
+
+    /**
+     * @param threshold minimal absolute value of encoded elements
+     * @param limit max number of encoded elements (top-k), 0 means no limit
+     */
+    public Threshold(double threshold, int limit) {
+        this.threshold = threshold;
+        this.limit = limit;
+    }
+
+    public double getThreshold() {
+        return threshold;
+    }
+
+    /**
+     * This method sets minimal absolute value of encoded elements
+     *
+     * @param threshold
+     */
+    public void setThreshold(double threshold) {
+        this.threshold = threshold;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * This method sets max number of encoded elements, so only top-k elements by magnitude are sent.
+     * 0 means no limit.
+     *
+     * @param limit
+     */
+    public void setLimit(int limit) {
+        this.limit = limit;
+    }
+
+    /**
+     * This method returns compression descriptor. It should be unique for any compressor implementation
+     *
+     * @return
+     */
+    @Override
+    public String getDescriptor() {
+        return "THRESHOLD";
+    }
+
+    /**
+     * This method returns compression type provided by specific NDArrayCompressor implementation
+     *
+     * @return
+     */
+    @Override
+    public CompressionType getCompressionType() {
+        return CompressionType.LOSSY;
+    }
+
+    @Override
+    public INDArray compress(INDArray update, INDArray residual) {
+        if (!Arrays.equals(update.shape(), residual.shape()))
+            throw new IllegalStateException("Update and residual shapes don't match: " + Arrays.toString(update.shape())
+                            + " vs " + Arrays.toString(residual.shape()));
+
+        if (residual.isView())
+            throw new UnsupportedOperationException("Residual can't be a View");
+
+        INDArray source = update.isView() || update.ordering() != residual.ordering()
+                        ? update.dup(residual.ordering()) : update;
+
+        Nd4j.getExecutioner().commit();
+
+        CompressedDataBuffer buffer = encode(source.data(), residual.data(), (int) residual.length());
+        return Nd4j.createArrayFromShapeBuffer(buffer, residual.shapeInfoDataBuffer());
+    }
+
+    @Override
+    public void decompressAdd(INDArray compressed, INDArray target) {
+        if (compressed.length() != target.length())
+            throw new IllegalStateException("Compressed and target lengths don't match: " + compressed.length()
+                            + " vs " + target.length());
+
+        // indices are relative to compressed array ordering, so we can go directly only for matching dense targets
+        if (target.isView() || target.ordering() != compressed.ordering()) {
+            target.addi(decompress(compressed));
+            return;
+        }
+
+        Nd4j.getExecutioner().commit();
+
+        decode((CompressedDataBuffer) compressed.data(), target.data());
+    }
+
+    @Override
+    public DataBuffer decompress(DataBuffer buffer) {
+        CompressedDataBuffer compressed = (CompressedDataBuffer) buffer;
+        DataBuffer result = Nd4j.createBuffer(compressed.getCompressionDescriptor().getNumberOfElements());
+
+        decode(compressed, result);
+
+        return result;
+    }
+
+    @Override
+    public DataBuffer compress(DataBuffer buffer) {
+        return encode(buffer, null, (int) buffer.length());
+    }
+
+    @Override
+    protected CompressedDataBuffer compressPointer(DataBuffer.TypeEx srcType, Pointer srcPointer, int length,
+                    int elementSize) {
+        DataBuffer buffer;
+        if (srcType == DataBuffer.TypeEx.FLOAT)
+            buffer = Nd4j.createBuffer(new FloatPointer(srcPointer), length);
+        else if (srcType == DataBuffer.TypeEx.DOUBLE)
+            buffer = Nd4j.createBuffer(new DoublePointer(srcPointer), length);
+        else
+            throw new UnsupportedOperationException("Unsupported source dataType: [" + srcType + "]");
+
+        return encode(buffer, null, length);
+    }
+
+    /**
+     * This method encodes source buffer. If residual is not null, source is added to residual first,
+     * residual gets encoded, and encoded elements are removed from residual.
+     */
+    protected CompressedDataBuffer encode(DataBuffer source, DataBuffer residual, int length) {
+        DataBuffer values = source;
+        if (residual != null) {
+            for (int e = 0; e < length; e++)
+                residual.put(e, residual.getDouble(e) + source.getDouble(e));
+
+            values = residual;
+        }
+
+        double cut = cutoff(values, length);
+        int count = 0;
+        int above = 0;
+        for (int e = 0; e < length; e++) {
+            double magnitude = Math.abs(values.getDouble(e));
+            if (magnitude != 0.0 && magnitude >= cut) {
+                count++;
+                if (magnitude > cut)
+                    above++;
+            }
+        }
+
+        // extra ties at cutoff value are dropped, and stay in residual
+        if (limit > 0 && count > limit)
+            count = limit;
+
+        int ties = count - above;
+
+        int words = (length + 31) / 32;
+        int encoding = words < count ? ENCODING_BITMAP : ENCODING_INDICES;
+        int valuesOffset = HEADER_LENGTH + (encoding == ENCODING_BITMAP ? words : count) * 4;
+        int compressedLength = valuesOffset + count * 4;
+
+        BytePointer pointer = new BytePointer(compressedLength);
+        ByteBuffer byteBuffer = pointer.asByteBuffer().order(ByteOrder.nativeOrder());
+        byteBuffer.putInt(0, encoding);
+        byteBuffer.putInt(4, count);
+
+        int[] bitmap = encoding == ENCODING_BITMAP ? new int[words] : null;
+        int taken = 0;
+        for (int e = 0; e < length && taken < count; e++) {
+            double value = values.getDouble(e);
+            double magnitude = Math.abs(value);
+            if (magnitude == 0.0 || magnitude < cut)
+                continue;
+
+            if (magnitude == cut && ties-- <= 0)
+                continue;
+
+            if (bitmap != null)
+                bitmap[e >> 5] |= 1 << (e & 31);
+            else
+                byteBuffer.putInt(HEADER_LENGTH + taken * 4, e);
+
+            float encoded = (float) value;
+            byteBuffer.putFloat(valuesOffset + taken * 4, encoded);
+
+            if (residual != null)
+                residual.put(e, value - encoded);
+
+            taken++;
+        }
+
+        if (bitmap != null)
+            for (int w = 0; w < words; w++)
+                byteBuffer.putInt(HEADER_LENGTH + w * 4, bitmap[w]);
+
+        CompressionDescriptor descriptor = new CompressionDescriptor(source, this);
+        descriptor.setNumberOfElements(length);
+        descriptor.setOriginalLength((long) length * source.getElementSize());
+        descriptor.setCompressedLength(compressedLength);
+
+        return new CompressedDataBuffer(pointer, descriptor);
+    }
+
+    /**
+     * This method returns minimal absolute value of elements to be encoded, taking limit into account
+     */
+    protected double cutoff(DataBuffer values, int length) {
+        if (limit <= 0)
+            return threshold;
+
+        int count = 0;
+        for (int e = 0; e < length; e++)
+            if (Math.abs(values.getDouble(e)) >= threshold)
+                count++;
+
+        if (count <= limit)
+            return threshold;
+
+        double[] magnitudes = new double[count];
+        int cnt = 0;
+        for (int e = 0; e < length; e++) {
+            double magnitude = Math.abs(values.getDouble(e));
+            if (magnitude >= threshold)
+                magnitudes[cnt++] = magnitude;
+        }
+
+        Arrays.sort(magnitudes);
+        return magnitudes[count - limit];
+    }
+
+    /**
+     * This method adds encoded values to the target buffer
+     */
+    protected void decode(CompressedDataBuffer compressed, DataBuffer target) {
+        CompressionDescriptor descriptor = compressed.getCompressionDescriptor();
+        int length = (int) descriptor.getNumberOfElements();
+
+        BytePointer pointer = new BytePointer(compressed.addressPointer());
+        pointer.capacity(descriptor.getCompressedLength());
+        pointer.limit(descriptor.getCompressedLength());
+        ByteBuffer byteBuffer = pointer.asByteBuffer().order(ByteOrder.nativeOrder());
+
+        int encoding = byteBuffer.getInt(0);
+        int count = byteBuffer.getInt(4);
+
+        if (encoding == ENCODING_INDICES) {
+            int valuesOffset = HEADER_LENGTH + count * 4;
+            for (int e = 0; e < count; e++) {
+                int index = byteBuffer.getInt(HEADER_LENGTH + e * 4);
+                target.put(index, target.getDouble(index) + byteBuffer.getFloat(valuesOffset + e * 4));
+            }
+        } else if (encoding == ENCODING_BITMAP) {
+            int words = (length + 31) / 32;
+            int valuesOffset = HEADER_LENGTH + words * 4;
+            int taken = 0;
+            for (int w = 0; w < words; w++) {
+                int word = byteBuffer.getInt(HEADER_LENGTH + w * 4);
+                while (word != 0) {
+                    int index = (w << 5) + Integer.numberOfTrailingZeros(word);
+                    target.put(index, target.getDouble(index) + byteBuffer.getFloat(valuesOffset + taken * 4));
+                    taken++;
+                    word &= word - 1;
+                }
+            }
+        } else
+            throw new IllegalStateException("Unknown encoding: [" + encoding + "]");
+    }
+}
@@ -2,13 +2,11 @@ package org.nd4j.jita.constant;
 
 import org.nd4j.linalg.api.buffer.DataBuffer;
 import org.nd4j.linalg.api.shape.ShapeDescriptor;
+import org.nd4j.linalg.cache.BoundedCache;
+import org.nd4j.linalg.cache.ShapeInfoStore;
 import org.nd4j.linalg.factory.Nd4j;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.*;
 
 /**
  * This class implements storage singleton, to guarantee constant buffers persistence
@@ -22,30 +20,48 @@ public class ConstantProtector {
         return ourInstance;
     }
 
-    private List<DataBuffer> protector = new CopyOnWriteArrayList<>();
-    private List<Map<ShapeDescriptor, DataBuffer>> deviceCache = new ArrayList<>();
+    // identity-based, since we only need to hold references, and buffers evicted from shapeInfo stores are dropped
+    private Set<DataBuffer> protector = newProtector();
+    private List<ShapeInfoStore> deviceCache = new ArrayList<>();
+
+    private final BoundedCache.RemovalListener<ShapeDescriptor, DataBuffer> unprotector =
+                    new BoundedCache.RemovalListener<ShapeDescriptor, DataBuffer>() {
+                        @Override
+                        public void onRemoval(ShapeDescriptor key, DataBuffer value) {
+                            protector.remove(value);
+                        }
+                    };
 
     private ConstantProtector() {
         purgeProtector();
     }
 
     public void purgeProtector() {
-        protector = new CopyOnWriteArrayList<>();
+        protector = newProtector();
         deviceCache = new ArrayList<>();
 
         int numDevices = Nd4j.getAffinityManager().getNumberOfDevices();
 
         for (int i = 0; i < numDevices; i++) {
-            deviceCache.add(i, new ConcurrentHashMap<ShapeDescriptor, DataBuffer>());
+            deviceCache.add(i, new ShapeInfoStore(unprotector));
         }
     }
 
+    private static Set<DataBuffer> newProtector() {
+        return Collections.newSetFromMap(Collections.synchronizedMap(new IdentityHashMap<DataBuffer, Boolean>()));
+    }
+
     public void persistDataBuffer(DataBuffer buffer) {
         protector.add(buffer);
     }
 
-    public void persistDataBuffer(int deviceId, ShapeDescriptor descriptor, DataBuffer buffer) {
-        deviceCache.get(deviceId).put(descriptor, buffer);
+    public void persistDataBuffer(int deviceId, ShapeDescriptor descriptor, final DataBuffer buffer) {
+        deviceCache.get(deviceId).getOrCreate(descriptor, new BoundedCache.Loader<ShapeDescriptor, DataBuffer>() {
+            @Override
+            public DataBuffer load(ShapeDescriptor key) {
+                return buffer;
+            }
+        });
     }
 
     public DataBuffer getDataBuffer(int deviceId, ShapeDescriptor descriptor) {
@@ -53,7 +69,17 @@ public class ConstantProtector {
     }
 
     public boolean containsDataBuffer(int deviceId, ShapeDescriptor descriptor) {
-        return deviceCache.get(deviceId).containsKey(descriptor);
+        return deviceCache.get(deviceId).contains(descriptor);
+    }
+
+    /**
+     * This method returns shapeInfo store for specified device
+     *
+     * @param deviceId
+     * @return
+     */
+    public ShapeInfoStore getShapeInfoStore(int deviceId) {
+        return deviceCache.get(deviceId);
     }
 
 
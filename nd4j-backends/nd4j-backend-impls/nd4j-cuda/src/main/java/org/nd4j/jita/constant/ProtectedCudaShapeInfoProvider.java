@@ -7,11 +7,9 @@ import org.nd4j.jita.conf.CudaEnvironment;
 import org.nd4j.linalg.api.buffer.DataBuffer;
 import org.nd4j.linalg.api.ndarray.BaseShapeInfoProvider;
 import org.nd4j.linalg.api.shape.ShapeDescriptor;
+import org.nd4j.linalg.cache.BoundedCache;
 import org.nd4j.linalg.factory.Nd4j;
 
-import java.util.concurrent.Semaphore;
-import java.util.concurrent.atomic.AtomicLong;
-
 /**
  * @author raver119@gmail.com
  */
@@ -20,11 +18,6 @@ public class ProtectedCudaShapeInfoProvider extends BaseShapeInfoProvider {
 
     private AtomicAllocator allocator;
 
-    private AtomicLong cacheHit = new AtomicLong(1);
-    private AtomicLong cacheMiss = new AtomicLong(1);
-
-    private Semaphore lock = new Semaphore(1);
-
     protected static final ConstantProtector protector = ConstantProtector.getInstance();
 
     private static ProtectedCudaShapeInfoProvider ourInstance = new ProtectedCudaShapeInfoProvider();
@@ -47,7 +40,8 @@ public class ProtectedCudaShapeInfoProvider extends BaseShapeInfoProvider {
     }
 
     @Override
-    public DataBuffer createShapeInformation(int[] shape, int[] stride, int offset, int elementWiseStride, char order) {
+    public DataBuffer createShapeInformation(final int[] shape, final int[] stride, int offset,
+                    final int elementWiseStride, final char order) {
         // We enforce offset to 0 in shapeBuffer, since we need it for cache efficiency + we don't actually use offset value @ native side
         offset = 0;
 
@@ -55,32 +49,21 @@ public class ProtectedCudaShapeInfoProvider extends BaseShapeInfoProvider {
 
         ShapeDescriptor descriptor = new ShapeDescriptor(shape, stride, offset, elementWiseStride, order);
 
-        if (!protector.containsDataBuffer(deviceId, descriptor)) {
-            DataBuffer buffer = null;
-            synchronized (this) {
-                if (!protector.containsDataBuffer(deviceId, descriptor)) {
-                    //log.info("Cache miss: {}", descriptor);
-                    buffer = super.createShapeInformation(shape, stride, offset, elementWiseStride, order);
-                    buffer.setConstant(true);
-
-                    if (CudaEnvironment.getInstance().getConfiguration().getMemoryModel() == Configuration.MemoryModel.IMMEDIATE) {
-                        Nd4j.getConstantHandler().moveToConstantSpace(buffer);
-                    }
-
-                    //deviceCache.get(deviceId).put(descriptor, buffer);
-                    protector.persistDataBuffer(deviceId, descriptor, buffer);
-
-                    cacheMiss.incrementAndGet();
-                } else {
-                    buffer = protector.getDataBuffer(deviceId, descriptor);
-                }
-            }
-            return buffer;
-        } else {
-            //       log.info("Cache hit: {}", descriptor);
-            cacheHit.incrementAndGet();
-        }
-
-        return protector.getDataBuffer(deviceId, descriptor); //deviceCache.get(deviceId).get(descriptor);
+        return protector.getShapeInfoStore(deviceId).getOrCreate(descriptor,
+                        new BoundedCache.Loader<ShapeDescriptor, DataBuffer>() {
+                            @Override
+                            public DataBuffer load(ShapeDescriptor key) {
+                                DataBuffer buffer = ProtectedCudaShapeInfoProvider.super.createShapeInformation(shape,
+                                                stride, 0, elementWiseStride, order);
+                                buffer.setConstant(true);
+
+                                if (CudaEnvironment.getInstance().getConfiguration()
+                                                .getMemoryModel() == Configuration.MemoryModel.IMMEDIATE) {
+                                    Nd4j.getConstantHandler().moveToConstantSpace(buffer);
+                                }
+
+                                return buffer;
+                            }
+                        });
     }
 }
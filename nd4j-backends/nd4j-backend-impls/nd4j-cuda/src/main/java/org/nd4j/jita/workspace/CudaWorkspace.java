@@ -100,7 +100,7 @@ public class CudaWorkspace extends Nd4jWorkspace {
 
 
     @Override
-    public PagedPointer alloc(long requiredMemory, MemoryKind kind, DataBuffer.Type type, boolean initialize) {
+    protected PagedPointer allocInternal(long requiredMemory, MemoryKind kind, DataBuffer.Type type, boolean initialize) {
         long numElements = requiredMemory / Nd4j.sizeOfDataType(type);
 
 
@@ -110,11 +110,11 @@ public class CudaWorkspace extends Nd4jWorkspace {
 
             if (kind == MemoryKind.DEVICE) {
                 PagedPointer pointer = new PagedPointer(memoryManager.allocate(requiredMemory, MemoryKind.DEVICE, initialize), numElements);
-                externalAllocations.add(new PointersPair(null, pointer));
+                addExternalAllocation(new PointersPair(null, pointer));
                 return pointer;
             } else {
                 PagedPointer pointer = new PagedPointer(memoryManager.allocate(requiredMemory, MemoryKind.HOST, initialize), numElements);
-                externalAllocations.add(new PointersPair(pointer, null));
+                addExternalAllocation(new PointersPair(pointer, null));
                 return pointer;
             }
 
@@ -134,9 +134,9 @@ public class CudaWorkspace extends Nd4jWorkspace {
         }
 
         if (kind == MemoryKind.DEVICE) {
-            if (deviceOffset.get() + requiredMemory <= currentSize.get() && !trimmer) {
-                cycleAllocations.addAndGet(requiredMemory);
-                long prevOffset = deviceOffset.getAndAdd(requiredMemory);
+            long prevOffset = trimmer ? -1 : reserveOffset(deviceOffset, requiredMemory);
+            if (prevOffset >= 0) {
+                accountCycleAllocation(requiredMemory);
 
                 PagedPointer ptr = workspace.getDevicePointer().withOffset(prevOffset, numElements);
 
@@ -163,11 +163,11 @@ public class CudaWorkspace extends Nd4jWorkspace {
                     //log.info("End of space reached. Current offset: {}; requiredMemory: {}", deviceOffset.get(), requiredMemory);
                     reset();
                     resetPlanned.set(true);
-                    return alloc(requiredMemory, kind, type, initialize);
+                    return allocInternal(requiredMemory, kind, type, initialize);
                 }
 
                 if (!trimmer)
-                    spilledAllocationsSize.addAndGet(requiredMemory);
+                    accountSpill(requiredMemory);
                 else
                     pinnedAllocationsSize.addAndGet(requiredMemory);
 
@@ -182,7 +182,7 @@ public class CudaWorkspace extends Nd4jWorkspace {
                 switch (workspaceConfiguration.getPolicySpill()) {
                     case REALLOCATE:
                     case EXTERNAL:
-                        cycleAllocations.addAndGet(requiredMemory);
+                        accountCycleAllocation(requiredMemory);
                         if (!trimmer) {
                             externalCount.incrementAndGet();
                             //
@@ -191,7 +191,7 @@ public class CudaWorkspace extends Nd4jWorkspace {
                             //pointer.setLeaked(true);
                             pointer.isLeaked();
 
-                            externalAllocations.add(new PointersPair(null, pointer));
+                            addExternalAllocation(new PointersPair(null, pointer));
 
                             return pointer;
                         } else {
@@ -213,9 +213,8 @@ public class CudaWorkspace extends Nd4jWorkspace {
                 }
             }
         } else if (kind == MemoryKind.HOST) {
-            if (hostOffset.get() + requiredMemory <= currentSize.get() && !trimmer) {
-
-                long prevOffset = hostOffset.getAndAdd(requiredMemory);
+            long prevOffset = trimmer ? -1 : reserveOffset(hostOffset, requiredMemory);
+            if (prevOffset >= 0) {
 
                 PagedPointer ptr = workspace.getHostPointer().withOffset(prevOffset, numElements);
 
@@ -237,7 +236,7 @@ public class CudaWorkspace extends Nd4jWorkspace {
                             PagedPointer pointer = new PagedPointer(memoryManager.allocate(requiredMemory, MemoryKind.HOST, initialize), numElements);
                             //pointer.setLeaked(true);
 
-                            externalAllocations.add(new PointersPair(pointer, null));
+                            addExternalAllocation(new PointersPair(pointer, null));
 
                             return pointer;
                         } else {
@@ -303,7 +302,7 @@ public class CudaWorkspace extends Nd4jWorkspace {
     }
 
     @Override
-    protected void clearExternalAllocations() {
+    protected synchronized void clearExternalAllocations() {
         if (isDebug.get())
             log.info("Workspace [{}] device_{} threadId {} guid [{}]: clearing external allocations...", id, Nd4j.getAffinityManager().getDeviceForCurrentThread(), Thread.currentThread().getId(), guid);
 
@@ -46,6 +46,7 @@ import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.nio.*;
+import java.nio.channels.WritableByteChannel;
 import java.util.Collection;
 
 /**
@@ -708,6 +709,12 @@ public abstract class BaseCudaDataBuffer extends BaseDataBuffer implements JCuda
         super.write(dos);
     }
 
+    @Override
+    public void write(WritableByteChannel channel) throws IOException {
+        allocator.synchronizeHostData(this);
+        super.write(channel);
+    }
+
     private void writeObject(java.io.ObjectOutputStream stream) throws IOException {
         allocator.synchronizeHostData(this);
         stream.defaultWriteObject();
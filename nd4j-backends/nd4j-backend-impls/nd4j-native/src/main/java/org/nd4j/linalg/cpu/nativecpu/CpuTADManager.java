@@ -4,30 +4,52 @@ import lombok.NonNull;
 import org.apache.commons.math3.util.Pair;
 import org.bytedeco.javacpp.IntPointer;
 import org.bytedeco.javacpp.Pointer;
+import org.nd4j.context.Nd4jContext;
 import org.nd4j.linalg.api.buffer.DataBuffer;
 import org.nd4j.linalg.api.buffer.IntBuffer;
 import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.cache.BoundedCache;
 import org.nd4j.linalg.cache.ConstantHandler;
 import org.nd4j.linalg.cache.TADManager;
 import org.nd4j.linalg.cache.TadDescriptor;
+import org.nd4j.linalg.factory.Nd4j;
 import org.nd4j.nativeblas.NativeOps;
 
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.Properties;
 
 /**
+ * TADManager implementation for CPU backend.
+ *
+ * TAD shapeInfo and offsets are kept in bounded LRU cache, so we don't leak memory on endless shapes/dimensions
+ * combinations, and don't hit native side for every reduction once cache is warmed up.
+ *
+ * Cache limits can be configured via Nd4jContext/system properties:
+ * {@link Nd4j#TAD_CACHE_MAX_ENTRIES} and {@link Nd4j#TAD_CACHE_MAX_BYTES}
+ *
  * @author raver119@gmail.com
  */
 public class CpuTADManager implements TADManager {
-    private Map<TadDescriptor, Pair<DataBuffer, DataBuffer>> cache = new ConcurrentHashMap<>();
+    private static final int DEFAULT_MAX_ENTRIES = 10000;
+    private static final long DEFAULT_MAX_BYTES = 256L * 1024L * 1024L;
+
+    private final BoundedCache<TadDescriptor, Pair<DataBuffer, DataBuffer>> cache;
     private NativeOps nativeOps;
     private ConstantHandler constantHandler;
-    private AtomicInteger counter = new AtomicInteger(0);
-    private static final int MAX_ENTRIES = 100;
 
     public CpuTADManager() {
-        //
+        Properties props = Nd4jContext.getInstance().getConf();
+        int maxEntries = Integer.parseInt(System.getProperty(Nd4j.TAD_CACHE_MAX_ENTRIES,
+                        props.getProperty(Nd4j.TAD_CACHE_MAX_ENTRIES, String.valueOf(DEFAULT_MAX_ENTRIES))));
+        long maxBytes = Long.parseLong(System.getProperty(Nd4j.TAD_CACHE_MAX_BYTES,
+                        props.getProperty(Nd4j.TAD_CACHE_MAX_BYTES, String.valueOf(DEFAULT_MAX_BYTES))));
+
+        cache = new BoundedCache<>(maxEntries, maxBytes,
+                        new BoundedCache.Weigher<TadDescriptor, Pair<DataBuffer, DataBuffer>>() {
+                            @Override
+                            public long weigh(TadDescriptor key, Pair<DataBuffer, DataBuffer> value) {
+                                return (value.getFirst().length() + value.getSecond().length()) * 4L;
+                            }
+                        });
     }
 
     public void init(@NonNull NativeOps nativeOps, @NonNull ConstantHandler constantHandler) {
@@ -40,54 +62,90 @@ public class CpuTADManager implements TADManager {
      */
     @Override
     public void purgeBuffers() {
-        cache = new ConcurrentHashMap<>();
+        cache.clear();
+    }
+
+    /**
+     * This method returns number of TAD lookups served from cache
+     */
+    public long getCacheHits() {
+        return cache.getHits();
+    }
+
+    /**
+     * This method returns number of TAD lookups that required native call
+     */
+    public long getCacheMisses() {
+        return cache.getMisses();
+    }
+
+    /**
+     * This method returns number of TAD entries dropped from cache due to its limits
+     */
+    public long getCacheEvictions() {
+        return cache.getEvictions();
+    }
+
+    /**
+     * This method returns number of TAD entries currently cached
+     */
+    public int getCachedEntries() {
+        return cache.size();
+    }
+
+    /**
+     * This method returns memory footprint of cached TAD buffers, in bytes
+     */
+    public long getCachedBytes() {
+        return cache.getBytes();
     }
 
     @Override
-    public Pair<DataBuffer, DataBuffer> getTADOnlyShapeInfo(INDArray array, int[] dimension) {
+    public Pair<DataBuffer, DataBuffer> getTADOnlyShapeInfo(final INDArray array, final int[] dimension) {
         if (dimension == null || dimension[0] == Integer.MAX_VALUE) {
             return new Pair<>(array.shapeInfoDataBuffer(), null);
         } else {
             TadDescriptor descriptor = new TadDescriptor(array, dimension);
 
-            if (!cache.containsKey(descriptor)) {
-                int dimensionLength = dimension.length;
+            return cache.computeIfAbsent(descriptor,
+                            new BoundedCache.Loader<TadDescriptor, Pair<DataBuffer, DataBuffer>>() {
+                                @Override
+                                public Pair<DataBuffer, DataBuffer> load(TadDescriptor key) {
+                                    return buildTAD(array, dimension);
+                                }
+                            });
+        }
+    }
 
-                // FIXME: this is fast triage, remove it later
-                int targetRank = array.rank(); //dimensionLength <= 1 ? 2 : dimensionLength;
-                int offsetLength;
-                int tadLength = 1;
-                for (int i = 0; i < dimensionLength; i++) {
-                    tadLength *= array.shape()[dimension[i]];
-                }
+    protected Pair<DataBuffer, DataBuffer> buildTAD(INDArray array, int[] dimension) {
+        int dimensionLength = dimension.length;
 
-                offsetLength = array.length() / tadLength;
+        // FIXME: this is fast triage, remove it later
+        int targetRank = array.rank(); //dimensionLength <= 1 ? 2 : dimensionLength;
+        int offsetLength;
+        int tadLength = 1;
+        for (int i = 0; i < dimensionLength; i++) {
+            tadLength *= array.shape()[dimension[i]];
+        }
 
-                DataBuffer outputBuffer = new IntBuffer(targetRank * 2 + 4);
-                DataBuffer offsetsBuffer = new IntBuffer(offsetLength);
+        offsetLength = array.length() / tadLength;
 
-                DataBuffer dimensionBuffer = constantHandler.getConstantBuffer(dimension);
-                Pointer dimensionPointer = dimensionBuffer.addressPointer();
+        DataBuffer outputBuffer = new IntBuffer(targetRank * 2 + 4);
+        DataBuffer offsetsBuffer = new IntBuffer(offsetLength);
 
-                Pointer xShapeInfo = array.shapeInfoDataBuffer().addressPointer();
-                Pointer targetPointer = outputBuffer.addressPointer();
-                Pointer offsetsPointer = offsetsBuffer.addressPointer();
+        DataBuffer dimensionBuffer = constantHandler.getConstantBuffer(dimension);
+        Pointer dimensionPointer = dimensionBuffer.addressPointer();
 
-                nativeOps.tadOnlyShapeInfo((IntPointer) xShapeInfo, (IntPointer) dimensionPointer, dimension.length,
-                                (IntPointer) targetPointer, (IntPointer) offsetsPointer);
+        Pointer xShapeInfo = array.shapeInfoDataBuffer().addressPointer();
+        Pointer targetPointer = outputBuffer.addressPointer();
+        Pointer offsetsPointer = offsetsBuffer.addressPointer();
 
+        nativeOps.tadOnlyShapeInfo((IntPointer) xShapeInfo, (IntPointer) dimensionPointer, dimension.length,
+                        (IntPointer) targetPointer, (IntPointer) offsetsPointer);
 
-                // If the line below will be uncommented, shapes from JVM will be used on native side
-                //outputBuffer = array.tensorAlongDimension(0, dimension).shapeInfoDataBuffer();
-                Pair<DataBuffer, DataBuffer> pair = new Pair<>(outputBuffer, offsetsBuffer);
-                if (counter.get() < MAX_ENTRIES) {
-                    counter.incrementAndGet();
-                    cache.put(descriptor, pair);
-                }
-                return pair;
-            }
 
-            return cache.get(descriptor);
-        }
+        // If the line below will be uncommented, shapes from JVM will be used on native side
+        //outputBuffer = array.tensorAlongDimension(0, dimension).shapeInfoDataBuffer();
+        return new Pair<>(outputBuffer, offsetsBuffer);
     }
 }
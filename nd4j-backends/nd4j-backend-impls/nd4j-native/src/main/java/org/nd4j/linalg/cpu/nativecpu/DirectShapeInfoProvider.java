@@ -4,50 +4,44 @@ import lombok.extern.slf4j.Slf4j;
 import org.nd4j.linalg.api.buffer.DataBuffer;
 import org.nd4j.linalg.api.ndarray.BaseShapeInfoProvider;
 import org.nd4j.linalg.api.shape.ShapeDescriptor;
-
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicInteger;
+import org.nd4j.linalg.cache.BoundedCache;
+import org.nd4j.linalg.cache.ShapeInfoStore;
 
 /**
  * @author raver119@gmail.com
  */
 @Slf4j
 public class DirectShapeInfoProvider extends BaseShapeInfoProvider {
-    private Map<ShapeDescriptor, DataBuffer> shapeCache = new ConcurrentHashMap<>();
-    private AtomicInteger counter = new AtomicInteger(0);
-    private static final int MAX_ENTRIES = 100;
+    private final ShapeInfoStore shapeCache = new ShapeInfoStore();
 
     @Override
-    public DataBuffer createShapeInformation(int[] shape, int[] stride, int offset, int elementWiseStride, char order) {
+    public DataBuffer createShapeInformation(final int[] shape, final int[] stride, int offset,
+                    final int elementWiseStride, final char order) {
 
         // We enforce offset to 0 in shapeBuffer, since we need it for cache efficiency + we don't actually use offset value @ native side
         offset = 0;
 
         ShapeDescriptor descriptor = new ShapeDescriptor(shape, stride, offset, elementWiseStride, order);
-        if (!shapeCache.containsKey(descriptor)) {
-            if (counter.get() < MAX_ENTRIES) {
-                synchronized (this) {
-                    if (!shapeCache.containsKey(descriptor)) {
-                        counter.incrementAndGet();
-                        DataBuffer buffer =
-                                        super.createShapeInformation(shape, stride, offset, elementWiseStride, order);
-                        shapeCache.put(descriptor, buffer);
-
-                        return buffer;
-                    } else
-                        return shapeCache.get(descriptor);
-                }
-            } else {
-                return super.createShapeInformation(shape, stride, offset, elementWiseStride, order);
+        return shapeCache.getOrCreate(descriptor, new BoundedCache.Loader<ShapeDescriptor, DataBuffer>() {
+            @Override
+            public DataBuffer load(ShapeDescriptor key) {
+                return DirectShapeInfoProvider.super.createShapeInformation(shape, stride, 0, elementWiseStride,
+                                order);
             }
-        }
+        });
+    }
 
-        return shapeCache.get(descriptor);
+    /**
+     * This method returns underlying shapeInfo store, i.e. to check its memory footprint and hit ratio
+     *
+     * @return
+     */
+    public ShapeInfoStore getShapeInfoStore() {
+        return shapeCache;
     }
 
     @Override
     public void purgeCache() {
-        shapeCache = new ConcurrentHashMap<>();
+        shapeCache.purge();
     }
 }
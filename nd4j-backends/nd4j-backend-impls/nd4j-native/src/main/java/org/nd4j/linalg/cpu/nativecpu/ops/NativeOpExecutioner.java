@@ -10,6 +10,11 @@ import org.bytedeco.javacpp.*;
 import org.nd4j.linalg.api.buffer.DataBuffer;
 import org.nd4j.linalg.api.complex.IComplexNDArray;
 import org.nd4j.linalg.api.environment.Nd4jEnvironment;
+import org.nd4j.linalg.api.memory.MemoryWorkspace;
+import org.nd4j.linalg.api.memory.conf.WorkspaceConfiguration;
+import org.nd4j.linalg.api.memory.enums.AllocationPolicy;
+import org.nd4j.linalg.api.memory.enums.LearningPolicy;
+import org.nd4j.linalg.api.memory.enums.SpillPolicy;
 import org.nd4j.linalg.api.ndarray.INDArray;
 import org.nd4j.linalg.api.ops.*;
 import org.nd4j.linalg.api.ops.aggregates.Aggregate;
@@ -57,6 +62,19 @@ public class NativeOpExecutioner extends DefaultOpExecutioner {
     private ThreadLocal<Map<Integer, Pointer>> batchPointers = new ThreadLocal<>();
     private ThreadLocal<Map<Integer, AggregateMemoryBlock>> memoryBlocks = new ThreadLocal<>();
 
+    /**
+     * HALF arrays are storage type on CPU: their data is converted into float scratch memory, op is executed via float
+     * entry points, and results are written back. Scratch memory lives in thread-local workspace, so after first few ops
+     * conversions don't allocate anything. Elementwise ops over contiguous arrays are processed tile by tile, and
+     * reductions & broadcasts over dense c ordered arrays are processed in tiles of whole TADs along dimension 0.
+     */
+    private static final String HALF_WORKSPACE_ID = "CPU_HALF_SCRATCH_WORKSPACE";
+    private static final int HALF_TILE_LENGTH = 64 * 1024;
+
+    private final WorkspaceConfiguration halfConfiguration = WorkspaceConfiguration.builder().initialSize(0)
+                    .policyAllocation(AllocationPolicy.OVERALLOCATE).overallocationLimit(0.3)
+                    .policyLearning(LearningPolicy.FIRST_LOOP).policySpill(SpillPolicy.REALLOCATE).build();
+
     public NativeOpExecutioner() {
         tadManager.init(loop, constantHandler);
 
@@ -83,6 +101,15 @@ public class NativeOpExecutioner extends DefaultOpExecutioner {
 
     @Override
     public Op exec(Op op) {
+        if ((op instanceof ScalarOp || op instanceof TransformOp) && isHalfOp(op)) {
+            if (isTileable(op))
+                execHalfTiled(op);
+            else
+                execHalf(op, null);
+
+            return op;
+        }
+
         checkForCompression(op);
 
         if (op instanceof ScalarOp) {
@@ -105,9 +132,375 @@ public class NativeOpExecutioner extends DefaultOpExecutioner {
         return op;
     }
 
+    /**
+     * This method checks, if given op has HALF operands, which should be processed via float scratch memory
+     *
+     * @param op
+     * @return
+     */
+    protected boolean isHalfOp(Op op) {
+        // if HALF is default data type, there's nothing to convert to
+        if (Nd4j.dataType() == DataBuffer.Type.HALF)
+            return false;
+
+        return isHalf(op.x()) || isHalf(op.y()) || isHalf(op.z());
+    }
+
+    private static boolean isHalf(INDArray array) {
+        return array != null && !array.isCompressed() && array.data().dataType() == DataBuffer.Type.HALF;
+    }
+
+    /**
+     * Elementwise ops can be split into tiles if all operands are HALF, and have the same linear layout
+     */
+    private static boolean isTileable(Op op) {
+        if (op.isExecSpecial() || (op instanceof ScalarOp && ((ScalarOp) op).getDimension() != null))
+            return false;
+
+        INDArray x = op.x();
+        for (INDArray array : new INDArray[] {x, op.y(), op.z()}) {
+            if (array == null)
+                continue;
+
+            if (!isHalf(array) || array.elementWiseStride() != 1 || array.ordering() != x.ordering()
+                            || array.lengthLong() != x.lengthLong())
+                return false;
+        }
+
+        return op.z() != null;
+    }
+
+    /**
+     * This method executes elementwise op over contiguous HALF arrays, using fixed-size float tiles
+     *
+     * @param op
+     */
+    protected void execHalfTiled(Op op) {
+        INDArray x = op.x();
+        INDArray y = op.y();
+        INDArray z = op.z();
+        long length = x.lengthLong();
+        long n = op.n();
+        int tile = (int) Math.min(HALF_TILE_LENGTH, length);
+        int halfSize = Nd4j.sizeOfDataType(DataBuffer.Type.HALF);
+
+        try (MemoryWorkspace workspace = Nd4j.getWorkspaceManager().getAndActivateWorkspace(halfConfiguration,
+                        HALF_WORKSPACE_ID)) {
+            // in-place ops share scratch tiles the same way they share HALF arrays
+            DataBuffer bx = Nd4j.createBuffer(tile, false);
+            DataBuffer by = y == null ? null : y == x ? bx : Nd4j.createBuffer(tile, false);
+            DataBuffer bz = z == x ? bx : z == y ? by : Nd4j.createBuffer(tile, false);
+
+            for (long position = 0; position < length; position += tile) {
+                int tileLength = (int) Math.min(tile, length - position);
+                int[] shape = new int[] {1, tileLength};
+                int[] stride = Nd4j.getStrides(shape, 'c');
+
+                toScratch(x.data().addressPointer(), position * halfSize, bx.addressPointer(), tileLength);
+                op.setX(Nd4j.create(bx, shape, stride, 0, 'c'));
+
+                if (y != null) {
+                    if (by != bx)
+                        toScratch(y.data().addressPointer(), position * halfSize, by.addressPointer(), tileLength);
+                    op.setY(Nd4j.create(by, shape, stride, 0, 'c'));
+                }
+
+                op.setZ(Nd4j.create(bz, shape, stride, 0, 'c'));
+                op.setN(tileLength);
+
+                exec(op);
+
+                fromScratch(bz.addressPointer(), z.data().addressPointer(), position * halfSize, tileLength);
+            }
+        } finally {
+            op.setX(x);
+            if (y != null)
+                op.setY(y);
+            op.setZ(z);
+            op.setN(n);
+        }
+    }
+
+    /**
+     * This method executes op with HALF operands as whole: each HALF operand is converted to float scratch array
+     * of the same shape and stride, op is executed, and results are written back to HALF arrays.
+     * New arrays created by op (i.e. reduction results) are returned as HALF arrays, except for index reductions:
+     * HALF holds exact integers only up to 2048, so their results stay in default floating point type.
+     *
+     * @param op
+     * @param dimension dimensions for reductions and broadcasts, or null for other ops
+     * @return
+     */
+    protected INDArray execHalf(Op op, int[] dimension) {
+        if (isSliceable(op, dimension))
+            return execHalfSliced(op, dimension);
+
+        INDArray x = op.x();
+        INDArray y = op.y();
+        INDArray z = op.z();
+        boolean keepType = op instanceof IndexAccumulation;
+
+        try (MemoryWorkspace workspace = Nd4j.getWorkspaceManager().getAndActivateWorkspace(halfConfiguration,
+                        HALF_WORKSPACE_ID)) {
+            INDArray fx = isHalf(x) ? toScratch(x) : x;
+            op.setX(fx);
+
+            INDArray fy = null;
+            if (y != null) {
+                fy = y == x ? fx : isHalf(y) ? toScratch(y) : y;
+                op.setY(fy);
+            }
+
+            INDArray fz = null;
+            if (z != null) {
+                fz = z == x ? fx : z == y ? fy : isHalf(z) ? toScratch(z) : z;
+                op.setZ(fz);
+            }
+
+            INDArray result;
+            if (op instanceof Accumulation)
+                result = exec((Accumulation) op, dimension);
+            else if (op instanceof IndexAccumulation)
+                result = exec((IndexAccumulation) op, dimension);
+            else if (op instanceof BroadcastOp)
+                result = exec((BroadcastOp) op, dimension);
+            else {
+                exec(op);
+                result = op.z();
+            }
+
+            INDArray resultZ = op.z();
+            if (z != null && fz != z && resultZ == fz) {
+                // op was applied to scratch copy of HALF z
+                fromScratch(fz.data().addressPointer(), z.data().addressPointer(), 0, span(z));
+                op.setZ(z);
+            } else if (isAttachedTo(resultZ, workspace)) {
+                // op created new z within scratch workspace
+                op.setZ(leaveScratch(resultZ, workspace, keepType));
+            }
+
+            if (result == resultZ)
+                return op.z();
+            else if (result == fx)
+                return x;
+            else if (isAttachedTo(result, workspace))
+                return leaveScratch(result, workspace, keepType);
+
+            return result;
+        } finally {
+            op.setX(x);
+            if (y != null)
+                op.setY(y);
+        }
+    }
+
+    /**
+     * Reductions & broadcasts can be processed in tiles of whole TADs, if x is dense c ordered HALF array,
+     * and dimension 0 isn't part of TAD: then each tile is a contiguous block of rows, and its results are
+     * a contiguous block of z.
+     */
+    private static boolean isSliceable(Op op, int[] dimension) {
+        if (dimension == null || dimension.length == 0 || op.isExecSpecial())
+            return false;
+
+        if (!(op instanceof Accumulation || op instanceof IndexAccumulation || op instanceof BroadcastOp))
+            return false;
+
+        INDArray x = op.x();
+        if (!isHalf(x) || x.ordering() != 'c' || x.elementWiseStride() != 1 || x.rank() < 2 || x.isVector())
+            return false;
+
+        int[] dims = normalizeDimension(dimension, x.rank());
+        if (dims.length >= x.rank())
+            return false;
+
+        for (int d : dims)
+            if (d <= 0 || d >= x.rank())
+                return false;
+
+        INDArray z = op.z();
+        if (op instanceof BroadcastOp)
+            return op.y() != null && (z == x || (isHalf(z) && z.ordering() == 'c' && z.elementWiseStride() == 1
+                            && Arrays.equals(z.shape(), x.shape())));
+
+        // reductions create their own results, and pairwise reductions would need y tiled too
+        return op.y() == null && (z == null || z == x);
+    }
+
+    private static int[] normalizeDimension(int[] dimension, int rank) {
+        int[] dims = new int[dimension.length];
+        for (int e = 0; e < dimension.length; e++)
+            dims[e] = dimension[e] < 0 ? dimension[e] + rank : dimension[e];
+
+        Arrays.sort(dims);
+        return dims;
+    }
+
+    /**
+     * This method executes reduction or broadcast over dense HALF array, converting it to float scratch memory
+     * in tiles of whole rows, so scratch memory is bounded by tile size instead of array length.
+     *
+     * @param op
+     * @param dimension
+     * @return
+     */
+    protected INDArray execHalfSliced(Op op, int[] dimension) {
+        INDArray x = op.x();
+        INDArray y = op.y();
+        INDArray z = op.z();
+        long n = op.n();
+        int[] dims = normalizeDimension(dimension, x.rank());
+        boolean broadcast = op instanceof BroadcastOp;
+
+        int rows = x.size(0);
+        int rowLength = x.length() / rows;
+        int rowsPerTile = Math.max(1, HALF_TILE_LENGTH / rowLength);
+        int halfSize = Nd4j.sizeOfDataType(DataBuffer.Type.HALF);
+
+        // reduction results are allocated in outer scope: HALF for values, default type for indices
+        INDArray result = null;
+        int resultsPerRow = 0;
+        if (!broadcast) {
+            int[] retShape = ArrayUtil.removeIndex(x.shape(), dims);
+            if (retShape.length == 1)
+                retShape = new int[] {retShape[0], 1};
+
+            result = op instanceof IndexAccumulation ? Nd4j.create(retShape, 'c') : Nd4j.createHalf(retShape, 'c');
+            resultsPerRow = result.length() / rows;
+        }
+
+        try (MemoryWorkspace workspace = Nd4j.getWorkspaceManager().getAndActivateWorkspace(halfConfiguration,
+                        HALF_WORKSPACE_ID)) {
+            int tile = rowsPerTile * rowLength;
+            DataBuffer bx = Nd4j.createBuffer(Math.min(tile, x.length()), false);
+            DataBuffer bz = !broadcast || z == x ? bx : Nd4j.createBuffer(Math.min(tile, x.length()), false);
+
+            // broadcast operand is a single TAD, so it's converted once
+            if (broadcast && isHalf(y))
+                op.setY(toScratch(y));
+
+            int[] shape = x.shape().clone();
+            for (int row = 0; row < rows; row += rowsPerTile) {
+                int tileRows = Math.min(rowsPerTile, rows - row);
+                int tileLength = tileRows * rowLength;
+                long byteOffset = (long) row * rowLength * halfSize;
+                shape[0] = tileRows;
+                int[] stride = Nd4j.getStrides(shape, 'c');
+
+                toScratch(x.data().addressPointer(), byteOffset, bx.addressPointer(), tileLength);
+                INDArray fx = Nd4j.create(bx, shape.clone(), stride, 0, 'c');
+                op.setX(fx);
+                op.setN(tileLength);
+
+                if (broadcast) {
+                    op.setZ(bz == bx ? fx : Nd4j.create(bz, shape.clone(), stride, 0, 'c'));
+                    exec((BroadcastOp) op, dims.clone());
+                    fromScratch(bz.addressPointer(), z.data().addressPointer(), byteOffset, tileLength);
+                } else {
+                    op.setZ(null);
+                    INDArray partial = op instanceof IndexAccumulation ? exec((IndexAccumulation) op, dims.clone())
+                                    : exec((Accumulation) op, dims.clone());
+
+                    long resultOffset = (long) row * resultsPerRow;
+                    if (op instanceof IndexAccumulation) {
+                        int elementSize = result.data().getElementSize();
+                        Pointer.memcpy(shift(result.data().addressPointer(), resultOffset * elementSize),
+                                        partial.data().addressPointer(), partial.length() * elementSize);
+                    } else {
+                        fromScratch(partial.data().addressPointer(), result.data().addressPointer(),
+                                        resultOffset * halfSize, partial.length());
+                    }
+                }
+            }
+        } finally {
+            op.setX(x);
+            if (y != null)
+                op.setY(y);
+            op.setN(n);
+        }
+
+        op.setZ(broadcast ? z : result);
+        return op.z();
+    }
+
+    private static boolean isAttachedTo(INDArray array, MemoryWorkspace workspace) {
+        return array != null && array.isAttached() && array.data().getParentWorkspace() == workspace;
+    }
+
+    /**
+     * This method copies array created within scratch workspace to array allocated in outer scope:
+     * HALF array, or array of the same type if keepType is TRUE
+     */
+    private static INDArray leaveScratch(INDArray array, MemoryWorkspace workspace, boolean keepType) {
+        Nd4j.getMemoryManager().setCurrentWorkspace(workspace.getParentWorkspace());
+        try {
+            return keepType ? array.dup(array.ordering()) : Nd4j.toHalf(array);
+        } finally {
+            Nd4j.getMemoryManager().setCurrentWorkspace(workspace);
+        }
+    }
+
+    /**
+     * This method returns float copy of HALF array, sharing its shape and stride.
+     * For views whole memory span covered by view is converted, so strided views don't need extra copies.
+     */
+    private static INDArray toScratch(INDArray array) {
+        long span = span(array);
+        DataBuffer buffer = Nd4j.createBuffer(span, false);
+        toScratch(array.data().addressPointer(), 0, buffer.addressPointer(), span);
+
+        return Nd4j.create(buffer, array.shape(), array.stride(), 0, array.ordering());
+    }
+
+    private static void toScratch(Pointer half, long byteOffset, Pointer scratch, long length) {
+        Nd4j.getNDArrayFactory().convertDataEx(DataBuffer.TypeEx.FLOAT16, shift(half, byteOffset), scratchType(),
+                        scratch, length);
+    }
+
+    /**
+     * PLEASE NOTE: for views this writes back whole span, but elements outside of view are exact round-trip of their
+     * original HALF values, so they stay intact.
+     */
+    private static void fromScratch(Pointer scratch, Pointer half, long byteOffset, long length) {
+        Nd4j.getNDArrayFactory().convertDataEx(scratchType(), scratch, DataBuffer.TypeEx.FLOAT16,
+                        shift(half, byteOffset), length);
+    }
+
+    private static DataBuffer.TypeEx scratchType() {
+        return Nd4j.dataType() == DataBuffer.Type.DOUBLE ? DataBuffer.TypeEx.DOUBLE : DataBuffer.TypeEx.FLOAT;
+    }
+
+    /**
+     * This method returns number of elements between first and last elements of array, inclusive
+     */
+    private static long span(INDArray array) {
+        int[] shape = array.shape();
+        int[] stride = array.stride();
+
+        long span = 1;
+        for (int e = 0; e < shape.length; e++)
+            span += (shape[e] - 1) * (long) Math.abs(stride[e]);
+
+        return span;
+    }
+
+    private static Pointer shift(final Pointer pointer, final long bytes) {
+        if (bytes == 0)
+            return pointer;
+
+        return new Pointer(pointer) {
+            {
+                address = pointer.address() + bytes;
+            }
+        };
+    }
+
 
     @Override
     public INDArray exec(IndexAccumulation op, int... dimension) {
+        if (isHalfOp(op))
+            return execHalf(op, dimension);
+
         if (dimension == null || dimension.length == 0)
             dimension = new int[] {Integer.MAX_VALUE};
 
@@ -220,6 +613,9 @@ public class NativeOpExecutioner extends DefaultOpExecutioner {
 
     @Override
     public INDArray exec(Accumulation op, int... dimension) {
+        if (isHalfOp(op))
+            return execHalf(op, dimension);
+
         Arrays.sort(dimension);
 
         validateDataType(Nd4j.dataType(), op);
@@ -685,6 +1081,9 @@ public class NativeOpExecutioner extends DefaultOpExecutioner {
 
     @Override
     public INDArray exec(BroadcastOp op, int... dimension) {
+        if (isHalfOp(op))
+            return execHalf(op, dimension);
+
         long st = profilingHookIn(op);
         Arrays.sort(dimension);
 
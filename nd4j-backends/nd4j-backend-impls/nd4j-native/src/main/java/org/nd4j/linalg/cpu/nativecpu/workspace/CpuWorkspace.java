@@ -77,7 +77,7 @@ public class CpuWorkspace extends Nd4jWorkspace {
     }
 
     @Override
-    protected void clearExternalAllocations() {
+    protected synchronized void clearExternalAllocations() {
         if (isDebug.get())
             log.info("Workspace [{}] device_{} threadId {} guid [{}]: clearing external allocations...", id, Nd4j.getAffinityManager().getDeviceForCurrentThread(), Thread.currentThread().getId(), guid);
 
@@ -10,6 +10,7 @@ import org.nd4j.linalg.factory.Nd4jBackend;
 import org.nd4j.linalg.indexing.INDArrayIndex;
 import org.nd4j.linalg.indexing.NDArrayIndex;
 import org.nd4j.linalg.indexing.SpecifiedIndex;
+import org.nd4j.linalg.indexing.SpecifiedIndexGather;
 
 import static org.junit.Assert.*;
 
@@ -209,6 +210,63 @@ public class IndexingTestsC extends BaseNd4jTest {
     }
 
 
+    @Test
+    public void testSpecifiedIndexGather() {
+        INDArray c = Nd4j.linspace(1, 120, 120).reshape('c', 4, 5, 6);
+        INDArray f = c.dup('f');
+        INDArray view = Nd4j.linspace(1, 240, 240).reshape(8, 5, 6).get(NDArrayIndex.interval(2, 6),
+                        NDArrayIndex.all(), NDArrayIndex.all());
+
+        INDArrayIndex[][] cases = new INDArrayIndex[][] {
+                        {new SpecifiedIndex(3, 0, 0), NDArrayIndex.all(), NDArrayIndex.all()},
+                        {NDArrayIndex.all(), new SpecifiedIndex(4, 1), new SpecifiedIndex(0, 1, 2, 5)},
+                        {new SpecifiedIndex(1), new SpecifiedIndex(2, 3), new SpecifiedIndex(5, 4, 3)},
+                        {NDArrayIndex.all(), NDArrayIndex.all(), new SpecifiedIndex(1, 2, 3, 1, 2)}};
+
+        for (INDArray source : new INDArray[] {c, f, view}) {
+            for (INDArrayIndex[] indexes : cases) {
+                INDArray expected = getElementWise(source, indexes);
+                INDArray gathered = source.get(indexes);
+                assertArrayEquals(expected.shape(), gathered.shape());
+                assertEquals(expected, gathered);
+            }
+        }
+    }
+
+    @Test
+    public void testSpecifiedIndexGatherParallel() {
+        INDArray source = Nd4j.rand(new int[] {100, 100, 100});
+        int[] rows = new int[70];
+        for (int i = 0; i < rows.length; i++)
+            rows[i] = (i * 37) % 100;
+
+        INDArrayIndex[] indexes = new INDArrayIndex[] {new SpecifiedIndex(rows), NDArrayIndex.all(),
+                        new SpecifiedIndex(0, 1, 2, 3, 10, 11, 12, 99)};
+
+        INDArray expected = getElementWise(source, indexes);
+        INDArray gathered = source.get(indexes);
+        assertTrue(gathered.length() >= SpecifiedIndexGather.PARALLEL_THRESHOLD);
+        assertEquals(expected, gathered);
+    }
+
+    private static INDArray getElementWise(INDArray source, INDArrayIndex... indexes) {
+        SpecifiedIndexGather.setEnabled(false);
+        try {
+            return source.get(copy(indexes));
+        } finally {
+            SpecifiedIndexGather.setEnabled(true);
+        }
+    }
+
+    //specified indexes are stateful, so every get gets fresh ones
+    private static INDArrayIndex[] copy(INDArrayIndex[] indexes) {
+        INDArrayIndex[] ret = new INDArrayIndex[indexes.length];
+        for (int i = 0; i < indexes.length; i++)
+            ret[i] = indexes[i] instanceof SpecifiedIndex
+                            ? new SpecifiedIndex(((SpecifiedIndex) indexes[i]).getIndexes()) : indexes[i];
+        return ret;
+    }
+
     @Override
     public char ordering() {
         return 'c';
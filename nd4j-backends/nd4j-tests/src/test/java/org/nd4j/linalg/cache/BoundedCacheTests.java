@@ -0,0 +1,151 @@
+package org.nd4j.linalg.cache;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.nd4j.linalg.BaseNd4jTest;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.factory.Nd4j;
+import org.nd4j.linalg.factory.Nd4jBackend;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author raver119@gmail.com
+ */
+@RunWith(Parameterized.class)
+public class BoundedCacheTests extends BaseNd4jTest {
+
+    public BoundedCacheTests(Nd4jBackend backend) {
+        super(backend);
+    }
+
+    @Test
+    public void testHitsAndMisses1() throws Exception {
+        final AtomicInteger loads = new AtomicInteger(0);
+        BoundedCache<Integer, String> cache = new BoundedCache<>(100);
+        BoundedCache.Loader<Integer, String> loader = new BoundedCache.Loader<Integer, String>() {
+            @Override
+            public String load(Integer key) {
+                loads.incrementAndGet();
+                return String.valueOf(key);
+            }
+        };
+
+        for (int e = 0; e < 10; e++) {
+            assertEquals("1", cache.computeIfAbsent(1, loader));
+            assertEquals("2", cache.computeIfAbsent(2, loader));
+        }
+
+        assertEquals(2, loads.get());
+        assertEquals(2, cache.getMisses());
+        assertEquals(18, cache.getHits());
+        assertEquals(0.9, cache.getHitRatio(), 1e-5);
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void testEntriesEviction1() throws Exception {
+        BoundedCache<Integer, Integer> cache = new BoundedCache<>(4);
+        BoundedCache.Loader<Integer, Integer> loader = new BoundedCache.Loader<Integer, Integer>() {
+            @Override
+            public Integer load(Integer key) {
+                return key;
+            }
+        };
+
+        for (int e = 0; e < 100; e++)
+            cache.computeIfAbsent(e, loader);
+
+        assertTrue(cache.size() <= 4);
+        assertEquals(100 - cache.size(), cache.getEvictions());
+
+        // last inserted entry should never be evicted
+        assertNotNull(cache.getIfPresent(99));
+    }
+
+    @Test
+    public void testBytesEviction1() throws Exception {
+        BoundedCache<Integer, INDArray> cache = new BoundedCache<>(0, 64000L, new BoundedCache.Weigher<Integer, INDArray>() {
+            @Override
+            public long weigh(Integer key, INDArray value) {
+                return value.length() * 4L;
+            }
+        });
+
+        BoundedCache.Loader<Integer, INDArray> loader = new BoundedCache.Loader<Integer, INDArray>() {
+            @Override
+            public INDArray load(Integer key) {
+                return Nd4j.create(100);
+            }
+        };
+
+        for (int e = 0; e < 1000; e++)
+            cache.computeIfAbsent(e, loader);
+
+        assertTrue(cache.getBytes() <= 64000L);
+        assertEquals(cache.size() * 400L, cache.getBytes());
+        assertTrue(cache.getEvictions() > 0);
+
+        cache.clear();
+
+        assertEquals(0, cache.size());
+        assertEquals(0L, cache.getBytes());
+    }
+
+    @Test
+    public void testRemovalListener1() throws Exception {
+        final Set<Integer> removed = new HashSet<>();
+        BoundedCache<Integer, Integer> cache = new BoundedCache<>(4, 0L, null,
+                        new BoundedCache.RemovalListener<Integer, Integer>() {
+                            @Override
+                            public void onRemoval(Integer key, Integer value) {
+                                assertEquals(key, value);
+                                removed.add(key);
+                            }
+                        });
+
+        BoundedCache.Loader<Integer, Integer> loader = new BoundedCache.Loader<Integer, Integer>() {
+            @Override
+            public Integer load(Integer key) {
+                return key;
+            }
+        };
+
+        for (int e = 0; e < 100; e++)
+            cache.computeIfAbsent(e, loader);
+
+        assertEquals(cache.getEvictions(), removed.size());
+
+        // every key is either cached or reported as removed
+        for (int e = 0; e < 100; e++)
+            assertTrue(cache.containsKey(e) != removed.contains(e));
+    }
+
+    @Test
+    public void testContainsKey1() throws Exception {
+        BoundedCache<Integer, Integer> cache = new BoundedCache<>(100);
+        cache.computeIfAbsent(1, new BoundedCache.Loader<Integer, Integer>() {
+            @Override
+            public Integer load(Integer key) {
+                return key;
+            }
+        });
+
+        assertTrue(cache.containsKey(1));
+        assertFalse(cache.containsKey(2));
+
+        // lookups via containsKey don't affect stats
+        assertEquals(0, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Override
+    public char ordering() {
+        return 'c';
+    }
+}
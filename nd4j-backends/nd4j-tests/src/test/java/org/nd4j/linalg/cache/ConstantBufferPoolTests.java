@@ -0,0 +1,80 @@
+package org.nd4j.linalg.cache;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.nd4j.linalg.BaseNd4jTest;
+import org.nd4j.linalg.api.buffer.DataBuffer;
+import org.nd4j.linalg.factory.Nd4jBackend;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author raver119@gmail.com
+ */
+@RunWith(Parameterized.class)
+public class ConstantBufferPoolTests extends BaseNd4jTest {
+
+    public ConstantBufferPoolTests(Nd4jBackend backend) {
+        super(backend);
+    }
+
+    @Test
+    public void testDeduplication1() throws Exception {
+        ConstantBufferPool pool = new ConstantBufferPool(100, 0L);
+
+        DataBuffer buffer1 = pool.getConstantBuffer(new int[] {1, 2, 3});
+        DataBuffer buffer2 = pool.getConstantBuffer(new int[] {1, 2, 3});
+        DataBuffer buffer3 = pool.getConstantBuffer(new float[] {1, 2, 3});
+
+        assertTrue(buffer1 == buffer2);
+        assertFalse(buffer1 == buffer3);
+
+        assertEquals(3, buffer1.length());
+        assertEquals(2, buffer1.getInt(1));
+
+        assertEquals(1, pool.getHits());
+        assertEquals(2, pool.getMisses());
+        assertEquals(2, pool.size());
+    }
+
+    @Test
+    public void testEviction1() throws Exception {
+        ConstantBufferPool pool = new ConstantBufferPool(16, 0L);
+
+        for (int e = 0; e < 1000; e++)
+            pool.getConstantBuffer(new int[] {e, e + 1});
+
+        assertTrue(pool.size() <= 16);
+        assertEquals(1000 - pool.size(), pool.getEvictions());
+        assertEquals(pool.size() * 8L, pool.getBytes());
+
+        pool.purge();
+
+        assertEquals(0, pool.size());
+        assertEquals(0L, pool.getBytes());
+    }
+
+    @Test
+    public void testEvictionOrder1() throws Exception {
+        ConstantBufferPool pool = new ConstantBufferPool(32, 0L);
+
+        int[] hot = new int[] {-1, -2, -3};
+        DataBuffer hotBuffer = pool.getConstantBuffer(hot);
+
+        // recently used entry is never evicted, so it's never reloaded
+        for (int e = 0; e < 1000; e++) {
+            pool.getConstantBuffer(new int[] {e, e + 1});
+            assertTrue(hotBuffer == pool.getConstantBuffer(hot));
+        }
+
+        assertEquals(1000, pool.getHits());
+        assertEquals(1001, pool.getMisses());
+        assertEquals(1001 - pool.size(), pool.getEvictions());
+    }
+
+    @Override
+    public char ordering() {
+        return 'c';
+    }
+}
@@ -3,6 +3,7 @@ package org.nd4j.linalg.compression;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
+import org.nd4j.compression.impl.Threshold;
 import org.nd4j.linalg.BaseNd4jTest;
 import org.nd4j.linalg.api.buffer.DataBuffer;
 import org.nd4j.linalg.api.ndarray.INDArray;
@@ -287,6 +288,79 @@ public class CompressionTests extends BaseNd4jTest {
         assertEquals(exp, decomp);
     }
 
+    @Test
+    public void testThresholdCompression1() throws Exception {
+        INDArray initial = Nd4j.create(new double[] {0.0, 0.0, 1e-3, -1e-3, 0.0, 0.0, 1e-4, 0.0});
+        INDArray exp = Nd4j.create(new double[] {0.0, 0.0, 1e-3, -1e-3, 0.0, 0.0, 0.0, 0.0});
+
+        INDArray compressed = Nd4j.getCompressor().compress(initial, "THRESHOLD");
+        assertTrue(compressed.isCompressed());
+        assertTrue(Nd4j.getCompressor().isSparse(compressed));
+
+        // 2 elements in indices encoding: header + 2 indices + 2 values
+        CompressionDescriptor descriptor = ((CompressedDataBuffer) compressed.data()).getCompressionDescriptor();
+        assertEquals(24, descriptor.getCompressedLength());
+
+        INDArray decompressed = Nd4j.getCompressor().decompress(compressed);
+        assertEquals(exp, decompressed);
+    }
+
+    @Test
+    public void testThresholdCompressionBitmap1() throws Exception {
+        INDArray initial = Nd4j.linspace(1, 1000, 1000);
+
+        INDArray compressed = Nd4j.getCompressor().compress(initial, "THRESHOLD");
+
+        // every element is encoded, so bitmap is smaller then indices
+        CompressionDescriptor descriptor = ((CompressedDataBuffer) compressed.data()).getCompressionDescriptor();
+        assertEquals(8 + 32 * 4 + 1000 * 4, descriptor.getCompressedLength());
+
+        INDArray decompressed = Nd4j.getCompressor().decompress(compressed);
+        assertEquals(initial, decompressed);
+    }
+
+    @Test
+    public void testThresholdResidual1() throws Exception {
+        INDArray update = Nd4j.create(new double[] {1e-2, 5e-4, 0.0, -5e-4, -2e-2});
+        INDArray residual = Nd4j.create(5);
+
+        INDArray compressed = Nd4j.getCompressor().compress(update, residual, "THRESHOLD");
+        assertEquals(Nd4j.create(new double[] {1e-2, 0.0, 0.0, 0.0, -2e-2}),
+                        Nd4j.getCompressor().decompress(compressed));
+        assertEquals(Nd4j.create(new double[] {0.0, 5e-4, 0.0, -5e-4, 0.0}), residual);
+
+        // small elements are sent once they're accumulated above threshold
+        compressed = Nd4j.getCompressor().compress(update, residual, "THRESHOLD");
+        assertEquals(Nd4j.create(new double[] {1e-2, 1e-3, 0.0, -1e-3, -2e-2}),
+                        Nd4j.getCompressor().decompress(compressed));
+        assertEquals(0.0, residual.sumNumber().doubleValue(), 1e-5);
+    }
+
+    @Test
+    public void testThresholdTopK1() throws Exception {
+        INDArray update = Nd4j.create(new double[] {0.1, -0.5, 0.2, 0.4, -0.3});
+        INDArray residual = Nd4j.create(5);
+
+        SparseNDArrayCompressor compressor = new Threshold(1e-3, 2);
+        INDArray compressed = compressor.compress(update, residual);
+
+        assertEquals(Nd4j.create(new double[] {0.0, -0.5, 0.0, 0.4, 0.0}), Nd4j.getCompressor().decompress(compressed));
+        assertEquals(Nd4j.create(new double[] {0.1, 0.0, 0.2, 0.0, -0.3}), residual);
+    }
+
+    @Test
+    public void testThresholdDecompressAdd1() throws Exception {
+        INDArray update = Nd4j.create(new double[] {0.0, 1.0, 0.0, -2.0, 0.0, 0.0});
+        INDArray target = Nd4j.ones(6);
+        INDArray exp = Nd4j.create(new double[] {1.0, 2.0, 1.0, -1.0, 1.0, 1.0});
+
+        INDArray compressed = Nd4j.getCompressor().compress(update, "THRESHOLD");
+        Nd4j.getCompressor().decompressAdd(compressed, target);
+
+        assertEquals(exp, target);
+        assertTrue(compressed.isCompressed());
+    }
+
     @Override
     public char ordering() {
         return 'c';
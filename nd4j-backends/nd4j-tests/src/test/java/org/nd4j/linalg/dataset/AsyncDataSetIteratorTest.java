@@ -0,0 +1,229 @@
+package org.nd4j.linalg.dataset;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.nd4j.linalg.BaseNd4jTest;
+import org.nd4j.linalg.dataset.api.DataSetPreProcessor;
+import org.nd4j.linalg.dataset.api.iterator.AsyncDataSetIterator;
+import org.nd4j.linalg.dataset.api.iterator.DataSetIterator;
+import org.nd4j.linalg.dataset.api.iterator.TestDataSetIterator;
+import org.nd4j.linalg.factory.Nd4j;
+import org.nd4j.linalg.factory.Nd4jBackend;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author raver119@gmail.com
+ */
+@RunWith(Parameterized.class)
+public class AsyncDataSetIteratorTest extends BaseNd4jTest {
+
+    public AsyncDataSetIteratorTest(Nd4jBackend backend) {
+        super(backend);
+    }
+
+    protected List<DataSet> buildDataSets(int numExamples) {
+        List<DataSet> list = new ArrayList<>();
+        for (int e = 0; e < numExamples; e++)
+            list.add(new DataSet(Nd4j.create(1, 4).assign(e), Nd4j.create(1, 2).assign(e)));
+
+        return list;
+    }
+
+    @Test
+    public void testSequentialOrder1() throws Exception {
+        AsyncDataSetIterator iterator = new AsyncDataSetIterator(new TestDataSetIterator(buildDataSets(50), 1), 4);
+
+        for (int epoch = 0; epoch < 3; epoch++) {
+            int cnt = 0;
+            while (iterator.hasNext()) {
+                DataSet ds = iterator.next();
+                assertEquals(cnt, ds.getFeatures().getDouble(3), 1e-5);
+                assertEquals(cnt, ds.getLabels().getDouble(1), 1e-5);
+                cnt++;
+            }
+
+            assertEquals(50, cnt);
+            assertFalse(iterator.hasNext());
+
+            iterator.reset();
+        }
+
+        iterator.shutdown();
+    }
+
+    @Test
+    public void testConsumerAffinity1() throws Exception {
+        final AsyncDataSetIterator iterator = new AsyncDataSetIterator(new TestDataSetIterator(buildDataSets(40), 1), 2, 2);
+        final AtomicInteger[] counters = new AtomicInteger[] {new AtomicInteger(0), new AtomicInteger(0)};
+        final AtomicInteger failures = new AtomicInteger(0);
+
+        Thread[] threads = new Thread[2];
+        for (int t = 0; t < threads.length; t++) {
+            final int consumer = t;
+            threads[t] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    iterator.attachThread(consumer);
+                    while (iterator.hasNextFor()) {
+                        DataSet ds = iterator.nextFor();
+
+                        // batches are distributed round-robin
+                        if (((int) ds.getFeatures().getDouble(0)) % 2 != consumer)
+                            failures.incrementAndGet();
+
+                        counters[consumer].incrementAndGet();
+                    }
+                }
+            });
+            threads[t].start();
+        }
+
+        for (Thread thread : threads)
+            thread.join();
+
+        assertEquals(0, failures.get());
+        assertEquals(20, counters[0].get());
+        assertEquals(20, counters[1].get());
+
+        iterator.shutdown();
+    }
+
+    /**
+     * Backing iterator returns the very same DataSets every epoch, so they have to stay intact
+     */
+    @Test
+    public void testListBackedIterator1() throws Exception {
+        List<DataSet> list = buildDataSets(50);
+        AsyncDataSetIterator iterator = new AsyncDataSetIterator(new ListIterator(list), 4);
+        iterator.setPreProcessor(new DataSetPreProcessor() {
+            @Override
+            public void preProcess(org.nd4j.linalg.dataset.api.DataSet toPreProcess) {
+                toPreProcess.getFeatures().muli(2.0);
+            }
+        });
+
+        for (int epoch = 0; epoch < 3; epoch++) {
+            int cnt = 0;
+            while (iterator.hasNext()) {
+                DataSet ds = iterator.next();
+                assertEquals(cnt * 2.0, ds.getFeatures().getDouble(3), 1e-5);
+                assertEquals(cnt, ds.getLabels().getDouble(1), 1e-5);
+                cnt++;
+            }
+
+            assertEquals(50, cnt);
+            iterator.reset();
+
+            for (int e = 0; e < list.size(); e++) {
+                assertFalse(list.get(e).getFeatures().isAttached());
+                assertEquals(Nd4j.create(1, 4).assign(e), list.get(e).getFeatures());
+                assertEquals(Nd4j.create(1, 2).assign(e), list.get(e).getLabels());
+            }
+        }
+
+        iterator.shutdown();
+    }
+
+    /**
+     * Simple iterator over existing DataSets, without any copies
+     */
+    protected static class ListIterator implements DataSetIterator {
+        private final List<DataSet> list;
+        private int cursor;
+
+        protected ListIterator(List<DataSet> list) {
+            this.list = list;
+        }
+
+        @Override
+        public DataSet next(int num) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int totalExamples() {
+            return list.size();
+        }
+
+        @Override
+        public int inputColumns() {
+            return list.get(0).getFeatures().columns();
+        }
+
+        @Override
+        public int totalOutcomes() {
+            return list.get(0).getLabels().columns();
+        }
+
+        @Override
+        public boolean resetSupported() {
+            return true;
+        }
+
+        @Override
+        public boolean asyncSupported() {
+            return false;
+        }
+
+        @Override
+        public void reset() {
+            cursor = 0;
+        }
+
+        @Override
+        public int batch() {
+            return 1;
+        }
+
+        @Override
+        public int cursor() {
+            return cursor;
+        }
+
+        @Override
+        public int numExamples() {
+            return list.size();
+        }
+
+        @Override
+        public void setPreProcessor(DataSetPreProcessor preProcessor) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public DataSetPreProcessor getPreProcessor() {
+            return null;
+        }
+
+        @Override
+        public List<String> getLabels() {
+            return null;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return cursor < list.size();
+        }
+
+        @Override
+        public DataSet next() {
+            return list.get(cursor++);
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    @Override
+    public char ordering() {
+        return 'c';
+    }
+}
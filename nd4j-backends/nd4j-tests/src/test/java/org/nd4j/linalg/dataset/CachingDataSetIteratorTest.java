@@ -11,6 +11,8 @@ import org.nd4j.linalg.dataset.api.iterator.CachingDataSetIterator;
 import org.nd4j.linalg.dataset.api.iterator.DataSetIterator;
 import org.nd4j.linalg.dataset.api.iterator.SamplingDataSetIterator;
 import org.nd4j.linalg.dataset.api.iterator.cache.DataSetCache;
+import org.nd4j.linalg.dataset.api.iterator.cache.DataSetCacheStats;
+import org.nd4j.linalg.dataset.api.iterator.cache.InFileAndMemoryDataSetCache;
 import org.nd4j.linalg.dataset.api.iterator.cache.InFileDataSetCache;
 import org.nd4j.linalg.dataset.api.iterator.cache.InMemoryDataSetCache;
 import org.nd4j.linalg.factory.Nd4j;
@@ -54,7 +56,153 @@ public class CachingDataSetIteratorTest extends BaseNd4jTest {
         FileUtils.deleteDirectory(cacheDir.toFile());
     }
 
-    private void runDataSetTest(DataSetCache cache) {
+    @Test
+    public void testInMemoryBoundedWithFileEviction() throws IOException {
+        Path cacheDir = Files.createTempDirectory("nd4j-data-set-cache-test");
+        //room for about two batches
+        InMemoryDataSetCache cache = new InMemoryDataSetCache(10000, new InFileDataSetCache(cacheDir));
+
+        CachingDataSetIterator cachedIt = runDataSetTest(cache);
+
+        DataSetCacheStats stats = cachedIt.getCacheStats();
+        assertNotNull(stats);
+        assertTrue(stats.getEvictions() > 0);
+        assertTrue(stats.getMisses() > 0);
+        assertTrue(stats.getBytes() <= 10000);
+        assertTrue(stats.getEntries() < 5);
+
+        FileUtils.deleteDirectory(cacheDir.toFile());
+    }
+
+    @Test
+    public void testInFileAndMemoryBounded() throws IOException {
+        Path cacheDir = Files.createTempDirectory("nd4j-data-set-cache-test");
+        InFileAndMemoryDataSetCache cache = new InFileAndMemoryDataSetCache(cacheDir.toFile(), 10000);
+
+        CachingDataSetIterator cachedIt = runDataSetTest(cache);
+
+        DataSetCacheStats stats = cachedIt.getCacheStats();
+        assertTrue(stats.getEvictions() > 0);
+        assertTrue(stats.getBytes() <= 10000);
+
+        FileUtils.deleteDirectory(cacheDir.toFile());
+    }
+
+    @Test
+    public void testInMemoryCompressed() {
+        InMemoryDataSetCache cache = new InMemoryDataSetCache(Long.MAX_VALUE, null, "FLOAT16");
+
+        CachingDataSetIterator cachedIt = runDataSetTest(cache);
+
+        DataSetCacheStats stats = cachedIt.getCacheStats();
+        assertEquals(0, stats.getEvictions());
+        assertEquals(5, stats.getEntries());
+        assertTrue(stats.getHits() > 0);
+    }
+
+    @Test
+    public void testInMemoryReturnsCopies() {
+        InMemoryDataSetCache cache = new InMemoryDataSetCache();
+        cache.put("key", new DataSet(Nd4j.ones(2, 3), Nd4j.zeros(2, 1)));
+
+        DataSet first = cache.get("key");
+        first.getFeatures().assign(5);
+
+        DataSet second = cache.get("key");
+        assertEquals(Nd4j.ones(2, 3), second.getFeatures());
+        assertNull(cache.get("missing"));
+
+        DataSetCacheStats stats = cache.getStats();
+        assertEquals(2, stats.getHits());
+        assertEquals(1, stats.getMisses());
+    }
+
+    @Test
+    public void testEvictionDoesNotRewriteRestoredEntries() throws IOException {
+        Path cacheDir = Files.createTempDirectory("nd4j-data-set-cache-test");
+        CountingDataSetCache fileCache = new CountingDataSetCache(new InFileDataSetCache(cacheDir));
+        //only the newest entry is kept in memory
+        InMemoryDataSetCache cache = new InMemoryDataSetCache(1, fileCache);
+
+        for (int i = 0; i < 4; i++)
+            cache.put("key" + i, new DataSet(Nd4j.ones(2, 3).muli(i), Nd4j.zeros(2, 1)));
+        assertEquals(3, fileCache.puts);
+
+        for (int epoch = 0; epoch < 3; epoch++) {
+            for (int i = 0; i < 4; i++)
+                assertEquals(Nd4j.ones(2, 3).muli(i), cache.get("key" + i).getFeatures());
+        }
+
+        //only key3 was still to be written, everything else was restored from the file cache
+        assertEquals(4, fileCache.puts);
+
+        FileUtils.deleteDirectory(cacheDir.toFile());
+    }
+
+    @Test
+    public void testGetWhileEvictingIsHit() throws IOException {
+        Path cacheDir = Files.createTempDirectory("nd4j-data-set-cache-test");
+        CountingDataSetCache fileCache = new CountingDataSetCache(new InFileDataSetCache(cacheDir));
+        final InMemoryDataSetCache cache = new InMemoryDataSetCache(1, fileCache);
+        fileCache.onPut = cache;
+
+        cache.put("key0", new DataSet(Nd4j.ones(2, 3), Nd4j.zeros(2, 1)));
+        cache.put("key1", new DataSet(Nd4j.ones(2, 3), Nd4j.zeros(2, 1)));
+
+        //key0 was read back while it was being written
+        assertEquals(1, fileCache.puts);
+        assertEquals(Nd4j.ones(2, 3), fileCache.readWhileWriting.getFeatures());
+
+        DataSetCacheStats stats = cache.getStats();
+        assertEquals(1, stats.getHits());
+        assertEquals(0, stats.getMisses());
+
+        FileUtils.deleteDirectory(cacheDir.toFile());
+    }
+
+    /**
+     * Counts puts, and optionally reads the key back from the given cache while it's being put
+     */
+    private static class CountingDataSetCache implements DataSetCache {
+        private final DataSetCache cache;
+        private int puts;
+        private DataSetCache onPut;
+        private DataSet readWhileWriting;
+
+        private CountingDataSetCache(DataSetCache cache) {
+            this.cache = cache;
+        }
+
+        @Override
+        public boolean isComplete(String namespace) {
+            return cache.isComplete(namespace);
+        }
+
+        @Override
+        public void setComplete(String namespace, boolean value) {
+            cache.setComplete(namespace, value);
+        }
+
+        @Override
+        public DataSet get(String key) {
+            return cache.get(key);
+        }
+
+        @Override
+        public void put(String key, DataSet dataSet) {
+            puts++;
+            if (onPut != null)
+                readWhileWriting = onPut.get(key);
+            cache.put(key, dataSet);
+        }
+
+        @Override
+        public boolean contains(String key) {
+            return cache.contains(key);
+        }
+    }
+
+    private CachingDataSetIterator runDataSetTest(DataSetCache cache) {
         int rows = 500;
         int inputColumns = 100;
         int outputColumns = 2;
@@ -76,6 +224,8 @@ public class CachingDataSetIteratorTest extends BaseNd4jTest {
         assertPreProcessingGetsCached(expectedNumberOfDataSets, it, cachedIt, preProcessor);
 
         assertCachingDataSetIteratorHasAllTheData(rows, inputColumns, outputColumns, dataSet, it, cachedIt);
+
+        return cachedIt;
     }
 
     private void assertDataSetCacheGetsCompleted(DataSetCache cache, String namespace, DataSetIterator cachedIt) {
@@ -24,6 +24,7 @@ import org.junit.runners.Parameterized;
 import org.nd4j.linalg.BaseNd4jTest;
 import org.nd4j.linalg.api.ndarray.INDArray;
 import org.nd4j.linalg.api.ops.random.impl.BernoulliDistribution;
+import org.nd4j.linalg.dataset.api.DataSetPreProcessor;
 import org.nd4j.linalg.dataset.api.iterator.DataSetIterator;
 import org.nd4j.linalg.factory.Nd4j;
 import org.nd4j.linalg.factory.Nd4jBackend;
@@ -813,6 +814,107 @@ public class DataSetTest extends BaseNd4jTest {
             assertTrue(ds2.getFeatureMatrix() == ds2.getLabels()); //Expect same object
     }
 
+    @Test
+    public void testBatchByViews() {
+        INDArray features = Nd4j.linspace(1, 30, 30).reshape('c', 10, 3);
+        INDArray labels = Nd4j.linspace(1, 20, 20).reshape('c', 10, 2);
+        DataSet ds = new DataSet(features, labels);
+
+        List<DataSet> batches = ds.batchByView(4);
+        assertEquals(3, batches.size());
+        assertEquals(features.get(interval(0, 4), all()), batches.get(0).getFeatures());
+        assertEquals(labels.get(interval(8, 10), all()), batches.get(2).getLabels());
+        assertEquals(2, batches.get(2).numExamples());
+        assertEquals(batches, ds.batchBy(4));
+        assertEquals(batches, ds.dataSetBatches(4));
+
+        //batchByView returns views, no data is copied
+        batches.get(1).getFeatures().putScalar(0, 0, -1.0);
+        assertEquals(-1.0, features.getDouble(4, 0), 0.0);
+    }
+
+    @Test
+    public void testBatchByCopies() {
+        INDArray features = Nd4j.linspace(1, 30, 30).reshape('c', 10, 3);
+        INDArray labels = Nd4j.linspace(1, 20, 20).reshape('c', 10, 2);
+        DataSet ds = new DataSet(features, labels);
+        INDArray expFeatures = features.dup();
+        INDArray expLabels = labels.dup();
+
+        DataSetPreProcessor scaler = new DataSetPreProcessor() {
+            @Override
+            public void preProcess(org.nd4j.linalg.dataset.api.DataSet toPreProcess) {
+                toPreProcess.getFeatures().muli(10.0);
+                toPreProcess.getLabels().subi(1.0);
+            }
+        };
+
+        for (DataSet batch : ds.batchBy(3))
+            scaler.preProcess(batch);
+        for (DataSet batch : ds.dataSetBatches(3))
+            scaler.preProcess(batch);
+
+        //merged batches are copies too, even when they are adjacent ranges
+        DataSet merged = DataSet.merge(ds.batchByView(5));
+        scaler.preProcess(merged);
+        assertEquals(expFeatures.mul(10.0), merged.getFeatures());
+
+        assertEquals(expFeatures, features);
+        assertEquals(expLabels, labels);
+    }
+
+    @Test
+    public void testMergeAdjacentRangesIsView() {
+        INDArray features = Nd4j.linspace(1, 30, 30).reshape('c', 10, 3);
+        INDArray labels = Nd4j.linspace(1, 20, 20).reshape('c', 10, 2);
+        DataSet ds = new DataSet(features, labels);
+
+        DataSet merged = DataSet.mergeView(ds.batchByView(3));
+        assertEquals(features, merged.getFeatures());
+        assertEquals(labels, merged.getLabels());
+        merged.getFeatures().putScalar(9, 2, -1.0);
+        assertEquals(-1.0, features.getDouble(9, 2), 0.0);
+
+        //non adjacent ranges are copied
+        List<DataSet> parts = Arrays.asList((DataSet) ds.getRange(0, 2), (DataSet) ds.getRange(5, 7));
+        DataSet copied = DataSet.mergeView(parts);
+        assertEquals(Nd4j.vstack(features.get(interval(0, 2), all()), features.get(interval(5, 7), all())),
+                        copied.getFeatures());
+        copied.getFeatures().putScalar(0, 0, -5.0);
+        assertEquals(1.0, features.getDouble(0, 0), 0.0);
+
+        //modified ranges are copied too
+        DataSet first = (DataSet) ds.getRange(0, 5);
+        DataSet second = (DataSet) ds.getRange(5, 10);
+        second.setFeatures(Nd4j.zeros(5, 3));
+        DataSet mergedModified = DataSet.mergeView(Arrays.asList(first, second));
+        assertEquals(0.0, mergedModified.getFeatures().get(interval(5, 10), all()).sumNumber().doubleValue(), 0.0);
+    }
+
+    @Test
+    public void testGetExamples() {
+        INDArray features = Nd4j.linspace(1, 30, 30).reshape('c', 10, 3);
+        INDArray labels = Nd4j.linspace(1, 20, 20).reshape('c', 10, 2);
+        INDArray labelsMask = Nd4j.linspace(1, 10, 10).reshape('c', 10, 1);
+        DataSet ds = new DataSet(features, labels, null, labelsMask);
+
+        int[] indexes = {7, 2, 3, 9};
+        DataSet examples = ds.getExamples(indexes);
+        assertEquals(4, examples.numExamples());
+        for (int i = 0; i < indexes.length; i++) {
+            assertEquals(features.getRow(indexes[i]), examples.getFeatures().getRow(i));
+            assertEquals(labels.getRow(indexes[i]), examples.getLabels().getRow(i));
+            assertEquals(labelsMask.getDouble(indexes[i], 0), examples.getLabelsMaskArray().getDouble(i, 0), 0.0);
+        }
+
+        DataSet range = ds.getExamples(new int[] {3, 4, 5});
+        assertEquals(features.get(interval(3, 6), all()), range.getFeatures());
+
+        //contiguous examples are copied as well
+        range.getFeatures().assign(-1.0);
+        assertEquals(Nd4j.linspace(1, 30, 30).reshape('c', 10, 3), features);
+    }
+
 
     @Override
     public char ordering() {
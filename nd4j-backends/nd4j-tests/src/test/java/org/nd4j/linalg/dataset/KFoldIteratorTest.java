@@ -6,6 +6,7 @@ import org.junit.runners.Parameterized;
 import org.nd4j.linalg.BaseNd4jTest;
 import org.nd4j.linalg.api.ndarray.INDArray;
 import org.nd4j.linalg.dataset.api.iterator.KFoldIterator;
+import org.nd4j.linalg.dataset.api.preprocessor.NormalizerStandardize;
 import org.nd4j.linalg.factory.Nd4j;
 import org.nd4j.linalg.factory.Nd4jBackend;
 
@@ -87,6 +88,62 @@ public class KFoldIteratorTest extends BaseNd4jTest {
         assertEquals(i, 2);
     }
 
+    @Test
+    public void checkShuffledFoldsCoverAllExamples() {
+        INDArray features = Nd4j.linspace(1, 10, 10).reshape('c', 10, 1);
+        DataSet allData = new DataSet(features, features.dup());
+        INDArray copy = features.dup();
+
+        KFoldIterator kiter = new KFoldIterator(5, allData);
+        kiter.reset();
+
+        double seen = 0;
+        int count = 0;
+        while (kiter.hasNext()) {
+            DataSet train = kiter.next();
+            DataSet test = kiter.testFold();
+            assertEquals(8, train.numExamples());
+            assertEquals(2, test.numExamples());
+            assertEquals(55.0, train.getFeatures().sumNumber().doubleValue()
+                            + test.getFeatures().sumNumber().doubleValue(), 1e-5);
+            assertEquals(test.getFeatures(), test.getLabels());
+            seen += test.getFeatures().sumNumber().doubleValue();
+            count++;
+        }
+        assertEquals(5, count);
+        assertEquals(55.0, seen, 1e-5);
+
+        //folds are index lists, the dataset itself is never shuffled
+        assertEquals(copy, features);
+    }
+
+    @Test
+    public void checkInPlaceTransformOfFoldsKeepsDataSet() {
+        INDArray features = Nd4j.linspace(1, 30, 30).reshape('c', 10, 3);
+        INDArray labels = Nd4j.linspace(1, 20, 20).reshape('c', 10, 2);
+        DataSet allData = new DataSet(features, labels);
+        INDArray expFeatures = features.dup();
+        INDArray expLabels = labels.dup();
+
+        KFoldIterator kiter = new KFoldIterator(5, allData);
+        for (int epoch = 0; epoch < 2; epoch++) {
+            while (kiter.hasNext()) {
+                DataSet train = kiter.next();
+                DataSet test = kiter.testFold();
+
+                NormalizerStandardize normalizer = new NormalizerStandardize();
+                normalizer.fitLabel(true);
+                normalizer.fit(train);
+                normalizer.transform(train);
+                normalizer.transform(test);
+            }
+            kiter.reset();
+        }
+
+        assertEquals(expFeatures, features);
+        assertEquals(expLabels, labels);
+    }
+
     public class randomDataSet {
         //only one label
         private int[] dataShape;
@@ -177,6 +177,21 @@ public class NormalizerMinMaxScalerTest extends BaseNd4jTest {
         assertEquals(sampleDataSet.getFeatures().sumNumber().doubleValue(), 100 * nFeatures * nSamples, 0.00001);
     }
 
+    @Test
+    public void testParallelFit() {
+        INDArray features = Nd4j.randn(800, 6);
+        DataSet dataSet = new DataSet(features, Nd4j.zeros(800, 1));
+
+        NormalizerMinMaxScaler sequential = new NormalizerMinMaxScaler();
+        sequential.fit(dataSet);
+
+        NormalizerMinMaxScaler parallel = new NormalizerMinMaxScaler();
+        parallel.fit(new TestDataSetIterator(dataSet, 64), 3);
+
+        assertEquals(sequential.getMin(), parallel.getMin());
+        assertEquals(sequential.getMax(), parallel.getMax());
+    }
+
     @Override
     public char ordering() {
         return 'c';
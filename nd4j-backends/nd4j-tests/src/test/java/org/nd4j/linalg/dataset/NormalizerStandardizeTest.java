@@ -8,10 +8,13 @@ import org.nd4j.linalg.api.ndarray.INDArray;
 import org.nd4j.linalg.dataset.api.iterator.DataSetIterator;
 import org.nd4j.linalg.dataset.api.iterator.TestDataSetIterator;
 import org.nd4j.linalg.dataset.api.preprocessor.NormalizerStandardize;
+import org.nd4j.linalg.dataset.api.preprocessor.stats.DistributionStats;
 import org.nd4j.linalg.factory.Nd4j;
 import org.nd4j.linalg.factory.Nd4jBackend;
 import org.nd4j.linalg.ops.transforms.Transforms;
 
+import java.util.List;
+
 import static org.junit.Assert.*;
 
 /**
@@ -147,6 +150,93 @@ public class NormalizerStandardizeTest extends BaseNd4jTest {
         }
     }
 
+    @Test
+    public void testParallelFit() {
+        INDArray features = Nd4j.rand(1000, 7).muli(10).addi(3);
+        INDArray labels = Nd4j.rand(1000, 2);
+        DataSet dataSet = new DataSet(features, labels);
+
+        NormalizerStandardize sequential = new NormalizerStandardize();
+        sequential.fitLabel(true);
+        sequential.fit(dataSet);
+
+        NormalizerStandardize parallel = new NormalizerStandardize();
+        parallel.fitLabel(true);
+        parallel.fit(new TestDataSetIterator(dataSet, 33), 4);
+
+        assertEquals(sequential.getMean(), parallel.getMean());
+        assertEquals(sequential.getStd(), parallel.getStd());
+        assertEquals(sequential.getLabelMean(), parallel.getLabelMean());
+        assertEquals(sequential.getLabelStd(), parallel.getLabelStd());
+    }
+
+    @Test
+    public void testPartialFit() {
+        INDArray features = Nd4j.rand(600, 5).muli(4).subi(1);
+        DataSet dataSet = new DataSet(features, Nd4j.zeros(600, 1));
+        List<DataSet> halves = dataSet.batchBy(300);
+
+        NormalizerStandardize expected = new NormalizerStandardize();
+        expected.fit(dataSet);
+
+        NormalizerStandardize incremental = new NormalizerStandardize();
+        incremental.fit(halves.get(0));
+        incremental.partialFit(new TestDataSetIterator(halves.get(1), 50), 2);
+
+        assertEquals(expected.getMean(), incremental.getMean());
+        assertEquals(expected.getStd(), incremental.getStd());
+
+        //a new fit starts over
+        incremental.fit(halves.get(1));
+        NormalizerStandardize second = new NormalizerStandardize();
+        second.fit(halves.get(1));
+        assertEquals(second.getMean(), incremental.getMean());
+        assertEquals(second.getStd(), incremental.getStd());
+    }
+
+    @Test
+    public void testFitResetsIterator() {
+        INDArray features = Nd4j.rand(100, 3);
+        DataSet dataSet = new DataSet(features, Nd4j.zeros(100, 1));
+
+        NormalizerStandardize expected = new NormalizerStandardize();
+        expected.fit(dataSet);
+
+        //a partially consumed iterator is still fit on all of its data
+        DataSetIterator iterator = new TestDataSetIterator(dataSet, 10);
+        iterator.next();
+        iterator.next();
+
+        NormalizerStandardize norm = new NormalizerStandardize();
+        norm.fit(iterator, 2);
+
+        assertEquals(expected.getMean(), norm.getMean());
+        assertEquals(expected.getStd(), norm.getStd());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testPartialFitWithoutRunningStats() {
+        NormalizerStandardize norm = new NormalizerStandardize(Nd4j.zeros(1, 3), Nd4j.ones(1, 3));
+        norm.partialFit(new DataSet(Nd4j.rand(10, 3), Nd4j.zeros(10, 1)));
+    }
+
+    @Test
+    public void testMergeBuilders() {
+        INDArray first = Nd4j.rand(100, 4);
+        INDArray second = Nd4j.rand(37, 4).addi(2);
+
+        DistributionStats expected = new DistributionStats.Builder().add(first, null).add(second, null).build();
+
+        DistributionStats.Builder merged = new DistributionStats.Builder().add(first, null);
+        merged.merge(new DistributionStats.Builder().add(second, null));
+        //merging an empty builder changes nothing
+        merged.merge(new DistributionStats.Builder());
+        DistributionStats actual = merged.build();
+
+        assertEquals(expected.getMean(), actual.getMean());
+        assertEquals(expected.getStd(), actual.getStd());
+    }
+
     @Test
     public void testDifferentBatchSizes() {
         // Create 6x1 matrix of the numbers 1 through 6
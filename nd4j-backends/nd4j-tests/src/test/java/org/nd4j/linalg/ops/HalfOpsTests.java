@@ -0,0 +1,192 @@
+package org.nd4j.linalg.ops;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.nd4j.linalg.BaseNd4jTest;
+import org.nd4j.linalg.api.buffer.DataBuffer;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.api.ops.impl.transforms.Tanh;
+import org.nd4j.linalg.factory.Nd4j;
+import org.nd4j.linalg.factory.Nd4jBackend;
+
+import java.io.File;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for HALF storage arrays on backends with FLOAT/DOUBLE default data type
+ *
+ * @author raver119@gmail.com
+ */
+@Slf4j
+@RunWith(Parameterized.class)
+public class HalfOpsTests extends BaseNd4jTest {
+
+    public HalfOpsTests(Nd4jBackend backend) {
+        super(backend);
+    }
+
+    @Test
+    public void testHalfConversion1() throws Exception {
+        INDArray array = Nd4j.linspace(1, 100, 100).reshape(10, 10);
+
+        INDArray half = Nd4j.toHalf(array);
+        assertEquals(DataBuffer.Type.HALF, half.data().dataType());
+        assertArrayEquals(array.shape(), half.shape());
+        assertEquals(37.0, half.getDouble(3, 6), 1e-5);
+
+        INDArray restored = Nd4j.fromHalf(half);
+        assertEquals(Nd4j.dataType(), restored.data().dataType());
+        assertEquals(array, restored);
+    }
+
+    @Test
+    public void testHalfTransform1() throws Exception {
+        // this array is larger then single tile
+        INDArray x = Nd4j.rand(100, 3000);
+        INDArray y = Nd4j.rand(100, 3000);
+
+        INDArray hx = Nd4j.toHalf(x);
+        INDArray hy = Nd4j.toHalf(y);
+
+        hx.addi(hy);
+        hx.muli(2.0);
+        x.addi(y).muli(2.0);
+
+        assertEquals(DataBuffer.Type.HALF, hx.data().dataType());
+        assertTrue(x.equalsWithEps(Nd4j.fromHalf(hx), 1e-2));
+    }
+
+    @Test
+    public void testHalfTransform2() throws Exception {
+        INDArray x = Nd4j.linspace(-2, 2, 1000);
+        INDArray hx = Nd4j.toHalf(x);
+
+        INDArray hz = Nd4j.getExecutioner().execAndReturn(new Tanh(hx.dup()));
+        INDArray exp = Nd4j.getExecutioner().execAndReturn(new Tanh(x.dup()));
+
+        assertEquals(DataBuffer.Type.HALF, hz.data().dataType());
+        assertTrue(exp.equalsWithEps(Nd4j.fromHalf(hz), 1e-2));
+
+        // source array should stay intact
+        assertTrue(x.equalsWithEps(Nd4j.fromHalf(hx), 1e-2));
+    }
+
+    @Test
+    public void testHalfReduction1() throws Exception {
+        INDArray x = Nd4j.rand(10, 100);
+        INDArray hx = Nd4j.toHalf(x);
+
+        INDArray sum = hx.sum(1);
+        INDArray exp = x.sum(1);
+
+        assertEquals(DataBuffer.Type.HALF, sum.data().dataType());
+        assertArrayEquals(exp.shape(), sum.shape());
+        assertTrue(exp.equalsWithEps(Nd4j.fromHalf(sum), 0.1));
+
+        assertEquals(x.sumNumber().doubleValue(), hx.sumNumber().doubleValue(), 1.0);
+        assertEquals(Nd4j.argMax(x, 1), Nd4j.argMax(hx, 1));
+    }
+
+    @Test
+    public void testHalfReduction2() throws Exception {
+        // larger then single tile, so rows are reduced tile by tile
+        INDArray x = Nd4j.rand(300, 1000);
+        INDArray hx = Nd4j.toHalf(x);
+
+        INDArray mean = hx.mean(1);
+        INDArray exp = x.mean(1);
+
+        assertEquals(DataBuffer.Type.HALF, mean.data().dataType());
+        assertArrayEquals(exp.shape(), mean.shape());
+        assertTrue(exp.equalsWithEps(Nd4j.fromHalf(mean), 1e-2));
+
+        INDArray x3 = Nd4j.rand(new int[] {70, 40, 50});
+        INDArray max = Nd4j.toHalf(x3).max(1, 2);
+        assertTrue(x3.max(1, 2).equalsWithEps(Nd4j.fromHalf(max), 1e-2));
+    }
+
+    @Test
+    public void testHalfIndexReduction1() throws Exception {
+        // indices above 2048 aren't representable in HALF
+        INDArray x = Nd4j.rand(4, 5000);
+        x.putScalar(new int[] {0, 4097}, 10.0);
+        x.putScalar(new int[] {3, 2049}, 10.0);
+        INDArray hx = Nd4j.toHalf(x);
+
+        INDArray argMax = Nd4j.argMax(hx, 1);
+        assertNotEquals(DataBuffer.Type.HALF, argMax.data().dataType());
+        assertEquals(4097, argMax.getDouble(0), 0.0);
+        assertEquals(2049, argMax.getDouble(3), 0.0);
+
+        INDArray column = Nd4j.rand(5000, 1);
+        column.putScalar(4097, 10.0);
+        assertEquals(4097, Nd4j.argMax(Nd4j.toHalf(column)).getDouble(0), 0.0);
+    }
+
+    @Test
+    public void testHalfBroadcast1() throws Exception {
+        INDArray x = Nd4j.rand(50, 20);
+        INDArray row = Nd4j.linspace(1, 20, 20);
+
+        INDArray hx = Nd4j.toHalf(x);
+        INDArray hrow = Nd4j.toHalf(row);
+
+        hx.addiRowVector(hrow);
+        x.addiRowVector(row);
+
+        assertEquals(DataBuffer.Type.HALF, hx.data().dataType());
+        assertTrue(x.equalsWithEps(Nd4j.fromHalf(hx), 2e-2));
+    }
+
+    @Test
+    public void testHalfBroadcast2() throws Exception {
+        // larger then single tile, so broadcast is applied tile by tile
+        INDArray x = Nd4j.rand(300, 1000);
+        INDArray row = Nd4j.rand(1, 1000);
+
+        INDArray hx = Nd4j.toHalf(x);
+        INDArray result = hx.mulRowVector(Nd4j.toHalf(row));
+        x.muliRowVector(row);
+
+        assertEquals(DataBuffer.Type.HALF, result.data().dataType());
+        assertTrue(x.equalsWithEps(Nd4j.fromHalf(result), 1e-2));
+    }
+
+    @Test
+    public void testHalfView1() throws Exception {
+        INDArray x = Nd4j.linspace(1, 20, 20).reshape(4, 5);
+        INDArray hx = Nd4j.toHalf(x);
+
+        // strided view: only this column should be affected
+        hx.getColumn(2).muli(10.0);
+        x.getColumn(2).muli(10.0);
+
+        assertEquals(x, Nd4j.fromHalf(hx));
+
+        INDArray dup = hx.getRow(1).dup();
+        assertEquals(DataBuffer.Type.HALF, dup.data().dataType());
+        assertEquals(x.getRow(1), Nd4j.fromHalf(dup));
+    }
+
+    @Test
+    public void testHalfMappedFile1() throws Exception {
+        INDArray half = Nd4j.toHalf(Nd4j.linspace(1, 100, 100).reshape(10, 10));
+
+        File tmp = File.createTempFile("mappedHalf", "bin");
+        tmp.deleteOnExit();
+
+        Nd4j.saveMapped(half, tmp);
+
+        INDArray mapped = Nd4j.createFromMappedFile(tmp);
+        assertEquals(DataBuffer.Type.HALF, mapped.data().dataType());
+        assertEquals(Nd4j.fromHalf(half), Nd4j.fromHalf(mapped));
+    }
+
+    @Override
+    public char ordering() {
+        return 'c';
+    }
+}
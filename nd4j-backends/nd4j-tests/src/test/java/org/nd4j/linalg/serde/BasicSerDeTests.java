@@ -9,11 +9,18 @@ import org.nd4j.linalg.api.buffer.DataBuffer;
 import org.nd4j.linalg.api.ndarray.INDArray;
 import org.nd4j.linalg.factory.Nd4j;
 import org.nd4j.linalg.factory.Nd4jBackend;
+import org.nd4j.linalg.indexing.NDArrayIndex;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
 
 import static junit.framework.TestCase.assertEquals;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertTrue;
 
 /**
  * Created by raver119 on 21.12.16.
@@ -53,6 +60,71 @@ public class BasicSerDeTests extends BaseNd4jTest {
         Nd4j.setDataType(initialType);
     }
 
+    @Test
+    public void testBulkChannelCompatibility1() throws Exception {
+        INDArray array = Nd4j.linspace(1, 300000, 300000).reshape(300, 1000);
+
+        // channel-based output should be byte-identical to stream-based one
+        ByteArrayOutputStream streamBos = new ByteArrayOutputStream();
+        DataOutputStream dos = new DataOutputStream(streamBos);
+        Nd4j.write(array, dos);
+        dos.flush();
+
+        ByteArrayOutputStream channelBos = new ByteArrayOutputStream();
+        Nd4j.write(array, Channels.newChannel(channelBos));
+
+        assertEquals(streamBos.size(), channelBos.size());
+        assertArrayEquals(streamBos.toByteArray(), channelBos.toByteArray());
+
+        INDArray restored = Nd4j.read(new ByteArrayInputStream(channelBos.toByteArray()));
+        assertEquals(array, restored);
+    }
+
+    @Test
+    public void testBulkSaveBinary1() throws Exception {
+        INDArray array = Nd4j.linspace(1, 3000, 3000).reshape(30, 100);
+        INDArray view = array.get(NDArrayIndex.interval(10, 20), NDArrayIndex.all());
+
+        File tmp = File.createTempFile("bulkSerDe", "bin");
+        tmp.deleteOnExit();
+
+        Nd4j.saveBinary(view, tmp);
+        INDArray restored = Nd4j.readBinary(tmp);
+
+        assertEquals(view, restored);
+    }
+
+    @Test
+    public void testMappedFile1() throws Exception {
+        INDArray array = Nd4j.linspace(1, 3000, 3000).reshape(30, 100);
+
+        File tmp = File.createTempFile("mappedSerDe", "bin");
+        tmp.deleteOnExit();
+
+        Nd4j.saveMapped(array, tmp);
+
+        INDArray readOnly = Nd4j.createFromMappedFile(tmp);
+        assertEquals(array, readOnly);
+
+        // read-only mode never exposes read-only memory, so in-place ops are fine and don't reach the file
+        readOnly.addi(1.0);
+        assertEquals(array.add(1.0), readOnly);
+
+        // copy-on-write changes should never reach the file
+        INDArray cow = Nd4j.createFromMappedFile(tmp, FileChannel.MapMode.PRIVATE);
+        cow.addi(1.0);
+
+        INDArray restored = Nd4j.createFromMappedFile(tmp);
+        assertEquals(array, restored);
+
+        // same goes for files that aren't writable at all
+        assertTrue(tmp.setWritable(false));
+        INDArray copied = Nd4j.createFromMappedFile(tmp, FileChannel.MapMode.READ_ONLY);
+        copied.addi(2.0);
+        assertEquals(array.add(2.0), copied);
+        assertEquals(array, Nd4j.createFromMappedFile(tmp));
+    }
+
     @Override
     public char ordering() {
         return 'f';
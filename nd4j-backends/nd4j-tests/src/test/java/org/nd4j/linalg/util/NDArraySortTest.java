@@ -0,0 +1,153 @@
+package org.nd4j.linalg.util;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.nd4j.linalg.BaseNd4jTest;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.factory.Nd4j;
+import org.nd4j.linalg.factory.Nd4jBackend;
+import org.nd4j.linalg.indexing.NDArrayIndex;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Adam Gibson
+ */
+@RunWith(Parameterized.class)
+public class NDArraySortTest extends BaseNd4jTest {
+
+    public NDArraySortTest(Nd4jBackend backend) {
+        super(backend);
+    }
+
+    @Test
+    public void testArgSortStable() {
+        Random r = new Random(12345);
+        double[] keys = new double[1000];
+        for (int i = 0; i < keys.length; i++)
+            keys[i] = r.nextInt(20);
+
+        int[] indexes = NDArraySort.argSort(keys);
+        for (int i = 1; i < indexes.length; i++) {
+            double prev = keys[indexes[i - 1]];
+            double curr = keys[indexes[i]];
+            assertTrue(prev <= curr);
+            if (prev == curr)
+                assertTrue(indexes[i - 1] < indexes[i]);
+        }
+
+        int[] ints = new int[] {3, 1, 2, 1};
+        assertArrayEquals(new int[] {1, 3, 2, 0}, NDArraySort.argSort(ints));
+        assertArrayEquals(new int[] {1, 3, 2, 0}, NDArraySort.argSort(new float[] {3, 1, 2, 1}));
+    }
+
+    @Test
+    public void testTopKPrimitive() {
+        Random r = new Random(12345);
+        double[] keys = new double[500];
+        for (int i = 0; i < keys.length; i++)
+            keys[i] = r.nextInt(50);
+
+        int[] sorted = NDArraySort.argSort(keys);
+        int[] smallest = NDArraySort.topK(keys, 10, false);
+        assertArrayEquals(Arrays.copyOfRange(sorted, 0, 10), smallest);
+
+        int[] largest = NDArraySort.topK(keys, 10, true);
+        for (int i = 0; i < largest.length; i++)
+            assertEquals(keys[sorted[sorted.length - 1 - i]], keys[largest[i]], 0.0);
+        for (int i = 1; i < largest.length; i++)
+            if (keys[largest[i - 1]] == keys[largest[i]])
+                assertTrue(largest[i - 1] < largest[i]);
+    }
+
+    @Test
+    public void testSortParallel() {
+        //large enough to be sorted in parallel
+        INDArray array = Nd4j.rand(300, 500);
+
+        for (int dimension = 0; dimension < 2; dimension++) {
+            for (boolean ascending : new boolean[] {true, false}) {
+                INDArray sorted = Nd4j.sort(array.dup(), dimension, ascending);
+                for (int i = 0; i < array.vectorsAlongDimension(dimension); i++) {
+                    double[] exp = array.vectorAlongDimension(i, dimension).dup().data().asDouble();
+                    Arrays.sort(exp);
+                    INDArray vector = sorted.vectorAlongDimension(i, dimension);
+                    for (int j = 0; j < exp.length; j++)
+                        assertEquals(ascending ? exp[j] : exp[exp.length - 1 - j], vector.getDouble(j), 0.0);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testSortWithIndicesParallel() {
+        INDArray array = Nd4j.rand(500, 300);
+
+        for (int dimension = 0; dimension < 2; dimension++) {
+            for (boolean ascending : new boolean[] {true, false}) {
+                INDArray[] sorted = Nd4j.sortWithIndices(array.dup(), dimension, ascending);
+                assertEquals(Nd4j.sort(array.dup(), dimension, ascending), sorted[1]);
+
+                for (int i = 0; i < array.vectorsAlongDimension(dimension); i++) {
+                    INDArray original = array.vectorAlongDimension(i, dimension);
+                    INDArray indices = sorted[0].vectorAlongDimension(i, dimension);
+                    INDArray values = sorted[1].vectorAlongDimension(i, dimension);
+                    for (int j = 0; j < original.length(); j++)
+                        assertEquals(original.getDouble((int) indices.getDouble(j)), values.getDouble(j), 0.0);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testTopK() {
+        INDArray array = Nd4j.rand(200, 400);
+        INDArray copy = array.dup();
+
+        INDArray[] top = Nd4j.topK(array, 5, 1, true);
+        assertEquals(copy, array);
+        assertArrayEquals(new int[] {200, 5}, top[0].shape());
+        assertArrayEquals(new int[] {200, 5}, top[1].shape());
+
+        INDArray[] sorted = Nd4j.sortWithIndices(array.dup(), 1, false);
+        for (int i = 0; i < 200; i++) {
+            for (int j = 0; j < 5; j++) {
+                assertEquals(sorted[1].getDouble(i, j), top[0].getDouble(i, j), 0.0);
+                assertEquals(sorted[0].getDouble(i, j), top[1].getDouble(i, j), 0.0);
+            }
+        }
+
+        INDArray[] bottom = Nd4j.topK(array, 3, 0, false);
+        assertArrayEquals(new int[] {3, 400}, bottom[0].shape());
+        INDArray ascending = Nd4j.sort(array.dup(), 0, true);
+        assertEquals(ascending.get(NDArrayIndex.interval(0, 3), NDArrayIndex.all()), bottom[0]);
+    }
+
+    @Test
+    public void testSortRowsAndColumnsTies() {
+        INDArray in = Nd4j.create(new double[][] {{1, 0}, {0, 1}, {1, 2}, {0, 3}});
+
+        INDArray rowsAsc = Nd4j.sortRows(in, 0, true);
+        assertEquals(Nd4j.create(new double[][] {{0, 1}, {0, 3}, {1, 0}, {1, 2}}), rowsAsc);
+
+        INDArray rowsDesc = Nd4j.sortRows(in, 0, false);
+        assertEquals(Nd4j.create(new double[][] {{1, 0}, {1, 2}, {0, 1}, {0, 3}}), rowsDesc);
+
+        INDArray columnsDesc = Nd4j.sortColumns(in, 3, false);
+        assertEquals(Nd4j.create(new double[][] {{0, 1}, {1, 0}, {2, 1}, {3, 0}}), columnsDesc);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTopKTooLarge() {
+        Nd4j.topK(Nd4j.rand(3, 4), 5, 1, true);
+    }
+
+    @Override
+    public char ordering() {
+        return 'c';
+    }
+}
@@ -21,6 +21,12 @@ import org.nd4j.linalg.api.memory.enums.LearningPolicy;
 import org.nd4j.linalg.api.memory.enums.MirroringPolicy;
 import org.nd4j.linalg.api.memory.enums.SpillPolicy;
 
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static org.junit.Assert.*;
 
 /**
@@ -88,6 +94,88 @@ public class BasicWorkspaceTests extends BaseNd4jTest {
         assertEquals(10f, array.sumNumber().floatValue(), 0.01f);
     }
 
+    @Test
+    public void testForeignThreadAllocation1() throws Exception {
+        final Nd4jWorkspace workspace = (Nd4jWorkspace) Nd4j.getWorkspaceManager().createNewWorkspace(basicConfig, "WFT");
+        final Set<Long> addresses = Collections.newSetFromMap(new ConcurrentHashMap<Long, Boolean>());
+
+        // owner thread goes through single-writer path
+        for (int e = 0; e < 100; e++)
+            addresses.add(workspace.alloc(80, DataBuffer.Type.DOUBLE, false).address());
+
+        // foreign threads are served outside of workspace, and never get overlapping chunks
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    for (int e = 0; e < 100; e++)
+                        addresses.add(workspace.alloc(80, DataBuffer.Type.DOUBLE, false).address());
+                }
+            });
+            threads[t].start();
+        }
+
+        for (Thread thread : threads)
+            thread.join();
+
+        assertEquals(500, addresses.size());
+
+        // only owner thread advances workspace offset
+        assertEquals(100 * 80, workspace.getHostOffset());
+
+        workspace.destroyWorkspace();
+    }
+
+    @Test
+    public void testForeignThreadAllocation2() throws Exception {
+        // workspace is smaller then owner allocation size, so owner spills while foreign threads allocate
+        WorkspaceConfiguration conf = WorkspaceConfiguration.builder()
+                .initialSize(80 * 250)
+                .policyAllocation(AllocationPolicy.STRICT)
+                .policyLearning(LearningPolicy.NONE)
+                .policySpill(SpillPolicy.EXTERNAL)
+                .build();
+
+        final Nd4jWorkspace workspace = (Nd4jWorkspace) Nd4j.getWorkspaceManager().createNewWorkspace(conf, "WFT2");
+        final Set<Long> addresses = Collections.newSetFromMap(new ConcurrentHashMap<Long, Boolean>());
+        final CyclicBarrier barrier = new CyclicBarrier(5);
+        final AtomicInteger failures = new AtomicInteger(0);
+
+        Runnable allocator = new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    barrier.await();
+                    for (int e = 0; e < 500; e++)
+                        if (!addresses.add(workspace.alloc(80, DataBuffer.Type.DOUBLE, false).address()))
+                            failures.incrementAndGet();
+                } catch (Exception e) {
+                    failures.incrementAndGet();
+                }
+            }
+        };
+
+        // owner thread allocates at the same time as foreign threads
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(allocator);
+            threads[t].start();
+        }
+
+        allocator.run();
+
+        for (Thread thread : threads)
+            thread.join();
+
+        assertEquals(0, failures.get());
+        assertEquals(2500, addresses.size());
+        assertTrue(workspace.getHostOffset() <= workspace.getCurrentSize());
+        assertEquals(80 * 250, workspace.getHostOffset());
+
+        workspace.destroyWorkspace();
+    }
+
     @Test
     public void testMinSize1() throws Exception {
         WorkspaceConfiguration conf = WorkspaceConfiguration.builder()
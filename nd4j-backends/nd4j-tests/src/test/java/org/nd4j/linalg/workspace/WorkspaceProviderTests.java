@@ -10,6 +10,8 @@ import org.nd4j.linalg.api.buffer.DataBuffer;
 import org.nd4j.linalg.api.memory.MemoryWorkspace;
 import org.nd4j.linalg.api.memory.conf.WorkspaceConfiguration;
 import org.nd4j.linalg.api.memory.enums.*;
+import org.nd4j.linalg.api.memory.stats.WorkspaceListener;
+import org.nd4j.linalg.api.memory.stats.WorkspaceStats;
 import org.nd4j.linalg.api.ndarray.INDArray;
 import org.nd4j.linalg.factory.Nd4j;
 import org.nd4j.linalg.factory.Nd4jBackend;
@@ -21,6 +23,7 @@ import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.Assert.*;
 
@@ -186,6 +189,69 @@ public class WorkspaceProviderTests extends BaseNd4jTest {
         assertNull(Nd4j.getMemoryManager().getCurrentWorkspace());
     }
 
+    @Test
+    public void testWorkspaceStats1() throws Exception {
+        final AtomicInteger cycles = new AtomicInteger(0);
+        final AtomicInteger reallocations = new AtomicInteger(0);
+
+        WorkspaceListener listener = new WorkspaceListener() {
+            @Override
+            public void cycleFinished(WorkspaceStats stats) {
+                if ("WSS1".equals(stats.getId()))
+                    cycles.incrementAndGet();
+            }
+
+            @Override
+            public void workspaceReallocated(WorkspaceStats stats) {
+                if ("WSS1".equals(stats.getId()))
+                    reallocations.incrementAndGet();
+            }
+        };
+
+        Nd4j.getWorkspaceManager().addWorkspaceListener(listener);
+        try {
+            for (int e = 0; e < 3; e++) {
+                try (MemoryWorkspace ws = Nd4j.getWorkspaceManager().getAndActivateWorkspace(firstConfiguration, "WSS1")) {
+                    INDArray array = Nd4j.create(100);
+                }
+            }
+        } finally {
+            Nd4j.getWorkspaceManager().removeWorkspaceListener(listener);
+        }
+
+        WorkspaceStats stats = null;
+        for (WorkspaceStats s : Nd4j.getWorkspaceManager().getWorkspaceStatsForCurrentThread())
+            if ("WSS1".equals(s.getId()))
+                stats = s;
+
+        assertNotNull(stats);
+        assertEquals(Thread.currentThread().getId(), stats.getThreadId());
+        assertEquals(3, stats.getCyclesCount());
+
+        // first cycle spills, since workspace wasn't learned yet
+        assertEquals(1, stats.getSpilledCount());
+        assertEquals(stats.getMaxCycleAllocations(), stats.getSpilledBytes());
+        assertEquals(1, stats.getReallocationsCount());
+        assertTrue(stats.getCurrentSize() >= stats.getMaxCycleAllocations());
+
+        long histogramTotal = 0;
+        for (long v : stats.getCycleHistogram())
+            histogramTotal += v;
+
+        assertEquals(3, histogramTotal);
+        assertEquals(3, stats.getCycleHistogram()[WorkspaceStats.bucketFor(stats.getMaxCycleAllocations())]);
+
+        assertEquals(3, cycles.get());
+        assertEquals(1, reallocations.get());
+
+        boolean found = false;
+        for (WorkspaceStats s : Nd4j.getWorkspaceManager().getWorkspaceStats())
+            if ("WSS1".equals(s.getId()) && s.getThreadId() == Thread.currentThread().getId())
+                found = true;
+
+        assertTrue(found);
+    }
+
     @Test
     public void testUnboundedLoop1() throws Exception {
         WorkspaceConfiguration configuration = WorkspaceConfiguration.builder()
@@ -0,0 +1,38 @@
+package org.nd4j.linalg.benchmark.jmh;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point for nd4j JMH benchmarks.
+ *
+ * Accepts usual JMH command line options, and writes results as JSON by default,
+ * so results of different releases can be diffed.
+ *
+ * Usage: java -jar benchmarks.jar [jmh options] [benchmark regexp]
+ *
+ * @author raver119@gmail.com
+ */
+public class BenchmarkRunner {
+    public static final String DEFAULT_RESULTS_FILE = "nd4j-benchmarks.json";
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions cmdOptions = new CommandLineOptions(args);
+
+        ChainedOptionsBuilder builder = new OptionsBuilder().parent(cmdOptions);
+
+        if (!cmdOptions.getResultFormat().hasValue())
+            builder.resultFormat(ResultFormatType.JSON);
+
+        if (!cmdOptions.getResult().hasValue())
+            builder.result(DEFAULT_RESULTS_FILE);
+
+        if (cmdOptions.getIncludes().isEmpty())
+            builder.include(BenchmarkRunner.class.getPackage().getName() + ".*");
+
+        new Runner(builder.build()).run();
+    }
+}
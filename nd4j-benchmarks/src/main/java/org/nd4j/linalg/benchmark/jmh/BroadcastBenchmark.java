@@ -0,0 +1,51 @@
+package org.nd4j.linalg.benchmark.jmh;
+
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.api.ops.impl.broadcast.BroadcastAddOp;
+import org.nd4j.linalg.factory.Nd4j;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Broadcast ops along dimensions
+ *
+ * @author raver119@gmail.com
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class BroadcastBenchmark {
+
+    @Param({"64", "512", "2048"})
+    public int rows;
+
+    private INDArray matrix;
+    private INDArray row;
+    private INDArray column;
+
+    @Setup
+    public void setUp() {
+        matrix = Nd4j.rand(rows, 512);
+        row = Nd4j.rand(1, 512);
+        column = Nd4j.rand(rows, 1);
+    }
+
+    @Benchmark
+    public INDArray addiRowVector() {
+        return matrix.addiRowVector(row);
+    }
+
+    @Benchmark
+    public INDArray addiColumnVector() {
+        return matrix.addiColumnVector(column);
+    }
+
+    @Benchmark
+    public INDArray broadcastAddOp() {
+        return Nd4j.getExecutioner().execAndReturn(new BroadcastAddOp(matrix, row, matrix, 1));
+    }
+}
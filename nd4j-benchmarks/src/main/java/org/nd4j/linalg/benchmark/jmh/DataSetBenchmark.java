@@ -0,0 +1,53 @@
+package org.nd4j.linalg.benchmark.jmh;
+
+import org.nd4j.linalg.dataset.DataSet;
+import org.nd4j.linalg.factory.Nd4j;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DataSet merge & split
+ *
+ * @author raver119@gmail.com
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class DataSetBenchmark {
+
+    @Param({"16", "128"})
+    public int numDataSets;
+
+    private List<DataSet> dataSets;
+    private DataSet merged;
+
+    @Setup
+    public void setUp() {
+        dataSets = new ArrayList<>();
+        for (int e = 0; e < numDataSets; e++)
+            dataSets.add(new DataSet(Nd4j.rand(32, 784), Nd4j.rand(32, 10)));
+
+        merged = DataSet.merge(dataSets);
+    }
+
+    @Benchmark
+    public DataSet merge() {
+        return DataSet.merge(dataSets);
+    }
+
+    @Benchmark
+    public List<DataSet> batchBy() {
+        return merged.batchBy(32);
+    }
+
+    @Benchmark
+    public List<DataSet> batchByView() {
+        return merged.batchByView(32);
+    }
+}
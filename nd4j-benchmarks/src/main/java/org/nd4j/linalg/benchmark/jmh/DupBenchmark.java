@@ -0,0 +1,53 @@
+package org.nd4j.linalg.benchmark.jmh;
+
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.factory.Nd4j;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * dup() within the same order, and across orders
+ *
+ * @author raver119@gmail.com
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class DupBenchmark {
+
+    @Param({"128", "1024"})
+    public int size;
+
+    private INDArray cArray;
+    private INDArray fArray;
+
+    @Setup
+    public void setUp() {
+        cArray = Nd4j.rand('c', size, size);
+        fArray = Nd4j.rand('f', size, size);
+    }
+
+    @Benchmark
+    public INDArray dupCtoC() {
+        return cArray.dup('c');
+    }
+
+    @Benchmark
+    public INDArray dupCtoF() {
+        return cArray.dup('f');
+    }
+
+    @Benchmark
+    public INDArray dupFtoC() {
+        return fArray.dup('c');
+    }
+
+    @Benchmark
+    public INDArray dupTransposed() {
+        return cArray.transpose().dup('c');
+    }
+}
@@ -0,0 +1,73 @@
+package org.nd4j.linalg.benchmark.jmh;
+
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.factory.Nd4j;
+import org.nd4j.linalg.indexing.NDArrayIndex;
+import org.nd4j.linalg.indexing.SpecifiedIndex;
+import org.nd4j.linalg.indexing.SpecifiedIndexGather;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * INDArray.get(NDArrayIndex...) with specified indices over 1M element tensor,
+ * gather engine vs element wise iteration
+ *
+ * @author raver119@gmail.com
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class GatherBenchmark {
+
+    @Param({"true", "false"})
+    public boolean gather;
+
+    private INDArray tensor;
+    private int[] outer;
+    private int[] inner;
+    private int[] scattered;
+
+    @Setup
+    public void setUp() {
+        SpecifiedIndexGather.setEnabled(gather);
+
+        tensor = Nd4j.rand(new int[] {100, 100, 100});
+
+        outer = new int[50];
+        for (int e = 0; e < outer.length; e++)
+            outer[e] = (e * 37) % 100;
+
+        // two contiguous runs
+        inner = new int[64];
+        for (int e = 0; e < inner.length; e++)
+            inner[e] = e < 32 ? e : e + 20;
+
+        scattered = new int[64];
+        for (int e = 0; e < scattered.length; e++)
+            scattered[e] = (e * 13) % 100;
+    }
+
+    @TearDown
+    public void tearDown() {
+        SpecifiedIndexGather.setEnabled(true);
+    }
+
+    @Benchmark
+    public INDArray specifiedOuter() {
+        return tensor.get(new SpecifiedIndex(outer), NDArrayIndex.all(), NDArrayIndex.all());
+    }
+
+    @Benchmark
+    public INDArray specifiedInnerRuns() {
+        return tensor.get(new SpecifiedIndex(outer), NDArrayIndex.all(), new SpecifiedIndex(inner));
+    }
+
+    @Benchmark
+    public INDArray specifiedInnerScattered() {
+        return tensor.get(NDArrayIndex.all(), new SpecifiedIndex(outer), new SpecifiedIndex(scattered));
+    }
+}
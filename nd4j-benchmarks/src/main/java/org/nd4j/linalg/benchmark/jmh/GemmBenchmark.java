@@ -0,0 +1,50 @@
+package org.nd4j.linalg.benchmark.jmh;
+
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.factory.Nd4j;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Matrix multiplication via BLAS backend
+ *
+ * @author raver119@gmail.com
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class GemmBenchmark {
+
+    @Param({"64", "256", "1024"})
+    public int size;
+
+    private INDArray a;
+    private INDArray b;
+    private INDArray c;
+
+    @Setup
+    public void setUp() {
+        a = Nd4j.rand('f', size, size);
+        b = Nd4j.rand('f', size, size);
+        c = Nd4j.create(new int[] {size, size}, 'f');
+    }
+
+    @Benchmark
+    public INDArray gemm() {
+        return Nd4j.gemm(a, b, c, false, false, 1.0, 0.0);
+    }
+
+    @Benchmark
+    public INDArray gemmTransposed() {
+        return Nd4j.gemm(a, b, c, true, false, 1.0, 0.0);
+    }
+
+    @Benchmark
+    public INDArray mmul() {
+        return a.mmul(b);
+    }
+}
@@ -0,0 +1,75 @@
+package org.nd4j.linalg.benchmark.jmh;
+
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.api.ops.impl.transforms.Tanh;
+import org.nd4j.linalg.factory.Nd4j;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HALF storage vs FLOAT arrays: transforms, reductions and broadcasts
+ *
+ * @author raver119@gmail.com
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class HalfBenchmark {
+
+    @Param({"512", "4096"})
+    public int rows;
+
+    @Param({"float", "half"})
+    public String dtype;
+
+    private INDArray matrix;
+    private INDArray other;
+    private INDArray row;
+
+    @Setup
+    public void setUp() {
+        matrix = Nd4j.rand(rows, 512);
+        other = Nd4j.rand(rows, 512);
+        row = Nd4j.rand(1, 512);
+
+        if (dtype.equals("half")) {
+            matrix = Nd4j.toHalf(matrix);
+            other = Nd4j.toHalf(other);
+            row = Nd4j.toHalf(row);
+        }
+    }
+
+    @Benchmark
+    public INDArray scalarMul() {
+        return matrix.muli(1.0001);
+    }
+
+    @Benchmark
+    public INDArray pairwiseAdd() {
+        return matrix.addi(other);
+    }
+
+    @Benchmark
+    public INDArray tanh() {
+        return Nd4j.getExecutioner().execAndReturn(new Tanh(other.dup()));
+    }
+
+    @Benchmark
+    public INDArray sumAlongColumns() {
+        return matrix.sum(1);
+    }
+
+    @Benchmark
+    public double sumAll() {
+        return matrix.sumNumber().doubleValue();
+    }
+
+    @Benchmark
+    public INDArray addiRowVector() {
+        return matrix.addiRowVector(row);
+    }
+}
@@ -0,0 +1,58 @@
+package org.nd4j.linalg.benchmark.jmh;
+
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.factory.Nd4j;
+import org.nd4j.linalg.indexing.NDArrayIndex;
+import org.nd4j.linalg.indexing.SpecifiedIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * INDArray.get(NDArrayIndex...) with intervals and specified indices
+ *
+ * @author raver119@gmail.com
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class IndexingBenchmark {
+
+    @Param({"128", "1024"})
+    public int rows;
+
+    private INDArray matrix;
+    private int[] rowIndices;
+
+    @Setup
+    public void setUp() {
+        matrix = Nd4j.rand(rows, 256);
+
+        rowIndices = new int[rows / 2];
+        for (int e = 0; e < rowIndices.length; e++)
+            rowIndices[e] = e * 2;
+    }
+
+    @Benchmark
+    public INDArray interval() {
+        return matrix.get(NDArrayIndex.interval(0, rows / 2), NDArrayIndex.all());
+    }
+
+    @Benchmark
+    public INDArray intervalDup() {
+        return matrix.get(NDArrayIndex.interval(0, rows / 2), NDArrayIndex.all()).dup();
+    }
+
+    @Benchmark
+    public INDArray specifiedRows() {
+        return matrix.get(new SpecifiedIndex(rowIndices), NDArrayIndex.all());
+    }
+
+    @Benchmark
+    public INDArray getRows() {
+        return matrix.getRows(rowIndices);
+    }
+}
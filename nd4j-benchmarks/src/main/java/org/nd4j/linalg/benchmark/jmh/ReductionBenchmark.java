@@ -0,0 +1,59 @@
+package org.nd4j.linalg.benchmark.jmh;
+
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.factory.Nd4j;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reductions, both full and along dimensions
+ *
+ * @author raver119@gmail.com
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class ReductionBenchmark {
+
+    @Param({"64", "512", "2048"})
+    public int rows;
+
+    @Param({"c", "f"})
+    public String order;
+
+    private INDArray matrix;
+
+    @Setup
+    public void setUp() {
+        matrix = Nd4j.rand(order.charAt(0), rows, 512);
+    }
+
+    @Benchmark
+    public double sumAll() {
+        return matrix.sumNumber().doubleValue();
+    }
+
+    @Benchmark
+    public INDArray sumAlongRows() {
+        return matrix.sum(0);
+    }
+
+    @Benchmark
+    public INDArray sumAlongColumns() {
+        return matrix.sum(1);
+    }
+
+    @Benchmark
+    public INDArray maxAlongColumns() {
+        return matrix.max(1);
+    }
+
+    @Benchmark
+    public INDArray argMaxAlongColumns() {
+        return Nd4j.argMax(matrix, 1);
+    }
+}
@@ -0,0 +1,89 @@
+package org.nd4j.linalg.benchmark.jmh;
+
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.factory.Nd4j;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * INDArray serialization paths: streams, channels, files
+ *
+ * @author raver119@gmail.com
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerdeBenchmark {
+
+    @Param({"65536", "4194304"})
+    public int length;
+
+    private INDArray array;
+    private byte[] serialized;
+    private File binaryFile;
+    private File mappedFile;
+
+    @Setup
+    public void setUp() throws IOException {
+        array = Nd4j.rand(1, length);
+
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        Nd4j.write(bos, array);
+        serialized = bos.toByteArray();
+
+        binaryFile = File.createTempFile("nd4j-benchmark", ".bin");
+        binaryFile.deleteOnExit();
+        Nd4j.saveBinary(array, binaryFile);
+
+        mappedFile = File.createTempFile("nd4j-benchmark", ".mapped");
+        mappedFile.deleteOnExit();
+        Nd4j.saveMapped(array, mappedFile);
+    }
+
+    @TearDown
+    public void tearDown() {
+        binaryFile.delete();
+        mappedFile.delete();
+    }
+
+    @Benchmark
+    public int writeStream() throws IOException {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream(serialized.length);
+        DataOutputStream dos = new DataOutputStream(bos);
+        Nd4j.write(array, dos);
+        dos.flush();
+        return bos.size();
+    }
+
+    @Benchmark
+    public int writeChannel() throws IOException {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream(serialized.length);
+        Nd4j.write(array, Channels.newChannel(bos));
+        return bos.size();
+    }
+
+    @Benchmark
+    public INDArray readStream() throws IOException {
+        return Nd4j.read(new ByteArrayInputStream(serialized));
+    }
+
+    @Benchmark
+    public INDArray readBinaryFile() throws IOException {
+        return Nd4j.readBinary(binaryFile);
+    }
+
+    @Benchmark
+    public INDArray openMappedFile() throws IOException {
+        return Nd4j.createFromMappedFile(mappedFile);
+    }
+}
@@ -0,0 +1,77 @@
+package org.nd4j.linalg.benchmark.jmh;
+
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.factory.Nd4j;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Nd4j.sort, sortWithIndices and topK over 10^7 elements,
+ * as a single vector and as 1000 vectors of 10^4 elements
+ *
+ * @author raver119@gmail.com
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class SortBenchmark {
+
+    private INDArray vector;
+    private INDArray matrix;
+    private INDArray vectorCopy;
+    private INDArray matrixCopy;
+
+    @Setup
+    public void setUp() {
+        vector = Nd4j.rand(1, 10000000);
+        matrix = Nd4j.rand(1000, 10000);
+        vectorCopy = vector.dup();
+        matrixCopy = matrix.dup();
+    }
+
+    @Setup(Level.Invocation)
+    public void reset() {
+        // sorts are in place, so every invocation starts from unsorted data
+        vectorCopy.assign(vector);
+        matrixCopy.assign(matrix);
+    }
+
+    @Benchmark
+    public INDArray sortVector() {
+        return Nd4j.sort(vectorCopy, 1, true);
+    }
+
+    @Benchmark
+    public INDArray[] sortWithIndicesVector() {
+        return Nd4j.sortWithIndices(vectorCopy, 1, true);
+    }
+
+    @Benchmark
+    public INDArray[] topKVector() {
+        return Nd4j.topK(vector, 100, 1, true);
+    }
+
+    @Benchmark
+    public INDArray sortRows() {
+        return Nd4j.sort(matrixCopy, 1, true);
+    }
+
+    @Benchmark
+    public INDArray[] sortWithIndicesRows() {
+        return Nd4j.sortWithIndices(matrixCopy, 1, false);
+    }
+
+    @Benchmark
+    public INDArray[] topKRows() {
+        return Nd4j.topK(matrix, 10, 1, true);
+    }
+
+    @Benchmark
+    public INDArray sortMatrixRowsByColumn() {
+        return Nd4j.sortRows(matrix, 0, true);
+    }
+}
@@ -0,0 +1,57 @@
+package org.nd4j.linalg.benchmark.jmh;
+
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.api.ops.impl.transforms.Exp;
+import org.nd4j.linalg.api.ops.impl.transforms.Tanh;
+import org.nd4j.linalg.factory.Nd4j;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pairwise & elementwise transforms, executed via OpExecutioner
+ *
+ * @author raver119@gmail.com
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class TransformBenchmark {
+
+    @Param({"1024", "65536", "1048576"})
+    public int length;
+
+    private INDArray x;
+    private INDArray y;
+    private INDArray z;
+
+    @Setup
+    public void setUp() {
+        x = Nd4j.rand(1, length);
+        y = Nd4j.rand(1, length);
+        z = Nd4j.create(1, length);
+    }
+
+    @Benchmark
+    public INDArray tanh() {
+        return Nd4j.getExecutioner().execAndReturn(new Tanh(x, z));
+    }
+
+    @Benchmark
+    public INDArray exp() {
+        return Nd4j.getExecutioner().execAndReturn(new Exp(x, z));
+    }
+
+    @Benchmark
+    public INDArray addPairwise() {
+        return x.add(y, z);
+    }
+
+    @Benchmark
+    public INDArray mulScalar() {
+        return x.mul(1.5, z);
+    }
+}
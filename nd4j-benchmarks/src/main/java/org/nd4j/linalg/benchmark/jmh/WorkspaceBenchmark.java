@@ -0,0 +1,87 @@
+package org.nd4j.linalg.benchmark.jmh;
+
+import org.nd4j.linalg.api.memory.MemoryWorkspace;
+import org.nd4j.linalg.api.memory.conf.WorkspaceConfiguration;
+import org.nd4j.linalg.api.memory.enums.AllocationPolicy;
+import org.nd4j.linalg.api.memory.enums.LearningPolicy;
+import org.nd4j.linalg.factory.Nd4j;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Allocation of small arrays within MemoryWorkspace scopes, compared to allocation without workspace
+ *
+ * @author raver119@gmail.com
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class WorkspaceBenchmark {
+    private static final String WORKSPACE_ID = "JMH_WS";
+
+    /**
+     * Number of arrays allocated per workspace cycle. Kept as a constant, since
+     * @OperationsPerInvocation has to match it for per-allocation throughput to be reported
+     */
+    private static final int ALLOCATIONS_PER_CYCLE = 100;
+
+    @Param({"16", "1024"})
+    public int arrayLength;
+
+
+    private WorkspaceConfiguration configuration;
+
+    @Setup
+    public void setUp() {
+        configuration = WorkspaceConfiguration.builder()
+                        .initialSize(ALLOCATIONS_PER_CYCLE * arrayLength * 8L * 2)
+                        .policyAllocation(AllocationPolicy.STRICT)
+                        .policyLearning(LearningPolicy.NONE)
+                        .build();
+
+        // warm up workspace itself
+        try (MemoryWorkspace ws = Nd4j.getWorkspaceManager().getAndActivateWorkspace(configuration, WORKSPACE_ID)) {
+            Nd4j.create(arrayLength);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        Nd4j.getWorkspaceManager().destroyAllWorkspacesForCurrentThread();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ALLOCATIONS_PER_CYCLE)
+    public void allocateInWorkspace(Blackhole bh) {
+        try (MemoryWorkspace ws = Nd4j.getWorkspaceManager().getAndActivateWorkspace(configuration, WORKSPACE_ID)) {
+            for (int e = 0; e < ALLOCATIONS_PER_CYCLE; e++)
+                bh.consume(Nd4j.createUninitialized(arrayLength));
+        }
+    }
+
+    /**
+     * Borrowing from owner thread keeps single-writer allocation path, so this one should match allocateInWorkspace
+     */
+    @Benchmark
+    @OperationsPerInvocation(ALLOCATIONS_PER_CYCLE)
+    public void allocateInBorrowedWorkspace(Blackhole bh) {
+        try (MemoryWorkspace ws = Nd4j.getWorkspaceManager().getAndActivateWorkspace(configuration, WORKSPACE_ID)) {
+            try (MemoryWorkspace borrowed = ws.notifyScopeBorrowed()) {
+                for (int e = 0; e < ALLOCATIONS_PER_CYCLE; e++)
+                    bh.consume(Nd4j.createUninitialized(arrayLength));
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ALLOCATIONS_PER_CYCLE)
+    public void allocateWithoutWorkspace(Blackhole bh) {
+        for (int e = 0; e < ALLOCATIONS_PER_CYCLE; e++)
+            bh.consume(Nd4j.createUninitialized(arrayLength));
+    }
+}
@@ -32,9 +32,13 @@ import org.slf4j.LoggerFactory;
 
 import java.io.*;
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.nio.DoubleBuffer;
 import java.nio.FloatBuffer;
 import java.nio.IntBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
@@ -76,6 +80,11 @@ public abstract class BaseDataBuffer implements DataBuffer {
 
     private static Logger log = LoggerFactory.getLogger(BaseDataBuffer.class);
 
+    /**
+     * Size of memory block used for bulk serialization, in bytes
+     */
+    protected static final int SERIALIZATION_BLOCK_SIZE = 1024 * 1024;
+
     public BaseDataBuffer() {}
 
     /**
@@ -365,6 +374,9 @@ public abstract class BaseDataBuffer implements DataBuffer {
         } else if (dataType() == Type.INT) {
             pointer = new IntPointer(length);
             setIndexer(IntIndexer.create((IntPointer) pointer));
+        } else if (dataType() == Type.HALF) {
+            pointer = new ShortPointer(length);
+            setIndexer(HalfIndexer.create((ShortPointer) pointer));
         }
     }
 
@@ -408,6 +420,9 @@ public abstract class BaseDataBuffer implements DataBuffer {
         } else if (dataType() == Type.INT) {
             pointer = new IntPointer(buffer.asIntBuffer());
             setIndexer(IntIndexer.create((IntPointer) pointer));
+        } else if (dataType() == Type.HALF) {
+            pointer = new ShortPointer(buffer.asShortBuffer());
+            setIndexer(HalfIndexer.create((ShortPointer) pointer));
         }
     }
 
@@ -515,6 +530,11 @@ public abstract class BaseDataBuffer implements DataBuffer {
             setIndexer(IntIndexer.create((IntPointer) pointer));
             if (initialize)
                 fillPointerWithZero();
+        } else if (dataType() == Type.HALF) {
+            pointer = new ShortPointer(length());
+            setIndexer(HalfIndexer.create((ShortPointer) pointer));
+            if (initialize)
+                fillPointerWithZero();
         }
     }
 
@@ -549,6 +569,12 @@ public abstract class BaseDataBuffer implements DataBuffer {
 //            if (initialize)
 //                fillPointerWithZero();
 
+        } else if (dataType() == Type.HALF) {
+            attached = true;
+            parentWorkspace = workspace;
+
+            pointer = workspace.alloc(length * getElementSize(), dataType(), initialize).asShortPointer();
+            setIndexer(HalfIndexer.create((ShortPointer) pointer));
         } else if (dataType() == Type.INT) {
             pointer = new IntPointer(length());
             setIndexer(IntIndexer.create((IntPointer) pointer));
@@ -603,6 +629,12 @@ public abstract class BaseDataBuffer implements DataBuffer {
                         address = pointer.address() + getElementSize() * offset();
                     }
                 };
+            } else if (dataType() == Type.HALF) {
+                return new ShortPointer(pointer) {
+                    {
+                        address = pointer.address() + getElementSize() * offset();
+                    }
+                };
             }
         }
         return pointer;
@@ -868,6 +900,9 @@ public abstract class BaseDataBuffer implements DataBuffer {
         } else if (dataType() == Type.INT) {
             dirty.set(false);
             return ((IntIndexer) indexer).get(offset() + i);
+        } else if (dataType() == Type.HALF) {
+            dirty.set(false);
+            return ((HalfIndexer) indexer).get(offset() + i);
         } else {
             dirty.set(false);
             return ((DoubleIndexer) indexer).get(offset() + i);
@@ -937,6 +972,8 @@ public abstract class BaseDataBuffer implements DataBuffer {
             return (int) ((DoubleIndexer) indexer).get(offset() + i);
         } else if (dataType() == Type.INT) {
              return ((IntIndexer) indexer).get(offset() + i);
+        } else if (dataType() == Type.HALF) {
+             return (int) ((HalfIndexer) indexer).get(offset() + i);
         } else {
              return (int) ((FloatIndexer) indexer).get(offset() + i);
         }
@@ -986,6 +1023,8 @@ public abstract class BaseDataBuffer implements DataBuffer {
             ((DoubleIndexer) indexer).put(offset() + i, element);
         } else if (dataType() == Type.INT) {
             ((IntIndexer) indexer).put(offset() + i, (int) element);
+        } else if (dataType() == Type.HALF) {
+            ((HalfIndexer) indexer).put(offset() + i, element);
         } else {
             ((FloatIndexer) indexer).put(offset() + i, element);
         }
@@ -1012,6 +1051,8 @@ public abstract class BaseDataBuffer implements DataBuffer {
             ((DoubleIndexer) indexer).put(offset() + i, element);
         } else if (dataType() == Type.INT) {
             ((IntIndexer) indexer).put(offset() + i, element);
+        } else if (dataType() == Type.HALF) {
+            ((HalfIndexer) indexer).put(offset() + i, (float) element);
         } else {
             ((FloatIndexer) indexer).put(offset() + i, element);
         }
@@ -1247,7 +1288,9 @@ public abstract class BaseDataBuffer implements DataBuffer {
 
     protected void readContent(DataInputStream s, Type currentType) {
         try {
-            if (currentType == Type.DOUBLE) {
+            if (canBulkRead(currentType)) {
+                readContentBulk(s);
+            } else if (currentType == Type.DOUBLE) {
                 for (int i = 0; i < length(); i++) {
                     putByGlobalType(i, s.readDouble());
                 }
@@ -1263,9 +1306,7 @@ public abstract class BaseDataBuffer implements DataBuffer {
 
                 // special case here. We should collect bytes, wrap them into pointer, and then decompress
                 byte[] temp = new byte[(int) compressedLength];
-                for (int i = 0; i < compressedLength; i++) {
-                    temp[i] = s.readByte();
-                }
+                s.readFully(temp);
                 pointer = new BytePointer(temp);
                 type = Type.COMPRESSED;
 
@@ -1291,7 +1332,9 @@ public abstract class BaseDataBuffer implements DataBuffer {
         out.writeUTF(allocationMode.name());
         out.writeInt((int) length());
         out.writeUTF(dataType().name());
-        if (dataType() == Type.DOUBLE) {
+        if (canBulkWrite()) {
+            writeContentBulk(out);
+        } else if (dataType() == Type.DOUBLE) {
             for (int i = 0; i < length(); i++)
                 out.writeDouble(getDouble(i));
         } else if (dataType() == Type.INT) {
@@ -1308,6 +1351,172 @@ public abstract class BaseDataBuffer implements DataBuffer {
         }
     }
 
+    /**
+     * This method writes this buffer into the given channel, using the same format as {@link #write(DataOutputStream)}.
+     *
+     * Buffer contents are written straight from off-heap memory if native byte order is big-endian,
+     * and converted in large blocks otherwise.
+     *
+     * @param channel
+     * @throws IOException
+     */
+    public void write(WritableByteChannel channel) throws IOException {
+        if (!canBulkWrite()) {
+            DataOutputStream dos = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)));
+            write(dos);
+            dos.flush();
+            return;
+        }
+
+        if (length() >= Integer.MAX_VALUE)
+            throw new IllegalArgumentException("Length of data buffer can not be >= Integer.MAX_VALUE on output");
+
+        ByteArrayOutputStream header = new ByteArrayOutputStream();
+        DataOutputStream dos = new DataOutputStream(header);
+        dos.writeUTF(allocationMode.name());
+        dos.writeInt((int) length());
+        dos.writeUTF(dataType().name());
+        dos.flush();
+        writeFully(channel, ByteBuffer.wrap(header.toByteArray()));
+
+        if (ByteOrder.nativeOrder() == ByteOrder.BIG_ENDIAN) {
+            long elementsPerBlock = SERIALIZATION_BLOCK_SIZE / getElementSize();
+            for (long e = 0; e < length(); e += elementsPerBlock)
+                writeFully(channel, rawView(e, Math.min(elementsPerBlock, length() - e)));
+        } else {
+            ByteBuffer block = ByteBuffer.allocateDirect((int) Math.min(SERIALIZATION_BLOCK_SIZE,
+                            length() * getElementSize())).order(ByteOrder.BIG_ENDIAN);
+            long elementsPerBlock = block.capacity() / getElementSize();
+            for (long e = 0; e < length(); e += elementsPerBlock) {
+                long n = Math.min(elementsPerBlock, length() - e);
+                block.clear();
+                copyBlock(rawView(e, n), block);
+                block.position(0);
+                block.limit((int) (n * getElementSize()));
+                writeFully(channel, block);
+            }
+        }
+    }
+
+    /**
+     * This method reads buffer from the given channel, written by {@link #write(WritableByteChannel)} or {@link #write(DataOutputStream)}
+     *
+     * @param channel
+     */
+    public void read(ReadableByteChannel channel) {
+        read(new DataInputStream(Channels.newInputStream(channel)));
+    }
+
+    /**
+     * This method checks, if buffer contents can be copied from underlying memory as is
+     */
+    protected boolean canBulkWrite() {
+        Type t = dataType();
+        return pointer != null && length() > 0 && getElementSize() > 0
+                        && (t == Type.DOUBLE || t == Type.FLOAT || t == Type.INT || t == Type.HALF);
+    }
+
+    /**
+     * This method checks, if serialized data of given type can be copied into underlying memory as is
+     */
+    protected boolean canBulkRead(Type currentType) {
+        if (pointer == null || length() <= 0)
+            return false;
+
+        if (currentType == Type.INT)
+            return type == Type.INT && getElementSize() == 4;
+        else if (currentType == Type.DOUBLE)
+            return type == Type.DOUBLE && getElementSize() == 8;
+        else if (currentType == Type.FLOAT)
+            return type == Type.FLOAT && getElementSize() == 4;
+
+        return false;
+    }
+
+    /**
+     * This method writes buffer contents in big-endian order, in large blocks
+     */
+    protected void writeContentBulk(OutputStream out) throws IOException {
+        byte[] block = new byte[(int) Math.min(SERIALIZATION_BLOCK_SIZE, length() * getElementSize())];
+        ByteBuffer target = ByteBuffer.wrap(block).order(ByteOrder.BIG_ENDIAN);
+        long elementsPerBlock = block.length / getElementSize();
+        for (long e = 0; e < length(); e += elementsPerBlock) {
+            long n = Math.min(elementsPerBlock, length() - e);
+            target.clear();
+            copyBlock(rawView(e, n), target);
+            out.write(block, 0, (int) (n * getElementSize()));
+        }
+    }
+
+    /**
+     * This method reads big-endian buffer contents in large blocks
+     */
+    protected void readContentBulk(DataInputStream s) throws IOException {
+        byte[] block = new byte[(int) Math.min(SERIALIZATION_BLOCK_SIZE, length() * getElementSize())];
+        ByteBuffer source = ByteBuffer.wrap(block).order(ByteOrder.BIG_ENDIAN);
+        long elementsPerBlock = block.length / getElementSize();
+        for (long e = 0; e < length(); e += elementsPerBlock) {
+            long n = Math.min(elementsPerBlock, length() - e);
+            s.readFully(block, 0, (int) (n * getElementSize()));
+            source.clear();
+            source.limit((int) (n * getElementSize()));
+            copyBlock(source, rawView(e, n));
+        }
+    }
+
+    /**
+     * This method returns native-ordered ByteBuffer, pointing to the specified range of elements of this buffer
+     *
+     * @param elementOffset offset within this buffer, in elements
+     * @param elements number of elements
+     * @return
+     */
+    protected ByteBuffer rawView(long elementOffset, long elements) {
+        final long viewAddress = pointer.address() + (offset() + elementOffset) * getElementSize();
+        final long viewBytes = elements * getElementSize();
+        Pointer view = new BytePointer() {
+            {
+                address = viewAddress;
+                capacity = viewBytes;
+                limit = viewBytes;
+            }
+        };
+        return view.asByteBuffer().order(ByteOrder.nativeOrder());
+    }
+
+    /**
+     * This method copies elements of this buffer's type from source to target, converting byte order if needed.
+     * Position of target buffer is advanced by number of bytes copied.
+     */
+    protected void copyBlock(ByteBuffer source, ByteBuffer target) {
+        int bytes = source.remaining();
+        if (source.order() == target.order()) {
+            target.put(source);
+            return;
+        }
+
+        switch (dataType()) {
+            case DOUBLE:
+                target.asDoubleBuffer().put(source.asDoubleBuffer());
+                break;
+            case INT:
+                target.asIntBuffer().put(source.asIntBuffer());
+                break;
+            case HALF:
+                target.asShortBuffer().put(source.asShortBuffer());
+                break;
+            default:
+                target.asFloatBuffer().put(source.asFloatBuffer());
+                break;
+        }
+        target.position(target.position() + bytes);
+    }
+
+    private static void writeFully(WritableByteChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining())
+            channel.write(buffer);
+    }
+
     public float toFloat(int hbits) {
         int mant = hbits & 0x03ff; // 10 bits mantissa
         int exp = hbits & 0x7c00; // 5 bits exponent
@@ -0,0 +1,110 @@
+package org.nd4j.linalg.api.buffer;
+
+
+import org.bytedeco.javacpp.Pointer;
+import org.bytedeco.javacpp.indexer.Indexer;
+import org.nd4j.linalg.api.complex.IComplexDouble;
+import org.nd4j.linalg.api.complex.IComplexFloat;
+import org.nd4j.linalg.api.memory.MemoryWorkspace;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Data buffer for half-precision floats, stored as IEEE 754 binary16 values.
+ *
+ * PLEASE NOTE: On CPU this is storage type only: ops convert HALF data to float scratch memory, and write results back.
+ *
+ * @author raver119@gmail.com
+ */
+public class HalfBuffer extends BaseDataBuffer {
+
+    /**
+     * Meant for creating another view of a buffer
+     *
+     * @param pointer the underlying buffer to create a view from
+     * @param indexer the indexer for the pointer
+     * @param length  the length of the view
+     */
+    public HalfBuffer(Pointer pointer, Indexer indexer, long length) {
+        super(pointer, indexer, length);
+    }
+
+    public HalfBuffer(long length) {
+        super(length);
+    }
+
+    public HalfBuffer(long length, boolean initialize) {
+        super(length, initialize);
+    }
+
+    public HalfBuffer(long length, boolean initialize, MemoryWorkspace workspace) {
+        super(length, initialize, workspace);
+    }
+
+    public HalfBuffer(DataBuffer underlyingBuffer, long length, long offset) {
+        super(underlyingBuffer, length, offset);
+    }
+
+    public HalfBuffer(ByteBuffer buffer, int length) {
+        super(buffer, length);
+    }
+
+    public HalfBuffer(float[] data) {
+        this(data.length, false);
+        setData(data);
+    }
+
+    public HalfBuffer(float[] data, MemoryWorkspace workspace) {
+        this(data.length, false, workspace);
+        setData(data);
+    }
+
+    public HalfBuffer(double[] data) {
+        this(data.length, false);
+        setData(data);
+    }
+
+    public HalfBuffer(int[] data) {
+        this(data.length, false);
+        setData(data);
+    }
+
+    /**
+     * Initialize the type of this buffer
+     */
+    @Override
+    protected void initTypeAndSize() {
+        type = Type.HALF;
+        elementSize = 2;
+    }
+
+    @Override
+    public IComplexFloat getComplexFloat(long i) {
+        return null;
+    }
+
+    @Override
+    public IComplexDouble getComplexDouble(long i) {
+        return null;
+    }
+
+    @Override
+    protected DataBuffer create(long length) {
+        return new HalfBuffer(length);
+    }
+
+    @Override
+    public DataBuffer create(double[] data) {
+        return new HalfBuffer(data);
+    }
+
+    @Override
+    public DataBuffer create(float[] data) {
+        return new HalfBuffer(data);
+    }
+
+    @Override
+    public DataBuffer create(int[] data) {
+        return new HalfBuffer(data);
+    }
+}
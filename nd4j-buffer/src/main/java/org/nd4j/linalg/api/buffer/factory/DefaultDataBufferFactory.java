@@ -30,6 +30,7 @@ import org.bytedeco.javacpp.indexer.IntIndexer;
 import org.nd4j.linalg.api.buffer.DataBuffer;
 import org.nd4j.linalg.api.buffer.DoubleBuffer;
 import org.nd4j.linalg.api.buffer.FloatBuffer;
+import org.nd4j.linalg.api.buffer.HalfBuffer;
 import org.nd4j.linalg.api.buffer.IntBuffer;
 import org.nd4j.linalg.api.memory.MemoryWorkspace;
 import org.nd4j.linalg.util.ArrayUtil;
@@ -73,6 +74,8 @@ public class DefaultDataBufferFactory implements DataBufferFactory {
 
         } else if (underlyingBuffer.dataType() == DataBuffer.Type.INT) {
             return new IntBuffer(underlyingBuffer, length, offset);
+        } else if (underlyingBuffer.dataType() == DataBuffer.Type.HALF) {
+            return new HalfBuffer(underlyingBuffer, length, offset);
         }
         return null;
     }
@@ -417,6 +420,8 @@ public class DefaultDataBufferFactory implements DataBufferFactory {
                 return new DoubleBuffer(pointer, indexer, length);
             case FLOAT:
                 return new FloatBuffer(pointer, indexer, length);
+            case HALF:
+                return new HalfBuffer(pointer, indexer, length);
         }
         throw new IllegalArgumentException("Invalid type " + type);
     }
@@ -463,12 +468,12 @@ public class DefaultDataBufferFactory implements DataBufferFactory {
 
     @Override
     public DataBuffer createHalf(long length) {
-        throw new UnsupportedOperationException("FP16 isn't supported for CPU yet");
+        return new HalfBuffer(length);
     }
 
     @Override
     public DataBuffer createHalf(long length, boolean initialize) {
-        throw new UnsupportedOperationException("FP16 isn't supported for CPU yet");
+        return new HalfBuffer(length, initialize);
     }
 
     /**
@@ -480,7 +485,7 @@ public class DefaultDataBufferFactory implements DataBufferFactory {
      */
     @Override
     public DataBuffer createHalf(float[] data, boolean copy) {
-        throw new UnsupportedOperationException("FP16 isn't supported for CPU yet");
+        return new HalfBuffer(data);
     }
 
     /**
@@ -492,7 +497,7 @@ public class DefaultDataBufferFactory implements DataBufferFactory {
      */
     @Override
     public DataBuffer createHalf(double[] data, boolean copy) {
-        throw new UnsupportedOperationException("FP16 isn't supported for CPU yet");
+        return new HalfBuffer(data);
     }
 
     /**
@@ -597,7 +602,7 @@ public class DefaultDataBufferFactory implements DataBufferFactory {
      */
     @Override
     public DataBuffer createHalf(int[] data, boolean copy) {
-        throw new UnsupportedOperationException("FP16 isn't supported for CPU yet");
+        return new HalfBuffer(data);
     }
 
     /**
@@ -608,7 +613,7 @@ public class DefaultDataBufferFactory implements DataBufferFactory {
      */
     @Override
     public DataBuffer createHalf(float[] data) {
-        throw new UnsupportedOperationException("FP16 isn't supported for CPU yet");
+        return new HalfBuffer(data);
     }
 
     /**
@@ -619,7 +624,7 @@ public class DefaultDataBufferFactory implements DataBufferFactory {
      */
     @Override
     public DataBuffer createHalf(double[] data) {
-        throw new UnsupportedOperationException("FP16 isn't supported for CPU yet");
+        return new HalfBuffer(data);
     }
 
     /**
@@ -630,7 +635,7 @@ public class DefaultDataBufferFactory implements DataBufferFactory {
      */
     @Override
     public DataBuffer createHalf(int[] data) {
-        throw new UnsupportedOperationException("FP16 isn't supported for CPU yet");
+        return new HalfBuffer(data);
     }
 
     /**
@@ -667,7 +672,7 @@ public class DefaultDataBufferFactory implements DataBufferFactory {
      */
     @Override
     public DataBuffer createHalf(ByteBuffer buffer, int length) {
-        throw new UnsupportedOperationException("FP16 isn't supported for CPU yet");
+        return new HalfBuffer(buffer, length);
     }
 
     /**
@@ -684,16 +689,16 @@ public class DefaultDataBufferFactory implements DataBufferFactory {
 
     @Override
     public DataBuffer createHalf(long length, boolean initialize, MemoryWorkspace workspace) {
-        throw new UnsupportedOperationException("FP16 isn't supported for CPU yet");
+        return new HalfBuffer(length, initialize, workspace);
     }
 
     @Override
     public DataBuffer createHalf(float[] data, MemoryWorkspace workspace) {
-        throw new UnsupportedOperationException("FP16 isn't supported for CPU yet");
+        return new HalfBuffer(data, workspace);
     }
 
     @Override
     public DataBuffer createHalf(float[] data, boolean copy, MemoryWorkspace workspace) {
-        throw new UnsupportedOperationException("FP16 isn't supported for CPU yet");
+        return new HalfBuffer(data, workspace);
     }
 }
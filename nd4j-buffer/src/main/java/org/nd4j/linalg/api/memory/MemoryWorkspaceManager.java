@@ -2,9 +2,13 @@ package org.nd4j.linalg.api.memory;
 
 import org.nd4j.linalg.api.memory.MemoryWorkspace;
 import org.nd4j.linalg.api.memory.conf.WorkspaceConfiguration;
+import org.nd4j.linalg.api.memory.stats.WorkspaceListener;
+import org.nd4j.linalg.api.memory.stats.WorkspaceStats;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
 
+import java.util.List;
+
 
 /**
  * This interface describes backend-specific implementations of MemoryWorkspaceManager, basically Factory + Thread-based provider
@@ -151,4 +155,32 @@ public interface MemoryWorkspaceManager {
 
 
     void printAllocationStatisticsForCurrentThread();
+
+    /**
+     * This method returns memory usage snapshots for all workspaces of current Thread
+     *
+     * @return
+     */
+    List<WorkspaceStats> getWorkspaceStatsForCurrentThread();
+
+    /**
+     * This method returns memory usage snapshots for all alive workspaces, across all Threads
+     *
+     * @return
+     */
+    List<WorkspaceStats> getWorkspaceStats();
+
+    /**
+     * This method adds listener, that will be notified about workspace cycles and reallocations
+     *
+     * @param listener
+     */
+    void addWorkspaceListener(WorkspaceListener listener);
+
+    /**
+     * This method removes previously added listener
+     *
+     * @param listener
+     */
+    void removeWorkspaceListener(WorkspaceListener listener);
 }
@@ -70,6 +70,10 @@ public class PagedPointer extends Pointer {
         return new LongPointer(this);
     }
 
+    public ShortPointer asShortPointer() {
+        return new ShortPointer(this);
+    }
+
     @Override
     public void deallocate() {
         super.deallocate();
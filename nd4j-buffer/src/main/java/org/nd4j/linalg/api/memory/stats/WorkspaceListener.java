@@ -0,0 +1,25 @@
+package org.nd4j.linalg.api.memory.stats;
+
+/**
+ * This interface describes listener for MemoryWorkspace events.
+ *
+ * PLEASE NOTE: listeners are called from workspace owner thread, so implementations should be fast and thread-safe
+ *
+ * @author raver119@gmail.com
+ */
+public interface WorkspaceListener {
+
+    /**
+     * This method is called once workspace cycle is finished, i.e. outermost scope is closed
+     *
+     * @param stats snapshot of workspace state after the cycle
+     */
+    void cycleFinished(WorkspaceStats stats);
+
+    /**
+     * This method is called after workspace memory was allocated or reallocated
+     *
+     * @param stats snapshot of workspace state after reallocation
+     */
+    void workspaceReallocated(WorkspaceStats stats);
+}
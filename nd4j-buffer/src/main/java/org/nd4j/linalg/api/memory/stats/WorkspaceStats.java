@@ -0,0 +1,124 @@
+package org.nd4j.linalg.api.memory.stats;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Value;
+import org.nd4j.linalg.api.memory.conf.WorkspaceConfiguration;
+
+import java.io.Serializable;
+
+/**
+ * This class is immutable snapshot of MemoryWorkspace memory usage.
+ * Can be used to tune WorkspaceConfiguration: compare learned size against actual peak, check spills and reallocations.
+ *
+ * Per-cycle histogram uses power-of-two buckets:
+ *  bucket 0 holds cycles without allocations,
+ *  bucket N holds cycles that allocated [2^(N-1), 2^N) bytes
+ *
+ * @author raver119@gmail.com
+ */
+@Builder
+@Value
+@AllArgsConstructor
+public class WorkspaceStats implements Serializable {
+    public static final int HISTOGRAM_BUCKETS = 64;
+
+    private String id;
+    private long threadId;
+    private int deviceId;
+
+    private WorkspaceConfiguration configuration;
+
+    /**
+     * Current size of workspace, as learned or configured
+     */
+    private long currentSize;
+
+    /**
+     * Biggest number of bytes allocated within single cycle
+     */
+    private long maxCycleAllocations;
+
+    /**
+     * Number of bytes allocated within last finished cycle
+     */
+    private long lastCycleAllocations;
+
+    /**
+     * Number of finished cycles
+     */
+    private long cyclesCount;
+
+    /**
+     * Total number of spilled allocations, since workspace creation
+     */
+    private long spilledCount;
+
+    /**
+     * Total number of bytes in spilled allocations, since workspace creation
+     */
+    private long spilledBytes;
+
+    /**
+     * Number of bytes in spilled allocations that weren't released yet
+     */
+    private long currentSpilledBytes;
+
+    /**
+     * Number of pinned allocations that weren't released yet
+     */
+    private long pinnedCount;
+
+    /**
+     * Number of bytes in pinned allocations that weren't released yet
+     */
+    private long pinnedBytes;
+
+    /**
+     * Number of times workspace memory was (re)allocated
+     */
+    private long reallocationsCount;
+
+    /**
+     * Number of cycles per allocation size bucket
+     */
+    private long[] cycleHistogram;
+
+    /**
+     * This method returns copy of per-cycle histogram, so snapshot stays intact
+     *
+     * @return
+     */
+    public long[] getCycleHistogram() {
+        return cycleHistogram == null ? null : cycleHistogram.clone();
+    }
+
+    /**
+     * This method returns histogram bucket for given number of bytes
+     *
+     * @param bytes
+     * @return
+     */
+    public static int bucketFor(long bytes) {
+        return bytes <= 0 ? 0 : 64 - Long.numberOfLeadingZeros(bytes);
+    }
+
+    /**
+     * This method returns lower bound of given histogram bucket, in bytes
+     *
+     * @param bucket
+     * @return
+     */
+    public static long bucketLowerBound(int bucket) {
+        return bucket == 0 ? 0 : 1L << (bucket - 1);
+    }
+
+    /**
+     * This method returns ratio of learned workspace size to actual peak usage. Values below 1.0 mean workspace spills.
+     *
+     * @return
+     */
+    public double getUtilizationRatio() {
+        return maxCycleAllocations == 0 ? 0.0 : (double) currentSize / maxCycleAllocations;
+    }
+}
@@ -15,6 +15,7 @@ import org.nd4j.parameterserver.model.ServerTypeJson;
 import org.nd4j.parameterserver.model.SubscriberState;
 import org.nd4j.shade.jackson.databind.ObjectMapper;
 
+import java.util.Map;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -28,7 +29,10 @@ import java.util.concurrent.atomic.AtomicReference;
  * This is used for updating the master's current state.
  *
  * getArray() is used for retrieving the master ndarray's current
- * state from the parameter server.
+ * state from the parameter server. The version of the array
+ * the master sends along is attached to the arrays pushed afterwards.
+ * With a bounded staleness master, pushes computed against a too old
+ * array are rejected by pushNDArray, and the array has to be pulled again.
  *
  * @author Adam Gibson
  */
@@ -57,6 +61,12 @@ public class ParameterServerClient implements NDArrayCallback {
     private ObjectMapper objectMapper = new ObjectMapper();
     private Aeron aeron;
     private boolean compressArray = true;
+    //compression algorithm for pushed arrays, overrides compressArray when specified
+    private String compression;
+    //elements of pushed arrays not sent yet, used with sparse compression algorithms
+    private INDArray residual;
+    //version of the last array pulled from the master, sent back with pushed updates
+    private volatile Integer pulledVersion;
 
     /**
      * Tracks number of
@@ -177,7 +187,8 @@ public class ParameterServerClient implements NDArrayCallback {
         String channel = AeronUtil.aeronChannel(split[0], port);
         log.debug("Parameter server client publishing to " + ndarraySendUrl);
         try (AeronNDArrayPublisher publisher = AeronNDArrayPublisher.builder().streamId(streamToPublish)
-                        .compress(isCompressArray()).aeron(aeron).channel(channel).build()) {
+                        .compress(isCompressArray()).compression(compression).aeron(aeron).channel(channel)
+                        .build()) {
             publisher.publish(message);
         } catch (Exception e) {
             throw new RuntimeException(e);
@@ -191,10 +202,70 @@ public class ParameterServerClient implements NDArrayCallback {
      * host;port:stream
      * where stream is the stream for connecting
      * to a listening aeron server
+     *
+     * With a sparse compression algorithm (i.e. THRESHOLD)
+     * elements which aren't sent are accumulated in
+     * the residual, and sent along with later pushes.
+     *
+     * If the master bounds staleness and the last pulled array
+     * is more generations behind than allowed, the array isn't sent:
+     * the master would discard it anyway. The caller should then
+     * pull the current array with {@link #getArray()} and compute the update again.
      * @param arr the array to send
+     * @return true if the array was sent, false if it was rejected for being too stale
+     */
+    public boolean pushNDArray(INDArray arr) {
+        if (isTooStale()) {
+            log.debug("Not pushing update computed against version " + pulledVersion + ", pull the array again");
+            return false;
+        }
+
+        if (compression != null && Nd4j.getCompressor().isSparse(compression)) {
+            synchronized (this) {
+                if (residual == null)
+                    residual = Nd4j.create(arr.shape(), arr.ordering());
+
+                arr = Nd4j.getCompressor().compress(arr, residual, compression);
+            }
+        }
+
+        //lets the master tell how many versions behind this update is
+        NDArrayMessage message = NDArrayMessage.wholeArrayUpdate(arr);
+        message.setVersion(pulledVersion);
+        pushNDArrayMessage(message);
+        return true;
+    }
+
+    /**
+     * Returns true if the master bounds staleness,
+     * and the last array pulled from it is more
+     * generations behind than the master allows.
+     * Updates computed against such an array are rejected by the master.
+     * @return true if the array has to be pulled again before pushing updates, false otherwise
      */
-    public void pushNDArray(INDArray arr) {
-        pushNDArrayMessage(NDArrayMessage.wholeArrayUpdate(arr));
+    public boolean isTooStale() {
+        if (pulledVersion == null || masterStatusHost == null)
+            return false;
+
+        if (objectMapper == null)
+            objectMapper = new ObjectMapper();
+
+        try {
+            int masterStream = Integer.parseInt(ndarraySendUrl.split(":")[2]);
+            SubscriberState subscriberState =
+                            objectMapper.readValue(Unirest
+                                            .get(String.format("http://%s:%d/state/%d", masterStatusHost,
+                                                            masterStatusPort, masterStream))
+                                            .asJson().getBody().toString(), SubscriberState.class);
+            Map<String, Number> status = subscriberState.getParameterUpdaterStatus();
+            if (status == null || !status.containsKey("maxStaleness") || !status.containsKey("currentVersion"))
+                return false;
+
+            return status.get("currentVersion").intValue() - pulledVersion > status.get("maxStaleness").intValue();
+        } catch (Exception e) {
+            log.warn("Unable to retrieve master version", e);
+        }
+        return false;
     }
 
 
@@ -288,10 +359,12 @@ public class ParameterServerClient implements NDArrayCallback {
         int[] dimensions = message.getDimensions();
         boolean whole = dimensions.length == 1 && dimensions[0] == -1;
 
-        if (!whole)
+        if (!whole) {
             onNDArrayPartial(arr, message.getIndex(), dimensions);
-        else
+        } else {
+            pulledVersion = message.getVersion();
             onNDArray(arr);
+        }
     }
 
     /**
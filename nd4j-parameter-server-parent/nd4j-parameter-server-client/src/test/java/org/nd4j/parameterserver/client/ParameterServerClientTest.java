@@ -86,7 +86,7 @@ public class ParameterServerClientTest {
          * which adds the array for parameter averaging.
          * In this case totalN should be 1.
          */
-        client.pushNDArray(Nd4j.ones(parameterLength));
+        assertTrue(client.pushNDArray(Nd4j.ones(parameterLength)));
         log.info("Pushed ndarray");
         Thread.sleep(30000);
         ParameterServerListener listener = (ParameterServerListener) masterNode.getCallback();
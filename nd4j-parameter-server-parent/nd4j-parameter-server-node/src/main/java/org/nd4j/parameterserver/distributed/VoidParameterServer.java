@@ -6,11 +6,14 @@ import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.math3.util.Pair;
 import org.nd4j.linalg.api.ndarray.INDArray;
 import org.nd4j.linalg.exception.ND4JIllegalStateException;
+import org.nd4j.linalg.factory.Nd4j;
 import org.nd4j.parameterserver.distributed.conf.VoidConfiguration;
 import org.nd4j.parameterserver.distributed.enums.NodeRole;
 import org.nd4j.parameterserver.distributed.logic.*;
+import org.nd4j.parameterserver.distributed.logic.batching.FrameBatcher;
+import org.nd4j.parameterserver.distributed.logic.batching.VectorRequestBatcher;
 import org.nd4j.parameterserver.distributed.logic.completion.Clipboard;
-import org.nd4j.parameterserver.distributed.logic.sequence.BasicSequenceProvider;
+import org.nd4j.parameterserver.distributed.logic.storage.VectorCache;
 import org.nd4j.parameterserver.distributed.logic.storage.WordVectorStorage;
 import org.nd4j.parameterserver.distributed.messages.*;
 import org.nd4j.parameterserver.distributed.messages.requests.*;
@@ -23,7 +26,7 @@ import org.nd4j.parameterserver.distributed.transport.Transport;
 import java.net.InterfaceAddress;
 import java.net.NetworkInterface;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadPoolExecutor;
@@ -73,7 +76,14 @@ public class VoidParameterServer {
 
     protected Storage storage = new WordVectorStorage();
 
-    protected Map<String, Frame<TrainingMessage>> frames = new ConcurrentHashMap<>();
+    @Getter
+    protected transient FrameBatcher frameBatcher;
+
+    @Getter
+    protected transient VectorRequestBatcher vectorBatcher;
+
+    @Getter
+    protected transient VectorCache vectorCache;
 
     protected static final int numThreads = Runtime.getRuntime().availableProcessors() * 2;
     protected ThreadPoolExecutor executor =
@@ -182,6 +192,12 @@ public class VoidParameterServer {
 
                 this.transport = transport;
 
+                this.frameBatcher = new FrameBatcher(voidConfiguration, transport::sendMessage, executor);
+                this.vectorBatcher = new VectorRequestBatcher(voidConfiguration,
+                                message -> transport.sendMessageAndGetResponse(message).getPayload(), executor);
+                this.vectorCache = new VectorCache(voidConfiguration.getVectorCacheSize(),
+                                voidConfiguration.getVectorCacheTtl());
+
                 // first we need to check, if our current IP matches designated shards or backup
                 if (nodeRole == NodeRole.NONE && (voidConfiguration.getForcedRole() == null
                                 || voidConfiguration.getForcedRole() == NodeRole.NONE)) {
@@ -342,6 +358,13 @@ public class VoidParameterServer {
 
             // we just sending out ShutdownRequestMessage
             //transport.sendMessage(new ShutdownRequestMessage());
+            // pending frames are sent out before transport goes down
+            if (frameBatcher != null)
+                frameBatcher.shutdown();
+
+            if (vectorBatcher != null)
+                vectorBatcher.shutdown();
+
             transport.shutdown();
 
             executor.shutdown();
@@ -412,39 +435,40 @@ public class VoidParameterServer {
                     boolean useNegSampling) {
         InitializationRequestMessage dim = new InitializationRequestMessage(vectorLength, numWords, seed, useHs,
                         useNegSampling, columnsPerShard);
+        invalidateVectorCache();
         transport.sendMessage(dim);
     }
 
     /**
      * This method dispatches TrainingMessage to ParameterServer network
      *
-     * PLEASE NOTE: This method is synchronized and *periodically* becomes blocking by design
+     * PLEASE NOTE: This method *periodically* becomes blocking by design: when frame gets full, it's sent by
+     * calling thread, and in-flight window might be exhausted
      * @param message
      */
-    public synchronized void execDistributed(@NonNull TrainingMessage message) {
+    public void execDistributed(@NonNull TrainingMessage message) {
         /**
          * Basically we should batch messages coming from different TrainingFunctions on spark executor side here.
          * So we pack them into batches, and send over the wire to selected Shard
          */
-        Frame currentFrame;
-        if ((currentFrame = frames.get(message.getClass().getSimpleName())) == null) {
-            currentFrame = new Frame<>(BasicSequenceProvider.getInstance().getNextValue());
-            frames.put(message.getClass().getSimpleName(), currentFrame);
-        }
-
-        currentFrame.stackMessage(message);
-
-        // TODO: make this threshold variable
-        if (currentFrame.size() >= 128) {
-            transport.sendMessage(currentFrame);
-            currentFrame = new Frame<>(BasicSequenceProvider.getInstance().getNextValue());
-            frames.put(message.getClass().getSimpleName(), currentFrame);
-        }
+        invalidateVectorCache(message);
+        frameBatcher.stackMessage(message);
+    }
 
-        //transport.sendMessage(message);
+    /**
+     * This method sends all partially filled frames right away
+     *
+     * PLEASE NOTE: This method is blocking
+     */
+    public void flushFrames() {
+        if (frameBatcher != null)
+            frameBatcher.flush();
     }
 
     public void execDistributed(@NonNull Frame<? extends TrainingMessage> messages) {
+        for (TrainingMessage message : messages.getMessages())
+            invalidateVectorCache(message);
+
         transport.sendMessage(messages);
     }
 
@@ -472,4 +496,117 @@ public class VoidParameterServer {
 
         return response.getPayload();
     }
+
+    public CompletableFuture<INDArray> getVectorAsync(int rowIdx) {
+        return getVectorAsync(WordVectorStorage.SYN_0, rowIdx);
+    }
+
+    /**
+     * This method returns future for INDArray matching requested storageId value
+     *
+     * Concurrent requests are coalesced into multi-row requests, and hot rows are cached locally,
+     * see {@link VectorRequestBatcher} and {@link VectorCache}
+     *
+     * PLEASE NOTE: This method is NOT blocking
+     *
+     * @param key
+     * @param rowIdx
+     * @return
+     */
+    public CompletableFuture<INDArray> getVectorAsync(@NonNull Integer key, int rowIdx) {
+        INDArray cached = vectorCache.get(key, rowIdx);
+        if (cached != null)
+            return CompletableFuture.completedFuture(cached);
+
+        final long version = vectorCache.getVersion();
+        return vectorBatcher.request(key, rowIdx).thenApply(vector -> {
+            vectorCache.put(key, rowIdx, vector, version);
+            return vector;
+        });
+    }
+
+    /**
+     * This method returns future for matrix with one row per requested index
+     *
+     * Only rows missing in local cache are requested from Shards
+     *
+     * PLEASE NOTE: This method is NOT blocking
+     *
+     * @param key
+     * @param rows
+     * @return
+     */
+    public CompletableFuture<INDArray> getVectorsAsync(@NonNull Integer key, @NonNull int[] rows) {
+        final INDArray[] vectors = new INDArray[rows.length];
+        int[] missing = new int[rows.length];
+        int numMissing = 0;
+        for (int e = 0; e < rows.length; e++) {
+            vectors[e] = vectorCache.get(key, rows[e]);
+            if (vectors[e] == null)
+                missing[numMissing++] = rows[e];
+        }
+
+        if (numMissing == 0)
+            return CompletableFuture.completedFuture(Nd4j.vstack(vectors));
+
+        final int[] requested = Arrays.copyOf(missing, numMissing);
+        final long version = vectorCache.getVersion();
+        return vectorBatcher.request(key, requested).thenApply(fetched -> {
+            for (int e = 0, f = 0; e < rows.length; e++) {
+                if (vectors[e] == null) {
+                    vectors[e] = fetched.getRow(f++).dup();
+                    vectorCache.put(key, rows[e], vectors[e], version);
+                }
+            }
+
+            return Nd4j.vstack(vectors);
+        });
+    }
+
+    /**
+     * This method marks all locally cached vectors as stale. Updates issued via this instance do that automatically,
+     * but updates issued by other nodes aren't visible here.
+     */
+    public void invalidateVectorCache() {
+        if (vectorCache != null)
+            vectorCache.invalidate();
+    }
+
+    /**
+     * This method marks locally cached rows that might be updated by specified message as stale.
+     * Negative samples are picked on Shard side, so negative table is invalidated as a whole.
+     *
+     * @param message
+     */
+    protected void invalidateVectorCache(TrainingMessage message) {
+        if (vectorCache == null || !vectorCache.isEnabled())
+            return;
+
+        if (message instanceof SkipGramRequestMessage) {
+            SkipGramRequestMessage sgrm = (SkipGramRequestMessage) message;
+            vectorCache.invalidate(WordVectorStorage.SYN_0, sgrm.getW2());
+            invalidateRows(WordVectorStorage.SYN_1, sgrm.getPoints());
+
+            if (sgrm.getNegSamples() > 0)
+                vectorCache.invalidate(WordVectorStorage.SYN_1_NEGATIVE);
+        } else if (message instanceof CbowRequestMessage) {
+            CbowRequestMessage cbrm = (CbowRequestMessage) message;
+            invalidateRows(WordVectorStorage.SYN_0, cbrm.getSyn0rows());
+            invalidateRows(WordVectorStorage.SYN_1, cbrm.getSyn1rows());
+
+            if (cbrm.getNegSamples() > 0)
+                vectorCache.invalidate(WordVectorStorage.SYN_1_NEGATIVE);
+        } else {
+            // we don't know which rows are affected
+            vectorCache.invalidate();
+        }
+    }
+
+    private void invalidateRows(Integer key, int[] rows) {
+        if (rows == null)
+            return;
+
+        for (int row : rows)
+            vectorCache.invalidate(key, row);
+    }
 }
@@ -48,6 +48,20 @@ public class VoidConfiguration implements Serializable {
     private long responseTimeframe;
     private long responseTimeout;
 
+    // client-side frame batching: max messages per frame, max estimated bytes per frame (0 disables),
+    // max time in ms frame can wait for more messages (0 disables), and max number of frames sent at the same time
+    private int frameSize = 128;
+    private long frameBytesBudget = 1024 * 1024;
+    private long frameLingerTime = 50;
+    private int maxFramesInFlight = 32;
+
+    // client-side vector lookups: max rows per single request, max time in ms request can wait for more rows,
+    // max number of rows cached locally (0 disables cache), and max age in ms of cached row (0 disables)
+    private int vectorBatchSize = 256;
+    private long vectorLingerTime = 2;
+    private int vectorCacheSize = 10000;
+    private long vectorCacheTtl = 0;
+
     public void setStreamId(int streamId) {
         if (streamId < 1)
             throw new ND4JIllegalStateException("You can't use streamId 0, please specify other one");
@@ -98,5 +112,13 @@ public class VoidConfiguration implements Serializable {
         private long retransmitTimeout = 1000;
         private long responseTimeframe = 500;
         private long responseTimeout = 30000;
+        private int frameSize = 128;
+        private long frameBytesBudget = 1024 * 1024;
+        private long frameLingerTime = 50;
+        private int maxFramesInFlight = 32;
+        private int vectorBatchSize = 256;
+        private long vectorLingerTime = 2;
+        private int vectorCacheSize = 10000;
+        private long vectorCacheTtl = 0;
     }
 }
@@ -13,5 +13,53 @@ public interface Storage {
 
     boolean arrayExists(Integer key);
 
+    /**
+     * This method returns detached copy of specified row
+     *
+     * @param key
+     * @param row
+     * @return
+     */
+    INDArray getRow(Integer key, int row);
+
+    /**
+     * This method gathers specified rows into new matrix, one row per index
+     *
+     * @param key
+     * @param rows
+     * @return
+     */
+    INDArray getRows(Integer key, int[] rows);
+
+    /**
+     * This method assigns given value to specified row
+     *
+     * @param key
+     * @param row
+     * @param value
+     */
+    void assignRow(Integer key, int row, Number value);
+
+    /**
+     * This method does row += alpha * update
+     *
+     * @param key
+     * @param row
+     * @param alpha
+     * @param update
+     */
+    void axpyRow(Integer key, int row, double alpha, INDArray update);
+
+    /**
+     * This method does rows[i] += alpha * updates[i] for each of specified rows.
+     * If updates is row vector, it's applied to all specified rows.
+     *
+     * @param key
+     * @param rows
+     * @param alpha
+     * @param updates
+     */
+    void axpyRows(Integer key, int[] rows, double alpha, INDArray updates);
+
     void shutdown();
 }
@@ -0,0 +1,307 @@
+package org.nd4j.parameterserver.distributed.logic.batching;
+
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.nd4j.parameterserver.distributed.conf.VoidConfiguration;
+import org.nd4j.parameterserver.distributed.logic.sequence.BasicSequenceProvider;
+import org.nd4j.parameterserver.distributed.messages.Frame;
+import org.nd4j.parameterserver.distributed.messages.TrainingMessage;
+import org.nd4j.parameterserver.distributed.messages.codecs.VoidMessageCodecs;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * This class packs TrainingMessages into Frames on client side.
+ *
+ * Frames are built in stripes, picked by calling thread id, so concurrent producers don't contend on a single monitor.
+ * Frame gets flushed when any of the following conditions is met:
+ *  a) number of messages reaches frameSize
+ *  b) estimated encoded size reaches frameBytesBudget (if enabled)
+ *  c) frame is older then frameLingerTime (if enabled), so half-full frames don't sit forever
+ *
+ * Number of frames being sent at the same time is limited by maxFramesInFlight: producers block once the window is full.
+ * On shutdown all pending frames are sent, so no messages are lost.
+ *
+ * @author raver119@gmail.com
+ */
+@Slf4j
+public class FrameBatcher {
+    private final Consumer<Frame<TrainingMessage>> sender;
+    private final Executor executor;
+
+    private final int frameSize;
+    private final long frameBytesBudget;
+    private final long frameLingerTime;
+    private final Semaphore window;
+    private final int windowSize;
+
+    private final Stripe[] stripes;
+    private final ScheduledExecutorService lingerService;
+    private final LongSupplier clock;
+
+    // frames handed over to executor by linger timer, but not sent yet
+    private final AtomicInteger queuedFrames = new AtomicInteger(0);
+
+    // stats
+    private final AtomicLong flushedFrames = new AtomicLong(0);
+    private final AtomicLong flushedMessages = new AtomicLong(0);
+    private final AtomicLong lingerFlushes = new AtomicLong(0);
+    private final AtomicLong flushTime = new AtomicLong(0);
+    private final AtomicLong maxFlushTime = new AtomicLong(0);
+
+    /**
+     * @param configuration source of frameSize, frameBytesBudget, frameLingerTime and maxFramesInFlight values
+     * @param sender function that actually sends frame, i.e. transport::sendMessage
+     * @param executor executor used for frames flushed by linger timer
+     */
+    public FrameBatcher(@NonNull VoidConfiguration configuration, @NonNull Consumer<Frame<TrainingMessage>> sender,
+                    @NonNull Executor executor) {
+        this(configuration.getFrameSize(), configuration.getFrameBytesBudget(), configuration.getFrameLingerTime(),
+                        configuration.getMaxFramesInFlight(), Runtime.getRuntime().availableProcessors(), sender,
+                        executor);
+    }
+
+    public FrameBatcher(int frameSize, long frameBytesBudget, long frameLingerTime, int maxFramesInFlight,
+                    int numStripes, @NonNull Consumer<Frame<TrainingMessage>> sender, @NonNull Executor executor) {
+        this(frameSize, frameBytesBudget, frameLingerTime, maxFramesInFlight, numStripes, sender, executor,
+                        System::currentTimeMillis);
+    }
+
+    /**
+     * @param clock source of time in milliseconds, used for frames age
+     */
+    public FrameBatcher(int frameSize, long frameBytesBudget, long frameLingerTime, int maxFramesInFlight,
+                    int numStripes, @NonNull Consumer<Frame<TrainingMessage>> sender, @NonNull Executor executor,
+                    @NonNull LongSupplier clock) {
+        this.sender = sender;
+        this.clock = clock;
+        this.executor = executor;
+        this.frameSize = frameSize > 0 ? frameSize : 128;
+        this.frameBytesBudget = frameBytesBudget;
+        this.frameLingerTime = frameLingerTime;
+        this.windowSize = maxFramesInFlight > 0 ? maxFramesInFlight : Integer.MAX_VALUE;
+        this.window = new Semaphore(windowSize);
+
+        this.stripes = new Stripe[Math.max(1, numStripes)];
+        for (int e = 0; e < stripes.length; e++)
+            stripes[e] = new Stripe();
+
+        if (frameLingerTime > 0) {
+            lingerService = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r);
+                thread.setDaemon(true);
+                thread.setName("FrameBatcher linger thread");
+                return thread;
+            });
+
+            long period = Math.max(1, frameLingerTime / 2);
+            lingerService.scheduleAtFixedRate(this::flushExpired, period, period, TimeUnit.MILLISECONDS);
+        } else
+            lingerService = null;
+    }
+
+    /**
+     * This method adds message to the frame of current stripe, and sends this frame if it's full
+     *
+     * PLEASE NOTE: This method becomes blocking if frame is sent, and in-flight window is full
+     * @param message
+     */
+    public void stackMessage(@NonNull TrainingMessage message) {
+        Stripe stripe = stripes[(int) (Thread.currentThread().getId() % stripes.length)];
+        PendingFrame full = null;
+
+        synchronized (stripe) {
+            PendingFrame pending = stripe.frames.get(message.getClass());
+            if (pending == null) {
+                pending = new PendingFrame(clock.getAsLong());
+                stripe.frames.put(message.getClass(), pending);
+            }
+
+            pending.frame.stackMessage(message);
+            if (frameBytesBudget > 0 && VoidMessageCodecs.canEncode(message))
+                pending.bytes += VoidMessageCodecs.getEncodedLength(message);
+
+            if (pending.frame.size() >= frameSize || (frameBytesBudget > 0 && pending.bytes >= frameBytesBudget)) {
+                stripe.frames.remove(message.getClass());
+                full = pending;
+            }
+        }
+
+        if (full != null)
+            send(full);
+    }
+
+    /**
+     * This method sends all pending frames, regardless of their size
+     *
+     * PLEASE NOTE: This method is blocking
+     */
+    public void flush() {
+        for (PendingFrame pending : drain(Long.MAX_VALUE))
+            send(pending);
+    }
+
+    /**
+     * This method stops linger timer, and sends all pending frames, including frames already handed over to executor
+     *
+     * PLEASE NOTE: This method is blocking
+     */
+    public void shutdown() {
+        if (lingerService != null) {
+            lingerService.shutdown();
+            try {
+                lingerService.awaitTermination(1, TimeUnit.MINUTES);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        flush();
+
+        while (queuedFrames.get() > 0) {
+            try {
+                Thread.sleep(1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+    }
+
+    protected void flushExpired() {
+        try {
+            for (PendingFrame pending : drain(frameLingerTime)) {
+                lingerFlushes.incrementAndGet();
+                queuedFrames.incrementAndGet();
+                try {
+                    executor.execute(() -> {
+                        try {
+                            send(pending);
+                        } finally {
+                            queuedFrames.decrementAndGet();
+                        }
+                    });
+                } catch (RejectedExecutionException e) {
+                    // executor is gone already, so we send frame right here
+                    queuedFrames.decrementAndGet();
+                    send(pending);
+                }
+            }
+        } catch (Exception e) {
+            // exception would cancel further executions of this task
+            log.error("Linger flush failed", e);
+        }
+    }
+
+    /**
+     * This method removes frames older then specified age from all stripes
+     */
+    protected List<PendingFrame> drain(long age) {
+        List<PendingFrame> result = new ArrayList<>();
+        long time = clock.getAsLong();
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                Iterator<PendingFrame> iterator = stripe.frames.values().iterator();
+                while (iterator.hasNext()) {
+                    PendingFrame pending = iterator.next();
+                    if (age == Long.MAX_VALUE || time - pending.created >= age) {
+                        iterator.remove();
+                        result.add(pending);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    protected void send(PendingFrame pending) {
+        window.acquireUninterruptibly();
+        long time1 = System.nanoTime();
+        try {
+            sender.accept(pending.frame);
+        } finally {
+            window.release();
+        }
+        long time2 = System.nanoTime() - time1;
+
+        flushedFrames.incrementAndGet();
+        flushedMessages.addAndGet(pending.frame.size());
+        flushTime.addAndGet(time2);
+
+        long max;
+        while (time2 > (max = maxFlushTime.get()) && !maxFlushTime.compareAndSet(max, time2));
+    }
+
+    /**
+     * This method returns number of frames sent so far
+     */
+    public long getFlushedFrames() {
+        return flushedFrames.get();
+    }
+
+    /**
+     * This method returns number of frames sent by linger timer
+     */
+    public long getLingerFlushes() {
+        return lingerFlushes.get();
+    }
+
+    /**
+     * This method returns average frame fill ratio, in range of 0.0 ... 1.0
+     */
+    public double getAverageFillRatio() {
+        long frames = flushedFrames.get();
+        return frames == 0 ? 0.0 : (double) flushedMessages.get() / (frames * frameSize);
+    }
+
+    /**
+     * This method returns average time spent on frame delivery, in milliseconds
+     */
+    public double getAverageFlushLatency() {
+        long frames = flushedFrames.get();
+        return frames == 0 ? 0.0 : flushTime.get() / (frames * 1e6);
+    }
+
+    /**
+     * This method returns maximal time spent on frame delivery, in milliseconds
+     */
+    public double getMaxFlushLatency() {
+        return maxFlushTime.get() / 1e6;
+    }
+
+    /**
+     * This method returns number of frames being sent right now
+     */
+    public int getFramesInFlight() {
+        return windowSize == Integer.MAX_VALUE ? 0 : windowSize - window.availablePermits();
+    }
+
+    private static class Stripe {
+        private final Map<Class<?>, PendingFrame> frames = new HashMap<>();
+    }
+
+    protected static class PendingFrame {
+        private final Frame<TrainingMessage> frame =
+                        new Frame<>(BasicSequenceProvider.getInstance().getNextValue());
+        private final long created;
+        private long bytes;
+
+        private PendingFrame(long created) {
+            this.created = created;
+        }
+    }
+}
@@ -0,0 +1,286 @@
+package org.nd4j.parameterserver.distributed.logic.batching;
+
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.exception.ND4JIllegalStateException;
+import org.nd4j.linalg.factory.Nd4j;
+import org.nd4j.parameterserver.distributed.conf.VoidConfiguration;
+import org.nd4j.parameterserver.distributed.messages.requests.VectorRequestMessage;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * This class coalesces concurrent row lookups on client side.
+ *
+ * Requests for rows of the same array are packed into single multi-row VectorRequestMessage, duplicate rows are
+ * requested only once. Since every Shard holds its own slice of each row, one request per array covers all Shards.
+ * Batch gets sent when either of the following conditions is met:
+ *  a) number of distinct rows reaches batchSize
+ *  b) batch is older then lingerTime (if lingerTime is 0, every request is sent right away)
+ *
+ * Requests are sent from given executor, so callers never block.
+ *
+ * @author raver119@gmail.com
+ */
+@Slf4j
+public class VectorRequestBatcher {
+    private final Function<VectorRequestMessage, INDArray> fetcher;
+    private final Executor executor;
+    private final int batchSize;
+    private final long lingerTime;
+
+    private final Map<Integer, PendingBatch> batches = new HashMap<>();
+    private final ScheduledExecutorService lingerService;
+
+    // stats
+    private final AtomicLong sentRequests = new AtomicLong(0);
+    private final AtomicLong sentRows = new AtomicLong(0);
+    private final AtomicLong requestedRows = new AtomicLong(0);
+
+    /**
+     * @param configuration source of vectorBatchSize and vectorLingerTime values
+     * @param fetcher function that actually sends request and waits for response
+     * @param executor executor used for sending requests
+     */
+    public VectorRequestBatcher(@NonNull VoidConfiguration configuration,
+                    @NonNull Function<VectorRequestMessage, INDArray> fetcher, @NonNull Executor executor) {
+        this(configuration.getVectorBatchSize(), configuration.getVectorLingerTime(), fetcher, executor);
+    }
+
+    public VectorRequestBatcher(int batchSize, long lingerTime,
+                    @NonNull Function<VectorRequestMessage, INDArray> fetcher, @NonNull Executor executor) {
+        this.fetcher = fetcher;
+        this.executor = executor;
+        this.batchSize = batchSize > 0 ? batchSize : 256;
+        this.lingerTime = Math.max(0, lingerTime);
+
+        if (this.lingerTime > 0) {
+            lingerService = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r);
+                thread.setDaemon(true);
+                thread.setName("VectorRequestBatcher linger thread");
+                return thread;
+            });
+        } else
+            lingerService = null;
+    }
+
+    /**
+     * This method requests single row of specified array
+     *
+     * @param key array key
+     * @param row row index
+     * @return future for row vector
+     */
+    public CompletableFuture<INDArray> request(@NonNull Integer key, int row) {
+        return request(key, new int[] {row}, true);
+    }
+
+    /**
+     * This method requests set of rows of specified array
+     *
+     * @param key array key
+     * @param rows row indexes, duplicates are allowed
+     * @return future for matrix with one row per index
+     */
+    public CompletableFuture<INDArray> request(@NonNull Integer key, @NonNull int[] rows) {
+        if (rows.length == 0)
+            throw new ND4JIllegalStateException("Number of requested rows should be positive value");
+
+        return request(key, rows, false);
+    }
+
+    protected CompletableFuture<INDArray> request(Integer key, int[] rows, boolean single) {
+        CompletableFuture<INDArray> future = new CompletableFuture<>();
+        requestedRows.addAndGet(rows.length);
+
+        PendingBatch full = null;
+        PendingBatch created = null;
+        synchronized (batches) {
+            PendingBatch batch = batches.get(key);
+            if (batch == null) {
+                batch = new PendingBatch(key);
+                batches.put(key, batch);
+                created = batch;
+            }
+
+            batch.add(rows, single, future);
+
+            if (lingerTime == 0 || batch.size() >= batchSize) {
+                batches.remove(key);
+                full = batch;
+            }
+        }
+
+        if (full != null)
+            send(full);
+        else if (created != null) {
+            final PendingBatch batch = created;
+            lingerService.schedule(() -> flush(batch), lingerTime, TimeUnit.MILLISECONDS);
+        }
+
+        return future;
+    }
+
+    /**
+     * This method sends all pending batches, regardless of their size
+     */
+    public void flush() {
+        List<PendingBatch> pending;
+        synchronized (batches) {
+            pending = new ArrayList<>(batches.values());
+            batches.clear();
+        }
+
+        for (PendingBatch batch : pending)
+            send(batch);
+    }
+
+    /**
+     * This method stops linger timer, and fails all pending requests
+     */
+    public void shutdown() {
+        if (lingerService != null)
+            lingerService.shutdownNow();
+
+        List<PendingBatch> pending;
+        synchronized (batches) {
+            pending = new ArrayList<>(batches.values());
+            batches.clear();
+        }
+
+        for (PendingBatch batch : pending)
+            batch.fail(new ND4JIllegalStateException("VectorRequestBatcher was shut down"));
+    }
+
+    protected void flush(PendingBatch batch) {
+        synchronized (batches) {
+            // batch might be already sent due to its size
+            if (batches.get(batch.key) != batch)
+                return;
+
+            batches.remove(batch.key);
+        }
+
+        send(batch);
+    }
+
+    protected void send(final PendingBatch batch) {
+        sentRequests.incrementAndGet();
+        sentRows.addAndGet(batch.size());
+
+        executor.execute(() -> {
+            try {
+                INDArray result = fetcher.apply(new VectorRequestMessage(batch.key, batch.getRows()));
+                if (result == null)
+                    throw new ND4JIllegalStateException("No vectors were received for key [" + batch.key + "]");
+
+                batch.complete(result);
+            } catch (Throwable e) {
+                log.error("Vector request failed", e);
+                batch.fail(e);
+            }
+        });
+    }
+
+    /**
+     * This method returns number of requests sent so far
+     */
+    public long getSentRequests() {
+        return sentRequests.get();
+    }
+
+    /**
+     * This method returns average number of distinct rows per sent request
+     */
+    public double getAverageBatchSize() {
+        long requests = sentRequests.get();
+        return requests == 0 ? 0.0 : (double) sentRows.get() / requests;
+    }
+
+    /**
+     * This method returns number of rows requested by callers so far, including duplicates
+     */
+    public long getRequestedRows() {
+        return requestedRows.get();
+    }
+
+    protected static class PendingBatch {
+        private final Integer key;
+        private final Map<Integer, Integer> positions = new HashMap<>();
+        private final List<Integer> rows = new ArrayList<>();
+        private final List<Waiter> waiters = new ArrayList<>();
+
+        protected PendingBatch(Integer key) {
+            this.key = key;
+        }
+
+        protected void add(int[] requested, boolean single, CompletableFuture<INDArray> future) {
+            int[] indexes = new int[requested.length];
+            for (int e = 0; e < requested.length; e++) {
+                Integer position = positions.get(requested[e]);
+                if (position == null) {
+                    position = rows.size();
+                    positions.put(requested[e], position);
+                    rows.add(requested[e]);
+                }
+                indexes[e] = position;
+            }
+
+            waiters.add(new Waiter(indexes, single, future));
+        }
+
+        protected int size() {
+            return rows.size();
+        }
+
+        protected int[] getRows() {
+            int[] result = new int[rows.size()];
+            for (int e = 0; e < result.length; e++)
+                result[e] = rows.get(e);
+
+            return result;
+        }
+
+        protected void complete(INDArray result) {
+            for (Waiter waiter : waiters) {
+                try {
+                    if (waiter.single)
+                        waiter.future.complete(result.getRow(waiter.indexes[0]).dup());
+                    else
+                        waiter.future.complete(Nd4j.pullRows(result, 1, waiter.indexes, 'c'));
+                } catch (Throwable e) {
+                    waiter.future.completeExceptionally(e);
+                }
+            }
+        }
+
+        protected void fail(Throwable e) {
+            for (Waiter waiter : waiters)
+                waiter.future.completeExceptionally(e);
+        }
+    }
+
+    private static class Waiter {
+        private final int[] indexes;
+        private final boolean single;
+        private final CompletableFuture<INDArray> future;
+
+        private Waiter(int[] indexes, boolean single, CompletableFuture<INDArray> future) {
+            this.indexes = indexes;
+            this.single = single;
+            this.future = future;
+        }
+    }
+}
@@ -3,18 +3,57 @@ package org.nd4j.parameterserver.distributed.logic.storage;
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
 import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.factory.Nd4j;
 import org.nd4j.parameterserver.distributed.logic.Storage;
 
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
+ * Basic Storage implementation.
+ *
+ * Row-level access goes through striped locks: rows are grouped into blocks of rowsPerBlock rows,
+ * and each block of each array is mapped onto one of numStripes locks.
+ * So concurrent trainers updating different rows of syn0/syn1 don't contend on single global lock,
+ * and concurrent updates to the same row are never lost.
+ *
+ * Whole-array access via getArray() is NOT guarded by these locks.
+ *
  * @author raver119@gmail.com
  */
 @Slf4j
 public abstract class BaseStorage implements Storage {
+    public static final int DEFAULT_ROWS_PER_BLOCK = 8;
 
     private ConcurrentHashMap<Integer, INDArray> storage = new ConcurrentHashMap<>();
 
+    private final ReentrantLock[] locks;
+    private final int stripeMask;
+    private final int rowsPerBlock;
+
+    protected BaseStorage() {
+        this(Runtime.getRuntime().availableProcessors() * 8, DEFAULT_ROWS_PER_BLOCK);
+    }
+
+    /**
+     * @param numStripes number of locks, rounded up to power of 2
+     * @param rowsPerBlock number of consecutive rows sharing the same lock
+     */
+    protected BaseStorage(int numStripes, int rowsPerBlock) {
+        if (numStripes < 1 || rowsPerBlock < 1)
+            throw new IllegalArgumentException("Number of stripes and rows per block should be positive values");
+
+        int size = Integer.highestOneBit(numStripes);
+        if (size < numStripes)
+            size <<= 1;
+
+        this.locks = new ReentrantLock[size];
+        for (int i = 0; i < size; i++)
+            locks[i] = new ReentrantLock();
+
+        this.stripeMask = size - 1;
+        this.rowsPerBlock = rowsPerBlock;
+    }
 
     @Override
     public INDArray getArray(@NonNull Integer key) {
@@ -31,8 +70,104 @@ public abstract class BaseStorage implements Storage {
         return storage.containsKey(key);
     }
 
+    @Override
+    public INDArray getRow(@NonNull Integer key, int row) {
+        INDArray array = getExistingArray(key);
+
+        ReentrantLock lock = lockFor(key, row);
+        lock.lock();
+        try {
+            return array.getRow(row).dup();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public INDArray getRows(@NonNull Integer key, @NonNull int[] rows) {
+        INDArray array = getExistingArray(key);
+        INDArray result = Nd4j.createUninitialized(new int[] {rows.length, array.columns()}, 'c');
+
+        for (int i = 0; i < rows.length; i++) {
+            ReentrantLock lock = lockFor(key, rows[i]);
+            lock.lock();
+            try {
+                result.getRow(i).assign(array.getRow(rows[i]));
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        return result;
+    }
+
+    @Override
+    public void assignRow(@NonNull Integer key, int row, @NonNull Number value) {
+        INDArray array = getExistingArray(key);
+
+        ReentrantLock lock = lockFor(key, row);
+        lock.lock();
+        try {
+            array.getRow(row).assign(value);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void axpyRow(@NonNull Integer key, int row, double alpha, @NonNull INDArray update) {
+        INDArray array = getExistingArray(key);
+
+        ReentrantLock lock = lockFor(key, row);
+        lock.lock();
+        try {
+            Nd4j.getBlasWrapper().axpy(new Double(alpha), update, array.getRow(row));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void axpyRows(@NonNull Integer key, @NonNull int[] rows, double alpha, @NonNull INDArray updates) {
+        INDArray array = getExistingArray(key);
+
+        boolean broadcast = updates.isRowVector() && updates.length() == array.columns();
+        if (!broadcast && updates.rows() != rows.length)
+            throw new IllegalArgumentException("Number of update rows [" + updates.rows()
+                            + "] doesn't match number of target rows [" + rows.length + "]");
+
+        // locks are taken one at a time, so there's no lock ordering to care about
+        for (int i = 0; i < rows.length; i++) {
+            INDArray update = broadcast ? updates : updates.getRow(i);
+
+            ReentrantLock lock = lockFor(key, rows[i]);
+            lock.lock();
+            try {
+                Nd4j.getBlasWrapper().axpy(new Double(alpha), update, array.getRow(rows[i]));
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
     @Override
     public void shutdown() {
         storage.clear();
     }
+
+    protected INDArray getExistingArray(Integer key) {
+        INDArray array = storage.get(key);
+        if (array == null)
+            throw new IllegalStateException("Init wasn't called before for key [" + key + "]");
+
+        return array;
+    }
+
+    protected ReentrantLock lockFor(Integer key, int row) {
+        int hash = key * 31 + row / rowsPerBlock;
+
+        // spreading bits, same way as HashMap does
+        hash ^= (hash >>> 16);
+        return locks[hash & stripeMask];
+    }
 }
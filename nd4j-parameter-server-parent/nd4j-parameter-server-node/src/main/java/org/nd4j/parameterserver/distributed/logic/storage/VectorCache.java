@@ -0,0 +1,204 @@
+package org.nd4j.parameterserver.distributed.logic.storage;
+
+import org.nd4j.linalg.api.ndarray.INDArray;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Client-side LRU cache for rows fetched from Shards.
+ *
+ * Invalidation is version-based: every invalidation (of a single row, of all rows of a key, or of everything) takes
+ * next cache version as its stamp, and every entry remembers cache version at the moment its fetch was issued.
+ * Rows are never served or stored if they were fetched before an invalidation that covers them, including rows that
+ * were in flight while invalidation happened. Rows not covered by invalidations stay cached.
+ * Updates issued by other nodes aren't visible here, so optional ttl bounds staleness for them.
+ *
+ * @author raver119@gmail.com
+ */
+public class VectorCache {
+    // max number of per-row invalidation stamps kept, older ones are folded into single stamp
+    private static final int MAX_ROW_STAMPS = 65536;
+
+    private final int maxSize;
+    private final long ttl;
+    private final AtomicLong version = new AtomicLong(0);
+
+    private final AtomicLong hits = new AtomicLong(0);
+    private final AtomicLong misses = new AtomicLong(0);
+
+    private final LinkedHashMap<Long, Entry> entries;
+
+    // all fields below are guarded by entries monitor
+    private long clearedAt = 0;
+    private long prunedAt = 0;
+    private final Map<Integer, Long> keyStamps = new HashMap<>();
+    private final Map<Long, Long> rowStamps = new HashMap<>();
+
+    /**
+     * @param maxSize max number of rows kept, 0 disables cache
+     * @param ttl max age of cached row in milliseconds, 0 disables
+     */
+    public VectorCache(int maxSize, long ttl) {
+        this.maxSize = Math.max(0, maxSize);
+        this.ttl = ttl;
+        this.entries = new LinkedHashMap<Long, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                return size() > VectorCache.this.maxSize;
+            }
+        };
+    }
+
+    public boolean isEnabled() {
+        return maxSize > 0;
+    }
+
+    /**
+     * This method returns current cache version, it should be captured before issuing fetch
+     */
+    public long getVersion() {
+        return version.get();
+    }
+
+    /**
+     * This method marks all cached rows as stale
+     */
+    public void invalidate() {
+        synchronized (entries) {
+            clearedAt = version.incrementAndGet();
+            entries.clear();
+            keyStamps.clear();
+            rowStamps.clear();
+        }
+    }
+
+    /**
+     * This method marks all cached rows of specified key as stale
+     *
+     * @param key
+     */
+    public void invalidate(Integer key) {
+        synchronized (entries) {
+            keyStamps.put(key, version.incrementAndGet());
+        }
+    }
+
+    /**
+     * This method marks specified row as stale
+     *
+     * @param key
+     * @param row
+     */
+    public void invalidate(Integer key, int row) {
+        if (!isEnabled())
+            return;
+
+        long id = id(key, row);
+        synchronized (entries) {
+            entries.remove(id);
+            rowStamps.put(id, version.incrementAndGet());
+
+            // we can't tell anymore which rows were invalidated after fetches issued before this point
+            if (rowStamps.size() > MAX_ROW_STAMPS) {
+                prunedAt = version.get();
+                rowStamps.clear();
+            }
+        }
+    }
+
+    /**
+     * This method returns cached copy of specified row, or null if row isn't cached or stale
+     *
+     * @param key
+     * @param row
+     * @return
+     */
+    public INDArray get(Integer key, int row) {
+        if (!isEnabled())
+            return null;
+
+        long id = id(key, row);
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(id);
+            if (entry != null && !isValid(key, entry)) {
+                entries.remove(id);
+                entry = null;
+            }
+        }
+
+        if (entry == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+
+        hits.incrementAndGet();
+        return entry.array.dup();
+    }
+
+    /**
+     * This method stores row fetched at specified cache version.
+     * Rows invalidated after their fetch was issued are ignored.
+     *
+     * @param key
+     * @param row
+     * @param array
+     * @param fetchVersion cache version captured before fetch was issued
+     */
+    public void put(Integer key, int row, INDArray array, long fetchVersion) {
+        if (!isEnabled())
+            return;
+
+        long id = id(key, row);
+        Entry entry = new Entry(array.dup(), fetchVersion, System.currentTimeMillis());
+        synchronized (entries) {
+            if (fetchVersion < clearedAt || fetchVersion < prunedAt || fetchVersion < stampOf(keyStamps.get(key))
+                            || fetchVersion < stampOf(rowStamps.get(id)))
+                return;
+
+            entries.put(id, entry);
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    private boolean isValid(Integer key, Entry entry) {
+        return entry.version >= clearedAt && entry.version >= stampOf(keyStamps.get(key))
+                        && (ttl <= 0 || System.currentTimeMillis() - entry.created < ttl);
+    }
+
+    private static long stampOf(Long stamp) {
+        return stamp == null ? 0 : stamp;
+    }
+
+    private static long id(Integer key, int row) {
+        return ((long) key << 32) | (row & 0xFFFFFFFFL);
+    }
+
+    private static class Entry {
+        private final INDArray array;
+        private final long version;
+        private final long created;
+
+        private Entry(INDArray array, long version, long created) {
+            this.array = array;
+            this.version = version;
+            this.created = created;
+        }
+    }
+}
@@ -7,6 +7,7 @@ import org.nd4j.parameterserver.distributed.conf.VoidConfiguration;
 import org.nd4j.parameterserver.distributed.enums.NodeRole;
 import org.nd4j.parameterserver.distributed.logic.completion.Clipboard;
 import org.nd4j.parameterserver.distributed.logic.Storage;
+import org.nd4j.parameterserver.distributed.messages.codecs.VoidMessageCodecs;
 import org.nd4j.parameterserver.distributed.training.TrainingDriver;
 import org.nd4j.parameterserver.distributed.transport.Transport;
 
@@ -39,6 +40,9 @@ public abstract class BaseVoidMessage implements VoidMessage {
 
     @Override
     public byte[] asBytes() {
+        if (VoidMessageCodecs.canEncode(this))
+            return VoidMessageCodecs.encode(this).byteArray();
+
         return SerializationUtils.serialize(this);
     }
 
@@ -49,7 +53,10 @@ public abstract class BaseVoidMessage implements VoidMessage {
 
 
     public UnsafeBuffer asUnsafeBuffer() {
-        return new UnsafeBuffer(asBytes());
+        if (VoidMessageCodecs.canEncode(this))
+            return VoidMessageCodecs.encode(this);
+
+        return new UnsafeBuffer(SerializationUtils.serialize(this));
     }
 
     @Override
@@ -11,6 +11,10 @@ import org.nd4j.parameterserver.distributed.conf.VoidConfiguration;
 import org.nd4j.parameterserver.distributed.enums.NodeRole;
 import org.nd4j.parameterserver.distributed.logic.completion.Clipboard;
 import org.nd4j.parameterserver.distributed.logic.Storage;
+import org.nd4j.parameterserver.distributed.messages.codecs.MessageCodec;
+import org.nd4j.parameterserver.distributed.messages.codecs.MessageReader;
+import org.nd4j.parameterserver.distributed.messages.codecs.MessageWriter;
+import org.nd4j.parameterserver.distributed.messages.codecs.VoidMessageCodecs;
 import org.nd4j.parameterserver.distributed.training.TrainingDriver;
 import org.nd4j.parameterserver.distributed.transport.Transport;
 
@@ -27,6 +31,60 @@ import java.util.List;
  */
 @Slf4j
 public class Frame<T extends TrainingMessage> implements Serializable, Iterable<T>, VoidMessage {
+    /**
+     * Frame codec writes nested messages with their own headers, so Frame is encodable only if all of them are
+     */
+    @SuppressWarnings("rawtypes")
+    public static final MessageCodec<Frame> CODEC = new MessageCodec<Frame>() {
+        @Override
+        public int getVersion() {
+            return 1;
+        }
+
+        @Override
+        public boolean canEncode(Frame frame) {
+            for (Object message : frame.list)
+                if (!VoidMessageCodecs.canEncode((VoidMessage) message))
+                    return false;
+
+            return true;
+        }
+
+        @Override
+        public int getEncodedLength(Frame frame) {
+            int length = 8 + 8 + 2 + 4;
+            for (Object message : frame.list)
+                length += VoidMessageCodecs.getEncodedLength((VoidMessage) message);
+
+            return length;
+        }
+
+        @Override
+        public void encode(Frame frame, MessageWriter writer) {
+            writer.putLong(frame.taskId);
+            writer.putLong(frame.originatorId);
+            writer.putShort(frame.targetId);
+            writer.putInt(frame.list.size());
+            for (Object message : frame.list)
+                VoidMessageCodecs.encode((VoidMessage) message, writer);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Frame decode(MessageReader reader, int version) {
+            Frame frame = new Frame();
+            frame.taskId = reader.getLong();
+            frame.originatorId = reader.getLong();
+            frame.targetId = reader.getShort();
+
+            int size = reader.getInt();
+            frame.list = new ArrayList<>(size);
+            for (int e = 0; e < size; e++)
+                frame.list.add(VoidMessageCodecs.decode(reader));
+
+            return frame;
+        }
+    };
 
     @Getter(AccessLevel.PROTECTED)
     @Setter(AccessLevel.PROTECTED)
@@ -146,12 +204,18 @@ public class Frame<T extends TrainingMessage> implements Serializable, Iterable<
 
     @Override
     public byte[] asBytes() {
+        if (VoidMessageCodecs.canEncode(this))
+            return VoidMessageCodecs.encode(this).byteArray();
+
         return SerializationUtils.serialize(this);
     }
 
     @Override
     public UnsafeBuffer asUnsafeBuffer() {
-        return new UnsafeBuffer(asBytes());
+        if (VoidMessageCodecs.canEncode(this))
+            return VoidMessageCodecs.encode(this);
+
+        return new UnsafeBuffer(SerializationUtils.serialize(this));
     }
 
     @Override
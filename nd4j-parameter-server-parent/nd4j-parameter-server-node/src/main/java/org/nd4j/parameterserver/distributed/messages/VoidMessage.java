@@ -1,6 +1,7 @@
 package org.nd4j.parameterserver.distributed.messages;
 
 import lombok.extern.slf4j.Slf4j;
+import org.agrona.DirectBuffer;
 import org.agrona.concurrent.UnsafeBuffer;
 import org.apache.commons.io.input.ClassLoaderObjectInputStream;
 import org.apache.commons.lang3.SerializationUtils;
@@ -8,6 +9,7 @@ import org.nd4j.parameterserver.distributed.conf.VoidConfiguration;
 import org.nd4j.parameterserver.distributed.enums.NodeRole;
 import org.nd4j.parameterserver.distributed.logic.completion.Clipboard;
 import org.nd4j.parameterserver.distributed.logic.Storage;
+import org.nd4j.parameterserver.distributed.messages.codecs.VoidMessageCodecs;
 import org.nd4j.parameterserver.distributed.training.TrainingDriver;
 import org.nd4j.parameterserver.distributed.transport.Transport;
 
@@ -36,7 +38,23 @@ public interface VoidMessage extends Serializable {
 
     UnsafeBuffer asUnsafeBuffer();
 
+    /**
+     * This method returns serialized message for sending over the wire. Binary-encoded messages are written into
+     * per-thread scratch buffer, so returned buffer is valid only until next call of this method from the same thread.
+     *
+     * @return
+     */
+    default DirectBuffer asTransientBuffer() {
+        if (VoidMessageCodecs.canEncode(this))
+            return VoidMessageCodecs.encodeShared(this);
+
+        return asUnsafeBuffer();
+    }
+
     static <T extends VoidMessage> T fromBytes(byte[] array) {
+        if (VoidMessageCodecs.isEncoded(array))
+            return VoidMessageCodecs.decode(new UnsafeBuffer(array), 0, array.length);
+
         try {
             ObjectInputStream in = new ClassLoaderObjectInputStream(Thread.currentThread().getContextClassLoader(),
                             new ByteArrayInputStream(array));
@@ -49,6 +67,24 @@ public interface VoidMessage extends Serializable {
         //return SerializationUtils.deserialize(array);
     }
 
+    /**
+     * This method restores message from given buffer. Binary-encoded messages are decoded in place,
+     * everything else is copied out and deserialized.
+     *
+     * @param buffer
+     * @param offset
+     * @param length
+     * @return
+     */
+    static <T extends VoidMessage> T fromBuffer(DirectBuffer buffer, int offset, int length) {
+        if (VoidMessageCodecs.isEncoded(buffer, offset, length))
+            return VoidMessageCodecs.decode(buffer, offset, length);
+
+        byte[] data = new byte[length];
+        buffer.getBytes(offset, data);
+        return fromBytes(data);
+    }
+
     /**
      * This method initializes message for further processing
      */
@@ -4,18 +4,20 @@ import lombok.Getter;
 import lombok.NonNull;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
-import org.agrona.concurrent.UnsafeBuffer;
-import org.apache.commons.lang3.SerializationUtils;
 import org.nd4j.linalg.api.ndarray.INDArray;
 import org.nd4j.linalg.exception.ND4JIllegalStateException;
 import org.nd4j.linalg.factory.Nd4j;
 import org.nd4j.parameterserver.distributed.messages.BaseVoidMessage;
 import org.nd4j.parameterserver.distributed.messages.VoidAggregation;
+import org.nd4j.parameterserver.distributed.messages.codecs.BaseMessageCodec;
+import org.nd4j.parameterserver.distributed.messages.codecs.MessageReader;
+import org.nd4j.parameterserver.distributed.messages.codecs.MessageWriter;
 
 import java.io.Serializable;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 
 /**
  * @author raver119@gmail.com
@@ -107,17 +109,49 @@ public abstract class BaseAggregation extends BaseVoidMessage implements VoidAgg
     }
 
     @Override
-    public byte[] asBytes() {
-        return SerializationUtils.serialize(this);
+    public short getTargetId() {
+        return (short) -1;
     }
 
-    @Override
-    public UnsafeBuffer asUnsafeBuffer() {
-        return new UnsafeBuffer(asBytes());
-    }
+    /**
+     * Shared codec for all aggregations, since they don't have fields of their own
+     */
+    protected static class AggregationCodec<T extends BaseAggregation> extends BaseMessageCodec<T> {
+        private final Supplier<T> factory;
 
-    @Override
-    public short getTargetId() {
-        return (short) -1;
+        public AggregationCodec(@NonNull Supplier<T> factory) {
+            this.factory = factory;
+        }
+
+        @Override
+        protected T instantiate() {
+            return factory.get();
+        }
+
+        @Override
+        protected int getBodyLength(T message) {
+            return 2 + 2 + 4 + 2 + MessageWriter.sizeOf(message.payload);
+        }
+
+        @Override
+        protected void encodeBody(T message, MessageWriter writer) {
+            writer.putShort(message.aggregationType);
+            writer.putShort(message.aggregationWidth);
+            writer.putInt(message.numberOfElements);
+            writer.putShort(message.shardIndex);
+            writer.putArray(message.payload);
+        }
+
+        @Override
+        protected void decodeBody(T message, MessageReader reader, int version) {
+            message.aggregationType = reader.getShort();
+            message.aggregationWidth = reader.getShort();
+            message.numberOfElements = reader.getInt();
+            message.shardIndex = reader.getShort();
+            message.payload = reader.getArray();
+
+            if (message.payload != null)
+                message.addToChunks(message.payload);
+        }
     }
 }
@@ -4,6 +4,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.parameterserver.distributed.messages.codecs.MessageCodec;
 import org.nd4j.linalg.exception.ND4JIllegalStateException;
 import org.nd4j.linalg.factory.Nd4j;
 import org.nd4j.parameterserver.distributed.training.TrainerProvider;
@@ -16,6 +17,7 @@ import java.util.concurrent.atomic.AtomicInteger;
  */
 @Slf4j
 public class DotAggregation extends BaseAggregation {
+    public static final MessageCodec<DotAggregation> CODEC = new AggregationCodec<>(DotAggregation::new);
 
     protected DotAggregation() {
         super();
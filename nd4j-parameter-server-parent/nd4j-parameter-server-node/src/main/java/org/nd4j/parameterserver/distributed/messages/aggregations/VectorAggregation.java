@@ -2,6 +2,7 @@ package org.nd4j.parameterserver.distributed.messages.aggregations;
 
 import lombok.extern.slf4j.Slf4j;
 import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.parameterserver.distributed.messages.codecs.MessageCodec;
 import org.nd4j.parameterserver.distributed.messages.VoidAggregation;
 import org.nd4j.parameterserver.distributed.messages.complete.VectorCompleteMessage;
 
@@ -10,6 +11,7 @@ import org.nd4j.parameterserver.distributed.messages.complete.VectorCompleteMess
  */
 @Slf4j
 public class VectorAggregation extends BaseAggregation {
+    public static final MessageCodec<VectorAggregation> CODEC = new AggregationCodec<>(VectorAggregation::new);
 
     protected VectorAggregation() {
         super();
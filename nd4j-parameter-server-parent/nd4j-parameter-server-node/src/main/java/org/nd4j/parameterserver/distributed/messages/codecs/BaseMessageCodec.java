@@ -0,0 +1,56 @@
+package org.nd4j.parameterserver.distributed.messages.codecs;
+
+import org.nd4j.parameterserver.distributed.messages.BaseVoidMessage;
+
+/**
+ * Base codec for BaseVoidMessage descendants: it takes care of fields shared by all messages,
+ * so implementations only handle their own fields
+ *
+ * @author raver119@gmail.com
+ */
+public abstract class BaseMessageCodec<T extends BaseVoidMessage> implements MessageCodec<T> {
+    // taskId, originatorId, targetId
+    protected static final int COMMON_LENGTH = 8 + 8 + 2;
+
+    @Override
+    public int getVersion() {
+        return 1;
+    }
+
+    @Override
+    public int getEncodedLength(T message) {
+        return COMMON_LENGTH + getBodyLength(message);
+    }
+
+    @Override
+    public void encode(T message, MessageWriter writer) {
+        writer.putLong(message.getTaskId());
+        writer.putLong(message.getOriginatorId());
+        writer.putShort(message.getTargetId());
+
+        encodeBody(message, writer);
+    }
+
+    @Override
+    public T decode(MessageReader reader, int version) {
+        T message = instantiate();
+        message.setTaskId(reader.getLong());
+        message.setOriginatorId(reader.getLong());
+        message.setTargetId(reader.getShort());
+
+        decodeBody(message, reader, version);
+
+        return message;
+    }
+
+    /**
+     * This method returns new empty message instance
+     */
+    protected abstract T instantiate();
+
+    protected abstract int getBodyLength(T message);
+
+    protected abstract void encodeBody(T message, MessageWriter writer);
+
+    protected abstract void decodeBody(T message, MessageReader reader, int version);
+}
@@ -0,0 +1,57 @@
+package org.nd4j.parameterserver.distributed.messages.codecs;
+
+import org.nd4j.parameterserver.distributed.messages.VoidMessage;
+
+/**
+ * This interface describes binary codec for specific VoidMessage class.
+ *
+ * Codecs are versioned: version is written into message header, and passed back to decode(),
+ * so newer codec is able to read messages written by older nodes.
+ *
+ * @author raver119@gmail.com
+ */
+public interface MessageCodec<T extends VoidMessage> {
+
+    /**
+     * This method returns current version of this codec
+     *
+     * @return
+     */
+    int getVersion();
+
+    /**
+     * This method returns exact number of bytes encode() will write for given message
+     *
+     * @param message
+     * @return
+     */
+    int getEncodedLength(T message);
+
+    /**
+     * This method writes given message with given writer
+     *
+     * @param message
+     * @param writer
+     */
+    void encode(T message, MessageWriter writer);
+
+    /**
+     * This method reads message written by codec of specified version
+     *
+     * @param reader
+     * @param version
+     * @return
+     */
+    T decode(MessageReader reader, int version);
+
+    /**
+     * This method checks, if given message instance can be encoded with this codec.
+     * If it can't - Java serialization will be used instead.
+     *
+     * @param message
+     * @return
+     */
+    default boolean canEncode(T message) {
+        return true;
+    }
+}
@@ -0,0 +1,137 @@
+package org.nd4j.parameterserver.distributed.messages.codecs;
+
+import lombok.Getter;
+import lombok.NonNull;
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.nd4j.linalg.api.buffer.DataBuffer;
+import org.nd4j.linalg.api.concurrency.AffinityManager;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.factory.Nd4j;
+import org.nd4j.linalg.util.ArrayUtil;
+
+/**
+ * Sequential reader over DirectBuffer, counterpart of {@link MessageWriter}
+ *
+ * @author raver119@gmail.com
+ */
+public class MessageReader {
+    private final DirectBuffer buffer;
+    @Getter
+    private int position;
+
+    public MessageReader(@NonNull DirectBuffer buffer, int offset) {
+        this.buffer = buffer;
+        this.position = offset;
+    }
+
+    public byte getByte() {
+        byte value = buffer.getByte(position);
+        position += 1;
+        return value;
+    }
+
+    public boolean getBoolean() {
+        return getByte() != 0;
+    }
+
+    public short getShort() {
+        short value = buffer.getShort(position);
+        position += 2;
+        return value;
+    }
+
+    public int getInt() {
+        int value = buffer.getInt(position);
+        position += 4;
+        return value;
+    }
+
+    public long getLong() {
+        long value = buffer.getLong(position);
+        position += 8;
+        return value;
+    }
+
+    public float getFloat() {
+        float value = buffer.getFloat(position);
+        position += 4;
+        return value;
+    }
+
+    public double getDouble() {
+        double value = buffer.getDouble(position);
+        position += 8;
+        return value;
+    }
+
+    public int[] getIntArray() {
+        int length = getInt();
+        if (length < 0)
+            return null;
+
+        int[] array = new int[length];
+        for (int e = 0; e < length; e++)
+            array[e] = getInt();
+
+        return array;
+    }
+
+    public byte[] getByteArray() {
+        int length = getInt();
+        if (length < 0)
+            return null;
+
+        byte[] array = new byte[length];
+        buffer.getBytes(position, array);
+        position += length;
+
+        return array;
+    }
+
+    public INDArray getArray() {
+        int rank = getInt();
+        if (rank < 0)
+            return null;
+
+        DataBuffer.Type type = DataBuffer.Type.values()[getByte()];
+        char order = (char) getByte();
+        int[] shape = new int[rank];
+        for (int e = 0; e < rank; e++)
+            shape[e] = getInt();
+
+        long length = ArrayUtil.prodLong(shape);
+        int elementSize = MessageWriter.elementSize(type);
+
+        INDArray array = Nd4j.createUninitialized(shape, order);
+        if (array.data().dataType() == type) {
+            int bytes = (int) (length * elementSize);
+            buffer.getBytes(position, new UnsafeBuffer(array.data().addressPointer().address(), bytes), 0, bytes);
+            position += bytes;
+
+            // data was written straight into host memory, so device copy is stale now
+            Nd4j.getAffinityManager().tagLocation(array, AffinityManager.Location.HOST);
+        } else {
+            // sender uses different data type, so we convert values one by one
+            DataBuffer data = array.data();
+            for (long e = 0; e < length; e++) {
+                switch (type) {
+                    case DOUBLE:
+                        data.put(e, buffer.getDouble(position));
+                        break;
+                    case FLOAT:
+                        data.put(e, buffer.getFloat(position));
+                        break;
+                    case INT:
+                        data.put(e, buffer.getInt(position));
+                        break;
+                    default:
+                        throw new UnsupportedOperationException("Unsupported data type: " + type);
+                }
+                position += elementSize;
+            }
+        }
+
+        return array;
+    }
+}
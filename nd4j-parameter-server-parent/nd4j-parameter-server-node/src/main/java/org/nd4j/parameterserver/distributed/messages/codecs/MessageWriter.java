@@ -0,0 +1,152 @@
+package org.nd4j.parameterserver.distributed.messages.codecs;
+
+import lombok.Getter;
+import lombok.NonNull;
+import org.agrona.MutableDirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.nd4j.linalg.api.buffer.DataBuffer;
+import org.nd4j.linalg.api.concurrency.AffinityManager;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.factory.Nd4j;
+
+/**
+ * Sequential writer over MutableDirectBuffer. Primitives and arrays are written in native byte order.
+ *
+ * INDArray layout: rank (-1 for null), data type ordinal, ordering, shape, raw data.
+ * Data is copied straight from off-heap memory into target buffer.
+ *
+ * @author raver119@gmail.com
+ */
+public class MessageWriter {
+    private final MutableDirectBuffer buffer;
+    @Getter
+    private int position;
+
+    public MessageWriter(@NonNull MutableDirectBuffer buffer, int offset) {
+        this.buffer = buffer;
+        this.position = offset;
+    }
+
+    public void putByte(byte value) {
+        buffer.putByte(position, value);
+        position += 1;
+    }
+
+    public void putBoolean(boolean value) {
+        putByte(value ? (byte) 1 : (byte) 0);
+    }
+
+    public void putShort(short value) {
+        buffer.putShort(position, value);
+        position += 2;
+    }
+
+    public void putInt(int value) {
+        buffer.putInt(position, value);
+        position += 4;
+    }
+
+    public void putLong(long value) {
+        buffer.putLong(position, value);
+        position += 8;
+    }
+
+    public void putFloat(float value) {
+        buffer.putFloat(position, value);
+        position += 4;
+    }
+
+    public void putDouble(double value) {
+        buffer.putDouble(position, value);
+        position += 8;
+    }
+
+    public void putIntArray(int[] array) {
+        if (array == null) {
+            putInt(-1);
+            return;
+        }
+
+        putInt(array.length);
+        for (int value : array)
+            putInt(value);
+    }
+
+    public void putByteArray(byte[] array) {
+        if (array == null) {
+            putInt(-1);
+            return;
+        }
+
+        putInt(array.length);
+        buffer.putBytes(position, array);
+        position += array.length;
+    }
+
+    public void putArray(INDArray array) {
+        if (array == null) {
+            putInt(-1);
+            return;
+        }
+
+        array = prepare(array);
+
+        int[] shape = array.shape();
+        putInt(shape.length);
+        putByte((byte) array.data().dataType().ordinal());
+        putByte((byte) array.ordering());
+        for (int value : shape)
+            putInt(value);
+
+        int bytes = dataLength(array);
+        buffer.putBytes(position, new UnsafeBuffer(array.data().addressPointer().address(), bytes), 0, bytes);
+        position += bytes;
+    }
+
+    public static int sizeOf(int[] array) {
+        return 4 + (array == null ? 0 : array.length * 4);
+    }
+
+    public static int sizeOf(byte[] array) {
+        return 4 + (array == null ? 0 : array.length);
+    }
+
+    public static int sizeOf(INDArray array) {
+        if (array == null)
+            return 4;
+
+        if (array.isCompressed())
+            Nd4j.getCompressor().autoDecompress(array);
+
+        return 4 + 2 + array.rank() * 4 + dataLength(array);
+    }
+
+    private static int dataLength(INDArray array) {
+        return (int) (array.lengthLong() * elementSize(array.data().dataType()));
+    }
+
+    protected static int elementSize(DataBuffer.Type type) {
+        switch (type) {
+            case DOUBLE:
+                return 8;
+            case HALF:
+                return 2;
+            default:
+                return 4;
+        }
+    }
+
+    private static INDArray prepare(INDArray array) {
+        if (array.isCompressed())
+            Nd4j.getCompressor().autoDecompress(array);
+
+        // views don't have linear data, so we have to copy them
+        if (array.isView())
+            array = array.dup(array.ordering());
+
+        // raw data is copied from host memory, so it should be up to date
+        Nd4j.getAffinityManager().ensureLocation(array, AffinityManager.Location.HOST);
+
+        return array;
+    }
+}
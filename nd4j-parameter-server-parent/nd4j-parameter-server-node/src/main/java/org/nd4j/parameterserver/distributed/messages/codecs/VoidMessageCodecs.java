@@ -0,0 +1,284 @@
+package org.nd4j.parameterserver.distributed.messages.codecs;
+
+import lombok.AllArgsConstructor;
+import lombok.NonNull;
+import org.agrona.DirectBuffer;
+import org.agrona.MutableDirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.nd4j.linalg.exception.ND4JIllegalStateException;
+import org.nd4j.parameterserver.distributed.messages.Frame;
+import org.nd4j.parameterserver.distributed.messages.VoidMessage;
+import org.nd4j.parameterserver.distributed.messages.aggregations.DotAggregation;
+import org.nd4j.parameterserver.distributed.messages.aggregations.VectorAggregation;
+import org.nd4j.parameterserver.distributed.messages.complete.FrameCompleteMessage;
+import org.nd4j.parameterserver.distributed.messages.complete.InitializationCompleteMessage;
+import org.nd4j.parameterserver.distributed.messages.complete.IntroductionCompleteMessage;
+import org.nd4j.parameterserver.distributed.messages.complete.VectorCompleteMessage;
+import org.nd4j.parameterserver.distributed.messages.intercom.DistributedCbowDotMessage;
+import org.nd4j.parameterserver.distributed.messages.intercom.DistributedSgDotMessage;
+import org.nd4j.parameterserver.distributed.messages.intercom.DistributedVectorMessage;
+import org.nd4j.parameterserver.distributed.messages.requests.CbowRequestMessage;
+import org.nd4j.parameterserver.distributed.messages.requests.SkipGramRequestMessage;
+import org.nd4j.parameterserver.distributed.messages.requests.VectorRequestMessage;
+
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * This class is registry of binary codecs for VoidMessages, keyed by message type.
+ *
+ * Since different message classes might share the same message type, each registration within type has its own
+ * explicit subtype. Type and subtype are part of wire format, so they MUST NOT be changed once assigned.
+ *
+ * Header layout:
+ *  2 bytes: magic, never matches Java serialization stream header
+ *  1 byte: format version
+ *  1 byte: codec version
+ *  4 bytes: message type
+ *  1 byte: subtype
+ *
+ * Messages without registered codec are sent with Java serialization, and both formats are accepted by
+ * {@link VoidMessage#fromBytes(byte[])} and {@link VoidMessage#fromBuffer(DirectBuffer, int, int)}
+ *
+ * Transports encode messages into per-thread scratch buffer via {@link #encodeShared(VoidMessage)},
+ * so there's no allocation per message sent.
+ *
+ * @author raver119@gmail.com
+ */
+public class VoidMessageCodecs {
+    public static final short MAGIC = 0x5644;
+    public static final byte FORMAT_VERSION = 1;
+    public static final int HEADER_LENGTH = 2 + 1 + 1 + 4 + 1;
+
+    private static final int INITIAL_SCRATCH_SIZE = 64 * 1024;
+
+    private static final Map<Class<?>, Registration> byClass = new ConcurrentHashMap<>();
+    private static final Map<Long, Registration> byType = new ConcurrentHashMap<>();
+
+    private static final ThreadLocal<ByteBuffer> scratch = new ThreadLocal<>();
+    private static final ThreadLocal<UnsafeBuffer> scratchView = new ThreadLocal<UnsafeBuffer>() {
+        @Override
+        protected UnsafeBuffer initialValue() {
+            return new UnsafeBuffer(new byte[0]);
+        }
+    };
+
+    static {
+        register(0, (byte) 0, SkipGramRequestMessage.class, SkipGramRequestMessage.CODEC);
+        register(-1, (byte) 0, CbowRequestMessage.class, CbowRequestMessage.CODEC);
+        register(3, (byte) 0, Frame.class, Frame.CODEC);
+        register(7, (byte) 0, VectorRequestMessage.class, VectorRequestMessage.CODEC);
+        register(10, (byte) 0, VectorCompleteMessage.class, VectorCompleteMessage.CODEC);
+        register(19, (byte) 0, FrameCompleteMessage.class, FrameCompleteMessage.CODEC);
+        register(19, (byte) 1, InitializationCompleteMessage.class, InitializationCompleteMessage.CODEC);
+        register(19, (byte) 2, IntroductionCompleteMessage.class, IntroductionCompleteMessage.CODEC);
+        register(20, (byte) 0, DistributedVectorMessage.class, DistributedVectorMessage.CODEC);
+        register(21, (byte) 0, VectorAggregation.class, VectorAggregation.CODEC);
+        register(21, (byte) 1, DotAggregation.class, DotAggregation.CODEC);
+        register(22, (byte) 0, DistributedSgDotMessage.class, DistributedSgDotMessage.CODEC);
+        register(22, (byte) 1, DistributedCbowDotMessage.class, DistributedCbowDotMessage.CODEC);
+    }
+
+    private VoidMessageCodecs() {}
+
+    /**
+     * This method registers codec for given message class
+     *
+     * @param messageType value returned by getMessageType() of this class
+     * @param subtype value distinguishing classes sharing the same messageType, must be stable across releases
+     * @param messageClass exact message class, subclasses aren't covered
+     * @param codec
+     */
+    public static synchronized <T extends VoidMessage> void register(int messageType, byte subtype,
+                    @NonNull Class<T> messageClass, @NonNull MessageCodec<T> codec) {
+        if (byClass.containsKey(messageClass))
+            throw new ND4JIllegalStateException("Codec for " + messageClass.getSimpleName() + " is already registered");
+
+        long key = key(messageType, subtype);
+        if (byType.containsKey(key))
+            throw new ND4JIllegalStateException(
+                            "Codec for messageType " + messageType + ", subtype " + subtype + " is already registered");
+
+        Registration registration = new Registration(messageType, subtype, codec);
+        byType.put(key, registration);
+        byClass.put(messageClass, registration);
+    }
+
+    /**
+     * This method checks, if given message can be encoded with registered codec
+     *
+     * @param message
+     * @return
+     */
+    @SuppressWarnings("unchecked")
+    public static boolean canEncode(VoidMessage message) {
+        if (message == null)
+            return false;
+
+        Registration registration = byClass.get(message.getClass());
+        return registration != null && registration.messageType == message.getMessageType()
+                        && registration.codec.canEncode(message);
+    }
+
+    /**
+     * This method returns number of bytes required to encode given message, including header
+     *
+     * @param message
+     * @return
+     */
+    @SuppressWarnings("unchecked")
+    public static int getEncodedLength(@NonNull VoidMessage message) {
+        return HEADER_LENGTH + registrationFor(message).codec.getEncodedLength(message);
+    }
+
+    /**
+     * This method encodes given message into new buffer of exact size
+     *
+     * @param message
+     * @return
+     */
+    public static UnsafeBuffer encode(@NonNull VoidMessage message) {
+        UnsafeBuffer buffer = new UnsafeBuffer(new byte[getEncodedLength(message)]);
+        encode(message, buffer, 0);
+        return buffer;
+    }
+
+    /**
+     * This method encodes given message into per-thread scratch buffer.
+     *
+     * PLEASE NOTE: returned buffer is reused, so it's valid only until next call of this method from the same thread.
+     *
+     * @param message
+     * @return buffer of exact message size
+     */
+    public static UnsafeBuffer encodeShared(@NonNull VoidMessage message) {
+        int length = getEncodedLength(message);
+
+        ByteBuffer bb = scratch.get();
+        if (bb == null || bb.capacity() < length) {
+            bb = ByteBuffer.allocateDirect(Math.max(length, bb == null ? INITIAL_SCRATCH_SIZE : bb.capacity() * 2));
+            scratch.set(bb);
+        }
+
+        UnsafeBuffer view = scratchView.get();
+        view.wrap(bb, 0, length);
+        encode(message, view, 0);
+        return view;
+    }
+
+    /**
+     * This method encodes given message into given buffer, starting from specified offset
+     *
+     * @param message
+     * @param buffer
+     * @param offset
+     * @return number of bytes written
+     */
+    public static int encode(@NonNull VoidMessage message, @NonNull MutableDirectBuffer buffer, int offset) {
+        MessageWriter writer = new MessageWriter(buffer, offset);
+        encode(message, writer);
+        return writer.getPosition() - offset;
+    }
+
+    /**
+     * This method writes given message, with header, using given writer. Suitable for nested messages.
+     *
+     * @param message
+     * @param writer
+     */
+    @SuppressWarnings("unchecked")
+    public static void encode(@NonNull VoidMessage message, @NonNull MessageWriter writer) {
+        Registration registration = registrationFor(message);
+
+        writer.putShort(MAGIC);
+        writer.putByte(FORMAT_VERSION);
+        writer.putByte((byte) registration.codec.getVersion());
+        writer.putInt(registration.messageType);
+        writer.putByte(registration.subtype);
+
+        registration.codec.encode(message, writer);
+    }
+
+    /**
+     * This method checks, if given buffer contains message encoded with registered codec
+     *
+     * @param buffer
+     * @param offset
+     * @param length
+     * @return
+     */
+    public static boolean isEncoded(@NonNull DirectBuffer buffer, int offset, int length) {
+        return length >= HEADER_LENGTH && buffer.getShort(offset) == MAGIC;
+    }
+
+    public static boolean isEncoded(@NonNull byte[] array) {
+        return isEncoded(new UnsafeBuffer(array), 0, array.length);
+    }
+
+    /**
+     * This method decodes message from given buffer
+     *
+     * @param buffer
+     * @param offset
+     * @param length
+     * @return
+     */
+    public static <T extends VoidMessage> T decode(@NonNull DirectBuffer buffer, int offset, int length) {
+        if (!isEncoded(buffer, offset, length))
+            throw new ND4JIllegalStateException("Buffer doesn't contain encoded VoidMessage");
+
+        return decode(new MessageReader(buffer, offset));
+    }
+
+    /**
+     * This method reads message, with header, using given reader. Suitable for nested messages.
+     *
+     * @param reader
+     * @return
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends VoidMessage> T decode(@NonNull MessageReader reader) {
+        if (reader.getShort() != MAGIC)
+            throw new ND4JIllegalStateException("Buffer doesn't contain encoded VoidMessage");
+
+        byte format = reader.getByte();
+        if (format != FORMAT_VERSION)
+            throw new ND4JIllegalStateException("Unsupported message format version: " + format);
+
+        int version = reader.getByte();
+        int messageType = reader.getInt();
+        byte subtype = reader.getByte();
+
+        Registration registration = byType.get(key(messageType, subtype));
+        if (registration == null)
+            throw new ND4JIllegalStateException(
+                            "No codec registered for messageType " + messageType + ", subtype " + subtype);
+
+        if (version > registration.codec.getVersion())
+            throw new ND4JIllegalStateException("Message was encoded with codec version " + version
+                            + ", but only version " + registration.codec.getVersion() + " is supported");
+
+        return (T) registration.codec.decode(reader, version);
+    }
+
+    private static long key(int messageType, byte subtype) {
+        return ((long) messageType << 8) | (subtype & 0xFF);
+    }
+
+    private static Registration registrationFor(VoidMessage message) {
+        Registration registration = byClass.get(message.getClass());
+        if (registration == null)
+            throw new ND4JIllegalStateException("No codec registered for " + message.getClass().getSimpleName());
+
+        return registration;
+    }
+
+    @AllArgsConstructor
+    private static class Registration {
+        private final int messageType;
+        private final byte subtype;
+        @SuppressWarnings("rawtypes")
+        private final MessageCodec codec;
+    }
+}
@@ -1,10 +1,16 @@
 package org.nd4j.parameterserver.distributed.messages.complete;
 
 import lombok.Data;
+import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
 import org.nd4j.linalg.api.ndarray.INDArray;
 import org.nd4j.parameterserver.distributed.messages.BaseVoidMessage;
 import org.nd4j.parameterserver.distributed.messages.MeaningfulMessage;
+import org.nd4j.parameterserver.distributed.messages.codecs.BaseMessageCodec;
+import org.nd4j.parameterserver.distributed.messages.codecs.MessageReader;
+import org.nd4j.parameterserver.distributed.messages.codecs.MessageWriter;
+
+import java.util.function.Supplier;
 
 /**
  * This message contains information about finished computations for specific batch, being sent earlier
@@ -30,4 +36,35 @@ public abstract class BaseCompleteMessage extends BaseVoidMessage implements Mea
     public void processMessage() {
         // no-op
     }
+
+    /**
+     * Shared codec for all complete messages: the only field they have is payload
+     */
+    protected static class CompleteMessageCodec<T extends BaseCompleteMessage> extends BaseMessageCodec<T> {
+        private final Supplier<T> factory;
+
+        public CompleteMessageCodec(@NonNull Supplier<T> factory) {
+            this.factory = factory;
+        }
+
+        @Override
+        protected T instantiate() {
+            return factory.get();
+        }
+
+        @Override
+        protected int getBodyLength(T message) {
+            return MessageWriter.sizeOf(message.payload);
+        }
+
+        @Override
+        protected void encodeBody(T message, MessageWriter writer) {
+            writer.putArray(message.payload);
+        }
+
+        @Override
+        protected void decodeBody(T message, MessageReader reader, int version) {
+            message.payload = reader.getArray();
+        }
+    }
 }
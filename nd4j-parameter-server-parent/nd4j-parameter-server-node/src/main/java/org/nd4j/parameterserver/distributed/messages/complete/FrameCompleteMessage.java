@@ -1,9 +1,14 @@
 package org.nd4j.parameterserver.distributed.messages.complete;
 
+import org.nd4j.parameterserver.distributed.messages.codecs.MessageCodec;
+
 /**
  * @author raver119@gmail.com
  */
 public class FrameCompleteMessage extends BaseCompleteMessage {
+    public static final MessageCodec<FrameCompleteMessage> CODEC =
+                    new CompleteMessageCodec<>(FrameCompleteMessage::new);
+
     protected FrameCompleteMessage() {
         super(19);
     }
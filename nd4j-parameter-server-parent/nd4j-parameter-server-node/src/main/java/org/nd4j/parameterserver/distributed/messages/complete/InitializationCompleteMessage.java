@@ -1,9 +1,14 @@
 package org.nd4j.parameterserver.distributed.messages.complete;
 
+import org.nd4j.parameterserver.distributed.messages.codecs.MessageCodec;
+
 /**
  * @author raver119@gmail.com
  */
 public class InitializationCompleteMessage extends BaseCompleteMessage {
+    public static final MessageCodec<InitializationCompleteMessage> CODEC =
+                    new CompleteMessageCodec<>(InitializationCompleteMessage::new);
+
 
     protected InitializationCompleteMessage() {
         super(19);
@@ -1,9 +1,14 @@
 package org.nd4j.parameterserver.distributed.messages.complete;
 
+import org.nd4j.parameterserver.distributed.messages.codecs.MessageCodec;
+
 /**
  * @author raver119@gmail.com
  */
 public class IntroductionCompleteMessage extends BaseCompleteMessage {
+    public static final MessageCodec<IntroductionCompleteMessage> CODEC =
+                    new CompleteMessageCodec<>(IntroductionCompleteMessage::new);
+
 
     protected IntroductionCompleteMessage() {
         super(19);
@@ -2,11 +2,15 @@ package org.nd4j.parameterserver.distributed.messages.complete;
 
 import lombok.NonNull;
 import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.parameterserver.distributed.messages.codecs.MessageCodec;
 
 /**
  * @author raver119@gmail.com
  */
 public class VectorCompleteMessage extends BaseCompleteMessage {
+    public static final MessageCodec<VectorCompleteMessage> CODEC =
+                    new CompleteMessageCodec<>(VectorCompleteMessage::new);
+
 
     protected VectorCompleteMessage() {
         super();
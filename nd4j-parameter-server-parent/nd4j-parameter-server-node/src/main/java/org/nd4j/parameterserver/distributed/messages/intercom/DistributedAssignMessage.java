@@ -55,7 +55,7 @@ public class DistributedAssignMessage extends BaseVoidMessage implements Distrib
             if (index >= 0) {
                 if (storage.getArray(key) == null)
                     throw new RuntimeException("Init wasn't called before for key [" + key + "]");
-                storage.getArray(key).getRow(index).assign(value);
+                storage.assignRow(key, index, value);
             } else
                 storage.getArray(key).assign(value);
         }
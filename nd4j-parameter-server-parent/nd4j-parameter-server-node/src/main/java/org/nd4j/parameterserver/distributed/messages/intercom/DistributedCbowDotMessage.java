@@ -15,6 +15,10 @@ import org.nd4j.parameterserver.distributed.messages.requests.CbowRequestMessage
 import org.nd4j.parameterserver.distributed.messages.requests.SkipGramRequestMessage;
 import org.nd4j.parameterserver.distributed.training.impl.CbowTrainer;
 import org.nd4j.parameterserver.distributed.training.impl.SkipGramTrainer;
+import org.nd4j.parameterserver.distributed.messages.codecs.BaseMessageCodec;
+import org.nd4j.parameterserver.distributed.messages.codecs.MessageCodec;
+import org.nd4j.parameterserver.distributed.messages.codecs.MessageReader;
+import org.nd4j.parameterserver.distributed.messages.codecs.MessageWriter;
 
 import java.util.Arrays;
 
@@ -24,6 +28,42 @@ import java.util.Arrays;
 @Data
 @Slf4j
 public class DistributedCbowDotMessage extends BaseVoidMessage implements DistributedMessage {
+    public static final MessageCodec<DistributedCbowDotMessage> CODEC =
+                    new BaseMessageCodec<DistributedCbowDotMessage>() {
+        @Override
+        protected DistributedCbowDotMessage instantiate() {
+            return new DistributedCbowDotMessage();
+        }
+
+        @Override
+        protected int getBodyLength(DistributedCbowDotMessage message) {
+            return MessageWriter.sizeOf(message.rowsA) + MessageWriter.sizeOf(message.rowsB) + 4 + 1 + 2 + 4
+                            + MessageWriter.sizeOf(message.codes);
+        }
+
+        @Override
+        protected void encodeBody(DistributedCbowDotMessage message, MessageWriter writer) {
+            writer.putIntArray(message.rowsA);
+            writer.putIntArray(message.rowsB);
+            writer.putInt(message.w1);
+            writer.putBoolean(message.useHS);
+            writer.putShort(message.negSamples);
+            writer.putFloat(message.alpha);
+            writer.putByteArray(message.codes);
+        }
+
+        @Override
+        protected void decodeBody(DistributedCbowDotMessage message, MessageReader reader, int version) {
+            message.rowsA = reader.getIntArray();
+            message.rowsB = reader.getIntArray();
+            message.w1 = reader.getInt();
+            message.useHS = reader.getBoolean();
+            message.negSamples = reader.getShort();
+            message.alpha = reader.getFloat();
+            message.codes = reader.getByteArray();
+        }
+    };
+
     protected int[] rowsA;
     protected int[] rowsB;
 
@@ -86,7 +126,7 @@ public class DistributedCbowDotMessage extends BaseVoidMessage implements Distri
 
 
         // we calculate dot for all involved rows, and first of all we get mean word
-        INDArray words = Nd4j.pullRows(storage.getArray(WordVectorStorage.SYN_0), 1, rowsA, 'c');
+        INDArray words = storage.getRows(WordVectorStorage.SYN_0, rowsA);
         INDArray mean = words.mean(0);
 
         int resultLength = codes.length + (negSamples > 0 ? (negSamples + 1) : 0);
@@ -12,6 +12,10 @@ import org.nd4j.parameterserver.distributed.messages.DistributedMessage;
 import org.nd4j.parameterserver.distributed.messages.aggregations.DotAggregation;
 import org.nd4j.parameterserver.distributed.messages.requests.SkipGramRequestMessage;
 import org.nd4j.parameterserver.distributed.training.impl.SkipGramTrainer;
+import org.nd4j.parameterserver.distributed.messages.codecs.BaseMessageCodec;
+import org.nd4j.parameterserver.distributed.messages.codecs.MessageCodec;
+import org.nd4j.parameterserver.distributed.messages.codecs.MessageReader;
+import org.nd4j.parameterserver.distributed.messages.codecs.MessageWriter;
 
 import java.util.Arrays;
 
@@ -21,6 +25,44 @@ import java.util.Arrays;
 @Data
 @Slf4j
 public class DistributedSgDotMessage extends BaseVoidMessage implements DistributedMessage {
+    public static final MessageCodec<DistributedSgDotMessage> CODEC =
+                    new BaseMessageCodec<DistributedSgDotMessage>() {
+        @Override
+        protected DistributedSgDotMessage instantiate() {
+            return new DistributedSgDotMessage();
+        }
+
+        @Override
+        protected int getBodyLength(DistributedSgDotMessage message) {
+            return MessageWriter.sizeOf(message.rowsA) + MessageWriter.sizeOf(message.rowsB) + 4 + 4 + 1 + 2 + 4
+                            + MessageWriter.sizeOf(message.codes);
+        }
+
+        @Override
+        protected void encodeBody(DistributedSgDotMessage message, MessageWriter writer) {
+            writer.putIntArray(message.rowsA);
+            writer.putIntArray(message.rowsB);
+            writer.putInt(message.w1);
+            writer.putInt(message.w2);
+            writer.putBoolean(message.useHS);
+            writer.putShort(message.negSamples);
+            writer.putFloat(message.alpha);
+            writer.putByteArray(message.codes);
+        }
+
+        @Override
+        protected void decodeBody(DistributedSgDotMessage message, MessageReader reader, int version) {
+            message.rowsA = reader.getIntArray();
+            message.rowsB = reader.getIntArray();
+            message.w1 = reader.getInt();
+            message.w2 = reader.getInt();
+            message.useHS = reader.getBoolean();
+            message.negSamples = reader.getShort();
+            message.alpha = reader.getFloat();
+            message.codes = reader.getByteArray();
+        }
+    };
+
     protected int[] rowsA;
     protected int[] rowsB;
 
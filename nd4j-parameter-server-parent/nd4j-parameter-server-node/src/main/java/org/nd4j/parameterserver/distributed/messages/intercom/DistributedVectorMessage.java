@@ -3,9 +3,14 @@ package org.nd4j.parameterserver.distributed.messages.intercom;
 import lombok.Data;
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
+import org.nd4j.linalg.api.ndarray.INDArray;
 import org.nd4j.parameterserver.distributed.messages.BaseVoidMessage;
 import org.nd4j.parameterserver.distributed.messages.DistributedMessage;
 import org.nd4j.parameterserver.distributed.messages.aggregations.VectorAggregation;
+import org.nd4j.parameterserver.distributed.messages.codecs.BaseMessageCodec;
+import org.nd4j.parameterserver.distributed.messages.codecs.MessageCodec;
+import org.nd4j.parameterserver.distributed.messages.codecs.MessageReader;
+import org.nd4j.parameterserver.distributed.messages.codecs.MessageWriter;
 
 /**
  * @author raver119@gmail.com
@@ -13,8 +18,43 @@ import org.nd4j.parameterserver.distributed.messages.aggregations.VectorAggregat
 @Data
 @Slf4j
 public class DistributedVectorMessage extends BaseVoidMessage implements DistributedMessage {
+    public static final MessageCodec<DistributedVectorMessage> CODEC =
+                    new BaseMessageCodec<DistributedVectorMessage>() {
+        @Override
+        protected DistributedVectorMessage instantiate() {
+            return new DistributedVectorMessage();
+        }
+
+        @Override
+        public int getVersion() {
+            // version 2 adds rowIndexes
+            return 2;
+        }
+
+        @Override
+        protected int getBodyLength(DistributedVectorMessage message) {
+            return 4 + 4 + MessageWriter.sizeOf(message.rowIndexes);
+        }
+
+        @Override
+        protected void encodeBody(DistributedVectorMessage message, MessageWriter writer) {
+            writer.putInt(message.rowIndex);
+            writer.putInt(message.key);
+            writer.putIntArray(message.rowIndexes);
+        }
+
+        @Override
+        protected void decodeBody(DistributedVectorMessage message, MessageReader reader, int version) {
+            message.rowIndex = reader.getInt();
+            message.key = reader.getInt();
+            if (version >= 2)
+                message.rowIndexes = reader.getIntArray();
+        }
+    };
+
     protected int rowIndex;
     protected int key;
+    protected int[] rowIndexes;
 
     public DistributedVectorMessage() {
         messageType = 20;
@@ -26,13 +66,23 @@ public class DistributedVectorMessage extends BaseVoidMessage implements Distrib
         this.key = key;
     }
 
+    public DistributedVectorMessage(@NonNull Integer key, @NonNull int[] rowIndexes) {
+        this();
+        this.rowIndex = -1;
+        this.rowIndexes = rowIndexes;
+        this.key = key;
+    }
+
     /**
      * This method will be started in context of executor, either Shard, Client or Backup node
      */
     @Override
     public void processMessage() {
-        VectorAggregation aggregation = new VectorAggregation(rowIndex, (short) voidConfiguration.getNumberOfShards(),
-                        shardIndex, storage.getArray(key).getRow(rowIndex).dup());
+        // taskId is propagated from VectorRequestMessage, so slices join the aggregation pinned there
+        INDArray payload = rowIndexes == null ? storage.getRow(key, rowIndex) : storage.getRows(key, rowIndexes);
+
+        VectorAggregation aggregation = new VectorAggregation(taskId, (short) voidConfiguration.getNumberOfShards(),
+                        shardIndex, payload);
         aggregation.setOriginatorId(this.getOriginatorId());
         transport.sendMessage(aggregation);
     }
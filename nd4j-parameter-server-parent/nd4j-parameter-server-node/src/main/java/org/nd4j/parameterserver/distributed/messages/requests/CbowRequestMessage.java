@@ -9,6 +9,10 @@ import org.nd4j.parameterserver.distributed.messages.RequestMessage;
 import org.nd4j.parameterserver.distributed.messages.TrainingMessage;
 import org.nd4j.parameterserver.distributed.messages.VoidMessage;
 import org.nd4j.parameterserver.distributed.training.TrainingDriver;
+import org.nd4j.parameterserver.distributed.messages.codecs.BaseMessageCodec;
+import org.nd4j.parameterserver.distributed.messages.codecs.MessageCodec;
+import org.nd4j.parameterserver.distributed.messages.codecs.MessageReader;
+import org.nd4j.parameterserver.distributed.messages.codecs.MessageWriter;
 
 /**
  * @author raver119@gmail.com
@@ -16,6 +20,48 @@ import org.nd4j.parameterserver.distributed.training.TrainingDriver;
 @Data
 @Slf4j
 public class CbowRequestMessage extends BaseVoidMessage implements TrainingMessage, RequestMessage {
+    public static final MessageCodec<CbowRequestMessage> CODEC =
+                    new BaseMessageCodec<CbowRequestMessage>() {
+        @Override
+        protected CbowRequestMessage instantiate() {
+            return new CbowRequestMessage();
+        }
+
+        @Override
+        protected int getBodyLength(CbowRequestMessage message) {
+            return 1 + 8 + 4 + MessageWriter.sizeOf(message.syn0rows) + MessageWriter.sizeOf(message.syn1rows) + 8
+                            + 8 + 4 + MessageWriter.sizeOf(message.codes) + MessageWriter.sizeOf(message.negatives);
+        }
+
+        @Override
+        protected void encodeBody(CbowRequestMessage message, MessageWriter writer) {
+            writer.putByte(message.counter);
+            writer.putLong(message.frameId);
+            writer.putInt(message.w1);
+            writer.putIntArray(message.syn0rows);
+            writer.putIntArray(message.syn1rows);
+            writer.putDouble(message.alpha);
+            writer.putLong(message.nextRandom);
+            writer.putInt(message.negSamples);
+            writer.putByteArray(message.codes);
+            writer.putIntArray(message.negatives);
+        }
+
+        @Override
+        protected void decodeBody(CbowRequestMessage message, MessageReader reader, int version) {
+            message.counter = reader.getByte();
+            message.frameId = reader.getLong();
+            message.w1 = reader.getInt();
+            message.syn0rows = reader.getIntArray();
+            message.syn1rows = reader.getIntArray();
+            message.alpha = reader.getDouble();
+            message.nextRandom = reader.getLong();
+            message.negSamples = reader.getInt();
+            message.codes = reader.getByteArray();
+            message.negatives = reader.getIntArray();
+        }
+    };
+
     protected byte counter = 1;
 
     long frameId;
@@ -30,6 +76,10 @@ public class CbowRequestMessage extends BaseVoidMessage implements TrainingMessa
 
     protected int[] negatives;
 
+    protected CbowRequestMessage() {
+        super();
+    }
+
     public CbowRequestMessage(@NonNull int[] syn0rows, @NonNull int[] syn1rows, int w1, byte[] codes, int negSamples,
                     double alpha, long nextRandom) {
         this.syn0rows = syn0rows;
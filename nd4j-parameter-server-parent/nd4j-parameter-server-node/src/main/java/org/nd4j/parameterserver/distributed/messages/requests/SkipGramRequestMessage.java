@@ -8,6 +8,10 @@ import org.nd4j.parameterserver.distributed.messages.RequestMessage;
 import org.nd4j.parameterserver.distributed.messages.TrainingMessage;
 import org.nd4j.parameterserver.distributed.messages.VoidMessage;
 import org.nd4j.parameterserver.distributed.training.TrainingDriver;
+import org.nd4j.parameterserver.distributed.messages.codecs.BaseMessageCodec;
+import org.nd4j.parameterserver.distributed.messages.codecs.MessageCodec;
+import org.nd4j.parameterserver.distributed.messages.codecs.MessageReader;
+import org.nd4j.parameterserver.distributed.messages.codecs.MessageWriter;
 
 import java.util.Arrays;
 
@@ -22,6 +26,47 @@ import java.util.Arrays;
 @Data
 @Slf4j
 public class SkipGramRequestMessage extends BaseVoidMessage implements TrainingMessage, RequestMessage {
+    public static final MessageCodec<SkipGramRequestMessage> CODEC =
+                    new BaseMessageCodec<SkipGramRequestMessage>() {
+        @Override
+        protected SkipGramRequestMessage instantiate() {
+            return new SkipGramRequestMessage();
+        }
+
+        @Override
+        protected int getBodyLength(SkipGramRequestMessage message) {
+            return 8 + 8 + 4 + 4 + MessageWriter.sizeOf(message.points) + MessageWriter.sizeOf(message.codes)
+                            + MessageWriter.sizeOf(message.negatives) + 2 + 8 + 1;
+        }
+
+        @Override
+        protected void encodeBody(SkipGramRequestMessage message, MessageWriter writer) {
+            writer.putDouble(message.alpha);
+            writer.putLong(message.frameId);
+            writer.putInt(message.w1);
+            writer.putInt(message.w2);
+            writer.putIntArray(message.points);
+            writer.putByteArray(message.codes);
+            writer.putIntArray(message.negatives);
+            writer.putShort(message.negSamples);
+            writer.putLong(message.nextRandom);
+            writer.putByte(message.counter);
+        }
+
+        @Override
+        protected void decodeBody(SkipGramRequestMessage message, MessageReader reader, int version) {
+            message.alpha = reader.getDouble();
+            message.frameId = reader.getLong();
+            message.w1 = reader.getInt();
+            message.w2 = reader.getInt();
+            message.points = reader.getIntArray();
+            message.codes = reader.getByteArray();
+            message.negatives = reader.getIntArray();
+            message.negSamples = reader.getShort();
+            message.nextRandom = reader.getLong();
+            message.counter = reader.getByte();
+        }
+    };
 
     // learning rate for this sequence
     protected double alpha;
@@ -3,14 +3,22 @@ package org.nd4j.parameterserver.distributed.messages.requests;
 import lombok.Data;
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.parameterserver.distributed.logic.sequence.BasicSequenceProvider;
 import org.nd4j.parameterserver.distributed.logic.storage.WordVectorStorage;
 import org.nd4j.parameterserver.distributed.messages.BaseVoidMessage;
 import org.nd4j.parameterserver.distributed.messages.RequestMessage;
 import org.nd4j.parameterserver.distributed.messages.aggregations.VectorAggregation;
 import org.nd4j.parameterserver.distributed.messages.intercom.DistributedVectorMessage;
+import org.nd4j.parameterserver.distributed.messages.codecs.BaseMessageCodec;
+import org.nd4j.parameterserver.distributed.messages.codecs.MessageCodec;
+import org.nd4j.parameterserver.distributed.messages.codecs.MessageReader;
+import org.nd4j.parameterserver.distributed.messages.codecs.MessageWriter;
 
 /**
- * This message requests full weights vector for specified index
+ * This message requests full weights vector for specified index, or full weights vectors for specified set of indexes
+ *
+ * For multi-row requests, taskId is unique per request, and response payload is matrix with one row per index
  *
  * Client -> Shard version
  *
@@ -19,9 +27,46 @@ import org.nd4j.parameterserver.distributed.messages.intercom.DistributedVectorM
 @Data
 @Slf4j
 public class VectorRequestMessage extends BaseVoidMessage implements RequestMessage {
+    public static final MessageCodec<VectorRequestMessage> CODEC =
+                    new BaseMessageCodec<VectorRequestMessage>() {
+        @Override
+        protected VectorRequestMessage instantiate() {
+            return new VectorRequestMessage();
+        }
+
+        @Override
+        public int getVersion() {
+            // version 2 adds rowIndexes
+            return 2;
+        }
+
+        @Override
+        protected int getBodyLength(VectorRequestMessage message) {
+            return 1 + 4 + 4 + MessageWriter.sizeOf(message.rowIndexes);
+        }
+
+        @Override
+        protected void encodeBody(VectorRequestMessage message, MessageWriter writer) {
+            writer.putBoolean(message.key != null);
+            writer.putInt(message.key == null ? 0 : message.key);
+            writer.putInt(message.rowIndex);
+            writer.putIntArray(message.rowIndexes);
+        }
+
+        @Override
+        protected void decodeBody(VectorRequestMessage message, MessageReader reader, int version) {
+            boolean hasKey = reader.getBoolean();
+            int key = reader.getInt();
+            message.key = hasKey ? key : null;
+            message.rowIndex = reader.getInt();
+            if (version >= 2)
+                message.rowIndexes = reader.getIntArray();
+        }
+    };
 
     protected Integer key;
     protected int rowIndex;
+    protected int[] rowIndexes;
 
     protected VectorRequestMessage() {
         super(7);
@@ -35,8 +80,16 @@ public class VectorRequestMessage extends BaseVoidMessage implements RequestMess
         this();
         this.rowIndex = rowIndex;
 
-        // FIXME: this is temporary, should be changed
-        this.taskId = rowIndex;
+        this.taskId = BasicSequenceProvider.getInstance().getNextValue();
+        this.key = key;
+    }
+
+    public VectorRequestMessage(@NonNull Integer key, @NonNull int[] rowIndexes) {
+        this();
+        this.rowIndex = -1;
+        this.rowIndexes = rowIndexes;
+
+        this.taskId = BasicSequenceProvider.getInstance().getNextValue();
         this.key = key;
     }
 
@@ -45,13 +98,17 @@ public class VectorRequestMessage extends BaseVoidMessage implements RequestMess
      */
     @Override
     public void processMessage() {
-        VectorAggregation aggregation = new VectorAggregation(rowIndex, (short) voidConfiguration.getNumberOfShards(),
-                        getShardIndex(), storage.getArray(key).getRow(rowIndex).dup());
+        INDArray payload = rowIndexes == null ? storage.getRow(key, rowIndex) : storage.getRows(key, rowIndexes);
+
+        VectorAggregation aggregation = new VectorAggregation(taskId, (short) voidConfiguration.getNumberOfShards(),
+                        getShardIndex(), payload);
         aggregation.setOriginatorId(this.getOriginatorId());
 
         clipboard.pin(aggregation);
 
-        DistributedVectorMessage dvm = new DistributedVectorMessage(key, rowIndex);
+        DistributedVectorMessage dvm = rowIndexes == null ? new DistributedVectorMessage(key, rowIndex)
+                        : new DistributedVectorMessage(key, rowIndexes);
+        dvm.setTaskId(taskId);
         dvm.setOriginatorId(this.originatorId);
 
         if (voidConfiguration.getNumberOfShards() > 1)
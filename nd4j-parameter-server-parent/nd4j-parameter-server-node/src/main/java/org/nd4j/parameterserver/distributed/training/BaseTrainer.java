@@ -1,6 +1,8 @@
 package org.nd4j.parameterserver.distributed.training;
 
 import lombok.NonNull;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.factory.Nd4j;
 import org.nd4j.parameterserver.distributed.conf.VoidConfiguration;
 import org.nd4j.parameterserver.distributed.logic.completion.Clipboard;
 import org.nd4j.parameterserver.distributed.logic.Storage;
@@ -8,6 +10,8 @@ import org.nd4j.parameterserver.distributed.logic.completion.FrameCompletionHand
 import org.nd4j.parameterserver.distributed.messages.TrainingMessage;
 import org.nd4j.parameterserver.distributed.transport.Transport;
 
+import java.util.Arrays;
+
 /**
  * @author raver119@gmail.co,
  */
@@ -36,6 +40,41 @@ public abstract class BaseTrainer<T extends TrainingMessage> implements Training
         return result;
     }
 
+    /**
+     * This method applies batch of gradients to specified rows of the array identified by key:
+     * neu1e += sum(gradients[i] * rows[i]), and then rows[i] += gradients[i] * input
+     *
+     * Rows are gathered and scattered via Storage row API, so concurrent updates of the same rows aren't lost
+     *
+     * @param key array key
+     * @param rows target rows, only first length entries are used
+     * @param gradients gradients, one per row
+     * @param length number of used entries
+     * @param input input vector
+     * @param neu1e error accumulator
+     * @return true if anything was applied
+     */
+    protected boolean applyGradients(Integer key, int[] rows, double[] gradients, int length, INDArray input,
+                    INDArray neu1e) {
+        if (length == 0)
+            return false;
+
+        if (length < rows.length) {
+            rows = Arrays.copyOf(rows, length);
+            gradients = Arrays.copyOf(gradients, length);
+        }
+
+        INDArray g = Nd4j.create(gradients, new int[] {1, length});
+
+        // gradients are computed against rows state at the moment of gathering
+        INDArray gathered = storage.getRows(key, rows);
+        neu1e.addi(g.mmul(gathered));
+
+        storage.axpyRows(key, rows, 1.0, g.transpose().mmul(input));
+
+        return true;
+    }
+
     @Override
     public void addCompletionHook(long originatorId, long frameId, long messageId) {
         completionHandler.addHook(originatorId, frameId, messageId);
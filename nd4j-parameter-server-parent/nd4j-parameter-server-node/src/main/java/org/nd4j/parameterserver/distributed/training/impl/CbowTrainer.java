@@ -126,14 +126,10 @@ public class CbowTrainer extends BaseTrainer<CbowRequestMessage> {
         INDArray expTable = storage.getArray(WordVectorStorage.EXP_TABLE);
         INDArray dots = chain.getDotAggregation().getAccumulatedResult();
 
-        INDArray syn0 = storage.getArray(WordVectorStorage.SYN_0);
-        INDArray syn1 = storage.getArray(WordVectorStorage.SYN_1);
-        INDArray syn1Neg = storage.getArray(WordVectorStorage.SYN_1_NEGATIVE);
-
-        INDArray words = Nd4j.pullRows(storage.getArray(WordVectorStorage.SYN_0), 1, cbr.getSyn0rows(), 'c');
+        INDArray words = storage.getRows(WordVectorStorage.SYN_0, cbr.getSyn0rows());
         INDArray neue = words.mean(0);
 
-        INDArray neu1e = Nd4j.create(syn0.columns());
+        INDArray neu1e = Nd4j.create(words.columns());
 
         int e = 0;
 
@@ -141,6 +137,9 @@ public class CbowTrainer extends BaseTrainer<CbowRequestMessage> {
 
         // probably applying HS part
         if (cbr.getCodes().length > 0) {
+            int[] rows = new int[cbr.getCodes().length];
+            double[] gradients = new double[rows.length];
+            int length = 0;
             for (; e < cbr.getCodes().length; e++) {
                 float dot = dots.getFloat(e);
 
@@ -158,13 +157,17 @@ public class CbowTrainer extends BaseTrainer<CbowRequestMessage> {
                 double f = expTable.getFloat(idx);
                 double g = (1 - code - f) * alpha;
 
-                updated = true;
-                Nd4j.getBlasWrapper().axpy(new Double(g), syn1.getRow(cbr.getSyn1rows()[e]), neu1e);
-                Nd4j.getBlasWrapper().axpy(new Double(g), neue, syn1.getRow(cbr.getSyn1rows()[e]));
+                rows[length] = cbr.getSyn1rows()[e];
+                gradients[length++] = g;
             }
+
+            updated |= applyGradients(WordVectorStorage.SYN_1, rows, gradients, length, neue, neu1e);
         }
 
         if (cbr.getNegSamples() > 0) {
+            int[] rows = new int[cbr.getNegSamples() + 1];
+            double[] gradients = new double[rows.length];
+            int length = 0;
             int cnt = 0;
             for (; e < cbr.getNegSamples() + 1; e++, cnt++) {
                 float dot = dots.getFloat(e);
@@ -184,16 +187,15 @@ public class CbowTrainer extends BaseTrainer<CbowRequestMessage> {
                     g = (code - expTable.getDouble(idx)) * alpha;
                 }
 
-                updated = true;
-                Nd4j.getBlasWrapper().axpy(new Double(g), syn1Neg.getRow(cbr.getNegatives()[cnt]), neu1e);
-                Nd4j.getBlasWrapper().axpy(new Double(g), neue, syn1Neg.getRow(cbr.getNegatives()[cnt]));
+                rows[length] = cbr.getNegatives()[cnt];
+                gradients[length++] = g;
             }
+
+            updated |= applyGradients(WordVectorStorage.SYN_1_NEGATIVE, rows, gradients, length, neue, neu1e);
         }
 
         if (updated)
-            for (int i = 0; i < cbr.getSyn0rows().length; i++) {
-                Nd4j.getBlasWrapper().axpy(new Double(1.0), neu1e, syn0.getRow(cbr.getSyn0rows()[i]));
-            }
+            storage.axpyRows(WordVectorStorage.SYN_0, cbr.getSyn0rows(), 1.0, neu1e);
 
         // we send back confirmation message only from Shard which received this message
         RequestDescriptor descriptor = RequestDescriptor.createDescriptor(chain.getOriginatorId(), chain.getFrameId());
@@ -171,11 +171,10 @@ public class SkipGramTrainer extends BaseTrainer<SkipGramRequestMessage> {
         INDArray expTable = storage.getArray(WordVectorStorage.EXP_TABLE);
         INDArray dots = chain.getDotAggregation().getAccumulatedResult();
 
-        INDArray syn0 = storage.getArray(WordVectorStorage.SYN_0);
-        INDArray syn1 = storage.getArray(WordVectorStorage.SYN_1);
-        INDArray syn1Neg = storage.getArray(WordVectorStorage.SYN_1_NEGATIVE);
+        // all gradients are computed against the same snapshot of the input row
+        INDArray syn0row = storage.getRow(WordVectorStorage.SYN_0, sgrm.getW2());
 
-        INDArray neu1e = Nd4j.create(syn0.columns());
+        INDArray neu1e = Nd4j.create(syn0row.columns());
 
         int e = 0;
 
@@ -183,6 +182,9 @@ public class SkipGramTrainer extends BaseTrainer<SkipGramRequestMessage> {
 
         // apply optional SkipGram HS gradients
         if (sgrm.getCodes().length > 0) {
+            int[] rows = new int[sgrm.getCodes().length];
+            double[] gradients = new double[rows.length];
+            int length = 0;
             for (; e < sgrm.getCodes().length; e++) {
                 float dot = dots.getFloat(e);
 
@@ -200,15 +202,19 @@ public class SkipGramTrainer extends BaseTrainer<SkipGramRequestMessage> {
                 double f = expTable.getFloat(idx);
                 double g = (1 - code - f) * alpha;
 
-                updated = true;
-                Nd4j.getBlasWrapper().axpy(new Double(g), syn1.getRow(sgrm.getPoints()[e]), neu1e);
-                Nd4j.getBlasWrapper().axpy(new Double(g), syn0.getRow(sgrm.getW2()), syn1.getRow(sgrm.getPoints()[e]));
+                rows[length] = sgrm.getPoints()[e];
+                gradients[length++] = g;
             }
+
+            updated |= applyGradients(WordVectorStorage.SYN_1, rows, gradients, length, syn0row, neu1e);
         }
 
         // apply optional NegSample gradients
         if (sgrm.getNegSamples() > 0) {
             // here we assume that we already
+            int[] rows = new int[sgrm.getNegSamples() + 1];
+            double[] gradients = new double[rows.length];
+            int length = 0;
             int cnt = 0;
             for (; e < sgrm.getNegSamples() + 1; e++, cnt++) {
                 float dot = dots.getFloat(e);
@@ -228,15 +234,15 @@ public class SkipGramTrainer extends BaseTrainer<SkipGramRequestMessage> {
                     g = (code - expTable.getDouble(idx)) * alpha;
                 }
 
-                updated = true;
-                Nd4j.getBlasWrapper().axpy(new Double(g), syn1Neg.getRow(sgrm.getNegatives()[cnt]), neu1e);
-                Nd4j.getBlasWrapper().axpy(new Double(g), syn0.getRow(sgrm.getW2()),
-                                syn1Neg.getRow(sgrm.getNegatives()[cnt]));
+                rows[length] = sgrm.getNegatives()[cnt];
+                gradients[length++] = g;
             }
+
+            updated |= applyGradients(WordVectorStorage.SYN_1_NEGATIVE, rows, gradients, length, syn0row, neu1e);
         }
 
         if (updated)
-            Nd4j.getBlasWrapper().axpy(new Double(1.0), neu1e, syn0.getRow(sgrm.getW2()));
+            storage.axpyRow(WordVectorStorage.SYN_0, sgrm.getW2(), 1.0, neu1e);
 
         // we send back confirmation message only from Shard which received this message
         RequestDescriptor descriptor = RequestDescriptor.createDescriptor(chain.getOriginatorId(), chain.getFrameId());
@@ -172,7 +172,7 @@ public class MulticastTransport extends BaseTransport {
         //log.info("Sending CC: {}", message.getClass().getCanonicalName());
 
         message.setTargetId((short) -1);
-        publicationForShards.offer(message.asUnsafeBuffer());
+        publicationForShards.offer(message.asTransientBuffer());
     }
 
     /**
@@ -192,6 +192,6 @@ public class MulticastTransport extends BaseTransport {
         //log.info("Sending FC: {}", message.getClass().getCanonicalName());
 
         message.setTargetId((short) -1);
-        publicationForClients.offer(message.asUnsafeBuffer());
+        publicationForClients.offer(message.asTransientBuffer());
     }
 }
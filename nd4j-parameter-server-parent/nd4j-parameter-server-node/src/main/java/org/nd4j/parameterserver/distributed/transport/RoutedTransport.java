@@ -185,7 +185,8 @@ public class RoutedTransport extends BaseTransport {
             }
         }
 
-        final DirectBuffer buffer = message.asUnsafeBuffer();
+        // shared buffer stays intact here, since this thread is blocked until all shards are served
+        final DirectBuffer buffer = message.asTransientBuffer();
 
         // TODO: check which approach is faster, lambda, direct roll through list, or queue approach
         shards.parallelStream().forEach((rc) -> {
@@ -276,10 +277,10 @@ public class RoutedTransport extends BaseTransport {
             throw new RuntimeException();
         }
 
+        DirectBuffer buffer = message.asTransientBuffer();
         while (!delivered) {
             synchronized (connection.locker) {
-                result = RetransmissionHandler
-                                .getTransmissionStatus(connection.getPublication().offer(message.asUnsafeBuffer()));
+                result = RetransmissionHandler.getTransmissionStatus(connection.getPublication().offer(buffer));
             }
 
             switch (result) {
@@ -363,10 +364,10 @@ public class RoutedTransport extends BaseTransport {
         boolean delivered = false;
         RemoteConnection connection = shards.get(targetShard);
 
+        DirectBuffer buffer = message.asTransientBuffer();
         while (!delivered) {
             synchronized (connection.locker) {
-                result = RetransmissionHandler
-                                .getTransmissionStatus(connection.getPublication().offer(message.asUnsafeBuffer()));
+                result = RetransmissionHandler.getTransmissionStatus(connection.getPublication().offer(buffer));
             }
 
             switch (result) {
@@ -417,10 +418,7 @@ public class RoutedTransport extends BaseTransport {
          *  All of them should implement MeaningfulMessage interface
          */
 
-        byte[] data = new byte[length];
-        buffer.getBytes(offset, data);
-
-        VoidMessage message = VoidMessage.fromBytes(data);
+        VoidMessage message = VoidMessage.fromBuffer(buffer, offset, length);
 
         //        log.info("sI_{} received message: {}", shardIndex, message.getClass().getSimpleName());
 
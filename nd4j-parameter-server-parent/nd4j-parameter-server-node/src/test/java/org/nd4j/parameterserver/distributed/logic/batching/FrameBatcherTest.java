@@ -0,0 +1,144 @@
+package org.nd4j.parameterserver.distributed.logic.batching;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Test;
+import org.nd4j.parameterserver.distributed.messages.Frame;
+import org.nd4j.parameterserver.distributed.messages.TrainingMessage;
+import org.nd4j.parameterserver.distributed.messages.requests.SkipGramRequestMessage;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author raver119@gmail.com
+ */
+@Slf4j
+public class FrameBatcherTest {
+
+    private static SkipGramRequestMessage message(int e) {
+        return new SkipGramRequestMessage(e, e + 1, new int[] {e, e + 1, e + 2}, new byte[] {0, 1, 0}, (short) 0,
+                        0.025, 119L + e);
+    }
+
+    @Test
+    public void testSizeFlush1() throws Exception {
+        List<Frame<TrainingMessage>> sent = new CopyOnWriteArrayList<>();
+        FrameBatcher batcher = new FrameBatcher(16, 0, 0, 4, 1, sent::add, Runnable::run);
+
+        for (int e = 0; e < 40; e++)
+            batcher.stackMessage(message(e));
+
+        assertEquals(2, sent.size());
+        assertEquals(16, sent.get(0).size());
+        assertEquals(1.0, batcher.getAverageFillRatio(), 1e-5);
+
+        batcher.flush();
+
+        assertEquals(3, sent.size());
+        assertEquals(8, sent.get(2).size());
+        assertEquals(3, batcher.getFlushedFrames());
+    }
+
+    @Test
+    public void testBytesFlush1() throws Exception {
+        List<Frame<TrainingMessage>> sent = new CopyOnWriteArrayList<>();
+        FrameBatcher batcher = new FrameBatcher(128, 500, 0, 4, 1, sent::add, Runnable::run);
+
+        for (int e = 0; e < 128; e++)
+            batcher.stackMessage(message(e));
+
+        assertTrue(sent.size() > 1);
+        assertTrue(sent.get(0).size() < 128);
+    }
+
+    @Test
+    public void testLingerFlush1() throws Exception {
+        List<Frame<TrainingMessage>> sent = new CopyOnWriteArrayList<>();
+        AtomicLong clock = new AtomicLong(0);
+        FrameBatcher batcher = new FrameBatcher(128, 0, 20, 4, 2, sent::add, Runnable::run, clock::get);
+
+        for (int e = 0; e < 10; e++)
+            batcher.stackMessage(message(e));
+
+        // timer keeps running, but frame isn't old enough yet
+        Thread.sleep(50);
+        assertEquals(0, sent.size());
+
+        clock.addAndGet(20);
+
+        long time = System.currentTimeMillis();
+        while (sent.isEmpty() && System.currentTimeMillis() - time < 5000)
+            Thread.sleep(10);
+
+        batcher.shutdown();
+
+        assertEquals(1, sent.size());
+        assertEquals(10, sent.get(0).size());
+        assertEquals(1, batcher.getLingerFlushes());
+    }
+
+    @Test
+    public void testShutdownFlush1() throws Exception {
+        List<Frame<TrainingMessage>> sent = new CopyOnWriteArrayList<>();
+        FrameBatcher batcher = new FrameBatcher(128, 0, 60000, 4, 2, sent::add, Runnable::run);
+
+        for (int e = 0; e < 10; e++)
+            batcher.stackMessage(message(e));
+
+        assertEquals(0, sent.size());
+
+        // nothing should be lost on shutdown
+        batcher.shutdown();
+
+        assertEquals(1, sent.size());
+        assertEquals(10, sent.get(0).size());
+        assertEquals(0, batcher.getLingerFlushes());
+    }
+
+    @Test
+    public void testConcurrentStacking1() throws Exception {
+        AtomicInteger messages = new AtomicInteger(0);
+        AtomicInteger inFlight = new AtomicInteger(0);
+        AtomicInteger maxInFlight = new AtomicInteger(0);
+
+        FrameBatcher batcher = new FrameBatcher(32, 0, 0, 2, 4, frame -> {
+            int current = inFlight.incrementAndGet();
+            maxInFlight.accumulateAndGet(current, Math::max);
+            try {
+                Thread.sleep(1);
+            } catch (InterruptedException e) {
+                // no-op
+            }
+            messages.addAndGet(frame.size());
+            inFlight.decrementAndGet();
+        }, Executors.newSingleThreadExecutor());
+
+        Thread[] threads = new Thread[8];
+        for (int t = 0; t < threads.length; t++) {
+            final int offset = t * 1000;
+            threads[t] = new Thread(() -> {
+                // messages must be unique, since equal SkipGram messages are joined within frame
+                for (int e = 0; e < 1000; e++)
+                    batcher.stackMessage(message(offset + e));
+            });
+            threads[t].start();
+        }
+
+        for (Thread thread : threads)
+            thread.join();
+
+        batcher.flush();
+
+        log.info("Frames: {}; fill ratio: {}; avg latency: {} ms", batcher.getFlushedFrames(),
+                        batcher.getAverageFillRatio(), batcher.getAverageFlushLatency());
+
+        assertEquals(8000, messages.get());
+        assertTrue(maxInFlight.get() <= 2);
+        assertEquals(0, batcher.getFramesInFlight());
+    }
+}
@@ -0,0 +1,151 @@
+package org.nd4j.parameterserver.distributed.logic.batching;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Test;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.factory.Nd4j;
+import org.nd4j.parameterserver.distributed.logic.storage.VectorCache;
+import org.nd4j.parameterserver.distributed.logic.storage.WordVectorStorage;
+import org.nd4j.parameterserver.distributed.messages.requests.VectorRequestMessage;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author raver119@gmail.com
+ */
+@Slf4j
+public class VectorRequestBatcherTest {
+    private static final INDArray syn0 = Nd4j.linspace(1, 100, 100).reshape(20, 5);
+
+    private static Function<VectorRequestMessage, INDArray> fetcher(List<VectorRequestMessage> sent) {
+        return message -> {
+            sent.add(message);
+            return Nd4j.pullRows(syn0, 1, message.getRowIndexes(), 'c');
+        };
+    }
+
+    @Test
+    public void testSizeFlush1() throws Exception {
+        List<VectorRequestMessage> sent = new CopyOnWriteArrayList<>();
+        VectorRequestBatcher batcher = new VectorRequestBatcher(4, 10000, fetcher(sent), Runnable::run);
+
+        CompletableFuture<INDArray> f1 = batcher.request(WordVectorStorage.SYN_0, 3);
+        CompletableFuture<INDArray> f2 = batcher.request(WordVectorStorage.SYN_0, 7);
+        CompletableFuture<INDArray> f3 = batcher.request(WordVectorStorage.SYN_0, 3);
+        CompletableFuture<INDArray> f4 = batcher.request(WordVectorStorage.SYN_0, new int[] {11, 7, 19});
+
+        batcher.shutdown();
+
+        // duplicate rows are requested once, so single request covers all callers
+        assertEquals(1, sent.size());
+        assertArrayEquals(new int[] {3, 7, 11, 19}, sent.get(0).getRowIndexes());
+
+        assertEquals(syn0.getRow(3), f1.get(1, TimeUnit.SECONDS));
+        assertEquals(syn0.getRow(7), f2.get(1, TimeUnit.SECONDS));
+        assertEquals(syn0.getRow(3), f3.get(1, TimeUnit.SECONDS));
+        assertEquals(Nd4j.pullRows(syn0, 1, new int[] {11, 7, 19}, 'c'), f4.get(1, TimeUnit.SECONDS));
+
+        assertEquals(6, batcher.getRequestedRows());
+        assertEquals(4.0, batcher.getAverageBatchSize(), 1e-5);
+    }
+
+    @Test
+    public void testLingerFlush1() throws Exception {
+        List<VectorRequestMessage> sent = new CopyOnWriteArrayList<>();
+        VectorRequestBatcher batcher = new VectorRequestBatcher(128, 20, fetcher(sent), Runnable::run);
+
+        CompletableFuture<INDArray> f1 = batcher.request(WordVectorStorage.SYN_0, 1);
+        CompletableFuture<INDArray> f2 = batcher.request(WordVectorStorage.SYN_1, 2);
+
+        assertFalse(f1.isDone());
+
+        assertEquals(syn0.getRow(1), f1.get(5, TimeUnit.SECONDS));
+        assertEquals(syn0.getRow(2), f2.get(5, TimeUnit.SECONDS));
+
+        batcher.shutdown();
+
+        // different arrays are never packed together
+        assertEquals(2, sent.size());
+    }
+
+    @Test
+    public void testFailure1() throws Exception {
+        VectorRequestBatcher batcher = new VectorRequestBatcher(1, 0, message -> {
+            throw new RuntimeException("Shard is down");
+        }, Runnable::run);
+
+        CompletableFuture<INDArray> future = batcher.request(WordVectorStorage.SYN_0, 1);
+
+        try {
+            future.get(1, TimeUnit.SECONDS);
+            fail("Exception expected");
+        } catch (ExecutionException e) {
+            assertEquals("Shard is down", e.getCause().getMessage());
+        }
+    }
+
+    @Test
+    public void testVectorCache1() throws Exception {
+        VectorCache cache = new VectorCache(2, 0);
+
+        long version = cache.getVersion();
+        cache.put(WordVectorStorage.SYN_0, 1, syn0.getRow(1), version);
+        cache.put(WordVectorStorage.SYN_0, 2, syn0.getRow(2), version);
+
+        assertEquals(syn0.getRow(1), cache.get(WordVectorStorage.SYN_0, 1));
+        assertNull(cache.get(WordVectorStorage.SYN_1, 1));
+
+        // row 2 is least recently used one now
+        cache.put(WordVectorStorage.SYN_0, 3, syn0.getRow(3), version);
+        assertNull(cache.get(WordVectorStorage.SYN_0, 2));
+        assertEquals(2, cache.size());
+
+        cache.invalidate();
+        assertNull(cache.get(WordVectorStorage.SYN_0, 1));
+
+        // rows fetched before invalidation aren't stored
+        cache.put(WordVectorStorage.SYN_0, 1, syn0.getRow(1), version);
+        assertNull(cache.get(WordVectorStorage.SYN_0, 1));
+
+        assertEquals(1, cache.getHits());
+        assertEquals(4, cache.getMisses());
+    }
+
+    @Test
+    public void testVectorCache2() throws Exception {
+        VectorCache cache = new VectorCache(10, 0);
+
+        long version = cache.getVersion();
+        cache.put(WordVectorStorage.SYN_0, 1, syn0.getRow(1), version);
+        cache.put(WordVectorStorage.SYN_0, 2, syn0.getRow(2), version);
+        cache.put(WordVectorStorage.SYN_1, 1, syn0.getRow(3), version);
+
+        // only updated row goes away
+        cache.invalidate(WordVectorStorage.SYN_0, 1);
+        assertNull(cache.get(WordVectorStorage.SYN_0, 1));
+        assertEquals(syn0.getRow(2), cache.get(WordVectorStorage.SYN_0, 2));
+        assertEquals(syn0.getRow(3), cache.get(WordVectorStorage.SYN_1, 1));
+
+        // row fetch was in flight while row was invalidated
+        cache.put(WordVectorStorage.SYN_0, 1, syn0.getRow(1), version);
+        assertNull(cache.get(WordVectorStorage.SYN_0, 1));
+
+        // but fetches issued after invalidation are fine, as well as fetches of other rows
+        cache.put(WordVectorStorage.SYN_0, 1, syn0.getRow(1), cache.getVersion());
+        cache.put(WordVectorStorage.SYN_0, 4, syn0.getRow(4), version);
+        assertEquals(syn0.getRow(1), cache.get(WordVectorStorage.SYN_0, 1));
+        assertEquals(syn0.getRow(4), cache.get(WordVectorStorage.SYN_0, 4));
+
+        // key invalidation doesn't affect other keys
+        cache.invalidate(WordVectorStorage.SYN_1);
+        assertNull(cache.get(WordVectorStorage.SYN_1, 1));
+        assertEquals(syn0.getRow(2), cache.get(WordVectorStorage.SYN_0, 2));
+    }
+}
@@ -0,0 +1,96 @@
+package org.nd4j.parameterserver.distributed.logic.storage;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Test;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.factory.Nd4j;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author raver119@gmail.com
+ */
+@Slf4j
+public class WordVectorStorageTest {
+
+    @Test
+    public void testGetRows1() throws Exception {
+        WordVectorStorage storage = new WordVectorStorage();
+        INDArray syn0 = Nd4j.linspace(1, 50, 50).reshape(10, 5);
+        storage.setArray(WordVectorStorage.SYN_0, syn0);
+
+        INDArray rows = storage.getRows(WordVectorStorage.SYN_0, new int[] {7, 1, 7});
+
+        assertArrayEquals(new int[] {3, 5}, rows.shape());
+        assertEquals(syn0.getRow(7), rows.getRow(0));
+        assertEquals(syn0.getRow(1), rows.getRow(1));
+        assertEquals(syn0.getRow(7), rows.getRow(2));
+
+        // gathered rows are detached
+        rows.assign(0.0);
+        assertEquals(36.0, syn0.getDouble(7, 0), 1e-5);
+    }
+
+    @Test
+    public void testAxpyRows1() throws Exception {
+        WordVectorStorage storage = new WordVectorStorage();
+        storage.setArray(WordVectorStorage.SYN_1, Nd4j.zeros(10, 5));
+
+        INDArray updates = Nd4j.create(new double[][] {{1, 1, 1, 1, 1}, {2, 2, 2, 2, 2}});
+        storage.axpyRows(WordVectorStorage.SYN_1, new int[] {3, 3}, 0.5, updates);
+
+        assertEquals(Nd4j.valueArrayOf(new int[] {1, 5}, 1.5), storage.getRow(WordVectorStorage.SYN_1, 3));
+        assertEquals(0.0, storage.getArray(WordVectorStorage.SYN_1).getRow(2).sumNumber().doubleValue(), 1e-5);
+
+        // row vector is applied to all rows
+        storage.axpyRows(WordVectorStorage.SYN_1, new int[] {0, 9}, 1.0, Nd4j.ones(5));
+        assertEquals(5.0, storage.getArray(WordVectorStorage.SYN_1).getRow(0).sumNumber().doubleValue(), 1e-5);
+        assertEquals(5.0, storage.getArray(WordVectorStorage.SYN_1).getRow(9).sumNumber().doubleValue(), 1e-5);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testAxpyRows2() throws Exception {
+        WordVectorStorage storage = new WordVectorStorage();
+        storage.setArray(WordVectorStorage.SYN_1, Nd4j.zeros(10, 5));
+
+        storage.axpyRows(WordVectorStorage.SYN_1, new int[] {1, 2, 3}, 1.0, Nd4j.ones(2, 5));
+    }
+
+    @Test(timeout = 60000L)
+    public void testConcurrentAxpyRows1() throws Exception {
+        final WordVectorStorage storage = new WordVectorStorage();
+        storage.setArray(WordVectorStorage.SYN_0, Nd4j.zeros(20, 10));
+
+        final int numThreads = Runtime.getRuntime().availableProcessors() * 2;
+        final int iterations = 500;
+        final int[] rows = new int[] {0, 3, 7, 7, 19};
+
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < numThreads; t++) {
+            Thread thread = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    INDArray update = Nd4j.ones(10);
+                    for (int i = 0; i < iterations; i++)
+                        storage.axpyRows(WordVectorStorage.SYN_0, rows, 1.0, update);
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+
+        for (Thread thread : threads)
+            thread.join();
+
+        INDArray syn0 = storage.getArray(WordVectorStorage.SYN_0);
+        double expected = numThreads * iterations;
+        assertEquals(expected, syn0.getDouble(0, 5), 1e-5);
+        assertEquals(expected, syn0.getDouble(3, 0), 1e-5);
+        assertEquals(expected * 2, syn0.getDouble(7, 9), 1e-5);
+        assertEquals(expected, syn0.getDouble(19, 4), 1e-5);
+        assertEquals(0.0, syn0.getRow(1).sumNumber().doubleValue(), 1e-5);
+    }
+}
@@ -0,0 +1,220 @@
+package org.nd4j.parameterserver.distributed.messages.codecs;
+
+import lombok.extern.slf4j.Slf4j;
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.apache.commons.lang3.SerializationUtils;
+import org.junit.Test;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.factory.Nd4j;
+import org.nd4j.parameterserver.distributed.messages.Frame;
+import org.nd4j.parameterserver.distributed.messages.VoidMessage;
+import org.nd4j.parameterserver.distributed.messages.aggregations.DotAggregation;
+import org.nd4j.parameterserver.distributed.messages.aggregations.VectorAggregation;
+import org.nd4j.parameterserver.distributed.messages.complete.VectorCompleteMessage;
+import org.nd4j.parameterserver.distributed.messages.intercom.DistributedShutdownMessage;
+import org.nd4j.parameterserver.distributed.messages.intercom.DistributedVectorMessage;
+import org.nd4j.parameterserver.distributed.messages.requests.CbowRequestMessage;
+import org.nd4j.parameterserver.distributed.messages.requests.SkipGramRequestMessage;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author raver119@gmail.com
+ */
+@Slf4j
+public class VoidMessageCodecsTest {
+
+    @Test
+    public void testSkipGramRoundTrip1() throws Exception {
+        SkipGramRequestMessage message = new SkipGramRequestMessage(10, 12, new int[] {10, 20, 30, 40},
+                        new byte[] {(byte) 0, (byte) 0, (byte) 1, (byte) 0}, (short) 3, 0.025, 117L);
+        message.setOriginatorId(19L);
+        message.setTaskId(119L);
+
+        assertTrue(VoidMessageCodecs.canEncode(message));
+
+        byte[] bytes = message.asBytes();
+        assertTrue(VoidMessageCodecs.isEncoded(bytes));
+        assertEquals(VoidMessageCodecs.getEncodedLength(message), bytes.length);
+
+        SkipGramRequestMessage restored = VoidMessage.fromBytes(bytes);
+
+        assertEquals(message, restored);
+        assertEquals(message.getOriginatorId(), restored.getOriginatorId());
+        assertEquals(message.getTaskId(), restored.getTaskId());
+        assertEquals(message.getMessageType(), restored.getMessageType());
+        assertArrayEquals(message.getPoints(), restored.getPoints());
+        assertArrayEquals(message.getCodes(), restored.getCodes());
+        assertArrayEquals(message.getNegatives(), restored.getNegatives());
+    }
+
+    @Test
+    public void testCbowRoundTrip1() throws Exception {
+        CbowRequestMessage message = new CbowRequestMessage(new int[] {1, 2, 3}, new int[] {4, 5}, 7,
+                        new byte[] {1, 0}, 5, 0.01, 119L);
+        message.setOriginatorId(17L);
+
+        UnsafeBuffer buffer = message.asUnsafeBuffer();
+        CbowRequestMessage restored = VoidMessage.fromBuffer(buffer, 0, buffer.capacity());
+
+        assertEquals(message, restored);
+        assertEquals(-1, restored.getMessageType());
+        assertEquals(17L, restored.getOriginatorId());
+        assertArrayEquals(message.getSyn0rows(), restored.getSyn0rows());
+        assertArrayEquals(message.getSyn1rows(), restored.getSyn1rows());
+    }
+
+    @Test
+    public void testFrameRoundTrip1() throws Exception {
+        Frame<SkipGramRequestMessage> frame = new Frame<>(117L);
+        for (int e = 0; e < 128; e++)
+            frame.stackMessage(new SkipGramRequestMessage(e, e + 1, new int[] {e, e + 2, e + 3}, new byte[] {0, 1, 0},
+                            (short) 0, 0.025, 119L + e));
+
+        frame.setOriginatorId(23L);
+
+        byte[] bytes = frame.asBytes();
+        assertTrue(VoidMessageCodecs.isEncoded(bytes));
+
+        Frame<SkipGramRequestMessage> restored = VoidMessage.fromBytes(bytes);
+
+        assertEquals(frame.size(), restored.size());
+        assertEquals(frame.getTaskId(), restored.getTaskId());
+        assertEquals(frame.getOriginatorId(), restored.getOriginatorId());
+
+        Iterator<SkipGramRequestMessage> iterator = restored.iterator();
+        for (SkipGramRequestMessage message : frame) {
+            SkipGramRequestMessage other = iterator.next();
+            assertEquals(message, other);
+            assertEquals(message.getFrameId(), other.getFrameId());
+            assertEquals(23L, other.getOriginatorId());
+        }
+    }
+
+    @Test
+    public void testPayloadRoundTrip1() throws Exception {
+        INDArray array = Nd4j.linspace(1, 100, 100);
+
+        VectorAggregation aggregation = new VectorAggregation(119L, (short) 2, (short) 1, array);
+        VectorAggregation restoredAggregation = VoidMessage.fromBytes(aggregation.asBytes());
+
+        assertEquals(aggregation.getShardIndex(), restoredAggregation.getShardIndex());
+        assertEquals(aggregation.getAggregationWidth(), restoredAggregation.getAggregationWidth());
+        assertEquals(array, restoredAggregation.getPayload());
+        assertEquals(1, restoredAggregation.getChunks().size());
+
+        VectorCompleteMessage complete = new VectorCompleteMessage(119L, array.getRow(0));
+        VectorCompleteMessage restoredComplete = VoidMessage.fromBytes(complete.asBytes());
+
+        assertEquals(119L, restoredComplete.getTaskId());
+        assertEquals(array.getRow(0), restoredComplete.getPayload());
+    }
+
+    @Test
+    public void testDistributedVectorRoundTrip1() throws Exception {
+        DistributedVectorMessage message = new DistributedVectorMessage(3, 17);
+
+        DistributedVectorMessage restored = VoidMessage.fromBytes(message.asBytes());
+
+        assertEquals(20, restored.getMessageType());
+        assertEquals(message.getKey(), restored.getKey());
+        assertEquals(message.getRowIndex(), restored.getRowIndex());
+    }
+
+    @Test
+    public void testTransientBuffer1() throws Exception {
+        CbowRequestMessage cbow = new CbowRequestMessage(new int[] {1, 2, 3}, new int[] {4, 5}, 7,
+                        new byte[] {1, 0}, 5, 0.01, 119L);
+        SkipGramRequestMessage skipGram = new SkipGramRequestMessage(10, 12, new int[] {10, 20, 30, 40},
+                        new byte[] {0, 0, 1, 0}, (short) 3, 0.025, 117L);
+
+        DirectBuffer first = cbow.asTransientBuffer();
+        assertEquals(VoidMessageCodecs.getEncodedLength(cbow), first.capacity());
+        assertEquals(cbow, VoidMessage.fromBuffer(first, 0, first.capacity()));
+
+        // the same scratch buffer is reused for next message
+        DirectBuffer second = skipGram.asTransientBuffer();
+        assertEquals(VoidMessageCodecs.getEncodedLength(skipGram), second.capacity());
+        assertEquals(skipGram, VoidMessage.fromBuffer(second, 0, second.capacity()));
+        assertEquals(first.addressOffset(), second.addressOffset());
+    }
+
+    /**
+     * Subtypes are explicit part of wire format, and don't depend on registration order
+     */
+    @Test
+    public void testSubtypes1() throws Exception {
+        INDArray array = Nd4j.create(1);
+
+        UnsafeBuffer vector = new UnsafeBuffer(new VectorAggregation(119L, (short) 2, (short) 1, array).asBytes());
+        UnsafeBuffer dot = new UnsafeBuffer(new DotAggregation(119L, (short) 2, (short) 1, array).asBytes());
+
+        assertEquals(vector.getInt(4), dot.getInt(4));
+        assertEquals(0, vector.getByte(VoidMessageCodecs.HEADER_LENGTH - 1));
+        assertEquals(1, dot.getByte(VoidMessageCodecs.HEADER_LENGTH - 1));
+
+        assertTrue(VoidMessage.fromBytes(dot.byteArray()) instanceof DotAggregation);
+    }
+
+    /**
+     * Messages without codec should still be transferred using Java serialization
+     */
+    @Test
+    public void testSerializationFallback1() throws Exception {
+        DistributedShutdownMessage message = new DistributedShutdownMessage();
+        message.setTaskId(119L);
+
+        assertFalse(VoidMessageCodecs.canEncode(message));
+
+        byte[] bytes = message.asBytes();
+        assertFalse(VoidMessageCodecs.isEncoded(bytes));
+
+        UnsafeBuffer buffer = new UnsafeBuffer(new byte[bytes.length + 16]);
+        buffer.putBytes(8, bytes);
+
+        DistributedShutdownMessage restored = VoidMessage.fromBuffer(buffer, 8, bytes.length);
+        assertEquals(119L, restored.getTaskId());
+    }
+
+    @Test
+    public void testThroughput1() throws Exception {
+        List<SkipGramRequestMessage> messages = new ArrayList<>();
+        for (int e = 0; e < 1000; e++)
+            messages.add(new SkipGramRequestMessage(e, e + 1, new int[] {e, e + 2, e + 3, e + 4, e + 5},
+                            new byte[] {0, 1, 0, 1, 1}, (short) 0, 0.025, 119L + e));
+
+        // warmup
+        for (SkipGramRequestMessage message : messages) {
+            VoidMessage.fromBytes(message.asBytes());
+            VoidMessage.fromBytes(SerializationUtils.serialize(message));
+        }
+
+        long codecBytes = 0;
+        long time1 = System.nanoTime();
+        for (SkipGramRequestMessage message : messages) {
+            byte[] bytes = message.asBytes();
+            codecBytes += bytes.length;
+            VoidMessage.fromBytes(bytes);
+        }
+        long time2 = System.nanoTime();
+
+        long javaBytes = 0;
+        long time3 = System.nanoTime();
+        for (SkipGramRequestMessage message : messages) {
+            byte[] bytes = SerializationUtils.serialize(message);
+            javaBytes += bytes.length;
+            VoidMessage.fromBytes(bytes);
+        }
+        long time4 = System.nanoTime();
+
+        log.info("Codec: {} us, {} bytes; Java serialization: {} us, {} bytes", (time2 - time1) / 1000, codecBytes,
+                        (time4 - time3) / 1000, javaBytes);
+
+        assertTrue(codecBytes < javaBytes);
+    }
+}
@@ -0,0 +1,103 @@
+package org.nd4j.parameterserver.distributed.messages.requests;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Test;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.factory.Nd4j;
+import org.nd4j.parameterserver.distributed.conf.VoidConfiguration;
+import org.nd4j.parameterserver.distributed.logic.completion.Clipboard;
+import org.nd4j.parameterserver.distributed.logic.storage.WordVectorStorage;
+import org.nd4j.parameterserver.distributed.messages.BaseVoidMessage;
+import org.nd4j.parameterserver.distributed.messages.VoidMessage;
+import org.nd4j.parameterserver.distributed.messages.aggregations.VectorAggregation;
+import org.nd4j.parameterserver.distributed.messages.complete.VectorCompleteMessage;
+import org.nd4j.parameterserver.distributed.messages.intercom.DistributedVectorMessage;
+import org.nd4j.parameterserver.distributed.transport.Transport;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author raver119@gmail.com
+ */
+@Slf4j
+public class VectorRequestMessageTest {
+
+    /**
+     * Transport stub, that just records everything sent through it
+     */
+    private static Transport recorder(final List<VoidMessage> sent) {
+        return (Transport) Proxy.newProxyInstance(Transport.class.getClassLoader(), new Class[] {Transport.class},
+                        (proxy, method, args) -> {
+                            if (method.getName().startsWith("sendMessage"))
+                                sent.add((VoidMessage) args[0]);
+                            return null;
+                        });
+    }
+
+    private static void attach(BaseVoidMessage message, VoidConfiguration configuration, Clipboard clipboard,
+                    Transport transport, WordVectorStorage storage, short shardIndex) {
+        message.setVoidConfiguration(configuration);
+        message.setClipboard(clipboard);
+        message.setTransport(transport);
+        message.setStorage(storage);
+
+        // aggregations keep shardIndex of their origin
+        if (!(message instanceof VectorAggregation))
+            message.setShardIndex(shardIndex);
+    }
+
+    /**
+     * Single-row request over 2 shards: slice from the second shard has to join aggregation pinned by the first one
+     */
+    @Test
+    public void testSingleRowTwoShards1() throws Exception {
+        VoidConfiguration configuration = VoidConfiguration.builder().numberOfShards(2).build();
+
+        WordVectorStorage storage0 = new WordVectorStorage();
+        storage0.setArray(WordVectorStorage.SYN_0, Nd4j.linspace(1, 30, 30).reshape(10, 3));
+
+        WordVectorStorage storage1 = new WordVectorStorage();
+        storage1.setArray(WordVectorStorage.SYN_0, Nd4j.linspace(101, 130, 30).reshape(10, 3));
+
+        List<VoidMessage> sent0 = new CopyOnWriteArrayList<>();
+        List<VoidMessage> sent1 = new CopyOnWriteArrayList<>();
+        Transport transport0 = recorder(sent0);
+        Transport transport1 = recorder(sent1);
+        Clipboard clipboard0 = new Clipboard();
+
+        VectorRequestMessage request = new VectorRequestMessage(WordVectorStorage.SYN_0, 7);
+        request.setOriginatorId(19L);
+        attach(request, configuration, clipboard0, transport0, storage0, (short) 0);
+        request.processMessage();
+
+        assertTrue(clipboard0.isTracking(19L, request.getTaskId()));
+        assertEquals(1, sent0.size());
+        DistributedVectorMessage dvm = (DistributedVectorMessage) sent0.remove(0);
+
+        // second shard serves its slice
+        attach(dvm, configuration, new Clipboard(), transport1, storage1, (short) 1);
+        dvm.processMessage();
+
+        assertEquals(1, sent1.size());
+        VectorAggregation slice = (VectorAggregation) sent1.get(0);
+        assertEquals(request.getTaskId(), slice.getTaskId());
+
+        // and it's delivered back to the first shard
+        attach(slice, configuration, clipboard0, transport0, storage0, (short) 0);
+        slice.processMessage();
+
+        assertEquals(1, sent0.size());
+        VectorCompleteMessage complete = (VectorCompleteMessage) sent0.get(0);
+        assertEquals(request.getTaskId(), complete.getTaskId());
+        assertEquals(19L, complete.getOriginatorId());
+
+        INDArray exp = Nd4j.hstack(storage0.getRow(WordVectorStorage.SYN_0, 7),
+                        storage1.getRow(WordVectorStorage.SYN_0, 7));
+        assertEquals(exp, complete.getPayload());
+        assertFalse(clipboard0.isTracking(19L, request.getTaskId()));
+    }
+}
@@ -1,16 +1,49 @@
 package org.nd4j.parameterserver.updater.storage;
 
 import org.agrona.concurrent.UnsafeBuffer;
+import org.nd4j.aeron.ipc.AeronNDArraySerde;
 import org.nd4j.aeron.ipc.NDArrayMessage;
 import org.nd4j.linalg.api.ndarray.INDArray;
 import org.rocksdb.Options;
+import org.rocksdb.ReadOptions;
 import org.rocksdb.RocksDB;
 import org.rocksdb.RocksDBException;
 import org.rocksdb.RocksIterator;
+import org.rocksdb.WriteBatch;
+import org.rocksdb.WriteOptions;
 
 import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
 
 /**
+ * Update storage backed by rocksdb.
+ *
+ * Updates are grouped in to {@link WriteBatch}es
+ * of batchSize updates before being written,
+ * with a configurable sync/WAL policy:
+ * sync makes every batch durable before returning,
+ * disabling the WAL trades durability for write speed.
+ * Pending updates are written on {@link #flush()},
+ * on reads and on {@link #close()}.
+ *
+ * Each update is stored under a key made of
+ * {@link #KEY_PREFIX} followed by its big endian index,
+ * so updates are sorted by index on disk and ranges
+ * of updates can be read back with a single prefix scan,
+ * see {@link #forEachUpdate(int, int, Consumer)}.
+ * Values use the same binary layout as aeron messages
+ * ({@link NDArrayMessage#toBuffer(NDArrayMessage, org.agrona.MutableDirectBuffer, int)}),
+ * written straight in to the value array.
+ *
+ * The key layout version is stored under {@link #FORMAT_KEY}.
+ * Databases written with the legacy layout (plain 4 byte
+ * big endian index keys) are migrated in place when opened,
+ * databases with an unknown layout or a newer format
+ * are rejected instead of being misread.
+ *
  * Created by agibsonccc on 12/2/16.
  */
 public class RocksDbStorage extends BaseUpdateStorage implements AutoCloseable {
@@ -19,55 +52,106 @@ public class RocksDbStorage extends BaseUpdateStorage implements AutoCloseable {
         RocksDB.loadLibrary();
     }
 
+    public final static int DEFAULT_BATCH_SIZE = 64;
+    public final static byte KEY_PREFIX = 'u';
+    public final static int FORMAT_VERSION = 2;
+    //sorts before all update keys
+    public final static byte[] FORMAT_KEY = "format".getBytes(StandardCharsets.US_ASCII);
+    private final static int KEY_LENGTH = 5;
+    private final static int LEGACY_KEY_LENGTH = 4;
 
-    private RocksDB db;
+    private final Options options;
+    private final WriteOptions writeOptions;
+    private final RocksDB db;
+    private final int batchSize;
+    private WriteBatch batch;
+    private int pending = 0;
     private int size = 0;
 
     public RocksDbStorage(String dbPath) {
-        // that determines the behavior of a database.
-        Options options = new Options().setCreateIfMissing(true);
+        this(dbPath, DEFAULT_BATCH_SIZE, false, false);
+    }
+
+    /**
+     * @param dbPath the path of the database
+     * @param batchSize the number of updates to group in to a single write
+     * @param sync whether to sync every write to disk before returning
+     * @param disableWal whether to skip the write ahead log
+     */
+    public RocksDbStorage(String dbPath, int batchSize, boolean sync, boolean disableWal) {
+        this.batchSize = Math.max(1, batchSize);
+        this.options = new Options().setCreateIfMissing(true);
+        this.writeOptions = new WriteOptions().setSync(sync).setDisableWAL(disableWal);
+        this.batch = new WriteBatch();
         try {
             // a factory method that returns a RocksDB instance
             db = RocksDB.open(options, dbPath);
-            // do something
         } catch (RocksDBException e) {
-            // do some error handling
+            options.close();
+            writeOptions.close();
+            batch.close();
+            throw new IllegalStateException("Unable to open rocksdb storage at " + dbPath, e);
+        }
+
+        try {
+            checkFormat(dbPath);
+        } catch (RocksDBException | RuntimeException e) {
+            close();
+            if (e instanceof IllegalStateException)
+                throw (IllegalStateException) e;
+            throw new IllegalStateException("Unable to open rocksdb storage at " + dbPath, e);
+        }
 
+        //pick up where an existing database left off
+        try (RocksIterator iterator = db.newIterator()) {
+            iterator.seekToLast();
+            if (iterator.isValid() && isUpdateKey(iterator.key()))
+                size = indexOf(iterator.key()) + 1;
         }
     }
 
     /**
-     * Add an ndarray to the storage
+     * Add an ndarray to the storage.
+     * The update is written once the
+     * current batch is full
      *
      * @param array the array to add
      */
     @Override
-    public void addUpdate(NDArrayMessage array) {
-        UnsafeBuffer directBuffer = (UnsafeBuffer) NDArrayMessage.toBuffer(array);
-        byte[] data = directBuffer.byteArray();
-        if (data == null) {
-            data = new byte[directBuffer.capacity()];
-            directBuffer.getBytes(0, data, 0, data.length);
-        }
-        byte[] key = ByteBuffer.allocate(4).putInt(size).array();
+    public synchronized void addUpdate(NDArrayMessage array) {
+        batch.put(key(size), encode(array));
+        size++;
+        pending++;
+        if (pending >= batchSize)
+            flush();
+    }
+
+    /**
+     * Write all pending updates to the database
+     */
+    public synchronized void flush() {
+        if (pending == 0)
+            return;
+
         try {
-            db.put(key, data);
+            db.write(writeOptions, batch);
         } catch (RocksDBException e) {
             throw new RuntimeException(e);
         }
 
-        size++;
-
+        batch.clear();
+        pending = 0;
     }
 
     /**
      * The number of updates added
-     * to the update storage
+     * to the update storage,
+     * including pending ones
      *
      * @return
      */
     @Override
-    public int numUpdates() {
+    public synchronized int numUpdates() {
         return size;
     }
 
@@ -75,15 +159,20 @@ public class RocksDbStorage extends BaseUpdateStorage implements AutoCloseable {
      * Clear the array storage
      */
     @Override
-    public void clear() {
-        RocksIterator iterator = db.newIterator();
-        while (iterator.isValid())
-            try {
-                db.remove(iterator.key());
-            } catch (RocksDBException e) {
-                throw new RuntimeException(e);
-            }
-        iterator.close();
+    public synchronized void clear() {
+        batch.clear();
+        pending = 0;
+
+        try (RocksIterator iterator = db.newIterator(); WriteBatch removals = new WriteBatch()) {
+            for (iterator.seek(new byte[] {KEY_PREFIX}); iterator.isValid() && isUpdateKey(iterator.key());
+                            iterator.next())
+                removals.remove(iterator.key());
+
+            db.write(writeOptions, removals);
+        } catch (RocksDBException e) {
+            throw new RuntimeException(e);
+        }
+
         size = 0;
     }
 
@@ -95,21 +184,148 @@ public class RocksDbStorage extends BaseUpdateStorage implements AutoCloseable {
      * @return the ndarray at the specified index
      */
     @Override
-    public NDArrayMessage doGetUpdate(int index) {
-        byte[] key = ByteBuffer.allocate(4).putInt(index).array();
+    public synchronized NDArrayMessage doGetUpdate(int index) {
+        flush();
         try {
-            UnsafeBuffer unsafeBuffer = new UnsafeBuffer(db.get(key));
-            return NDArrayMessage.fromBuffer(unsafeBuffer, 0);
+            byte[] value = db.get(key(index));
+            if (value == null)
+                throw new IllegalStateException("No update found for index " + index);
+            return NDArrayMessage.fromBuffer(new UnsafeBuffer(value), 0);
         } catch (RocksDBException e) {
             throw new RuntimeException(e);
         }
     }
 
     /**
-     * Close the database
+     * Get the updates in the given range
+     * @param from the first index, inclusive
+     * @param to the last index, exclusive
+     * @return the updates in the given range
+     */
+    public List<NDArrayMessage> getUpdates(int from, int to) {
+        List<NDArrayMessage> ret = new ArrayList<>(Math.max(0, to - from));
+        forEachUpdate(from, to, ret::add);
+        return ret;
+    }
+
+    /**
+     * Pass the updates in the given range
+     * to the consumer in index order.
+     * This is a single sequential scan over the keys,
+     * which doesn't pollute the block cache,
+     * meant for replays and for catching up slow workers
+     * @param from the first index, inclusive
+     * @param to the last index, exclusive
+     * @param consumer the consumer for the updates
+     */
+    public void forEachUpdate(int from, int to, Consumer<NDArrayMessage> consumer) {
+        synchronized (this) {
+            flush();
+        }
+
+        try (ReadOptions readOptions = new ReadOptions().setFillCache(false);
+                        RocksIterator iterator = db.newIterator(readOptions)) {
+            for (iterator.seek(key(Math.max(0, from))); iterator.isValid() && isUpdateKey(iterator.key())
+                            && indexOf(iterator.key()) < to; iterator.next())
+                consumer.accept(NDArrayMessage.fromBuffer(new UnsafeBuffer(iterator.value()), 0));
+        }
+    }
+
+    /**
+     * Close the database,
+     * writing any pending updates first
      */
     @Override
-    public void close() {
+    public synchronized void close() {
+        flush();
+        batch.close();
         db.close();
+        writeOptions.close();
+        options.close();
+    }
+
+    /**
+     * Verify the key layout of the database,
+     * migrating legacy databases and marking
+     * new ones with the current format version
+     */
+    private void checkFormat(String dbPath) throws RocksDBException {
+        byte[] marker = db.get(FORMAT_KEY);
+        if (marker != null) {
+            int version = marker.length == 4 ? ByteBuffer.wrap(marker).getInt() : -1;
+            if (version != FORMAT_VERSION)
+                throw new IllegalStateException("Unable to open rocksdb storage at " + dbPath
+                                + ": unsupported storage format " + version + ", expected " + FORMAT_VERSION);
+            return;
+        }
+
+        //validate everything before touching anything, so unknown databases are left intact
+        boolean legacy = false;
+        try (RocksIterator iterator = db.newIterator()) {
+            for (iterator.seekToFirst(); iterator.isValid(); iterator.next()) {
+                byte[] key = iterator.key();
+                if (key.length == LEGACY_KEY_LENGTH)
+                    legacy = true;
+                else if (!isUpdateKey(key))
+                    throw new IllegalStateException("Unable to open rocksdb storage at " + dbPath
+                                    + ": found key of unknown layout, the database wasn't written by "
+                                    + getClass().getSimpleName());
+            }
+        }
+
+        if (legacy)
+            migrateLegacyKeys();
+
+        db.put(writeOptions, FORMAT_KEY, ByteBuffer.allocate(4).putInt(FORMAT_VERSION).array());
+    }
+
+    /**
+     * Move updates stored under legacy 4 byte keys to prefixed keys.
+     * Values are kept as is, the message layout didn't change.
+     * Every batch moves whole updates, so an interrupted
+     * migration is picked up again on the next open.
+     */
+    private void migrateLegacyKeys() throws RocksDBException {
+        try (RocksIterator iterator = db.newIterator(); WriteBatch moves = new WriteBatch()) {
+            int moved = 0;
+            for (iterator.seekToFirst(); iterator.isValid(); iterator.next()) {
+                byte[] key = iterator.key();
+                if (key.length != LEGACY_KEY_LENGTH)
+                    continue;
+
+                moves.put(key(ByteBuffer.wrap(key).getInt()), iterator.value());
+                moves.remove(key);
+                if (++moved % batchSize == 0) {
+                    db.write(writeOptions, moves);
+                    moves.clear();
+                }
+            }
+            db.write(writeOptions, moves);
+        }
+    }
+
+    private static byte[] encode(NDArrayMessage message) {
+        INDArray arr = message.getArr();
+        if (!AeronNDArraySerde.canWriteDirectly(arr))
+            message = NDArrayMessage.builder().arr(arr.dup(arr.ordering())).sent(message.getSent())
+                            .index(message.getIndex()).dimensions(message.getDimensions())
+                            .version(message.getVersion()).build();
+
+        byte[] value = new byte[NDArrayMessage.encodedLengthFor(message)];
+        NDArrayMessage.toBuffer(message, new UnsafeBuffer(value), 0);
+        return value;
+    }
+
+    private static byte[] key(int index) {
+        return new byte[] {KEY_PREFIX, (byte) (index >>> 24), (byte) (index >>> 16), (byte) (index >>> 8),
+                        (byte) index};
+    }
+
+    private static boolean isUpdateKey(byte[] key) {
+        return key.length == KEY_LENGTH && key[0] == KEY_PREFIX;
+    }
+
+    private static int indexOf(byte[] key) {
+        return ((key[1] & 0xFF) << 24) | ((key[2] & 0xFF) << 16) | ((key[3] & 0xFF) << 8) | (key[4] & 0xFF);
     }
 }
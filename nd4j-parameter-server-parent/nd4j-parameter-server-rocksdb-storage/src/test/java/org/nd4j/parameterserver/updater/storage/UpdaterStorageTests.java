@@ -1,15 +1,48 @@
 package org.nd4j.parameterserver.updater.storage;
 
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.After;
 import org.junit.Test;
 import org.nd4j.aeron.ipc.NDArrayMessage;
 import org.nd4j.linalg.factory.Nd4j;
+import org.rocksdb.Options;
+import org.rocksdb.RocksDB;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
 
 import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertNotNull;
+import static junit.framework.TestCase.fail;
 
 /**
  * Created by agibsonccc on 12/2/16.
  */
 public class UpdaterStorageTests {
+    private final List<File> dirs = new ArrayList<>();
+
+    @After
+    public void cleanUp() throws IOException {
+        for (File dir : dirs) {
+            try (Stream<Path> paths = Files.walk(dir.toPath())) {
+                paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+            }
+        }
+        dirs.clear();
+    }
+
+    private File tempDir() throws IOException {
+        File dir = Files.createTempDirectory("rocksdb").toFile();
+        dirs.add(dir);
+        return dir;
+    }
 
     @Test
     public void testInMemory() {
@@ -22,4 +55,80 @@ public class UpdaterStorageTests {
         assertEquals(0, updateStorage.numUpdates());
         updateStorage.close();
     }
+
+    @Test
+    public void testBatchedRangeReads() throws Exception {
+        File dir = tempDir();
+
+        RocksDbStorage updateStorage = new RocksDbStorage(dir.getAbsolutePath(), 8, false, false);
+        for (int i = 0; i < 20; i++)
+            updateStorage.addUpdate(NDArrayMessage.wholeArrayUpdate(Nd4j.valueArrayOf(3, i)));
+
+        assertEquals(20, updateStorage.numUpdates());
+        assertEquals(Nd4j.valueArrayOf(3, 19), updateStorage.getUpdate(19).getArr());
+
+        List<NDArrayMessage> range = updateStorage.getUpdates(5, 12);
+        assertEquals(7, range.size());
+        for (int i = 0; i < range.size(); i++)
+            assertEquals(Nd4j.valueArrayOf(3, i + 5), range.get(i).getArr());
+
+        //a view is stored as its own data only
+        updateStorage.addUpdate(NDArrayMessage.wholeArrayUpdate(Nd4j.linspace(1, 6, 6).reshape(2, 3).getRow(1)));
+        updateStorage.close();
+
+        //pending updates are written on close, and the size is restored on open
+        updateStorage = new RocksDbStorage(dir.getAbsolutePath());
+        assertEquals(21, updateStorage.numUpdates());
+        assertEquals(Nd4j.create(new double[] {4, 5, 6}), updateStorage.getUpdate(20).getArr());
+
+        updateStorage.clear();
+        assertEquals(0, updateStorage.numUpdates());
+        assertEquals(0, updateStorage.getUpdates(0, 21).size());
+        updateStorage.close();
+    }
+
+    @Test
+    public void testLegacyMigration() throws Exception {
+        File dir = tempDir();
+
+        //the legacy layout: 4 byte big endian index keys, same message layout
+        try (Options options = new Options().setCreateIfMissing(true);
+                        RocksDB db = RocksDB.open(options, dir.getAbsolutePath())) {
+            for (int i = 0; i < 10; i++) {
+                NDArrayMessage message = NDArrayMessage.wholeArrayUpdate(Nd4j.valueArrayOf(3, i));
+                byte[] value = new byte[NDArrayMessage.encodedLengthFor(message)];
+                NDArrayMessage.toBuffer(message, new UnsafeBuffer(value), 0);
+                db.put(ByteBuffer.allocate(4).putInt(i).array(), value);
+            }
+        }
+
+        RocksDbStorage updateStorage = new RocksDbStorage(dir.getAbsolutePath(), 3, false, false);
+        assertEquals(10, updateStorage.numUpdates());
+        List<NDArrayMessage> updates = updateStorage.getUpdates(0, 10);
+        assertEquals(10, updates.size());
+        for (int i = 0; i < updates.size(); i++)
+            assertEquals(Nd4j.valueArrayOf(3, i), updates.get(i).getArr());
+        updateStorage.close();
+
+        try (Options options = new Options(); RocksDB db = RocksDB.open(options, dir.getAbsolutePath())) {
+            assertNotNull(db.get(RocksDbStorage.FORMAT_KEY));
+            assertEquals(null, db.get(ByteBuffer.allocate(4).putInt(0).array()));
+        }
+    }
+
+    @Test
+    public void testUnknownLayout() throws Exception {
+        File dir = tempDir();
+        try (Options options = new Options().setCreateIfMissing(true);
+                        RocksDB db = RocksDB.open(options, dir.getAbsolutePath())) {
+            db.put(new byte[] {1, 2, 3}, new byte[] {4});
+        }
+
+        try {
+            new RocksDbStorage(dir.getAbsolutePath()).close();
+            fail("A database of unknown layout must not be opened");
+        } catch (IllegalStateException e) {
+            //expected
+        }
+    }
 }
@@ -28,9 +28,11 @@ import org.nd4j.parameterserver.model.MasterConnectionInfo;
 import org.nd4j.parameterserver.model.ServerState;
 import org.nd4j.parameterserver.model.SlaveConnectionInfo;
 import org.nd4j.parameterserver.model.SubscriberState;
+import org.nd4j.parameterserver.updater.BoundedStalenessParameterUpdater;
 import org.nd4j.parameterserver.updater.ParameterServerUpdater;
 import org.nd4j.parameterserver.updater.SoftSyncParameterUpdater;
 import org.nd4j.parameterserver.updater.SynchronousParameterUpdater;
+import org.nd4j.parameterserver.updater.TimeDelayedParameterUpdater;
 import org.nd4j.parameterserver.updater.storage.InMemoryUpdateStorage;
 import org.nd4j.parameterserver.util.CheckSocket;
 import org.nd4j.shade.jackson.databind.ObjectMapper;
@@ -102,6 +104,13 @@ public class ParameterServerSubscriber implements AutoCloseable {
     @Parameter(names = {"-u", "--updatesPerEpoch"}, description = "The number of updates per epoch", arity = 1,
                     required = true)
     private int updatesPerEpoch;
+    @Parameter(names = {"-st", "--staleness"},
+                    description = "The max number of generations an update may lag behind, for bounded_staleness updates",
+                    arity = 1)
+    private int maxStaleness = 3;
+    @Parameter(names = {"-syt", "--synctime"}, description = "Time between replications in ms, for time_delayed updates",
+                    arity = 1)
+    private long syncTime = 1000;
 
 
     /**
@@ -115,7 +124,7 @@ public class ParameterServerSubscriber implements AutoCloseable {
      * instantiating various kinds of update types
      */
     public enum UpdateType {
-        HOGWILD, SYNC, TIME_DELAYED, SOFTSYNC, CUSTOM
+        HOGWILD, SYNC, TIME_DELAYED, SOFTSYNC, BOUNDED_STALENESS, CUSTOM
     }
 
 
@@ -265,9 +274,17 @@ public class ParameterServerSubscriber implements AutoCloseable {
                                         new InMemoryNDArrayHolder(Ints.toArray(shape)), updatesPerEpoch);
                         break;
                     case SOFTSYNC:
-                        updater = new SoftSyncParameterUpdater();
+                        updater = new SoftSyncParameterUpdater(new InMemoryUpdateStorage(),
+                                        new InMemoryNDArrayHolder(Ints.toArray(shape)), updatesPerEpoch);
+                        break;
+                    case BOUNDED_STALENESS:
+                        updater = new BoundedStalenessParameterUpdater(new InMemoryUpdateStorage(),
+                                        new InMemoryNDArrayHolder(Ints.toArray(shape)), updatesPerEpoch,
+                                        maxStaleness);
                         break;
                     case TIME_DELAYED:
+                        updater = new TimeDelayedParameterUpdater(new InMemoryUpdateStorage(),
+                                        new InMemoryNDArrayHolder(Ints.toArray(shape)), syncTime);
                         break;
                     case CUSTOM:
                         try {
@@ -0,0 +1,272 @@
+package org.nd4j.parameterserver.updater;
+
+import org.nd4j.aeron.ipc.NDArrayHolder;
+import org.nd4j.aeron.ipc.NDArrayMessage;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.factory.Nd4j;
+import org.nd4j.linalg.indexing.INDArrayIndex;
+import org.nd4j.linalg.indexing.NDArrayIndex;
+import org.nd4j.parameterserver.updater.storage.UpdateStorage;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Base class for updaters applying updates
+ * as they come in, without waiting for all workers.
+ *
+ * Updates are applied in place in to the master array,
+ * split in to stripes over row ranges (or column ranges for row vectors),
+ * each guarded by its own lock, so concurrent updates
+ * only contend when they touch the same stripe at the same time.
+ *
+ * Every time enough updates were applied, the master array
+ * moves to the next generation (version). The version is sent
+ * along with the array when workers pull it (see {@link NDArrayHolder#version()}),
+ * and workers send it back with the updates they computed against it
+ * (see {@link NDArrayMessage#getVersion()}), so the staleness of an update
+ * is the number of generations that passed since the worker got its copy of the array.
+ * Updates without a version are treated as up to date.
+ *
+ * @author Adam Gibson
+ */
+public abstract class BaseAsyncParameterUpdater extends BaseParameterUpdater {
+    public final static int DEFAULT_STRIPES = 16;
+
+    protected AtomicInteger currentVersion = new AtomicInteger(0);
+    protected ReentrantLock[] stripes;
+    private transient NDArrayHolder versionedHolder;
+
+    public BaseAsyncParameterUpdater(UpdateStorage updateStorage, NDArrayHolder ndArrayHolder, int numStripes) {
+        super(updateStorage, ndArrayHolder);
+        initStripes(numStripes);
+    }
+
+    public BaseAsyncParameterUpdater(UpdateStorage updateStorage, int numStripes) {
+        super(updateStorage);
+        initStripes(numStripes);
+    }
+
+    public BaseAsyncParameterUpdater(int numStripes) {
+        super();
+        initStripes(numStripes);
+    }
+
+    private void initStripes(int numStripes) {
+        stripes = new ReentrantLock[Math.max(1, numStripes)];
+        for (int i = 0; i < stripes.length; i++)
+            stripes[i] = new ReentrantLock();
+    }
+
+    /**
+     * Returns the current generation
+     * of the master array
+     * @return the current generation
+     */
+    public int currentVersion() {
+        return currentVersion.get();
+    }
+
+    /**
+     * Returns the generation the given message
+     * was computed against
+     * @param message the message to get the generation for
+     * @return the generation of the message, or the current generation if the message has no version
+     */
+    public int generationOf(NDArrayMessage message) {
+        return message.getVersion() == null ? currentVersion.get() : message.getVersion();
+    }
+
+    /**
+     * Returns the number of generations
+     * that passed since the given message
+     * was computed
+     * @param message the message to get the staleness for
+     * @return the staleness of the message, 0 for up to date messages
+     */
+    public int stalenessOf(NDArrayMessage message) {
+        return Math.max(0, currentVersion.get() - generationOf(message));
+    }
+
+    /**
+     * Move the master array
+     * to the next generation
+     * @return the new generation
+     */
+    protected int nextVersion() {
+        return currentVersion.incrementAndGet();
+    }
+
+    /**
+     * Returns the holder of the master array,
+     * reporting the current generation as its version
+     * @return the ndarray holder
+     */
+    @Override
+    public NDArrayHolder ndArrayHolder() {
+        if (ndArrayHolder == null)
+            return null;
+
+        if (versionedHolder == null)
+            versionedHolder = new VersionedNDArrayHolder();
+        return versionedHolder;
+    }
+
+    /**
+     * Applies the array of the message,
+     * scaled, to the master array
+     * @param message the message to apply
+     * @param scale the scale for the update
+     */
+    protected void applyMessage(NDArrayMessage message, double scale) {
+        int[] dimensions = message.getDimensions();
+        boolean whole = dimensions.length == 1 && dimensions[0] == -1;
+
+        if (whole)
+            applyStriped(message.getArr(), ndArrayHolder.get(), scale);
+        else
+            applyPartial(message.getArr(), ndArrayHolder.get(), scale, message.getIndex(), dimensions);
+    }
+
+    /**
+     * Adds update * scale to result in place,
+     * locking only the stripe being updated at a time.
+     * Compressed updates and arrays that can't be split
+     * in to row ranges are applied holding all stripes.
+     * @param update the update to apply
+     * @param result the array to update
+     * @param scale the scale for the update
+     */
+    protected void applyStriped(INDArray update, INDArray result, double scale) {
+        if (update.isCompressed() || result.rank() != 2 || !Arrays.equals(update.shape(), result.shape())) {
+            lockAll();
+            try {
+                applyScaled(update, result, scale);
+            } finally {
+                unlockAll();
+            }
+            return;
+        }
+
+        int dimension = result.rows() > 1 ? 0 : 1;
+        int size = result.size(dimension);
+        int numStripes = Math.min(stripes.length, size);
+        for (int i = 0; i < numStripes; i++) {
+            int from = (int) ((long) size * i / numStripes);
+            int to = (int) ((long) size * (i + 1) / numStripes);
+            INDArrayIndex[] indices = dimension == 0
+                            ? new INDArrayIndex[] {NDArrayIndex.interval(from, to), NDArrayIndex.all()}
+                            : new INDArrayIndex[] {NDArrayIndex.all(), NDArrayIndex.interval(from, to)};
+
+            INDArray source = update.get(indices);
+            stripes[i].lock();
+            try {
+                applyScaled(source, result.get(indices), scale);
+            } finally {
+                stripes[i].unlock();
+            }
+        }
+    }
+
+    /**
+     * Adds update * scale to result,
+     * see {@link #applyUpdate(INDArray, INDArray)}
+     */
+    protected void applyScaled(INDArray update, INDArray result, double scale) {
+        if (scale == 1.0)
+            applyUpdate(update, result);
+        else if (update.isCompressed())
+            result.addi(Nd4j.getCompressor().decompress(update).muli(scale));
+        else
+            result.addi(update.mul(scale));
+    }
+
+    /**
+     * Adds update * scale to the given
+     * {@link INDArray#tensorAlongDimension(int, int...)}
+     * of result. Partial updates hold all stripes.
+     */
+    protected void applyPartial(INDArray update, INDArray result, double scale, long idx, int... dimensions) {
+        lockAll();
+        try {
+            applyScaled(update, result.tensorAlongDimension((int) idx, dimensions), scale);
+        } finally {
+            unlockAll();
+        }
+    }
+
+    /**
+     * Lock all stripes, in order
+     */
+    protected void lockAll() {
+        for (ReentrantLock stripe : stripes)
+            stripe.lock();
+    }
+
+    /**
+     * Unlock all stripes
+     */
+    protected void unlockAll() {
+        for (int i = stripes.length - 1; i >= 0; i--)
+            stripes[i].unlock();
+    }
+
+    /**
+     * Updates result
+     * based on arr along a particular
+     * {@link INDArray#tensorAlongDimension(int, int...)}
+     *
+     * @param arr        the array to update
+     * @param result     the result ndarray to update
+     * @param idx        the index to update
+     * @param dimensions the dimensions to update
+     */
+    @Override
+    public void partialUpdate(INDArray arr, INDArray result, long idx, int... dimensions) {
+        applyPartial(arr, result, 1.0, idx, dimensions);
+    }
+
+    /**
+     * Updates result
+     * based on arr
+     *
+     * @param arr    the array to update
+     * @param result the result ndarray to update
+     */
+    @Override
+    public void update(INDArray arr, INDArray result) {
+        applyStriped(arr, result, 1.0);
+    }
+
+    /**
+     * Delegates to the holder of this updater,
+     * adding the current generation as version
+     */
+    private class VersionedNDArrayHolder implements NDArrayHolder {
+        @Override
+        public void setArray(INDArray arr) {
+            ndArrayHolder.setArray(arr);
+        }
+
+        @Override
+        public int totalUpdates() {
+            return ndArrayHolder.totalUpdates();
+        }
+
+        @Override
+        public INDArray get() {
+            return ndArrayHolder.get();
+        }
+
+        @Override
+        public INDArray getTad(int idx, int... dimensions) {
+            return ndArrayHolder.getTad(idx, dimensions);
+        }
+
+        @Override
+        public int version() {
+            return currentVersion.get();
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package org.nd4j.parameterserver.updater;
 
 import org.nd4j.aeron.ipc.NDArrayHolder;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.factory.Nd4j;
 import org.nd4j.parameterserver.updater.storage.InMemoryUpdateStorage;
 import org.nd4j.parameterserver.updater.storage.UpdateStorage;
 
@@ -95,4 +97,20 @@ public abstract class BaseParameterUpdater implements ParameterServerUpdater {
     public int numUpdates() {
         return updateStorage.numUpdates();
     }
+
+    /**
+     * Adds the update to result in place.
+     * Sparse encoded updates (see {@link org.nd4j.linalg.compression.SparseNDArrayCompressor})
+     * are applied directly without densifying them,
+     * other compressed updates are decompressed first.
+     *
+     * @param update the update to apply, compressed or not
+     * @param result the array to update
+     */
+    protected void applyUpdate(INDArray update, INDArray result) {
+        if (update.isCompressed())
+            Nd4j.getCompressor().decompressAdd(update, result);
+        else
+            result.addi(update);
+    }
 }
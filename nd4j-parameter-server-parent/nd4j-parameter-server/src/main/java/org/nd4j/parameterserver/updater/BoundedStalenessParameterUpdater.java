@@ -0,0 +1,188 @@
+package org.nd4j.parameterserver.updater;
+
+import lombok.extern.slf4j.Slf4j;
+import org.nd4j.aeron.ipc.NDArrayHolder;
+import org.nd4j.aeron.ipc.NDArrayMessage;
+import org.nd4j.parameterserver.updater.storage.NoUpdateStorage;
+import org.nd4j.parameterserver.updater.storage.UpdateStorage;
+import org.nd4j.shade.jackson.core.JsonProcessingException;
+import org.nd4j.shade.jackson.databind.ObjectMapper;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded staleness (stale synchronous parallel) updater.
+ *
+ * Updates are applied in place as soon as they arrive,
+ * and the master array moves to the next generation
+ * (clock) every time one update per worker was applied.
+ * Updates computed against a generation more than
+ * maxStaleness generations behind are rejected,
+ * so a slow worker never blocks the others, but
+ * can't push updates based on a too old copy either:
+ * it has to fetch the current array first.
+ * {@link #status()} reports the current version along with
+ * maxStaleness, so clients can tell their updates would be rejected
+ * and pull the array again, instead of having them dropped here.
+ *
+ * @author Adam Gibson
+ */
+@Slf4j
+public class BoundedStalenessParameterUpdater extends BaseAsyncParameterUpdater {
+    private static ObjectMapper objectMapper = new ObjectMapper();
+    private int workers;
+    private int maxStaleness;
+    private double scalingFactor;
+    private AtomicInteger appliedUpdates = new AtomicInteger(0);
+    private AtomicLong rejectedUpdates = new AtomicLong(0);
+    private volatile int replicatedVersion = 0;
+
+    /**
+     * @param updateStorage the update storage to use
+     * @param ndArrayHolder the holder of the master array
+     * @param workers the number of workers, one update per worker makes up a generation
+     * @param maxStaleness the max number of generations an update may lag behind
+     * @param scalingFactor the scale for each update
+     * @param numStripes the number of stripes to split the master array in to
+     */
+    public BoundedStalenessParameterUpdater(UpdateStorage updateStorage, NDArrayHolder ndArrayHolder, int workers,
+                    int maxStaleness, double scalingFactor, int numStripes) {
+        super(updateStorage, ndArrayHolder, numStripes);
+        if (workers < 1)
+            throw new IllegalArgumentException("Number of workers must be positive");
+        this.workers = workers;
+        this.maxStaleness = maxStaleness;
+        this.scalingFactor = scalingFactor;
+    }
+
+    /**
+     * @param updateStorage the update storage to use
+     * @param ndArrayHolder the holder of the master array
+     * @param workers the number of workers, one update per worker makes up a generation
+     * @param maxStaleness the max number of generations an update may lag behind
+     */
+    public BoundedStalenessParameterUpdater(UpdateStorage updateStorage, NDArrayHolder ndArrayHolder, int workers,
+                    int maxStaleness) {
+        this(updateStorage, ndArrayHolder, workers, maxStaleness, 1.0, DEFAULT_STRIPES);
+    }
+
+    /**
+     * Initializes this updater
+     * with {@link NoUpdateStorage}
+     * @param ndArrayHolder the holder of the master array
+     * @param workers the number of workers, one update per worker makes up a generation
+     * @param maxStaleness the max number of generations an update may lag behind
+     */
+    public BoundedStalenessParameterUpdater(NDArrayHolder ndArrayHolder, int workers, int maxStaleness) {
+        this(new NoUpdateStorage(), ndArrayHolder, workers, maxStaleness);
+    }
+
+    /**
+     * Returns the number of required
+     * updates for a new pass
+     *
+     * @return the number of required updates for a new pass
+     */
+    @Override
+    public int requiredUpdatesForPass() {
+        return workers;
+    }
+
+    /**
+     * Returns true if the updater is
+     * ready for a new array
+     *
+     * @return
+     */
+    @Override
+    public boolean isReady() {
+        return shouldReplicate();
+    }
+
+    /**
+     * Returns the current status of this parameter server
+     * updater
+     *
+     * @return
+     */
+    @Override
+    public Map<String, Number> status() {
+        Map<String, Number> ret = new HashMap<>();
+        ret.put("workers", workers);
+        ret.put("maxStaleness", maxStaleness);
+        ret.put("appliedUpdates", appliedUpdates.get());
+        ret.put("rejectedUpdates", rejectedUpdates.get());
+        ret.put("currentVersion", currentVersion());
+        return ret;
+    }
+
+    /**
+     * Serialize this updater as json
+     *
+     * @return
+     */
+    @Override
+    public String toJson() {
+        try {
+            return objectMapper.writeValueAsString(status());
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Reset internal counters
+     * such as number of updates accumulated.
+     */
+    @Override
+    public void reset() {
+        super.reset();
+        replicatedVersion = currentVersion();
+    }
+
+    /**
+     * Returns true if the master array moved
+     * to a new generation since the last replication
+     *
+     * @return true if replication should happen,false otherwise
+     */
+    @Override
+    public boolean shouldReplicate() {
+        return currentVersion() > replicatedVersion;
+    }
+
+    /**
+     * Returns the number of updates
+     * rejected for being too stale
+     * @return the number of rejected updates
+     */
+    public long rejectedUpdates() {
+        return rejectedUpdates.get();
+    }
+
+    /**
+     * Do an update based on the ndarray message.
+     * Updates lagging more than maxStaleness
+     * generations behind are rejected.
+     *
+     * @param message
+     */
+    @Override
+    public void update(NDArrayMessage message) {
+        int staleness = stalenessOf(message);
+        if (staleness > maxStaleness) {
+            rejectedUpdates.incrementAndGet();
+            log.warn("Rejecting update with staleness {}, max staleness is {}", staleness, maxStaleness);
+            return;
+        }
+
+        updateStorage.addUpdate(message);
+        applyMessage(message, scalingFactor);
+
+        if (appliedUpdates.incrementAndGet() % workers == 0)
+            nextVersion();
+    }
+}
@@ -1,23 +1,77 @@
 package org.nd4j.parameterserver.updater;
 
+import org.nd4j.aeron.ipc.NDArrayHolder;
 import org.nd4j.aeron.ipc.NDArrayMessage;
-import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.parameterserver.updater.storage.NoUpdateStorage;
+import org.nd4j.parameterserver.updater.storage.UpdateStorage;
+import org.nd4j.shade.jackson.core.JsonProcessingException;
+import org.nd4j.shade.jackson.databind.ObjectMapper;
 
+import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
+ * Soft synchronous updater.
+ *
+ * Rather than waiting for all workers,
+ * every update is applied in place as soon as it arrives,
+ * scaled by the scaling factor (1 / s by default),
+ * so each s updates make up one averaged step.
+ * After s updates the master array moves to the next generation,
+ * and is ready to be replicated.
+ *
+ * Updates computed against older generations are
+ * divided by their staleness as well
+ * (staleness dependent learning rate),
+ * so slow workers don't pull the model back.
+ *
  * Created by agibsonccc on 12/1/16.
  */
-public class SoftSyncParameterUpdater extends BaseParameterUpdater {
-    //track time stamps of messages coming in to find out which generation a message is meant for
-    //alxways log where the message time stamp began
-    private Map<Long, Integer> timeStampsForGeneration;
+public class SoftSyncParameterUpdater extends BaseAsyncParameterUpdater {
+    private static ObjectMapper objectMapper = new ObjectMapper();
     //s is the number of updates
     private int s;
-    private int currentVersion;
-    private int accumulatedUpdates = 0;
     private double scalingFactor;
+    private AtomicInteger accumulatedUpdates = new AtomicInteger(0);
+    private AtomicLong staleUpdates = new AtomicLong(0);
 
+    /**
+     * @param updateStorage the update storage to use
+     * @param ndArrayHolder the holder of the master array
+     * @param s the number of updates per generation
+     * @param scalingFactor the scale for each update
+     * @param numStripes the number of stripes to split the master array in to
+     */
+    public SoftSyncParameterUpdater(UpdateStorage updateStorage, NDArrayHolder ndArrayHolder, int s,
+                    double scalingFactor, int numStripes) {
+        super(updateStorage, ndArrayHolder, numStripes);
+        if (s < 1)
+            throw new IllegalArgumentException("Number of updates per generation must be positive");
+        this.s = s;
+        this.scalingFactor = scalingFactor;
+    }
+
+    /**
+     * Scales every update by 1 / s
+     * @param updateStorage the update storage to use
+     * @param ndArrayHolder the holder of the master array
+     * @param s the number of updates per generation
+     */
+    public SoftSyncParameterUpdater(UpdateStorage updateStorage, NDArrayHolder ndArrayHolder, int s) {
+        this(updateStorage, ndArrayHolder, s, 1.0 / s, DEFAULT_STRIPES);
+    }
+
+    /**
+     * Initializes this updater
+     * with {@link NoUpdateStorage}
+     * @param ndArrayHolder the holder of the master array
+     * @param s the number of updates per generation
+     */
+    public SoftSyncParameterUpdater(NDArrayHolder ndArrayHolder, int s) {
+        this(new NoUpdateStorage(), ndArrayHolder, s);
+    }
 
     /**
      * Returns the number of required
@@ -27,7 +81,18 @@ public class SoftSyncParameterUpdater extends BaseParameterUpdater {
      */
     @Override
     public int requiredUpdatesForPass() {
-        return 0;
+        return s;
+    }
+
+    /**
+     * Returns true if the updater is
+     * ready for a new array
+     *
+     * @return
+     */
+    @Override
+    public boolean isReady() {
+        return accumulatedUpdates.get() >= s;
     }
 
     /**
@@ -38,7 +103,13 @@ public class SoftSyncParameterUpdater extends BaseParameterUpdater {
      */
     @Override
     public Map<String, Number> status() {
-        return null;
+        Map<String, Number> ret = new HashMap<>();
+        ret.put("s", s);
+        ret.put("scalingFactor", scalingFactor);
+        ret.put("accumulatedUpdates", accumulatedUpdates.get());
+        ret.put("currentVersion", currentVersion());
+        ret.put("staleUpdates", staleUpdates.get());
+        return ret;
     }
 
     /**
@@ -48,7 +119,11 @@ public class SoftSyncParameterUpdater extends BaseParameterUpdater {
      */
     @Override
     public String toJson() {
-        return null;
+        try {
+            return objectMapper.writeValueAsString(status());
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException(e);
+        }
     }
 
     /**
@@ -57,7 +132,8 @@ public class SoftSyncParameterUpdater extends BaseParameterUpdater {
      */
     @Override
     public void reset() {
-        currentVersion++;
+        super.reset();
+        accumulatedUpdates.set(0);
     }
 
     /**
@@ -69,7 +145,7 @@ public class SoftSyncParameterUpdater extends BaseParameterUpdater {
      */
     @Override
     public boolean shouldReplicate() {
-        return accumulatedUpdates == s;
+        return accumulatedUpdates.get() >= s;
     }
 
     /**
@@ -79,33 +155,15 @@ public class SoftSyncParameterUpdater extends BaseParameterUpdater {
      */
     @Override
     public void update(NDArrayMessage message) {
+        updateStorage.addUpdate(message);
 
-    }
+        int staleness = stalenessOf(message);
+        if (staleness > 0)
+            staleUpdates.incrementAndGet();
 
-    /**
-     * Updates result
-     * based on arr along a particular
-     * {@link INDArray#tensorAlongDimension(int, int...)}
-     *
-     * @param arr        the array to update
-     * @param result     the result ndarray to update
-     * @param idx        the index to update
-     * @param dimensions the dimensions to update
-     */
-    @Override
-    public void partialUpdate(INDArray arr, INDArray result, long idx, int... dimensions) {
-
-    }
-
-    /**
-     * Updates result
-     * based on arr
-     *
-     * @param arr    the array to update
-     * @param result the result ndarray to update
-     */
-    @Override
-    public void update(INDArray arr, INDArray result) {
+        applyMessage(message, scalingFactor / Math.max(1, staleness));
 
+        if (accumulatedUpdates.incrementAndGet() % s == 0)
+            nextVersion();
     }
 }
@@ -150,7 +150,7 @@ public class SynchronousParameterUpdater extends BaseParameterUpdater {
      */
     @Override
     public void partialUpdate(INDArray arr, INDArray result, long idx, int... dimensions) {
-        result.tensorAlongDimension((int) idx, dimensions).addi(arr);
+        applyUpdate(arr, result.tensorAlongDimension((int) idx, dimensions));
     }
 
     /**
@@ -162,6 +162,6 @@ public class SynchronousParameterUpdater extends BaseParameterUpdater {
      */
     @Override
     public void update(INDArray arr, INDArray result) {
-        result.addi(arr);
+        applyUpdate(arr, result);
     }
 }
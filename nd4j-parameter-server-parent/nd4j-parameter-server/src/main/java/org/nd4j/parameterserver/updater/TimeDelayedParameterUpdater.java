@@ -1,17 +1,48 @@
 package org.nd4j.parameterserver.updater;
 
+import org.nd4j.aeron.ipc.NDArrayHolder;
 import org.nd4j.aeron.ipc.NDArrayMessage;
-import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.parameterserver.updater.storage.NoUpdateStorage;
+import org.nd4j.parameterserver.updater.storage.UpdateStorage;
+import org.nd4j.shade.jackson.core.JsonProcessingException;
+import org.nd4j.shade.jackson.databind.ObjectMapper;
 
+import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
+ * Applies updates in place as they arrive,
+ * and replicates the master array every syncTime milliseconds,
+ * each replication starting a new generation.
+ *
  * Created by agibsonccc on 12/1/16.
  */
-public class TimeDelayedParameterUpdater extends BaseParameterUpdater {
+public class TimeDelayedParameterUpdater extends BaseAsyncParameterUpdater {
+    private static ObjectMapper objectMapper = new ObjectMapper();
     private long syncTime;
-    private long lastSynced;
+    private volatile long lastSynced = System.currentTimeMillis();
+    private AtomicInteger accumulatedUpdates = new AtomicInteger(0);
 
+    /**
+     * @param updateStorage the update storage to use
+     * @param ndArrayHolder the holder of the master array
+     * @param syncTime the time between replications in milliseconds
+     */
+    public TimeDelayedParameterUpdater(UpdateStorage updateStorage, NDArrayHolder ndArrayHolder, long syncTime) {
+        super(updateStorage, ndArrayHolder, DEFAULT_STRIPES);
+        this.syncTime = syncTime;
+    }
+
+    /**
+     * Initializes this updater
+     * with {@link NoUpdateStorage}
+     * @param ndArrayHolder the holder of the master array
+     * @param syncTime the time between replications in milliseconds
+     */
+    public TimeDelayedParameterUpdater(NDArrayHolder ndArrayHolder, long syncTime) {
+        this(new NoUpdateStorage(), ndArrayHolder, syncTime);
+    }
 
     /**
      * Returns the number of required
@@ -24,6 +55,17 @@ public class TimeDelayedParameterUpdater extends BaseParameterUpdater {
         return 0;
     }
 
+    /**
+     * Returns true if the updater is
+     * ready for a new array
+     *
+     * @return
+     */
+    @Override
+    public boolean isReady() {
+        return shouldReplicate();
+    }
+
     /**
      * Returns the current status of this parameter server
      * updater
@@ -32,7 +74,12 @@ public class TimeDelayedParameterUpdater extends BaseParameterUpdater {
      */
     @Override
     public Map<String, Number> status() {
-        return null;
+        Map<String, Number> ret = new HashMap<>();
+        ret.put("syncTime", syncTime);
+        ret.put("lastSynced", lastSynced);
+        ret.put("accumulatedUpdates", accumulatedUpdates.get());
+        ret.put("currentVersion", currentVersion());
+        return ret;
     }
 
     /**
@@ -42,7 +89,11 @@ public class TimeDelayedParameterUpdater extends BaseParameterUpdater {
      */
     @Override
     public String toJson() {
-        return null;
+        try {
+            return objectMapper.writeValueAsString(status());
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException(e);
+        }
     }
 
     /**
@@ -51,13 +102,15 @@ public class TimeDelayedParameterUpdater extends BaseParameterUpdater {
      */
     @Override
     public void reset() {
-
+        super.reset();
+        accumulatedUpdates.set(0);
+        lastSynced = System.currentTimeMillis();
+        nextVersion();
     }
 
     /**
      * Returns true if
-     * the updater has accumulated enough ndarrays to
-     * replicate to the workers
+     * syncTime passed since the last replication
      *
      * @return true if replication should happen,false otherwise
      */
@@ -75,33 +128,8 @@ public class TimeDelayedParameterUpdater extends BaseParameterUpdater {
      */
     @Override
     public void update(NDArrayMessage message) {
-
-    }
-
-    /**
-     * Updates result
-     * based on arr along a particular
-     * {@link INDArray#tensorAlongDimension(int, int...)}
-     *
-     * @param arr        the array to update
-     * @param result     the result ndarray to update
-     * @param idx        the index to update
-     * @param dimensions the dimensions to update
-     */
-    @Override
-    public void partialUpdate(INDArray arr, INDArray result, long idx, int... dimensions) {
-
-    }
-
-    /**
-     * Updates result
-     * based on arr
-     *
-     * @param arr    the array to update
-     * @param result the result ndarray to update
-     */
-    @Override
-    public void update(INDArray arr, INDArray result) {
-
+        updateStorage.addUpdate(message);
+        applyMessage(message, 1.0);
+        accumulatedUpdates.incrementAndGet();
     }
 }
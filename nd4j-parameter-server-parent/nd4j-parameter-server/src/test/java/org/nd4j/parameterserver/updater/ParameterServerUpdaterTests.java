@@ -3,9 +3,11 @@ package org.nd4j.parameterserver.updater;
 import org.junit.Test;
 import org.nd4j.aeron.ipc.NDArrayMessage;
 import org.nd4j.aeron.ndarrayholder.InMemoryNDArrayHolder;
+import org.nd4j.linalg.api.ndarray.INDArray;
 import org.nd4j.linalg.factory.Nd4j;
 import org.nd4j.parameterserver.updater.storage.NoUpdateStorage;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assume.assumeNotNull;
@@ -32,4 +34,79 @@ public class ParameterServerUpdaterTests {
 
     }
 
+    @Test
+    public void softSyncTest() {
+        SoftSyncParameterUpdater updater = new SoftSyncParameterUpdater(new InMemoryNDArrayHolder(Nd4j.zeros(4, 4)), 4);
+        for (int i = 0; i < 4; i++) {
+            assertFalse(updater.shouldReplicate());
+            updater.update(NDArrayMessage.wholeArrayUpdate(Nd4j.ones(4, 4)));
+        }
+
+        //4 updates averaged in to a single step
+        assertEquals(Nd4j.ones(4, 4), updater.ndArrayHolder().get());
+        assertTrue(updater.shouldReplicate());
+        assertEquals(1, updater.currentVersion());
+
+        //a message computed against the first generation is now stale, and gets scaled down
+        NDArrayMessage stale = NDArrayMessage.builder().arr(Nd4j.ones(4, 4)).dimensions(new int[] {-1})
+                        .index(-1).sent(NDArrayMessage.getCurrentTimeUtc()).version(0).build();
+        assertEquals(1, updater.stalenessOf(stale));
+        //messages without a version are treated as up to date
+        assertEquals(0, updater.stalenessOf(NDArrayMessage.wholeArrayUpdate(Nd4j.ones(4, 4))));
+        //the version is handed out with the master array
+        assertEquals(1, updater.ndArrayHolder().version());
+
+        updater.reset();
+        assertFalse(updater.shouldReplicate());
+        assumeNotNull(updater.toJson());
+    }
+
+    @Test
+    public void boundedStalenessTest() {
+        BoundedStalenessParameterUpdater updater =
+                        new BoundedStalenessParameterUpdater(new InMemoryNDArrayHolder(Nd4j.zeros(2, 2)), 2, 1);
+        NDArrayMessage stale = NDArrayMessage.builder().arr(Nd4j.ones(2, 2)).dimensions(new int[] {-1}).index(-1)
+                        .sent(NDArrayMessage.getCurrentTimeUtc()).version(updater.ndArrayHolder().version()).build();
+
+        for (int i = 0; i < 4; i++)
+            updater.update(NDArrayMessage.wholeArrayUpdate(Nd4j.ones(2, 2)));
+
+        assertEquals(2, updater.currentVersion());
+        assertTrue(updater.shouldReplicate());
+        assertEquals(Nd4j.valueArrayOf(2, 2, 4.0), updater.ndArrayHolder().get());
+
+        //2 generations behind, max staleness is 1
+        updater.update(stale);
+        assertEquals(1, updater.rejectedUpdates());
+        assertEquals(Nd4j.valueArrayOf(2, 2, 4.0), updater.ndArrayHolder().get());
+
+        //clients check their pulled version against these before pushing
+        assertEquals(2, updater.status().get("currentVersion").intValue());
+        assertEquals(1, updater.status().get("maxStaleness").intValue());
+
+        updater.reset();
+        assertFalse(updater.shouldReplicate());
+        assumeNotNull(updater.toJson());
+    }
+
+    @Test
+    public void stripedConcurrentUpdateTest() throws Exception {
+        final BoundedStalenessParameterUpdater updater =
+                        new BoundedStalenessParameterUpdater(new InMemoryNDArrayHolder(Nd4j.zeros(64, 8)), 4, 1000);
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 100; i++)
+                    updater.update(NDArrayMessage.wholeArrayUpdate(Nd4j.ones(64, 8)));
+            });
+            threads[t].start();
+        }
+
+        for (Thread thread : threads)
+            thread.join();
+
+        INDArray result = updater.ndArrayHolder().get();
+        assertEquals(Nd4j.valueArrayOf(64, 8, 400.0), result);
+        assertEquals(100, updater.currentVersion());
+    }
 }
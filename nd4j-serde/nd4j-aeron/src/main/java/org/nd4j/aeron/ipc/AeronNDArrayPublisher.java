@@ -3,6 +3,7 @@ package org.nd4j.aeron.ipc;
 import io.aeron.Aeron;
 import io.aeron.Publication;
 import io.aeron.exceptions.DriverTimeoutException;
+import io.aeron.logbuffer.BufferClaim;
 import lombok.Builder;
 import lombok.Data;
 import org.agrona.CloseHelper;
@@ -10,6 +11,7 @@ import org.agrona.DirectBuffer;
 import org.agrona.concurrent.BusySpinIdleStrategy;
 import org.agrona.concurrent.UnsafeBuffer;
 import org.nd4j.aeron.ipc.chunk.NDArrayMessageChunk;
+import org.nd4j.aeron.util.DirectBufferPool;
 import org.nd4j.linalg.api.ndarray.INDArray;
 import org.nd4j.linalg.factory.Nd4j;
 import org.slf4j.Logger;
@@ -17,11 +19,26 @@ import org.slf4j.LoggerFactory;
 
 import java.io.Closeable;
 import java.nio.ByteBuffer;
+import java.util.UUID;
 
 /**
  * NDArray publisher
  * for aeron
  *
+ * By default messages are serialized in to
+ * freshly allocated buffers and offered to the publication.
+ * With zeroCopy enabled messages that fit in to
+ * a single frame are written straight in to the
+ * publication via {@link Publication#tryClaim(int, BufferClaim)},
+ * and larger messages are encoded in to pooled
+ * direct buffers ({@link DirectBufferPool}) before being offered,
+ * in chunks if needed.
+ *
+ * Compression is configured per publisher (stream)
+ * with the name of any algorithm registered in
+ * {@link Nd4j#getCompressor()}, or "NONE".
+ * When compression isn't specified, GZIP is used if compress is true.
+ *
  * @author Adam Gibson
  */
 @Data
@@ -41,12 +58,21 @@ public class AeronNDArrayPublisher implements AutoCloseable {
     private boolean compress = true;
     private static final BusySpinIdleStrategy busySpinIdleStrategy = new BusySpinIdleStrategy();
     private int publishRetryTimeOut = 3000;
+    //write messages straight in to the publication, or in to pooled buffers
+    private boolean zeroCopy;
+    //compression algorithm for this stream, overrides compress when specified
+    private String compression;
+    //pool used for messages that don't fit in to a single frame, may be shared across publishers
+    private DirectBufferPool bufferPool;
+    private BufferClaim bufferClaim;
 
     private void init() {
         channel = channel == null ? "aeron:udp?endpoint=localhost:40123" : channel;
         streamId = streamId == 0 ? 10 : streamId;
         publishRetryTimeOut = publishRetryTimeOut == 0 ? 3000 : publishRetryTimeOut;
         ctx = ctx == null ? ctx = new Aeron.Context() : ctx;
+        bufferPool = bufferPool == null ? new DirectBufferPool() : bufferPool;
+        bufferClaim = new BufferClaim();
         init = true;
         log.info("Channel publisher" + channel + " and stream " + streamId);
     }
@@ -101,10 +127,16 @@ public class AeronNDArrayPublisher implements AutoCloseable {
         // The UnsafeBuffer class is part of the Agrona library and is used for efficient buffer management
         log.info("Publishing to " + channel + " on stream Id " + streamId);
         //ensure default values are set
+        String algorithm = compressionAlgorithm();
+        if (zeroCopy) {
+            publishDirect(message, algorithm);
+            return;
+        }
+
         INDArray arr = message.getArr();
-        if (isCompress())
+        if (algorithm != null)
             while (!message.getArr().isCompressed())
-                Nd4j.getCompressor().compressi(arr, "GZIP");
+                Nd4j.getCompressor().compressi(arr, algorithm);
 
 
 
@@ -128,6 +160,114 @@ public class AeronNDArrayPublisher implements AutoCloseable {
 
 
 
+    /**
+     * Returns the compression algorithm
+     * to use for this stream, or null
+     * if messages shouldn't be compressed
+     */
+    private String compressionAlgorithm() {
+        if (compression != null)
+            return "NONE".equalsIgnoreCase(compression) ? null : compression;
+        return compress ? "GZIP" : null;
+    }
+
+    /**
+     * Publish a message without intermediate allocations:
+     * small messages are encoded straight in to the publication
+     * term buffer, larger ones in to pooled direct buffers.
+     * The array of the passed in message is never modified.
+     * @param message the message to publish
+     * @param algorithm the compression algorithm, or null
+     * @throws Exception
+     */
+    private void publishDirect(NDArrayMessage message, String algorithm) throws Exception {
+        INDArray arr = message.getArr();
+        if (algorithm != null && !arr.isCompressed())
+            arr = Nd4j.getCompressor().compress(arr, algorithm);
+        else if (!AeronNDArraySerde.canWriteDirectly(arr))
+            arr = arr.dup(arr.ordering());
+
+        if (arr != message.getArr())
+            message = NDArrayMessage.builder().arr(arr).sent(message.getSent()).index(message.getIndex())
+                            .dimensions(message.getDimensions()).version(message.getVersion()).build();
+
+        int length = NDArrayMessage.encodedLengthFor(message);
+        if (length <= publication.maxPayloadLength()) {
+            claimAndWrite(message, length);
+            return;
+        }
+
+        UnsafeBuffer whole = bufferPool.acquire(length);
+        try {
+            NDArrayMessage.toBuffer(message, whole, 0);
+            if (length < publication.maxMessageLength()) {
+                offer(whole, 0, length);
+                return;
+            }
+
+            //array is large, need to segment
+            int chunkSize = publication.maxMessageLength() / 128;
+            int numChunks = length / chunkSize + (length % chunkSize == 0 ? 0 : 1);
+            byte[] id = UUID.randomUUID().toString().getBytes();
+            UnsafeBuffer chunkBuffer = bufferPool.acquire(20 + id.length + chunkSize);
+            try {
+                for (int i = 0; i < numChunks; i++) {
+                    int chunkOffset = i * chunkSize;
+                    int written = NDArrayMessageChunk.putChunk(chunkBuffer, 0, id, numChunks, chunkSize, i, whole,
+                                    chunkOffset, Math.min(chunkSize, length - chunkOffset));
+                    offer(chunkBuffer, 0, written);
+                }
+            } finally {
+                bufferPool.release(chunkBuffer);
+            }
+        } finally {
+            bufferPool.release(whole);
+        }
+    }
+
+    private void claimAndWrite(NDArrayMessage message, int length) throws Exception {
+        long result;
+        int tries = 0;
+        while ((result = publication.tryClaim(length, bufferClaim)) < 0L)
+            tries = retryOrFail(result, tries);
+
+        try {
+            NDArrayMessage.toBuffer(message, bufferClaim.buffer(), bufferClaim.offset());
+            bufferClaim.commit();
+        } catch (Exception e) {
+            bufferClaim.abort();
+            throw e;
+        }
+    }
+
+    private void offer(DirectBuffer buffer, int offset, int length) throws Exception {
+        long result;
+        int tries = 0;
+        while ((result = publication.offer(buffer, offset, length)) < 0L)
+            tries = retryOrFail(result, tries);
+    }
+
+    /**
+     * Back pressure is handled by spinning,
+     * lack of connection by sleeping for publishRetryTimeOut
+     * up to 5 times before giving up.
+     * @return the updated number of tries
+     */
+    private int retryOrFail(long result, int tries) throws Exception {
+        if (result == Publication.BACK_PRESSURED || result == Publication.ADMIN_ACTION) {
+            busySpinIdleStrategy.idle();
+            return tries;
+        }
+
+        if (result == Publication.CLOSED || tries >= 5)
+            throw new IllegalStateException("Failed to send message on channel " + channel + " and stream " + streamId);
+
+        log.info("Offer failed because publisher is not connected to subscriber " + channel + " and stream "
+                        + streamId);
+        Thread.sleep(publishRetryTimeOut);
+        return tries + 1;
+    }
+
     private void sendBuffer(DirectBuffer buffer) throws Exception {
         // Try to publish the buffer. 'offer' is a non-blocking call.
         // If it returns less than 0, the message was not sent, and the offer should be retried.
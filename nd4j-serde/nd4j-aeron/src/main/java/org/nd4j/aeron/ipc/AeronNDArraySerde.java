@@ -1,6 +1,8 @@
 package org.nd4j.aeron.ipc;
 
 import org.agrona.DirectBuffer;
+import org.agrona.MutableDirectBuffer;
+import org.agrona.UnsafeAccess;
 import org.agrona.concurrent.UnsafeBuffer;
 import org.apache.commons.lang3.tuple.Pair;
 import org.bytedeco.javacpp.BytePointer;
@@ -8,8 +10,10 @@ import org.nd4j.linalg.api.buffer.DataBuffer;
 import org.nd4j.linalg.api.ndarray.INDArray;
 import org.nd4j.linalg.api.shape.Shape;
 import org.nd4j.linalg.compression.CompressedDataBuffer;
+import org.nd4j.linalg.compression.CompressionAlgorithm;
 import org.nd4j.linalg.compression.CompressionDescriptor;
 import org.nd4j.linalg.factory.Nd4j;
+import org.nd4j.linalg.util.ArrayUtil;
 
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
@@ -25,6 +29,8 @@ import java.nio.ByteOrder;
  * @author Adam Gibson
  */
 public class AeronNDArraySerde {
+    //2 ints for compression type and algorithm, 4 longs for lengths
+    public final static int COMPRESSION_DESCRIPTOR_LENGTH = 2 * 4 + 4 * 8;
 
 
     /**
@@ -69,6 +75,130 @@ public class AeronNDArraySerde {
         }
     }
 
+    /**
+     * Returns true if the data of the given array
+     * can be written as is, without dup():
+     * compressed arrays, arrays that aren't views,
+     * and views that are dense in their buffer
+     * (a row of a c ordered matrix for example).
+     * Note that the length of a view's buffer says nothing
+     * about its layout, so this looks at the strides only.
+     * @param arr the array to check
+     * @return true if the array can be written directly
+     */
+    public static boolean canWriteDirectly(INDArray arr) {
+        if (arr.isCompressed() || !arr.isView())
+            return true;
+        if (arr.elementWiseStride() != 1)
+            return false;
+
+        int[] shape = arr.shape();
+        int[] stride = arr.stride();
+        int[] expected = denseStrides(arr);
+        for (int i = 0; i < shape.length; i++) {
+            //strides of dimensions of size 1 are never used
+            if (shape[i] != 1 && stride[i] != expected[i])
+                return false;
+        }
+        return true;
+    }
+
+    private static int[] denseStrides(INDArray arr) {
+        return arr.ordering() == 'f' ? ArrayUtil.calcStridesFortran(arr.shape()) : ArrayUtil.calcStrides(arr.shape());
+    }
+
+    /**
+     * Returns the exact number of bytes
+     * {@link #putArray(INDArray, MutableDirectBuffer, int)}
+     * will write for the given array.
+     * Unlike {@link #byteBufferSizeFor(INDArray)} this
+     * doesn't allocate anything, and takes only the view
+     * part of the buffer into account.
+     * @param arr the array to compute the size for
+     * @return the number of bytes needed for the array
+     */
+    public static int encodedLengthFor(INDArray arr) {
+        int shapeInfoLength = Shape.shapeInfoLength(arr.rank()) * 4;
+        if (arr.isCompressed()) {
+            CompressionDescriptor descriptor = ((CompressedDataBuffer) arr.data()).getCompressionDescriptor();
+            return 8 + shapeInfoLength + COMPRESSION_DESCRIPTOR_LENGTH + (int) descriptor.getCompressedLength();
+        }
+
+        return 8 + shapeInfoLength + arr.length() * arr.data().getElementSize();
+    }
+
+    /**
+     * Write the given array straight in to the given buffer,
+     * using the same layout as {@link #toBuffer(INDArray)}:
+     * 4 bytes for rank
+     * 4 bytes for data type
+     * shape information
+     * codec information (compressed arrays only)
+     * data buffer
+     *
+     * Data is copied directly from the array's memory,
+     * no intermediate buffers are allocated.
+     * The array must satisfy {@link #canWriteDirectly(INDArray)}
+     *
+     * @param arr the array to write
+     * @param buffer the buffer to write to
+     * @param offset the offset to start at
+     * @return the offset right after the written array
+     */
+    public static int putArray(INDArray arr, MutableDirectBuffer buffer, int offset) {
+        if (!canWriteDirectly(arr))
+            throw new IllegalArgumentException("Array data isn't contiguous, dup() it first");
+
+        int rank = arr.rank();
+        DataBuffer shapeInfo = arr.shapeInfoDataBuffer();
+        int shapeInfoLength = Shape.shapeInfoLength(rank);
+
+        buffer.putInt(offset, rank);
+        offset += 4;
+        buffer.putInt(offset, arr.data().dataType().ordinal());
+        offset += 4;
+        if (arr.isView()) {
+            //views are sent as standalone dense arrays: rank, shape, strides, offset, element wise stride, order
+            int[] shape = arr.shape();
+            int[] stride = denseStrides(arr);
+            buffer.putInt(offset, rank);
+            offset += 4;
+            for (int i = 0; i < rank; i++, offset += 4)
+                buffer.putInt(offset, shape[i]);
+            for (int i = 0; i < rank; i++, offset += 4)
+                buffer.putInt(offset, stride[i]);
+            buffer.putInt(offset, 0);
+            buffer.putInt(offset + 4, 1);
+            buffer.putInt(offset + 8, arr.ordering());
+            offset += 12;
+        } else {
+            for (int i = 0; i < shapeInfoLength; i++) {
+                buffer.putInt(offset, shapeInfo.getInt(i));
+                offset += 4;
+            }
+        }
+
+        long length;
+        if (arr.isCompressed()) {
+            CompressionDescriptor descriptor = ((CompressedDataBuffer) arr.data()).getCompressionDescriptor();
+            buffer.putInt(offset, descriptor.getCompressionType().ordinal());
+            buffer.putInt(offset + 4, CompressionAlgorithm.valueOf(descriptor.getCompressionAlgorithm()).ordinal());
+            buffer.putLong(offset + 8, descriptor.getOriginalLength());
+            buffer.putLong(offset + 16, descriptor.getCompressedLength());
+            buffer.putLong(offset + 24, descriptor.getNumberOfElements());
+            buffer.putLong(offset + 32, descriptor.getOriginalElementSize());
+            offset += COMPRESSION_DESCRIPTOR_LENGTH;
+            length = descriptor.getCompressedLength();
+        } else {
+            length = (long) arr.length() * arr.data().getElementSize();
+        }
+
+        UnsafeAccess.UNSAFE.copyMemory(null, arr.data().addressPointer().address(), buffer.byteArray(),
+                        buffer.addressOffset() + offset, length);
+
+        return offset + (int) length;
+    }
+
     /**
      * Convert an ndarray to an unsafe buffer
      * for use by aeron
@@ -163,6 +293,26 @@ public class AeronNDArraySerde {
      * @return the ndarray derived from this buffer
      */
     public static Pair<INDArray, ByteBuffer> toArrayAndByteBuffer(DirectBuffer buffer, int offset) {
+        return toArrayAndByteBuffer(buffer, offset, true);
+    }
+
+    /**
+     * Create an ndarray
+     * from the unsafe buffer.
+     * See {@link #toArrayAndByteBuffer(DirectBuffer, int)}
+     *
+     * With copyData set to false an uncompressed array
+     * is created directly on top of the memory of the buffer,
+     * which is only safe if the buffer is backed by
+     * a direct byte buffer that isn't going to be reused,
+     * like a reassembled chunked message.
+     * @param buffer the buffer to create the array from
+     * @param offset the offset to start at
+     * @param copyData whether to copy the data out of the buffer or not
+     * @return the ndarray derived from this buffer, and the buffer positioned right after it
+     */
+    public static Pair<INDArray, ByteBuffer> toArrayAndByteBuffer(DirectBuffer buffer, int offset,
+                    boolean copyData) {
         ByteBuffer byteBuffer =
                         buffer.byteBuffer() == null
                                         ? ByteBuffer.allocateDirect(buffer.byteArray().length).put(buffer.byteArray())
@@ -193,8 +343,8 @@ public class AeronNDArraySerde {
             int position = byteBuffer.position() + (buff.getElementSize() * (int) buff.length());
             byteBuffer.position(position);
             //create the final array
-            //TODO: see how to avoid dup here
-            INDArray arr = Nd4j.createArrayFromShapeBuffer(buff.dup(), shapeBuff.dup());
+            INDArray arr = Nd4j.createArrayFromShapeBuffer(copyData || buffer.byteBuffer() == null ? buff.dup() : buff,
+                            shapeBuff.dup());
             return Pair.of(arr, byteBuffer);
         } else {
             CompressionDescriptor compressionDescriptor = CompressionDescriptor.fromByteBuffer(byteBuffer);
@@ -6,6 +6,7 @@ import io.aeron.Subscription;
 import lombok.Builder;
 import lombok.Data;
 import org.agrona.CloseHelper;
+import org.agrona.concurrent.BusySpinIdleStrategy;
 import org.agrona.concurrent.SigInt;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -112,8 +113,11 @@ public class AeronNDArraySubscriber implements AutoCloseable {
             try (final Subscription subscription = aeron.addSubscription(channel, streamId)) {
                 this.subscription = subscription;
                 log.info("Beginning subscribe on channel " + channel + " and stream " + streamId);
-                AeronUtil.subscriberLoop(new FragmentAssembler(new NDArrayFragmentHandler(ndArrayCallback)),
-                                fragmentLimitCount, running, launched).accept(subscription);
+                //incomplete chunked messages are evicted from the poll loop, even if no more chunks arrive
+                NDArrayFragmentHandler fragmentHandler = new NDArrayFragmentHandler(ndArrayCallback);
+                AeronUtil.subscriberLoop(new FragmentAssembler(fragmentHandler), fragmentLimitCount, running,
+                                new BusySpinIdleStrategy(), launched, fragmentHandler::evictExpired)
+                                .accept(subscription);
                 started = true;
 
             } catch (Exception e) {
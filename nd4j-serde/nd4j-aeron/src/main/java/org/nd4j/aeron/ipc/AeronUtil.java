@@ -103,10 +103,32 @@ public class AeronUtil {
      */
     public static Consumer<Subscription> subscriberLoop(final FragmentHandler fragmentHandler, final int limit,
                     final AtomicBoolean running, final IdleStrategy idleStrategy, final AtomicBoolean launched) {
+        return subscriberLoop(fragmentHandler, limit, running, idleStrategy, launched, null);
+    }
+
+    /**
+     * Return a reusable, parameterized event
+     * loop that calls and idler
+     * when no messages are received,
+     * and runs the given housekeeping task
+     * after every poll
+     *
+     * @param fragmentHandler to be called back for each message.
+     * @param limit           passed to {@link Subscription#poll(FragmentHandler, int)}
+     * @param running         indication for loop
+     * @param idleStrategy    to use for loop
+     * @param dutyCycle       cheap task run after every poll, may be null
+     * @return loop function
+     */
+    public static Consumer<Subscription> subscriberLoop(final FragmentHandler fragmentHandler, final int limit,
+                    final AtomicBoolean running, final IdleStrategy idleStrategy, final AtomicBoolean launched,
+                    final Runnable dutyCycle) {
         return (subscription) -> {
             try {
                 while (running.get()) {
                     idleStrategy.idle(subscription.poll(fragmentHandler, limit));
+                    if (dutyCycle != null)
+                        dutyCycle.run();
                     launched.set(true);
                 }
             } catch (final Exception ex) {
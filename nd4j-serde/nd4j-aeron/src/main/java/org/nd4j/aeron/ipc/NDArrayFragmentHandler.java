@@ -5,8 +5,8 @@ import io.aeron.logbuffer.Header;
 import lombok.extern.slf4j.Slf4j;
 import org.agrona.DirectBuffer;
 import org.nd4j.aeron.ipc.chunk.ChunkAccumulator;
-import org.nd4j.aeron.ipc.chunk.InMemoryChunkAccumulator;
 import org.nd4j.aeron.ipc.chunk.NDArrayMessageChunk;
+import org.nd4j.aeron.ipc.chunk.OffHeapChunkAccumulator;
 
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
@@ -21,10 +21,31 @@ import java.nio.ByteOrder;
 @Slf4j
 public class NDArrayFragmentHandler implements FragmentHandler {
     private NDArrayCallback ndArrayCallback;
-    private ChunkAccumulator chunkAccumulator = new InMemoryChunkAccumulator();
+    private ChunkAccumulator chunkAccumulator;
 
     public NDArrayFragmentHandler(NDArrayCallback ndArrayCallback) {
+        this(ndArrayCallback, new OffHeapChunkAccumulator());
+    }
+
+    /**
+     * @param ndArrayCallback the callback for completed messages
+     * @param chunkAccumulator the accumulator used for reassembling chunked messages
+     */
+    public NDArrayFragmentHandler(NDArrayCallback ndArrayCallback, ChunkAccumulator chunkAccumulator) {
         this.ndArrayCallback = ndArrayCallback;
+        this.chunkAccumulator = chunkAccumulator;
+    }
+
+    /**
+     * Evict incomplete chunked messages
+     * that timed out. Meant to be called
+     * from the subscriber poll loop,
+     * so they are evicted even
+     * when no more chunks arrive.
+     * @return the number of evicted messages
+     */
+    public int evictExpired() {
+        return chunkAccumulator.evictExpired();
     }
 
     /**
@@ -43,14 +64,16 @@ public class NDArrayFragmentHandler implements FragmentHandler {
         if (byteBuffer == null) {
             byteArrayInput = true;
             byte[] destination = new byte[length];
-            ByteBuffer wrap = ByteBuffer.wrap(buffer.byteArray());
-            wrap.get(destination, offset, length);
+            buffer.getBytes(offset, destination);
             byteBuffer = ByteBuffer.wrap(destination).order(ByteOrder.nativeOrder());
         }
 
 
         //only applicable for direct buffers where we don't wrap the array
+        //the fragment is limited to its length, so chunk data doesn't run in to the next fragment
         if (!byteArrayInput) {
+            byteBuffer = byteBuffer.duplicate();
+            byteBuffer.limit(offset + length);
             byteBuffer.position(offset);
             byteBuffer.order(ByteOrder.nativeOrder());
         }
@@ -68,8 +91,9 @@ public class NDArrayFragmentHandler implements FragmentHandler {
                 throw new IllegalStateException("Found invalid number of chunks " + chunk.getNumChunks()
                                 + " on chunk index " + chunk.getChunkIndex());
             chunkAccumulator.accumulateChunk(chunk);
-            log.info("Number of chunks " + chunk.getNumChunks() + " and number of chunks " + chunk.getNumChunks()
-                            + " for id " + chunk.getId() + " is " + chunkAccumulator.numChunksSoFar(chunk.getId()));
+            if (log.isDebugEnabled())
+                log.debug("Number of chunks so far for id " + chunk.getId() + " is "
+                                + chunkAccumulator.numChunksSoFar(chunk.getId()) + " of " + chunk.getNumChunks());
 
             if (chunkAccumulator.allPresent(chunk.getId())) {
                 NDArrayMessage message = chunkAccumulator.reassemble(chunk.getId());
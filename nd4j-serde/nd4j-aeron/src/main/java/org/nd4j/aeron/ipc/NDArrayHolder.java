@@ -44,4 +44,15 @@ public interface NDArrayHolder extends Serializable {
      * from the master array.
      */
     INDArray getTad(int idx, int... dimensions);
+
+    /**
+     * The version of the held array,
+     * advanced as updates are applied to it.
+     * Sent along with the array, so updates
+     * computed against it can be told apart from stale ones.
+     * @return the version of the array, or -1 if versions aren't tracked
+     */
+    default int version() {
+        return -1;
+    }
 }
@@ -5,6 +5,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.agrona.DirectBuffer;
+import org.agrona.MutableDirectBuffer;
 import org.agrona.concurrent.UnsafeBuffer;
 import org.apache.commons.lang3.tuple.Pair;
 import org.nd4j.aeron.ipc.chunk.NDArrayMessageChunk;
@@ -32,6 +33,9 @@ import java.util.UUID;
  * index: the index of the tensor along dimension for update (use -1 if there is no index, eg: when you are going to use the whole array)
  * dimensions: the dimensions to do for a tensoralongdimension update, if you intend on updating the whole array send: new int[]{ -1} which
  * will indicate to use the whole array for an update.
+ * version: the version of the master array an update was computed against, or the version of the array
+ * in a response from the master. Null when unknown. This is written as an optional trailer
+ * after the dimensions, so messages without it keep the same layout.
  *
  *
  * @author Adam Gibson
@@ -47,6 +51,9 @@ public class NDArrayMessage implements Serializable {
     private int[] dimensions;
     private byte[] chunk;
     private int numChunks = 0;
+    private Integer version;
+    //marks the optional version trailer
+    private static final int VERSION_MARKER = 0x56455253;
     //default dimensions: a 1 length array of -1 means use the whole array for an update.
     private static int[] WHOLE_ARRAY_UPDATE = {-1};
     //represents the constant for indicating using the whole array for an update (-1)
@@ -186,10 +193,19 @@ public class NDArrayMessage implements Serializable {
         int sizeofDimensionLength = 4;
         int timeStampSize = 8;
         int indexSize = 8;
-        return enumSize + nInts + sizeofDimensionLength + timeStampSize + indexSize
+        return enumSize + nInts + sizeofDimensionLength + timeStampSize + indexSize + versionSize(message)
                         + AeronNDArraySerde.byteBufferSizeFor(message.getArr());
     }
 
+    /**
+     * Returns the size of the version trailer:
+     * a marker and the version itself,
+     * or nothing if the version isn't known
+     */
+    private static int versionSize(NDArrayMessage message) {
+        return message.getVersion() == null ? 0 : 8;
+    }
+
 
     /**
      *
@@ -293,6 +309,11 @@ public class NDArrayMessage implements Serializable {
             byteBuffer.putInt(message.getDimensions()[i]);
         }
 
+        if (message.getVersion() != null) {
+            byteBuffer.putInt(VERSION_MARKER);
+            byteBuffer.putInt(message.getVersion());
+        }
+
         //rewind the buffer before putting it in to the unsafe buffer
         //note that we set rewind to false in the do byte buffer put methods
         byteBuffer.rewind();
@@ -300,6 +321,57 @@ public class NDArrayMessage implements Serializable {
         return new UnsafeBuffer(byteBuffer);
     }
 
+    /**
+     * Returns the exact number of bytes
+     * {@link #toBuffer(NDArrayMessage, MutableDirectBuffer, int)}
+     * will write for the given message.
+     * See {@link AeronNDArraySerde#encodedLengthFor(INDArray)}
+     * @param message the message to get the length for
+     * @return the number of bytes needed for the message
+     */
+    public static int encodedLengthFor(NDArrayMessage message) {
+        return 4 + AeronNDArraySerde.encodedLengthFor(message.getArr()) + 8 + 8 + 4
+                        + 4 * message.getDimensions().length + versionSize(message);
+    }
+
+    /**
+     * Write a message straight in to the given buffer,
+     * using the same format as {@link #toBuffer(NDArrayMessage)}.
+     * This is meant for writing in to pooled buffers
+     * or an aeron {@link io.aeron.logbuffer.BufferClaim}
+     * without any intermediate allocations.
+     *
+     * Note that the message array must satisfy
+     * {@link AeronNDArraySerde#canWriteDirectly(INDArray)}
+     * @param message the message to write
+     * @param buffer the buffer to write to
+     * @param offset the offset to start at
+     * @return the number of bytes written
+     */
+    public static int toBuffer(NDArrayMessage message, MutableDirectBuffer buffer, int offset) {
+        int position = offset;
+        //declare message type
+        buffer.putInt(position, MessageType.WHOLE.ordinal());
+        position = AeronNDArraySerde.putArray(message.getArr(), buffer, position + 4);
+
+        buffer.putLong(position, message.getSent());
+        buffer.putLong(position + 8, message.getIndex());
+        buffer.putInt(position + 16, message.getDimensions().length);
+        position += 20;
+        for (int i = 0; i < message.getDimensions().length; i++) {
+            buffer.putInt(position, message.getDimensions()[i]);
+            position += 4;
+        }
+
+        if (message.getVersion() != null) {
+            buffer.putInt(position, VERSION_MARKER);
+            buffer.putInt(position + 4, message.getVersion());
+            position += 8;
+        }
+
+        return position - offset;
+    }
+
     /**
      * Convert a direct buffer to an ndarray
      * message.
@@ -309,13 +381,16 @@ public class NDArrayMessage implements Serializable {
      * index
      * dimension length
      * dimensions
+     * version marker and version (optional)
      *
      * We use {@link AeronNDArraySerde#toArrayAndByteBuffer(DirectBuffer, int)}
      * to read in the ndarray and just use normal {@link ByteBuffer#getInt()} and
      * {@link ByteBuffer#getLong()} to get the things like dimensions and index
      * and time stamp.
      *
-     *
+     * Compressed arrays are decompressed, except for sparse encodings
+     * (see {@link org.nd4j.linalg.compression.SparseNDArrayCompressor})
+     * which are kept compressed to be applied directly.
      *
      * @param buffer the buffer to convert
      * @param offset  the offset to start at with the buffer - note that this
@@ -324,10 +399,27 @@ public class NDArrayMessage implements Serializable {
      * @return the ndarray message based on this direct buffer.
      */
     public static NDArrayMessage fromBuffer(DirectBuffer buffer, int offset) {
+        return fromBuffer(buffer, offset, true);
+    }
+
+    /**
+     * Convert a direct buffer to an ndarray message.
+     * See {@link #fromBuffer(DirectBuffer, int)} for the format.
+     * With copyData set to false the array is created
+     * on top of the buffer memory, see
+     * {@link AeronNDArraySerde#toArrayAndByteBuffer(DirectBuffer, int, boolean)}
+     * @param buffer the buffer to convert
+     * @param offset the offset to start at
+     * @param copyData whether to copy the array data out of the buffer or not
+     * @return the ndarray message based on this direct buffer.
+     */
+    public static NDArrayMessage fromBuffer(DirectBuffer buffer, int offset, boolean copyData) {
         //skip the message type
-        Pair<INDArray, ByteBuffer> pair = AeronNDArraySerde.toArrayAndByteBuffer(buffer, offset + 4);
+        Pair<INDArray, ByteBuffer> pair = AeronNDArraySerde.toArrayAndByteBuffer(buffer, offset + 4, copyData);
         INDArray arr = pair.getKey();
-        Nd4j.getCompressor().decompressi(arr);
+        //sparse encoded updates are left compressed, so they can be applied without densifying
+        if (!Nd4j.getCompressor().isSparse(arr))
+            Nd4j.getCompressor().decompressi(arr);
         //use the rest of the buffer, of note here the offset is already set, we should only need to use
         ByteBuffer rest = pair.getRight();
         long time = rest.getLong();
@@ -339,7 +431,14 @@ public class NDArrayMessage implements Serializable {
         int[] dimensions = new int[dimensionLength];
         for (int i = 0; i < dimensionLength; i++)
             dimensions[i] = rest.getInt();
-        return NDArrayMessage.builder().sent(time).arr(arr).index(index).dimensions(dimensions).build();
+
+        //the buffer may be longer then the message, so the trailer is only read when its marker is there
+        Integer version = null;
+        if (rest.remaining() >= 8 && rest.getInt(rest.position()) == VERSION_MARKER)
+            version = rest.getInt(rest.position() + 4);
+
+        return NDArrayMessage.builder().sent(time).arr(arr).index(index).dimensions(dimensions).version(version)
+                        .build();
     }
 
 }
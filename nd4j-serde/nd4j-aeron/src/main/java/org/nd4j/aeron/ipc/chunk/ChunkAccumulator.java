@@ -46,4 +46,16 @@ public interface ChunkAccumulator {
      * @param chunk the chunk to accumulate
      */
     void accumulateChunk(NDArrayMessageChunk chunk);
+
+    /**
+     * Drop incomplete messages
+     * that stopped receiving chunks.
+     * Called periodically by the subscriber
+     * loop, so it should be cheap
+     * when there's nothing to evict.
+     * @return the number of evicted messages
+     */
+    default int evictExpired() {
+        return 0;
+    }
 }
@@ -2,6 +2,8 @@ package org.nd4j.aeron.ipc.chunk;
 
 import lombok.Builder;
 import lombok.Data;
+import org.agrona.DirectBuffer;
+import org.agrona.MutableDirectBuffer;
 import org.nd4j.aeron.ipc.AeronNDArraySubscriber;
 import org.nd4j.aeron.ipc.NDArrayMessage;
 
@@ -94,6 +96,39 @@ public class NDArrayMessageChunk implements Serializable {
         return ret;
     }
 
+    /**
+     * Write a chunk straight in to the given buffer,
+     * using the same layout as {@link #toBuffer(NDArrayMessageChunk)}.
+     * The chunk data is copied from the given region
+     * of the buffer holding the whole message.
+     * @param buffer the buffer to write to
+     * @param offset the offset to start at
+     * @param id the id of the chunked message as bytes
+     * @param numChunks the number of chunks in the message
+     * @param chunkSize the chunk size
+     * @param chunkIndex the index of this chunk
+     * @param source the buffer holding the whole message
+     * @param sourceOffset the offset of the chunk data in the source
+     * @param length the length of the chunk data
+     * @return the number of bytes written
+     */
+    public static int putChunk(MutableDirectBuffer buffer, int offset, byte[] id, int numChunks, int chunkSize,
+                    int chunkIndex, DirectBuffer source, int sourceOffset, int length) {
+        int position = offset;
+        buffer.putInt(position, NDArrayMessage.MessageType.CHUNKED.ordinal());
+        buffer.putInt(position + 4, numChunks);
+        buffer.putInt(position + 8, chunkSize);
+        buffer.putInt(position + 12, id.length);
+        position += 16;
+        buffer.putBytes(position, id);
+        position += id.length;
+        buffer.putInt(position, chunkIndex);
+        position += 4;
+        buffer.putBytes(position, source, sourceOffset, length);
+        position += length;
+        return position - offset;
+    }
+
     /**
      * Returns a chunk given the passed in {@link ByteBuffer}
      * NOTE THAT THIS WILL MODIFY THE PASSED IN BYTEBUFFER's POSITION.
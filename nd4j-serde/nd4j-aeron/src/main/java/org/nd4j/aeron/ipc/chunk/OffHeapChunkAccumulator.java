@@ -0,0 +1,254 @@
+package org.nd4j.aeron.ipc.chunk;
+
+import lombok.extern.slf4j.Slf4j;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.nd4j.aeron.ipc.NDArrayMessage;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Streaming chunk accumulator.
+ *
+ * Unlike {@link InMemoryChunkAccumulator} chunks aren't kept around:
+ * when the first chunk of a message arrives, one off heap slab
+ * of numChunks * chunkSize bytes is allocated for the whole message,
+ * and every chunk is copied in to its place in the slab as it arrives.
+ * Chunks may arrive in any order, duplicates are ignored.
+ *
+ * The reassembled message is created directly
+ * on top of the slab, so there's no final copy
+ * and peak memory is the size of the message itself.
+ *
+ * Messages that haven't received a chunk
+ * for longer than the timeout are evicted
+ * from the subscriber loop even when
+ * no chunks arrive, see {@link #evictExpired()}
+ *
+ * @author Adam Gibson
+ */
+@Slf4j
+public class OffHeapChunkAccumulator implements ChunkAccumulator {
+    public final static long DEFAULT_TIMEOUT = 30000;
+
+    private final Map<String, Slab> slabs = new ConcurrentHashMap<>();
+    private final long timeout;
+    private volatile long lastEviction = System.currentTimeMillis();
+
+    //metrics
+    private final AtomicLong inFlightBytes = new AtomicLong(0);
+    private final AtomicLong completedMessages = new AtomicLong(0);
+    private final AtomicLong evictedMessages = new AtomicLong(0);
+    private final AtomicLong evictedBytes = new AtomicLong(0);
+
+    public OffHeapChunkAccumulator() {
+        this(DEFAULT_TIMEOUT);
+    }
+
+    /**
+     * @param timeout the time in milliseconds an incomplete
+     *                message is kept after its last chunk arrived
+     */
+    public OffHeapChunkAccumulator(long timeout) {
+        this.timeout = timeout;
+    }
+
+    /**
+     * Returns the number of chunks
+     * accumulated for a given id so far
+     *
+     * @param id the id to get the
+     *           number of chunks for
+     * @return the number of chunks accumulated
+     * for a given id so far
+     */
+    @Override
+    public int numChunksSoFar(String id) {
+        Slab slab = slabs.get(id);
+        return slab == null ? 0 : slab.received;
+    }
+
+    /**
+     * Returns true if all chunks are present
+     *
+     * @param id the id to check for
+     * @return true if all the chunks are present,false otherwise
+     */
+    @Override
+    public boolean allPresent(String id) {
+        Slab slab = slabs.get(id);
+        return slab != null && slab.received == slab.numChunks;
+    }
+
+    /**
+     * Reassemble an ndarray message
+     * from the slab of the given id.
+     * The array of the returned message
+     * uses the slab memory directly.
+     *
+     * @param id the id to reassemble
+     * @return the reassembled message
+     */
+    @Override
+    public NDArrayMessage reassemble(String id) {
+        Slab slab = slabs.get(id);
+        if (slab == null)
+            throw new IllegalStateException("Unable to reassemble message chunk " + id + ": no chunks present");
+
+        if (slab.received != slab.numChunks)
+            throw new IllegalStateException("Unable to reassemble message chunk " + id + " missing "
+                            + (slab.numChunks - slab.received) + " chunks");
+
+        slabs.remove(id);
+        inFlightBytes.addAndGet(-slab.data.capacity());
+        completedMessages.incrementAndGet();
+
+        slab.data.rewind();
+        return NDArrayMessage.fromBuffer(new UnsafeBuffer(slab.data), 0, false);
+    }
+
+    /**
+     * Copy the chunk data in to the slab
+     * of its message, allocating the slab
+     * if this is the first chunk for the id.
+     * The chunk data isn't referenced afterwards,
+     * so it may point to a transient buffer.
+     *
+     * @param chunk the chunk
+     */
+    @Override
+    public void accumulateChunk(NDArrayMessageChunk chunk) {
+        evictExpired();
+
+        if (chunk.getChunkIndex() < 0 || chunk.getChunkIndex() >= chunk.getNumChunks())
+            throw new IllegalStateException("Found invalid chunk index " + chunk.getChunkIndex() + " for "
+                            + chunk.getNumChunks() + " chunks");
+
+        Slab slab = slabs.get(chunk.getId());
+        if (slab == null) {
+            long size = (long) chunk.getChunkSize() * chunk.getNumChunks();
+            if (size > Integer.MAX_VALUE)
+                throw new IllegalStateException("Chunked message " + chunk.getId() + " is too large: " + size);
+
+            Slab created = new Slab(chunk.getNumChunks(), chunk.getChunkSize());
+            slab = slabs.putIfAbsent(chunk.getId(), created);
+            if (slab == null) {
+                slab = created;
+                inFlightBytes.addAndGet(size);
+            }
+        }
+
+        if (slab.numChunks != chunk.getNumChunks() || slab.chunkSize != chunk.getChunkSize())
+            throw new IllegalStateException("Chunk " + chunk.getChunkIndex() + " doesn't match layout of message "
+                            + chunk.getId());
+
+        ByteBuffer source = chunk.getData().duplicate();
+        if (source.remaining() > slab.chunkSize)
+            source.limit(source.position() + slab.chunkSize);
+
+        synchronized (slab) {
+            if (!slab.present.get(chunk.getChunkIndex())) {
+                ByteBuffer destination = slab.data.duplicate();
+                destination.position(chunk.getChunkIndex() * slab.chunkSize);
+                destination.put(source);
+                slab.present.set(chunk.getChunkIndex());
+                slab.received++;
+            }
+            slab.lastUpdate = System.currentTimeMillis();
+        }
+
+        if (log.isDebugEnabled())
+            log.debug("Accumulated chunk {} of {} for id {}; in flight bytes: {}", chunk.getChunkIndex(),
+                            chunk.getNumChunks(), chunk.getId(), inFlightBytes.get());
+    }
+
+    /**
+     * Evict messages that haven't received
+     * any chunks for longer than the timeout.
+     * This is cheap to call often: the slabs
+     * are only scanned once per half of the timeout.
+     * @return the number of evicted messages
+     */
+    @Override
+    public int evictExpired() {
+        long now = System.currentTimeMillis();
+        if (now - lastEviction < timeout / 2)
+            return 0;
+
+        lastEviction = now;
+        int evicted = 0;
+        Iterator<Map.Entry<String, Slab>> iterator = slabs.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, Slab> entry = iterator.next();
+            Slab slab = entry.getValue();
+            if (now - slab.lastUpdate > timeout) {
+                iterator.remove();
+                inFlightBytes.addAndGet(-slab.data.capacity());
+                evictedBytes.addAndGet(slab.data.capacity());
+                evictedMessages.incrementAndGet();
+                evicted++;
+                log.warn("Evicting incomplete message " + entry.getKey() + ": received " + slab.received + " of "
+                                + slab.numChunks + " chunks");
+            }
+        }
+
+        return evicted;
+    }
+
+    /**
+     * Returns the number of bytes held
+     * by slabs of incomplete messages
+     */
+    public long getInFlightBytes() {
+        return inFlightBytes.get();
+    }
+
+    /**
+     * Returns the number of incomplete messages
+     */
+    public int getInFlightMessages() {
+        return slabs.size();
+    }
+
+    /**
+     * Returns the number of reassembled messages
+     */
+    public long getCompletedMessages() {
+        return completedMessages.get();
+    }
+
+    /**
+     * Returns the number of evicted messages
+     */
+    public long getEvictedMessages() {
+        return evictedMessages.get();
+    }
+
+    /**
+     * Returns the number of bytes freed by eviction
+     */
+    public long getEvictedBytes() {
+        return evictedBytes.get();
+    }
+
+    private static class Slab {
+        private final int numChunks;
+        private final int chunkSize;
+        private final ByteBuffer data;
+        private final BitSet present;
+        private volatile int received;
+        private volatile long lastUpdate = System.currentTimeMillis();
+
+        private Slab(int numChunks, int chunkSize) {
+            this.numChunks = numChunks;
+            this.chunkSize = chunkSize;
+            this.data = ByteBuffer.allocateDirect(numChunks * chunkSize).order(ByteOrder.nativeOrder());
+            this.present = new BitSet(numChunks);
+        }
+    }
+}
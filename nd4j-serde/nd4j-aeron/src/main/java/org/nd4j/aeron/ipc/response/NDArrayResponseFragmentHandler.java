@@ -9,6 +9,7 @@ import org.agrona.DirectBuffer;
 import org.nd4j.aeron.ipc.AeronNDArrayPublisher;
 import org.nd4j.aeron.ipc.AeronUtil;
 import org.nd4j.aeron.ipc.NDArrayHolder;
+import org.nd4j.aeron.ipc.NDArrayMessage;
 import org.nd4j.linalg.api.ndarray.INDArray;
 
 import java.nio.ByteBuffer;
@@ -58,11 +59,16 @@ public class NDArrayResponseFragmentHandler implements FragmentHandler {
             int port = Integer.parseInt(split[1]);
             int streamToPublish = Integer.parseInt(split[2]);
             String channel = AeronUtil.aeronChannel(split[0], port);
+            //the version is read first, so the array sent is at least as recent
+            int version = holder.version();
             INDArray arrGet = holder.get();
+            NDArrayMessage message = NDArrayMessage.wholeArrayUpdate(arrGet);
+            if (version >= 0)
+                message.setVersion(version);
             AeronNDArrayPublisher publisher = AeronNDArrayPublisher.builder().streamId(streamToPublish).aeron(aeron)
                             .channel(channel).build();
             try {
-                publisher.publish(arrGet);
+                publisher.publish(message);
             } catch (Exception e) {
                 e.printStackTrace();
             }
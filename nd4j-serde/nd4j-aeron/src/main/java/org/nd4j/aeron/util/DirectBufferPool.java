@@ -0,0 +1,105 @@
+package org.nd4j.aeron.util;
+
+import org.agrona.concurrent.UnsafeBuffer;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayDeque;
+
+/**
+ * A small pool of direct {@link UnsafeBuffer}s
+ * meant for reuse across publishes, so sending
+ * large (chunked) messages doesn't allocate
+ * new direct memory every time.
+ *
+ * Capacities are rounded up to the next power of 2,
+ * so buffers for similar sized messages are shared.
+ * Up to maxPooled buffers are kept, anything returned
+ * beyond that is left for the garbage collector.
+ *
+ * This class is thread safe.
+ *
+ * @author Adam Gibson
+ */
+public class DirectBufferPool {
+    public final static int DEFAULT_MAX_POOLED = 8;
+
+    private final ArrayDeque<UnsafeBuffer> pool = new ArrayDeque<>();
+    private final int maxPooled;
+
+    public DirectBufferPool() {
+        this(DEFAULT_MAX_POOLED);
+    }
+
+    /**
+     * @param maxPooled the max number of idle buffers to keep
+     */
+    public DirectBufferPool(int maxPooled) {
+        this.maxPooled = maxPooled;
+    }
+
+    /**
+     * Returns a buffer with at least the given capacity.
+     * The smallest pooled buffer that fits is reused,
+     * otherwise a new one is allocated.
+     * @param minCapacity the minimum capacity needed
+     * @return a direct buffer, its contents are undefined
+     */
+    public UnsafeBuffer acquire(int minCapacity) {
+        synchronized (pool) {
+            UnsafeBuffer best = null;
+            for (UnsafeBuffer buffer : pool) {
+                if (buffer.capacity() >= minCapacity && (best == null || buffer.capacity() < best.capacity()))
+                    best = buffer;
+            }
+
+            if (best != null) {
+                pool.remove(best);
+                return best;
+            }
+        }
+
+        return new UnsafeBuffer(ByteBuffer.allocateDirect(roundUp(minCapacity)).order(ByteOrder.nativeOrder()));
+    }
+
+    /**
+     * Return a buffer to the pool.
+     * If the pool is full, the smallest buffer is dropped.
+     * @param buffer the buffer to return
+     */
+    public void release(UnsafeBuffer buffer) {
+        synchronized (pool) {
+            if (pool.size() >= maxPooled) {
+                UnsafeBuffer smallest = buffer;
+                for (UnsafeBuffer pooled : pool) {
+                    if (pooled.capacity() < smallest.capacity())
+                        smallest = pooled;
+                }
+
+                if (smallest == buffer)
+                    return;
+
+                pool.remove(smallest);
+            }
+
+            pool.add(buffer);
+        }
+    }
+
+    /**
+     * Returns the number of idle buffers in the pool
+     * @return the number of idle buffers
+     */
+    public int size() {
+        synchronized (pool) {
+            return pool.size();
+        }
+    }
+
+    private static int roundUp(int capacity) {
+        int rounded = Integer.highestOneBit(Math.max(capacity, 64));
+        if (rounded < capacity)
+            rounded <<= 1;
+        return rounded < 0 ? capacity : rounded;
+    }
+}
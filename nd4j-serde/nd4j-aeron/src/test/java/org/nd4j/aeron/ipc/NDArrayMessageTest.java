@@ -1,11 +1,22 @@
 package org.nd4j.aeron.ipc;
 
 import org.agrona.DirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
 import org.junit.Test;
+import org.nd4j.aeron.ipc.chunk.NDArrayMessageChunk;
+import org.nd4j.aeron.util.DirectBufferPool;
 import org.nd4j.linalg.api.ndarray.INDArray;
 import org.nd4j.linalg.factory.Nd4j;
+import org.nd4j.linalg.indexing.NDArrayIndex;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 /**
  * Created by agibsonccc on 11/6/16.
@@ -30,4 +41,122 @@ public class NDArrayMessageTest {
     }
 
 
+    @Test
+    public void testDirectWriteMatchesBuffer() {
+        NDArrayMessage message = NDArrayMessage.wholeArrayUpdate(Nd4j.linspace(1, 100, 100));
+        DirectBuffer expected = NDArrayMessage.toBuffer(message);
+
+        int length = NDArrayMessage.encodedLengthFor(message);
+        assertEquals(expected.capacity(), length);
+
+        UnsafeBuffer buffer = new UnsafeBuffer(ByteBuffer.allocateDirect(length + 16).order(ByteOrder.nativeOrder()));
+        assertEquals(length, NDArrayMessage.toBuffer(message, buffer, 16));
+
+        byte[] expectedBytes = new byte[length];
+        byte[] actualBytes = new byte[length];
+        expected.getBytes(0, expectedBytes);
+        buffer.getBytes(16, actualBytes);
+        assertArrayEquals(expectedBytes, actualBytes);
+
+        assertEquals(message, NDArrayMessage.fromBuffer(buffer, 16));
+    }
+
+    @Test
+    public void testDirectWriteContiguousView() {
+        INDArray matrix = Nd4j.linspace(1, 100, 100).reshape('c', 10, 10);
+        INDArray row = matrix.getRow(3);
+        assertTrue(AeronNDArraySerde.canWriteDirectly(row));
+        assertFalse(AeronNDArraySerde.canWriteDirectly(matrix.getColumn(3)));
+
+        NDArrayMessage message = NDArrayMessage.wholeArrayUpdate(row);
+        int length = NDArrayMessage.encodedLengthFor(message);
+        UnsafeBuffer buffer = new UnsafeBuffer(ByteBuffer.allocateDirect(length).order(ByteOrder.nativeOrder()));
+        NDArrayMessage.toBuffer(message, buffer, 0);
+
+        assertEquals(row, NDArrayMessage.fromBuffer(buffer, 0).getArr());
+    }
+
+    @Test
+    public void testVersionTrailer() {
+        NDArrayMessage message = NDArrayMessage.wholeArrayUpdate(Nd4j.linspace(1, 10, 10));
+        message.setVersion(42);
+
+        NDArrayMessage copied = NDArrayMessage.fromBuffer(NDArrayMessage.toBuffer(message), 0);
+        assertEquals(Integer.valueOf(42), copied.getVersion());
+
+        //written in to a larger buffer, the padding must not be taken as a version
+        NDArrayMessage unversioned = NDArrayMessage.wholeArrayUpdate(Nd4j.linspace(1, 10, 10));
+        int length = NDArrayMessage.encodedLengthFor(unversioned);
+        UnsafeBuffer buffer = new UnsafeBuffer(ByteBuffer.allocateDirect(length + 64).order(ByteOrder.nativeOrder()));
+        NDArrayMessage.toBuffer(unversioned, buffer, 0);
+        assertNull(NDArrayMessage.fromBuffer(buffer, 0).getVersion());
+
+        length = NDArrayMessage.encodedLengthFor(message);
+        assertEquals(length, NDArrayMessage.toBuffer(message, buffer, 0));
+        assertEquals(message, NDArrayMessage.fromBuffer(buffer, 0));
+    }
+
+    @Test
+    public void testDirectWriteStridedViews() {
+        INDArray matrix = Nd4j.linspace(1, 100, 100).reshape('c', 10, 10);
+        INDArray rows = matrix.get(NDArrayIndex.interval(2, 5), NDArrayIndex.all());
+        INDArray columns = matrix.get(NDArrayIndex.all(), NDArrayIndex.interval(2, 5));
+        INDArray fColumn = Nd4j.linspace(1, 100, 100).reshape('f', 10, 10).getColumn(4);
+
+        assertTrue(AeronNDArraySerde.canWriteDirectly(rows));
+        assertFalse(AeronNDArraySerde.canWriteDirectly(columns));
+        assertTrue(AeronNDArraySerde.canWriteDirectly(fColumn));
+
+        for (INDArray view : new INDArray[] {rows, fColumn}) {
+            NDArrayMessage message = NDArrayMessage.wholeArrayUpdate(view);
+            int length = NDArrayMessage.encodedLengthFor(message);
+            UnsafeBuffer buffer = new UnsafeBuffer(ByteBuffer.allocateDirect(length).order(ByteOrder.nativeOrder()));
+            NDArrayMessage.toBuffer(message, buffer, 0);
+
+            assertEquals(view, NDArrayMessage.fromBuffer(buffer, 0).getArr());
+        }
+    }
+
+    @Test
+    public void testDirectWriteCompressed() {
+        INDArray compressed = Nd4j.getCompressor().compress(Nd4j.linspace(1, 100, 100), "GZIP");
+        NDArrayMessage message = NDArrayMessage.wholeArrayUpdate(compressed);
+
+        int length = NDArrayMessage.encodedLengthFor(message);
+        UnsafeBuffer buffer = new UnsafeBuffer(ByteBuffer.allocateDirect(length).order(ByteOrder.nativeOrder()));
+        NDArrayMessage.toBuffer(message, buffer, 0);
+
+        assertEquals(Nd4j.linspace(1, 100, 100), NDArrayMessage.fromBuffer(buffer, 0).getArr());
+    }
+
+    @Test
+    public void testPooledChunks() {
+        DirectBufferPool pool = new DirectBufferPool(2);
+        NDArrayMessage message = NDArrayMessage.wholeArrayUpdate(Nd4j.linspace(1, 1000, 1000));
+        int length = NDArrayMessage.encodedLengthFor(message);
+        UnsafeBuffer whole = pool.acquire(length);
+        NDArrayMessage.toBuffer(message, whole, 0);
+
+        int chunkSize = 128;
+        int numChunks = length / chunkSize + (length % chunkSize == 0 ? 0 : 1);
+        byte[] id = "chunked".getBytes();
+        NDArrayMessageChunk[] chunks = new NDArrayMessageChunk[numChunks];
+        for (int i = 0; i < numChunks; i++) {
+            UnsafeBuffer chunkBuffer = pool.acquire(20 + id.length + chunkSize);
+            int written = NDArrayMessageChunk.putChunk(chunkBuffer, 0, id, numChunks, chunkSize, i, whole,
+                            i * chunkSize, Math.min(chunkSize, length - i * chunkSize));
+
+            //copy out, the same way a subscriber gets it off the wire
+            ByteBuffer received = ByteBuffer.allocateDirect(written).order(ByteOrder.nativeOrder());
+            chunkBuffer.getBytes(0, received, written);
+            received.rewind();
+            assertEquals(NDArrayMessage.MessageType.CHUNKED.ordinal(), received.getInt());
+            chunks[i] = NDArrayMessageChunk.fromBuffer(received, NDArrayMessage.MessageType.CHUNKED);
+            pool.release(chunkBuffer);
+        }
+
+        pool.release(whole);
+        assertEquals(2, pool.size());
+        assertEquals(message, NDArrayMessage.fromChunks(chunks));
+    }
 }
@@ -1,10 +1,13 @@
 package org.nd4j.aeron.ipc.chunk;
 
 import org.junit.Test;
+import org.nd4j.aeron.ipc.NDArrayFragmentHandler;
 import org.nd4j.aeron.ipc.NDArrayMessage;
 import org.nd4j.linalg.factory.Nd4j;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 /**
  * Created by agibsonccc on 11/20/16.
@@ -25,4 +28,61 @@ public class ChunkAccumulatorTests {
         assertEquals(message, message1);
     }
 
+    @Test
+    public void testOffHeapAccumulatorOutOfOrder() {
+        OffHeapChunkAccumulator chunkAccumulator = new OffHeapChunkAccumulator();
+        NDArrayMessage message = NDArrayMessage.wholeArrayUpdate(Nd4j.linspace(1, 1000, 1000));
+        int chunkSize = 128;
+        NDArrayMessageChunk[] chunks = NDArrayMessage.chunks(message, chunkSize);
+        for (int i = chunks.length - 1; i >= 0; i--) {
+            chunkAccumulator.accumulateChunk(chunks[i]);
+            //duplicates are ignored
+            chunkAccumulator.accumulateChunk(chunks[i]);
+        }
+
+        assertEquals(chunks.length, chunkAccumulator.numChunksSoFar(chunks[0].getId()));
+        assertTrue(chunkAccumulator.allPresent(chunks[0].getId()));
+        assertEquals((long) chunks.length * chunkSize, chunkAccumulator.getInFlightBytes());
+
+        NDArrayMessage message1 = chunkAccumulator.reassemble(chunks[0].getId());
+        assertEquals(message, message1);
+        assertEquals(0, chunkAccumulator.getInFlightBytes());
+        assertEquals(0, chunkAccumulator.getInFlightMessages());
+        assertEquals(1, chunkAccumulator.getCompletedMessages());
+    }
+
+    @Test
+    public void testOffHeapAccumulatorEviction() throws Exception {
+        OffHeapChunkAccumulator chunkAccumulator = new OffHeapChunkAccumulator(10);
+        NDArrayMessage message = NDArrayMessage.wholeArrayUpdate(Nd4j.ones(1000));
+        NDArrayMessageChunk[] chunks = NDArrayMessage.chunks(message, 128);
+        chunkAccumulator.accumulateChunk(chunks[0]);
+        assertEquals(1, chunkAccumulator.getInFlightMessages());
+
+        Thread.sleep(50);
+
+        assertEquals(1, chunkAccumulator.evictExpired());
+        assertFalse(chunkAccumulator.allPresent(chunks[0].getId()));
+        assertEquals(0, chunkAccumulator.getInFlightBytes());
+        assertEquals(1, chunkAccumulator.getEvictedMessages());
+    }
+
+    @Test
+    public void testFragmentHandlerEviction() throws Exception {
+        OffHeapChunkAccumulator chunkAccumulator = new OffHeapChunkAccumulator(10);
+        //no fragments are handled here, so there's no callback
+        NDArrayFragmentHandler fragmentHandler = new NDArrayFragmentHandler(null, chunkAccumulator);
+
+        NDArrayMessage message = NDArrayMessage.wholeArrayUpdate(Nd4j.ones(1000));
+        NDArrayMessageChunk[] chunks = NDArrayMessage.chunks(message, 128);
+        chunkAccumulator.accumulateChunk(chunks[0]);
+
+        Thread.sleep(50);
+
+        //no more chunks arrive, the poll loop still evicts the message
+        assertEquals(1, fragmentHandler.evictExpired());
+        assertEquals(0, chunkAccumulator.getInFlightMessages());
+        assertEquals(0, new InMemoryChunkAccumulator().evictExpired());
+    }
+
 }
@@ -1,20 +1,65 @@
 package org.nd4j;
 
 import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.KryoException;
 import com.esotericsoftware.kryo.Serializer;
 import com.esotericsoftware.kryo.io.Input;
 import com.esotericsoftware.kryo.io.Output;
+import org.bytedeco.javacpp.BytePointer;
+import org.bytedeco.javacpp.Pointer;
+import org.nd4j.linalg.api.buffer.DataBuffer;
+import org.nd4j.linalg.api.complex.IComplexNDArray;
+import org.nd4j.linalg.api.concurrency.AffinityManager;
 import org.nd4j.linalg.api.ndarray.INDArray;
 import org.nd4j.linalg.factory.Nd4j;
 
+import java.io.ByteArrayInputStream;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
+import java.io.SequenceInputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
 
 /**
+ * Kryo serializer for INDArrays.
+ *
+ * Float and double arrays are written in bulk: shape information first,
+ * then the raw bytes of the data buffer, copied from the off heap pointer
+ * straight in to the kryo output buffer whenever it has room
+ * (through a bounded scratch array otherwise).
+ * Reads mirror that, copying from the kryo input buffer
+ * straight in to the off heap memory of the new array.
+ * Deserialized arrays are allocated in the current workspace, if any.
+ *
+ * Compressed, half precision and complex arrays
+ * fall back to {@link Nd4j#write(INDArray, DataOutputStream)}.
+ *
+ * Layout: format byte, then for the bulk format:
+ * data type, byte order, ordering, rank, shape, stride, number of elements, raw data.
+ *
+ * Data written before the format byte was introduced is still readable:
+ * such data is a bare {@link Nd4j#write(INDArray, DataOutputStream)} stream,
+ * which starts with the 2 byte length of the allocation mode name,
+ * so its first byte is 0 and its second byte isn't.
+ * Data in {@link #FORMAT_LEGACY} format has a 0 format byte followed by that same 0 byte.
+ *
  * Created by agibsonccc on 5/22/16.
  */
 public class Nd4jSerializer extends Serializer<INDArray> {
+    public final static byte FORMAT_LEGACY = 0;
+    public final static byte FORMAT_BULK = 1;
+
+    private final static byte TYPE_FLOAT = 0;
+    private final static byte TYPE_DOUBLE = 1;
+
+    //max size of the intermediate array used when kryo buffers are full
+    private final static int SCRATCH_SIZE = 64 * 1024;
+
+    private byte[] scratch;
+
     /**
      * Writes the bytes for the object to the output.
      * <p>
@@ -27,13 +72,41 @@ public class Nd4jSerializer extends Serializer<INDArray> {
      */
     @Override
     public void write(Kryo kryo, Output output, INDArray object) {
-        DataOutputStream dos = new DataOutputStream(output);
-        try {
-            Nd4j.write(object, dos);
-        } catch (IOException e) {
-            throw new RuntimeException(e);
+        if (!canWriteBulk(object)) {
+            output.writeByte(FORMAT_LEGACY);
+            DataOutputStream dos = new DataOutputStream(output);
+            try {
+                Nd4j.write(object, dos);
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+            //Note: output should NOT be closed manually here - may be needed elsewhere (and closing here will cause serialization to fail)
+            return;
         }
-        //Note: output should NOT be closed manually here - may be needed elsewhere (and closing here will cause serialization to fail)
+
+        //views don't own their whole buffer, so only their elements are written
+        if (object.isView() || object.data().length() != object.length())
+            object = object.dup(object.ordering());
+
+        Nd4j.getAffinityManager().ensureLocation(object, AffinityManager.Location.HOST);
+
+        DataBuffer.Type type = object.data().dataType();
+        int[] shape = object.shape();
+        int[] stride = object.stride();
+
+        output.writeByte(FORMAT_BULK);
+        output.writeByte(type == DataBuffer.Type.DOUBLE ? TYPE_DOUBLE : TYPE_FLOAT);
+        output.writeBoolean(ByteOrder.nativeOrder() == ByteOrder.LITTLE_ENDIAN);
+        output.writeChar(object.ordering());
+        output.writeInt(shape.length, true);
+        for (int i = 0; i < shape.length; i++)
+            output.writeInt(shape[i], true);
+        for (int i = 0; i < stride.length; i++)
+            output.writeInt(stride[i], true);
+        output.writeLong(object.lengthLong(), true);
+
+        long bytes = object.lengthLong() * elementSize(type);
+        writeData(output, object.data().addressPointer(), bytes);
     }
 
     /**
@@ -53,15 +126,134 @@ public class Nd4jSerializer extends Serializer<INDArray> {
      */
     @Override
     public INDArray read(Kryo kryo, Input input, Class<INDArray> type) {
-        DataInputStream dis = new DataInputStream(input);
-        try {
-            return Nd4j.read(dis);
-        } catch (IOException e) {
-            throw new RuntimeException(e);
+        byte format = input.readByte();
+        if (format == FORMAT_LEGACY) {
+            //without a format byte, both bytes read so far belong to the Nd4j.write stream
+            byte next = input.readByte();
+            byte[] head = next != 0 ? new byte[] {format, next} : new byte[] {next};
+            DataInputStream dis = new DataInputStream(new SequenceInputStream(new ByteArrayInputStream(head), input));
+            try {
+                return Nd4j.read(dis);
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+            //Note: input should NOT be closed manually here - may be needed elsewhere (and closing here will cause serialization to fail)
+        } else if (format != FORMAT_BULK)
+            throw new KryoException("Unknown INDArray format: " + format);
+
+        DataBuffer.Type dataType = input.readByte() == TYPE_DOUBLE ? DataBuffer.Type.DOUBLE : DataBuffer.Type.FLOAT;
+        ByteOrder byteOrder = input.readBoolean() ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN;
+        char ordering = input.readChar();
+        int rank = input.readInt(true);
+        int[] shape = new int[rank];
+        int[] stride = new int[rank];
+        for (int i = 0; i < rank; i++)
+            shape[i] = input.readInt(true);
+        for (int i = 0; i < rank; i++)
+            stride[i] = input.readInt(true);
+        long length = input.readLong(true);
+        long bytes = length * elementSize(dataType);
+
+        DataBuffer buffer;
+        if (dataType == Nd4j.dataType() && byteOrder == ByteOrder.nativeOrder()) {
+            //createBuffer allocates in the current workspace, if any
+            buffer = Nd4j.createBuffer(length, false);
+            readData(input, buffer.addressPointer(), bytes);
+            Nd4j.getAffinityManager().tagLocation(buffer, AffinityManager.Location.HOST);
+        } else {
+            buffer = convert(input, dataType, byteOrder, (int) length);
         }
-        //Note: input should NOT be closed manually here - may be needed elsewhere (and closing here will cause serialization to fail)
+
+        return Nd4j.create(buffer, shape, stride, 0, ordering);
     }
 
+    private static boolean canWriteBulk(INDArray array) {
+        if (array instanceof IComplexNDArray || array.isCompressed())
+            return false;
 
+        DataBuffer.Type type = array.data().dataType();
+        return type == DataBuffer.Type.FLOAT || type == DataBuffer.Type.DOUBLE;
+    }
+
+    private static int elementSize(DataBuffer.Type type) {
+        return type == DataBuffer.Type.DOUBLE ? 8 : 4;
+    }
 
+    private void writeData(Output output, Pointer pointer, long bytes) {
+        BytePointer source = new BytePointer(pointer);
+        source.capacity(bytes).limit(bytes);
+
+        long written = 0;
+        while (written < bytes) {
+            byte[] target = output.getBuffer();
+            int free = target.length - output.position();
+            source.position(written);
+            if (free > 0) {
+                //straight in to the kryo buffer
+                int chunk = (int) Math.min(bytes - written, free);
+                source.get(target, output.position(), chunk);
+                output.setPosition(output.position() + chunk);
+                written += chunk;
+            } else {
+                //kryo has to flush or grow its buffer first
+                byte[] scratch = scratch(bytes - written);
+                int chunk = (int) Math.min(bytes - written, scratch.length);
+                source.get(scratch, 0, chunk);
+                output.writeBytes(scratch, 0, chunk);
+                written += chunk;
+            }
+        }
+    }
+
+    private void readData(Input input, Pointer pointer, long bytes) {
+        BytePointer target = new BytePointer(pointer);
+        target.capacity(bytes).limit(bytes);
+
+        long read = 0;
+        while (read < bytes) {
+            int available = input.limit() - input.position();
+            target.position(read);
+            if (available > 0) {
+                //straight from the kryo buffer
+                int chunk = (int) Math.min(bytes - read, available);
+                target.put(input.getBuffer(), input.position(), chunk);
+                input.setPosition(input.position() + chunk);
+                read += chunk;
+            } else {
+                //kryo has to fill its buffer first
+                byte[] scratch = scratch(bytes - read);
+                int chunk = (int) Math.min(bytes - read, scratch.length);
+                input.readBytes(scratch, 0, chunk);
+                target.put(scratch, 0, chunk);
+                read += chunk;
+            }
+        }
+    }
+
+    /**
+     * Reads data written with a different data type or byte order
+     * than the current ones, converting it element by element
+     */
+    private static DataBuffer convert(Input input, DataBuffer.Type dataType, ByteOrder byteOrder, int length) {
+        byte[] raw = input.readBytes(length * elementSize(dataType));
+        ByteBuffer byteBuffer = ByteBuffer.wrap(raw).order(byteOrder);
+        if (dataType == DataBuffer.Type.DOUBLE) {
+            double[] data = new double[length];
+            DoubleBuffer doubleBuffer = byteBuffer.asDoubleBuffer();
+            doubleBuffer.get(data);
+            return Nd4j.createBuffer(data);
+        } else {
+            float[] data = new float[length];
+            FloatBuffer floatBuffer = byteBuffer.asFloatBuffer();
+            floatBuffer.get(data);
+            return Nd4j.createBuffer(data);
+        }
+    }
+
+    private byte[] scratch(long required) {
+        int size = (int) Math.min(required, SCRATCH_SIZE);
+        if (scratch == null || scratch.length < size)
+            scratch = new byte[Math.max(size, scratch == null ? 0 : scratch.length)];
+        return scratch;
+    }
 }
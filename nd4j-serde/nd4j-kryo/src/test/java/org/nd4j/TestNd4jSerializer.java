@@ -0,0 +1,131 @@
+package org.nd4j;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+import org.junit.Test;
+import org.nd4j.linalg.api.memory.MemoryWorkspace;
+import org.nd4j.linalg.api.memory.conf.WorkspaceConfiguration;
+import org.nd4j.linalg.api.ndarray.INDArray;
+import org.nd4j.linalg.factory.Nd4j;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for the bulk format of {@link Nd4jSerializer}, without spark
+ */
+public class TestNd4jSerializer {
+
+    private static Kryo kryo() {
+        Kryo kryo = new Kryo();
+        new Nd4jRegistrator().registerClasses(kryo);
+        return kryo;
+    }
+
+    private static INDArray roundTrip(Kryo kryo, INDArray array, int bufferSize) {
+        //small buffers force data to go through several chunks
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        Output output = new Output(bos, bufferSize);
+        kryo.writeObject(output, array);
+        output.close();
+
+        Input input = new Input(new ByteArrayInputStream(bos.toByteArray()), bufferSize);
+        return kryo.readObject(input, array.getClass());
+    }
+
+    @Test
+    public void testBulkRoundTrip() {
+        Kryo kryo = kryo();
+        INDArray array = Nd4j.rand(new int[] {37, 11});
+
+        for (int bufferSize : new int[] {16, 100, 4096, 65536}) {
+            INDArray result = roundTrip(kryo, array, bufferSize);
+            assertArrayEquals(array.shape(), result.shape());
+            assertEquals(array, result);
+        }
+    }
+
+    @Test
+    public void testGrowingOutput() {
+        Kryo kryo = kryo();
+        INDArray array = Nd4j.linspace(1, 1000, 1000).reshape('f', 10, 100);
+
+        //no stream, so kryo has to grow its buffer
+        Output output = new Output(32, -1);
+        kryo.writeObject(output, array);
+
+        Input input = new Input(output.toBytes());
+        INDArray result = kryo.readObject(input, array.getClass());
+        assertEquals('f', result.ordering());
+        assertEquals(array, result);
+    }
+
+    @Test
+    public void testViewsAndPermutes() {
+        Kryo kryo = kryo();
+        INDArray array = Nd4j.linspace(1, 60, 60).reshape(3, 4, 5);
+
+        INDArray row = array.tensorAlongDimension(1, 1, 2);
+        assertEquals(row, roundTrip(kryo, row, 64));
+
+        INDArray permuted = array.permute(2, 0, 1);
+        assertEquals(permuted, roundTrip(kryo, permuted, 64));
+    }
+
+    @Test
+    public void testSequenceOfArrays() {
+        Kryo kryo = kryo();
+        INDArray first = Nd4j.rand(5, 7);
+        INDArray second = Nd4j.ones(3);
+
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        Output output = new Output(bos, 24);
+        kryo.writeObject(output, first);
+        kryo.writeObject(output, second);
+        output.writeInt(119);
+        output.close();
+
+        Input input = new Input(new ByteArrayInputStream(bos.toByteArray()), 24);
+        assertEquals(first, kryo.readObject(input, first.getClass()));
+        assertEquals(second, kryo.readObject(input, second.getClass()));
+        assertEquals(119, input.readInt());
+    }
+
+    @Test
+    public void testLegacyBlobs() throws Exception {
+        Kryo kryo = kryo();
+        INDArray array = Nd4j.linspace(1, 12, 12).reshape(3, 4);
+
+        //data written before the format byte: a bare Nd4j.write stream, followed by more data
+        Output output = new Output(1024, -1);
+        Nd4j.write(array, new DataOutputStream(output));
+        output.writeInt(119);
+
+        Input input = new Input(output.toBytes());
+        assertEquals(array, kryo.readObject(input, array.getClass()));
+        assertEquals(119, input.readInt());
+    }
+
+    @Test
+    public void testReadIntoWorkspace() {
+        Kryo kryo = kryo();
+        INDArray array = Nd4j.rand(10, 10);
+
+        Output output = new Output(1024, -1);
+        kryo.writeObject(output, array);
+        byte[] bytes = output.toBytes();
+
+        WorkspaceConfiguration configuration =
+                        WorkspaceConfiguration.builder().initialSize(10 * 1024 * 1024L).build();
+        try (MemoryWorkspace workspace =
+                        Nd4j.getWorkspaceManager().getAndActivateWorkspace(configuration, "KRYO_TEST")) {
+            INDArray result = kryo.readObject(new Input(bytes), array.getClass());
+            assertTrue(result.isAttached());
+            assertEquals(array, result);
+        }
+    }
+}